@@ -0,0 +1,51 @@
+package com.example.rbac.admin.activity.repository;
+
+import com.example.rbac.admin.activity.model.ActivityLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Appends activity log rows with a single JDBC batch per call. With {@code rewriteBatchedStatements} enabled on the
+ * MySQL connection the driver sends the batch as multi-row {@code INSERT} statements.
+ */
+@Repository
+public class ActivityLogBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO activity_logs (occurred_at, user_id, user_name, user_role, " +
+            "department, module_name, activity_type, description, status, ip_address, device, context) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ActivityLogBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<ActivityLog> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (statement, entry) -> {
+            statement.setTimestamp(1, Timestamp.from(entry.getOccurredAt()));
+            if (entry.getUserId() != null) {
+                statement.setLong(2, entry.getUserId());
+            } else {
+                statement.setNull(2, Types.BIGINT);
+            }
+            statement.setString(3, entry.getUserName());
+            statement.setString(4, entry.getUserRole());
+            statement.setString(5, entry.getDepartment());
+            statement.setString(6, entry.getModuleName());
+            statement.setString(7, entry.getActivityType());
+            statement.setString(8, entry.getDescription());
+            statement.setString(9, entry.getStatus());
+            statement.setString(10, entry.getIpAddress());
+            statement.setString(11, entry.getDevice());
+            statement.setString(12, entry.getContext());
+        });
+    }
+}
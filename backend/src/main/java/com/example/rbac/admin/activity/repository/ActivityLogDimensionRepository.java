@@ -0,0 +1,53 @@
+package com.example.rbac.admin.activity.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Distinct activity log values per filter dimension. Rows are keyed by a hash of the value so long device strings
+ * fit in the primary key.
+ */
+@Repository
+public class ActivityLogDimensionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ActivityLogDimensionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<DimensionValue> findAll() {
+        return jdbcTemplate.query("SELECT dimension, dimension_value FROM activity_log_dimensions",
+                (rs, rowNum) -> new DimensionValue(rs.getString("dimension"), rs.getString("dimension_value")));
+    }
+
+    public void insertMissing(List<DimensionValue> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO activity_log_dimensions (dimension, dimension_value, value_hash) " +
+                        "VALUES (?, ?, ?)", values, values.size(), (statement, value) -> {
+                    statement.setString(1, value.dimension());
+                    statement.setString(2, value.value());
+                    statement.setString(3, hash(value.value()));
+                });
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record DimensionValue(String dimension, String value) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.rbac.admin.activity.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * What {@link ActivityRecorder} captures on the calling thread: only the values that are tied to the request or the
+ * persistence context. Parsing the user agent and serializing the context happen later on the writer thread.
+ */
+public record ActivityEvent(Instant occurredAt,
+                            Long userId,
+                            String userName,
+                            String userRole,
+                            String moduleName,
+                            String activityType,
+                            String description,
+                            String status,
+                            String ipAddress,
+                            String userAgent,
+                            Map<String, Object> context) {
+}
@@ -0,0 +1,132 @@
+package com.example.rbac.admin.activity.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Copies activity log rows into gzip-compressed NDJSON files before they are removed from the database. Rows are read
+ * in id-ordered pages so an archive of any size is written with bounded memory, and the file only appears under its
+ * final name once it has been completely written.
+ */
+@Component
+public class ActivityLogArchiver {
+
+    private static final int PAGE_SIZE = 5000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path archiveRoot;
+
+    public ActivityLogArchiver(JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${app.activity.retention.archive-path:storage/archive/activity-logs}") String archivePath) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.archiveRoot = Paths.get(archivePath).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(archiveRoot);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to initialize activity log archive directory", ex);
+        }
+    }
+
+    /**
+     * Writes every row of {@code source} matching {@code condition} to {@code <name>.ndjson.gz}.
+     *
+     * @param source    table reference, optionally with a {@code PARTITION (...)} clause
+     * @param condition SQL predicate over the row, using {@code ?} placeholders bound to {@code args}
+     * @return the number of rows archived; no file is created when nothing matched
+     */
+    public long archive(String name, String source, String condition, Object... args) throws IOException {
+        Path target = archiveRoot.resolve(name + ".ndjson.gz");
+        Path temp = archiveRoot.resolve(name + ".ndjson.gz.tmp");
+        String sql = "SELECT id, occurred_at, user_id, user_name, user_role, department, module_name, activity_type, " +
+                "description, status, ip_address, device, context FROM " + source + " WHERE (" + condition + ") " +
+                "AND id > ? ORDER BY id LIMIT " + PAGE_SIZE;
+        long rows = 0;
+        try (OutputStream output = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            long lastId = 0;
+            while (true) {
+                Object[] parameters = appendArgument(args, lastId);
+                List<Long> ids = new ArrayList<>(PAGE_SIZE);
+                jdbcTemplate.query(sql, resultSet -> {
+                    ids.add(resultSet.getLong("id"));
+                    writeRow(generator, resultSet);
+                }, parameters);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                rows += ids.size();
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        if (rows == 0) {
+            Files.deleteIfExists(temp);
+            return 0;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    private void writeRow(JsonGenerator generator, ResultSet resultSet) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", resultSet.getLong("id"));
+            Timestamp occurredAt = resultSet.getTimestamp("occurred_at");
+            generator.writeStringField("occurredAt", occurredAt != null ? occurredAt.toInstant().toString() : null);
+            long userId = resultSet.getLong("user_id");
+            if (resultSet.wasNull()) {
+                generator.writeNullField("userId");
+            } else {
+                generator.writeNumberField("userId", userId);
+            }
+            generator.writeStringField("userName", resultSet.getString("user_name"));
+            generator.writeStringField("userRole", resultSet.getString("user_role"));
+            generator.writeStringField("department", resultSet.getString("department"));
+            generator.writeStringField("moduleName", resultSet.getString("module_name"));
+            generator.writeStringField("activityType", resultSet.getString("activity_type"));
+            generator.writeStringField("description", resultSet.getString("description"));
+            generator.writeStringField("status", resultSet.getString("status"));
+            generator.writeStringField("ipAddress", resultSet.getString("ip_address"));
+            generator.writeStringField("device", resultSet.getString("device"));
+            generator.writeStringField("context", resultSet.getString("context"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new SQLException("Failed to write activity log archive", ex);
+        }
+    }
+
+    private Object[] appendArgument(Object[] args, Object value) {
+        Object[] parameters = new Object[args.length + 1];
+        System.arraycopy(args, 0, parameters, 0, args.length);
+        parameters[args.length] = value;
+        return parameters;
+    }
+}
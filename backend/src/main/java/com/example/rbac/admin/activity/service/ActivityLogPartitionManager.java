@@ -0,0 +1,174 @@
+package com.example.rbac.admin.activity.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of {@code activity_logs}: monthly partitions are split off {@code p_future}
+ * a few months ahead, and partitions that fall out of the retention window are archived to compressed NDJSON and
+ * dropped, which removes a month of rows without a long-running {@code DELETE}. Databases where the table is not
+ * partitioned fall back to archiving and deleting expired rows in chunks.
+ */
+@Component
+public class ActivityLogPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogPartitionManager.class);
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final long TO_DAYS_EPOCH_OFFSET = 719_528L;
+    private static final Pattern PARTITION_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityLogArchiver archiver;
+    private final int retentionMonths;
+    private final int monthsAhead;
+    private final int deleteBatchSize;
+
+    public ActivityLogPartitionManager(JdbcTemplate jdbcTemplate,
+                                       ActivityLogArchiver archiver,
+                                       @Value("${app.activity.retention.months:12}") int retentionMonths,
+                                       @Value("${app.activity.retention.partitions-ahead:3}") int monthsAhead,
+                                       @Value("${app.activity.retention.delete-batch-size:5000}") int deleteBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiver = archiver;
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.deleteBatchSize = Math.max(1, deleteBatchSize);
+    }
+
+    /**
+     * Start of the retention window, or {@code null} when rows are kept forever. Searches never need to look further
+     * back than this, which lets MySQL prune partitions even when the caller gave no start date.
+     */
+    public Instant retentionCutoff() {
+        if (retentionMonths <= 0) {
+            return null;
+        }
+        return cutoffMonth(currentMonth()).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    @Scheduled(cron = "${app.activity.retention.cron:0 20 3 * * *}", zone = "UTC")
+    public void maintain() {
+        LocalDate currentMonth = currentMonth();
+        List<Partition> partitions = loadPartitions();
+        if (partitions.isEmpty()) {
+            purgeUnpartitioned(currentMonth);
+            return;
+        }
+        ensureFuturePartitions(partitions, currentMonth);
+        dropExpiredPartitions(loadPartitions(), currentMonth);
+    }
+
+    private void ensureFuturePartitions(List<Partition> partitions, LocalDate currentMonth) {
+        if (partitions.stream().noneMatch(partition -> FUTURE_PARTITION.equals(partition.name()))) {
+            log.warn("activity_logs has no {} partition; skipping partition creation", FUTURE_PARTITION);
+            return;
+        }
+        LocalDate highest = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .max(LocalDate::compareTo)
+                .orElse(currentMonth);
+        LocalDate target = currentMonth.plusMonths(monthsAhead + 1L);
+        while (highest.isBefore(target)) {
+            LocalDate next = highest.withDayOfMonth(1).plusMonths(1);
+            jdbcTemplate.execute("ALTER TABLE activity_logs REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                    "PARTITION p" + highest.format(MONTH_SUFFIX) + " VALUES LESS THAN (TO_DAYS('" + next + "')), " +
+                    "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            log.info("Created activity log partition for {}", highest.format(MONTH_SUFFIX));
+            highest = next;
+        }
+    }
+
+    private void dropExpiredPartitions(List<Partition> partitions, LocalDate currentMonth) {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        LocalDate cutoff = cutoffMonth(currentMonth);
+        for (Partition partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)
+                    || !PARTITION_NAME.matcher(partition.name()).matches()) {
+                continue;
+            }
+            try {
+                long archived = archiver.archive("activity-logs-" + partition.name(),
+                        "activity_logs PARTITION (" + partition.name() + ")", "1 = 1");
+                jdbcTemplate.execute("ALTER TABLE activity_logs DROP PARTITION " + partition.name());
+                log.info("Archived {} activity log row(s) and dropped partition {}", archived, partition.name());
+            } catch (IOException | DataAccessException ex) {
+                log.error("Failed to archive activity log partition {}; it will be retried", partition.name(), ex);
+                return;
+            }
+        }
+    }
+
+    private void purgeUnpartitioned(LocalDate currentMonth) {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        LocalDate cutoff = cutoffMonth(currentMonth);
+        Timestamp cutoffTimestamp = Timestamp.from(cutoff.atStartOfDay(ZoneOffset.UTC).toInstant());
+        try {
+            long archived = archiver.archive("activity-logs-before-" + cutoff, "activity_logs", "occurred_at < ?",
+                    cutoffTimestamp);
+            if (archived == 0) {
+                return;
+            }
+            long deleted = 0;
+            int removed;
+            do {
+                removed = jdbcTemplate.update("DELETE FROM activity_logs WHERE occurred_at < ? LIMIT " + deleteBatchSize,
+                        cutoffTimestamp);
+                deleted += removed;
+            } while (removed == deleteBatchSize);
+            log.info("Archived {} and deleted {} activity log row(s) older than {}", archived, deleted, cutoff);
+        } catch (IOException | DataAccessException ex) {
+            log.error("Failed to archive activity log rows older than {}", cutoff, ex);
+        }
+    }
+
+    private List<Partition> loadPartitions() {
+        try {
+            return jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM INFORMATION_SCHEMA.PARTITIONS " +
+                            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'activity_logs' " +
+                            "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION",
+                    (rs, rowNum) -> new Partition(rs.getString(1), parseBound(rs.getString(2))));
+        } catch (DataAccessException ex) {
+            log.debug("Activity log partitions are not available: {}", ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private LocalDate parseBound(String description) {
+        if (description == null || "MAXVALUE".equalsIgnoreCase(description.trim())) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(Long.parseLong(description.trim()) - TO_DAYS_EPOCH_OFFSET);
+    }
+
+    private LocalDate cutoffMonth(LocalDate currentMonth) {
+        return currentMonth.minusMonths(retentionMonths);
+    }
+
+    private LocalDate currentMonth() {
+        return LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+    }
+
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
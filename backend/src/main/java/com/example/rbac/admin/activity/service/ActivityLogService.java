@@ -20,6 +20,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -39,11 +40,17 @@ public class ActivityLogService {
 
     private final ActivityLogRepository activityLogRepository;
     private final ActivityLogMapper activityLogMapper;
+    private final ActivityLogDimensions dimensions;
+    private final ActivityLogPartitionManager partitionManager;
 
     public ActivityLogService(ActivityLogRepository activityLogRepository,
-                              ActivityLogMapper activityLogMapper) {
+                              ActivityLogMapper activityLogMapper,
+                              ActivityLogDimensions dimensions,
+                              ActivityLogPartitionManager partitionManager) {
         this.activityLogRepository = activityLogRepository;
         this.activityLogMapper = activityLogMapper;
+        this.dimensions = dimensions;
+        this.partitionManager = partitionManager;
     }
 
     @PreAuthorize("hasAuthority('ACTIVITY_VIEW')")
@@ -69,17 +76,8 @@ public class ActivityLogService {
     }
 
     @PreAuthorize("hasAuthority('ACTIVITY_VIEW')")
-    @Transactional(readOnly = true)
     public ActivityFilterOptionsDto getFilterOptions() {
-        return new ActivityFilterOptionsDto(
-                activityLogRepository.findDistinctActivityTypes(),
-                activityLogRepository.findDistinctModules(),
-                activityLogRepository.findDistinctStatuses(),
-                activityLogRepository.findDistinctRoles(),
-                activityLogRepository.findDistinctDepartments(),
-                activityLogRepository.findDistinctIpAddresses(),
-                activityLogRepository.findDistinctDevices()
-        );
+        return dimensions.filterOptions();
     }
 
     private Pageable buildPageable(int page, int size, String sort, String direction) {
@@ -102,11 +100,23 @@ public class ActivityLogService {
         spec = combine(spec, ActivityLogSpecifications.statuses(filter.statuses()));
         spec = combine(spec, ActivityLogSpecifications.ipAddresses(filter.ipAddresses()));
         spec = combine(spec, ActivityLogSpecifications.devices(filter.devices()));
-        spec = combine(spec, ActivityLogSpecifications.occurredAfter(filter.startDate()));
+        spec = combine(spec, ActivityLogSpecifications.occurredAfter(effectiveStart(filter.startDate())));
         spec = combine(spec, ActivityLogSpecifications.occurredBefore(filter.endDate()));
         return spec;
     }
 
+    /**
+     * Rows older than the retention window are archived, so the lower bound never needs to reach further back. Always
+     * bounding {@code occurred_at} keeps the query on the partitions that can hold matches.
+     */
+    private Instant effectiveStart(Instant requestedStart) {
+        Instant cutoff = partitionManager.retentionCutoff();
+        if (cutoff == null) {
+            return requestedStart;
+        }
+        return requestedStart == null || requestedStart.isBefore(cutoff) ? cutoff : requestedStart;
+    }
+
     private Specification<ActivityLog> combine(Specification<ActivityLog> base,
                                                Specification<ActivityLog> addition) {
         if (base == null) {
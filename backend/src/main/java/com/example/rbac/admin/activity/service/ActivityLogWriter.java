@@ -0,0 +1,250 @@
+package com.example.rbac.admin.activity.service;
+
+import com.example.rbac.admin.activity.model.ActivityLog;
+import com.example.rbac.admin.activity.repository.ActivityLogBatchRepository;
+import com.example.rbac.common.concurrent.MpscRingBuffer;
+import com.example.rbac.common.web.UserAgentClassifier;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Persists activity events off the request thread. {@link #submit} places the event in a bounded lock-free ring
+ * buffer and returns; a single background thread drains the buffer and writes whatever accumulated as one JDBC
+ * batch, so a burst of logins becomes a few multi-row inserts instead of one round trip per request. What happens
+ * when the buffer is full is governed by {@link OverflowPolicy}. Remaining events are flushed on shutdown.
+ */
+@Component
+public class ActivityLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final int DROP_WARNING_INTERVAL = 1000;
+
+    public enum OverflowPolicy {
+        /** Discard the new event and count it. */
+        DROP,
+        /** Wait up to the configured block timeout for space, then discard. */
+        BLOCK,
+        /** Write the event synchronously on the calling thread. */
+        CALLER_RUNS
+    }
+
+    private final ActivityLogBatchRepository batchRepository;
+    private final ActivityLogDimensions dimensions;
+    private final UserAgentClassifier userAgentClassifier;
+    private final ObjectMapper objectMapper;
+    private final boolean asyncEnabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final MpscRingBuffer<ActivityEvent> buffer;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer enqueueTimer;
+    private final Timer batchTimer;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public ActivityLogWriter(ActivityLogBatchRepository batchRepository,
+                             ActivityLogDimensions dimensions,
+                             UserAgentClassifier userAgentClassifier,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.activity.writer.async:true}") boolean asyncEnabled,
+                             @Value("${app.activity.writer.capacity:8192}") int capacity,
+                             @Value("${app.activity.writer.batch-size:500}") int batchSize,
+                             @Value("${app.activity.writer.flush-interval:PT0.25S}") Duration flushInterval,
+                             @Value("${app.activity.writer.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                             @Value("${app.activity.writer.block-timeout:PT0.1S}") Duration blockTimeout,
+                             @Value("${app.activity.writer.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.batchRepository = batchRepository;
+        this.dimensions = dimensions;
+        this.userAgentClassifier = userAgentClassifier;
+        this.objectMapper = objectMapper;
+        this.asyncEnabled = asyncEnabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = Math.max(1L, flushInterval.toNanos());
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = Math.max(0L, blockTimeout.toNanos());
+        this.shutdownTimeout = shutdownTimeout;
+        this.buffer = new MpscRingBuffer<>(Math.max(2, capacity));
+        this.writtenCounter = eventCounter(meterRegistry, "written");
+        this.droppedCounter = eventCounter(meterRegistry, "dropped");
+        this.failedCounter = eventCounter(meterRegistry, "failed");
+        this.enqueueTimer = Timer.builder("activity.log.enqueue")
+                .description("Time the calling thread spends handing an activity event to the writer")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("activity.log.batch")
+                .description("Time spent inserting one batch of activity log rows")
+                .register(meterRegistry);
+        Gauge.builder("activity.log.queue.size", buffer, MpscRingBuffer::size)
+                .description("Activity events waiting to be written")
+                .register(meterRegistry);
+        if (asyncEnabled) {
+            this.writerThread = new Thread(this::drainLoop, "activity-log-writer");
+            this.writerThread.setDaemon(true);
+            this.writerThread.start();
+        } else {
+            this.writerThread = null;
+        }
+    }
+
+    public void submit(ActivityEvent event) {
+        if (!asyncEnabled) {
+            write(List.of(event));
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            if (buffer.offer(event)) {
+                if (buffer.size() >= batchSize) {
+                    LockSupport.unpark(writerThread);
+                }
+                return;
+            }
+            switch (overflowPolicy) {
+                case BLOCK -> offerWithin(event, started + blockTimeoutNanos);
+                case CALLER_RUNS -> write(List.of(event));
+                default -> drop();
+            }
+        } finally {
+            enqueueTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Activity log writer did not stop within {}; {} event(s) were not written",
+                    shutdownTimeout, buffer.size());
+        }
+    }
+
+    private void offerWithin(ActivityEvent event, long deadline) {
+        while (System.nanoTime() < deadline) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+        drop();
+    }
+
+    private void drop() {
+        droppedCounter.increment();
+        if (droppedEvents.getAndIncrement() % DROP_WARNING_INTERVAL == 0) {
+            log.warn("Activity log buffer is full; {} event(s) dropped so far", droppedEvents.get());
+        }
+    }
+
+    private void drainLoop() {
+        List<ActivityEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ActivityEvent> events) {
+        long started = System.nanoTime();
+        try {
+            List<ActivityLog> entries = new ArrayList<>(events.size());
+            for (ActivityEvent event : events) {
+                entries.add(toLogEntry(event));
+            }
+            batchRepository.insertAll(entries);
+            writtenCounter.increment(entries.size());
+            registerDimensions(entries);
+        } catch (Exception ex) {
+            failedCounter.increment(events.size());
+            log.warn("Failed to write {} activity log event(s)", events.size(), ex);
+        } finally {
+            batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void registerDimensions(List<ActivityLog> entries) {
+        try {
+            dimensions.register(entries);
+        } catch (Exception ex) {
+            log.warn("Failed to update activity filter dimensions", ex);
+        }
+    }
+
+    private ActivityLog toLogEntry(ActivityEvent event) {
+        ActivityLog logEntry = new ActivityLog();
+        logEntry.setOccurredAt(event.occurredAt());
+        logEntry.setUserId(event.userId());
+        logEntry.setUserName(event.userName());
+        logEntry.setUserRole(event.userRole());
+        logEntry.setDepartment(null);
+        logEntry.setModuleName(event.moduleName());
+        logEntry.setActivityType(event.activityType());
+        logEntry.setDescription(event.description());
+        logEntry.setStatus(event.status());
+        logEntry.setIpAddress(event.ipAddress());
+        logEntry.setDevice(userAgentClassifier.describe(event.userAgent()));
+        if (event.context() != null && !event.context().isEmpty()) {
+            logEntry.setContext(serializeContext(event.context()));
+        }
+        return logEntry;
+    }
+
+    private String serializeContext(Map<String, Object> context) {
+        try {
+            return objectMapper.writeValueAsString(context);
+        } catch (JsonProcessingException ex) {
+            log.debug("Failed to serialize activity context", ex);
+            return null;
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("activity.log.events")
+                .description("Activity events by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
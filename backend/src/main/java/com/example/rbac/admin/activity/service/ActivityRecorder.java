@@ -1,28 +1,22 @@
 package com.example.rbac.admin.activity.service;
 
-import com.example.rbac.admin.activity.model.ActivityLog;
-import com.example.rbac.admin.activity.repository.ActivityLogRepository;
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.model.UserPrincipal;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.Collections;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -30,12 +24,10 @@ public class ActivityRecorder {
 
     private static final Logger log = LoggerFactory.getLogger(ActivityRecorder.class);
 
-    private final ActivityLogRepository activityLogRepository;
-    private final ObjectMapper objectMapper;
+    private final ActivityLogWriter activityLogWriter;
 
-    public ActivityRecorder(ActivityLogRepository activityLogRepository, ObjectMapper objectMapper) {
-        this.activityLogRepository = activityLogRepository;
-        this.objectMapper = objectMapper;
+    public ActivityRecorder(ActivityLogWriter activityLogWriter) {
+        this.activityLogWriter = activityLogWriter;
     }
 
     public void record(String module, String activityType, String description) {
@@ -50,7 +42,10 @@ public class ActivityRecorder {
         recordInternal(module, activityType, description, status, context, Optional.ofNullable(user));
     }
 
-    @Transactional
+    /**
+     * Captures the event on the calling thread and hands it to {@link ActivityLogWriter}, which persists it in the
+     * background. Only request- and session-bound values (user, roles, client address) are resolved here.
+     */
     protected void recordInternal(String module,
                                   String activityType,
                                   String description,
@@ -58,22 +53,20 @@ public class ActivityRecorder {
                                   Map<String, ?> context,
                                   Optional<User> userOverride) {
         try {
-            ActivityLog logEntry = new ActivityLog();
-            logEntry.setModuleName(normalize(module, "General"));
-            logEntry.setActivityType(normalize(activityType, "UNKNOWN").toUpperCase(Locale.ROOT));
-            logEntry.setDescription(normalize(description, ""));
-            logEntry.setStatus(normalize(status, "SUCCESS").toUpperCase(Locale.ROOT));
-            if (context != null && !context.isEmpty()) {
-                logEntry.setContext(serializeContext(context));
-            }
-
-            userOverride.or(this::resolveCurrentUser)
-                    .ifPresentOrElse(user -> applyUserInfo(logEntry, user),
-                            () -> applySystemUser(logEntry));
-
-            applyRequestInfo(logEntry);
-
-            activityLogRepository.save(logEntry);
+            Optional<User> user = userOverride.or(this::resolveCurrentUser);
+            HttpServletRequest request = currentRequest();
+            activityLogWriter.submit(new ActivityEvent(
+                    Instant.now(),
+                    user.map(User::getId).orElse(null),
+                    user.map(value -> normalize(value.getFullName(), value.getEmail())).orElse("System"),
+                    user.map(this::resolveRoles).orElse(null),
+                    normalize(module, "General"),
+                    normalize(activityType, "UNKNOWN").toUpperCase(Locale.ROOT),
+                    normalize(description, ""),
+                    normalize(status, "SUCCESS").toUpperCase(Locale.ROOT),
+                    request != null ? extractClientIp(request) : null,
+                    request != null ? request.getHeader("User-Agent") : null,
+                    sanitizeContext(context)));
         } catch (Exception ex) {
             log.warn("Failed to record activity log for module '{}' and activity '{}'", module, activityType, ex);
         }
@@ -94,41 +87,12 @@ public class ActivityRecorder {
         return Optional.empty();
     }
 
-    private void applyUserInfo(ActivityLog logEntry, User user) {
-        logEntry.setUserId(user.getId());
-        logEntry.setUserName(normalize(user.getFullName(), user.getEmail()));
-        logEntry.setUserRole(resolveRoles(user.getRoles().stream()
-                .map(role -> normalize(role.getName(), role.getKey()))
-                .collect(Collectors.toSet())));
-        logEntry.setDepartment(null);
-    }
-
-    private void applySystemUser(ActivityLog logEntry) {
-        logEntry.setUserId(null);
-        logEntry.setUserName("System");
-        logEntry.setUserRole(null);
-        logEntry.setDepartment(null);
-    }
-
-    private void applyRequestInfo(ActivityLog logEntry) {
+    private HttpServletRequest currentRequest() {
         RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
-        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
-            return;
-        }
-        HttpServletRequest request = servletAttributes.getRequest();
-        if (request == null) {
-            return;
-        }
-
-        String ip = extractClientIp(request);
-        if (ip != null && !ip.isBlank()) {
-            logEntry.setIpAddress(ip);
-        }
-
-        String device = extractDeviceInfo(request.getHeader("User-Agent"));
-        if (device != null && !device.isBlank()) {
-            logEntry.setDevice(device);
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest();
         }
+        return null;
     }
 
     private String extractClientIp(HttpServletRequest request) {
@@ -180,85 +144,9 @@ public class ActivityRecorder {
         return cleaned.length() > 45 ? cleaned.substring(0, 45) : cleaned;
     }
 
-    private String extractDeviceInfo(String userAgent) {
-        if (userAgent == null || userAgent.isBlank()) {
-            return null;
-        }
-        String browser = detectBrowser(userAgent);
-        String operatingSystem = detectOperatingSystem(userAgent);
-        StringBuilder builder = new StringBuilder();
-        if (browser != null) {
-            builder.append(browser);
-        }
-        if (operatingSystem != null) {
-            if (builder.length() > 0) {
-                builder.append(" on ");
-            }
-            builder.append(operatingSystem);
-        }
-        String description = builder.length() > 0 ? builder.toString() : userAgent.trim();
-        return description.length() > 150 ? description.substring(0, 150) : description;
-    }
-
-    private String detectBrowser(String userAgent) {
-        String normalized = userAgent.toLowerCase(Locale.ROOT);
-        if (normalized.contains("edg/")) {
-            return "Microsoft Edge";
-        }
-        if (normalized.contains("chrome/") && !normalized.contains("chromium") && !normalized.contains("edg/") && !normalized.contains("opr/")) {
-            return "Google Chrome";
-        }
-        if (normalized.contains("safari/") && normalized.contains("version/") && !normalized.contains("chrome/")) {
-            return "Safari";
-        }
-        if (normalized.contains("firefox/")) {
-            return "Mozilla Firefox";
-        }
-        if (normalized.contains("opr/") || normalized.contains("opera")) {
-            return "Opera";
-        }
-        if (normalized.contains("msie") || normalized.contains("trident/")) {
-            return "Internet Explorer";
-        }
-        return null;
-    }
-
-    private String detectOperatingSystem(String userAgent) {
-        String normalized = userAgent.toLowerCase(Locale.ROOT);
-        if (normalized.contains("iphone") || normalized.contains("ipad")) {
-            return "iOS";
-        }
-        if (normalized.contains("windows nt 10") || normalized.contains("windows nt 11")) {
-            return "Windows";
-        }
-        if (normalized.contains("mac os x") || normalized.contains("macintosh")) {
-            return "macOS";
-        }
-        if (normalized.contains("cros")) {
-            return "ChromeOS";
-        }
-        if (normalized.contains("android")) {
-            return "Android";
-        }
-        if (normalized.contains("linux")) {
-            return "Linux";
-        }
-        return null;
-    }
-
-    private String serializeContext(Map<String, ?> context) {
-        Map<String, ?> safeContext = sanitizeContext(context);
-        try {
-            return objectMapper.writeValueAsString(safeContext);
-        } catch (JsonProcessingException ex) {
-            log.debug("Failed to serialize activity context", ex);
-            return null;
-        }
-    }
-
-    private Map<String, ?> sanitizeContext(Map<String, ?> context) {
+    private Map<String, Object> sanitizeContext(Map<String, ?> context) {
         if (context == null || context.isEmpty()) {
-            return Collections.emptyMap();
+            return null;
         }
         Map<String, Object> sanitized = new HashMap<>();
         context.forEach((key, value) -> {
@@ -278,12 +166,15 @@ public class ActivityRecorder {
         return trimmed.isEmpty() ? defaultValue : trimmed;
     }
 
-    private String resolveRoles(Set<String> roles) {
-        if (roles == null || roles.isEmpty()) {
+    private String resolveRoles(User user) {
+        if (user.getRoles() == null || user.getRoles().isEmpty()) {
             return null;
         }
-        return roles.stream()
+        String roles = user.getRoles().stream()
+                .map(role -> normalize(role.getName(), role.getKey()))
                 .filter(role -> role != null && !role.isBlank())
+                .distinct()
                 .collect(Collectors.joining(", "));
+        return roles.isEmpty() ? null : roles;
     }
 }
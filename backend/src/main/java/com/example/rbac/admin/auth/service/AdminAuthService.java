@@ -6,29 +6,31 @@ import com.example.rbac.admin.users.dto.UserDto;
 import com.example.rbac.admin.users.mapper.UserMapper;
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.repository.UserRepository;
-import com.example.rbac.common.auth.token.RefreshTokenRepository;
+import com.example.rbac.common.auth.token.RefreshTokenService;
 import com.example.rbac.common.auth.dto.AuthResponse;
 import com.example.rbac.common.auth.service.BaseAuthService;
+import com.example.rbac.common.auth.throttle.LoginThrottle;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.security.PasswordHashingService;
+import com.example.rbac.common.web.UserAgentClassifier;
 import com.example.rbac.config.JwtService;
 import jakarta.transaction.Transactional;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AdminAuthService extends BaseAuthService {
 
     public AdminAuthService(UserRepository userRepository,
-                            RefreshTokenRepository refreshTokenRepository,
-                            PasswordEncoder passwordEncoder,
-                            AuthenticationManager authenticationManager,
+                            RefreshTokenService refreshTokenService,
+                            PasswordHashingService passwordHashingService,
+                            LoginThrottle loginThrottle,
                             JwtService jwtService,
                             UserMapper userMapper,
                             SettingsService settingsService,
-                            ActivityRecorder activityRecorder) {
-        super(userRepository, refreshTokenRepository, passwordEncoder, authenticationManager, jwtService, userMapper, settingsService, activityRecorder);
+                            ActivityRecorder activityRecorder,
+                            UserAgentClassifier userAgentClassifier) {
+        super(userRepository, refreshTokenService, passwordHashingService, loginThrottle, jwtService, userMapper, settingsService, activityRecorder, userAgentClassifier);
     }
 
     @Transactional
@@ -1,6 +1,7 @@
 package com.example.rbac.admin.badges.service;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.MediaBlobStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -10,13 +11,12 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.Set;
-import java.util.UUID;
 
 @Service
 public class BadgeIconStorageService {
@@ -25,14 +25,17 @@ public class BadgeIconStorageService {
 
     private final Path storageRoot;
     private final String publicBaseUrl;
+    private final MediaBlobStore blobStore;
 
     public BadgeIconStorageService(
             @Value("${app.badge.icon-storage-path:storage/catalog/badges/icons}") String storagePath,
             @Value("${app.badge.public-base-url:${app.brand.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}}")
-            String publicBaseUrl
+            String publicBaseUrl,
+            MediaBlobStore blobStore
     ) {
         this.storageRoot = Paths.get(storagePath).toAbsolutePath().normalize();
         this.publicBaseUrl = normalizeBaseUrl(publicBaseUrl);
+        this.blobStore = blobStore;
         try {
             Files.createDirectories(this.storageRoot);
         } catch (IOException ex) {
@@ -52,12 +55,9 @@ public class BadgeIconStorageService {
         if (!ALLOWED_EXTENSIONS.contains(extension)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported icon format. Allowed: " + String.join(", ", ALLOWED_EXTENSIONS));
         }
-        try {
-            Files.createDirectories(storageRoot);
-            String filename = UUID.randomUUID() + "." + extension;
-            Path target = storageRoot.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            return new StoredIcon(filename, file.getOriginalFilename(), contentType, file.getSize());
+        try (InputStream stream = file.getInputStream()) {
+            String key = blobStore.put(stream, extension).key();
+            return new StoredIcon(key, file.getOriginalFilename(), contentType, file.getSize());
         } catch (IOException ex) {
             throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store badge icon");
         }
@@ -67,6 +67,9 @@ public class BadgeIconStorageService {
         if (!StringUtils.hasText(key)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid icon key");
         }
+        if (MediaBlobStore.isBlobKey(key)) {
+            return blobStore.load(key);
+        }
         Path candidate = storageRoot.resolve(key).normalize();
         if (!candidate.startsWith(storageRoot)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid icon path");
@@ -3,6 +3,8 @@ package com.example.rbac.admin.blog.controller;
 import com.example.rbac.admin.blog.dto.BlogPostDto;
 import com.example.rbac.admin.blog.dto.BlogPostRequest;
 import com.example.rbac.admin.blog.service.BlogPostService;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import jakarta.validation.Valid;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -30,6 +32,20 @@ public class BlogPostController {
         return blogPostService.list(page, size, sort, direction, categoryId, published, search);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('BLOG_POST_VIEW')")
+    public CursorPageResponse<BlogPostDto> scroll(@RequestParam(name = "cursor", required = false) String cursor,
+                                                  @RequestParam(name = "size", defaultValue = "20") int size,
+                                                  @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                                  @RequestParam(name = "sort", required = false) String sort,
+                                                  @RequestParam(name = "direction", required = false) String direction,
+                                                  @RequestParam(name = "categoryId", required = false) Long categoryId,
+                                                  @RequestParam(name = "published", required = false) Boolean published,
+                                                  @RequestParam(name = "search", required = false) String search) {
+        return blogPostService.scroll(CursorPageRequest.of(cursor, size, includeTotal), sort, direction, categoryId,
+                published, search);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('BLOG_POST_VIEW')")
     public BlogPostDto get(@PathVariable("id") Long id) {
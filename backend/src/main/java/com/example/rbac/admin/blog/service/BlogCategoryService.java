@@ -9,6 +9,7 @@ import com.example.rbac.admin.blog.repository.BlogCategoryRepository;
 import com.example.rbac.admin.blog.repository.BlogPostRepository;
 import com.example.rbac.common.exception.ApiException;
 import com.example.rbac.common.pagination.PageResponse;
+import com.example.rbac.common.web.cache.PublicResponseCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,15 +30,18 @@ public class BlogCategoryService {
     private final BlogPostRepository blogPostRepository;
     private final BlogCategoryMapper blogCategoryMapper;
     private final ActivityRecorder activityRecorder;
+    private final PublicResponseCache publicResponseCache;
 
     public BlogCategoryService(BlogCategoryRepository blogCategoryRepository,
                                BlogPostRepository blogPostRepository,
                                BlogCategoryMapper blogCategoryMapper,
-                               ActivityRecorder activityRecorder) {
+                               ActivityRecorder activityRecorder,
+                               PublicResponseCache publicResponseCache) {
         this.blogCategoryRepository = blogCategoryRepository;
         this.blogPostRepository = blogPostRepository;
         this.blogCategoryMapper = blogCategoryMapper;
         this.activityRecorder = activityRecorder;
+        this.publicResponseCache = publicResponseCache;
     }
 
     public PageResponse<BlogCategoryDto> list(int page, int size, String search) {
@@ -70,6 +74,7 @@ public class BlogCategoryService {
         applyRequest(category, request);
         ensureUniqueSlug(category.getSlug(), null);
         BlogCategory saved = blogCategoryRepository.save(category);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.BLOG_CATEGORIES);
         activityRecorder.record("Blog", "CREATE_CATEGORY", "Created category " + saved.getName(), "SUCCESS", buildContext(saved));
         return blogCategoryMapper.toDto(saved);
     }
@@ -82,6 +87,7 @@ public class BlogCategoryService {
         applyRequest(category, request);
         ensureUniqueSlug(category.getSlug(), category.getId());
         BlogCategory saved = blogCategoryRepository.save(category);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.BLOG_CATEGORIES);
         activityRecorder.record("Blog", "UPDATE_CATEGORY", "Updated category " + saved.getName(), "SUCCESS", buildContext(saved));
         if (!previousSlug.equalsIgnoreCase(saved.getSlug())) {
             activityRecorder.record("Blog", "CATEGORY_SLUG_CHANGED", "Category slug changed", "SUCCESS", Map.of(
@@ -102,6 +108,7 @@ public class BlogCategoryService {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Cannot delete category with existing posts");
         }
         blogCategoryRepository.delete(category);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.BLOG_CATEGORIES);
         activityRecorder.record("Blog", "DELETE_CATEGORY", "Deleted category " + category.getName(), "SUCCESS", buildContext(category));
     }
 
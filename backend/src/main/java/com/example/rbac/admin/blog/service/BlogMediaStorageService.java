@@ -1,6 +1,7 @@
 package com.example.rbac.admin.blog.service;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.MediaBlobStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -10,25 +11,27 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
 
 @Service
 public class BlogMediaStorageService {
 
     private final Path storageRoot;
     private final String publicBaseUrl;
+    private final MediaBlobStore blobStore;
 
     public BlogMediaStorageService(
             @Value("${app.blog.storage-path:storage/blog}") String storagePath,
-            @Value("${app.blog.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}") String publicBaseUrl
+            @Value("${app.blog.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}") String publicBaseUrl,
+            MediaBlobStore blobStore
     ) {
         this.storageRoot = Paths.get(storagePath).toAbsolutePath().normalize();
         this.publicBaseUrl = normalizeBaseUrl(publicBaseUrl);
+        this.blobStore = blobStore;
         try {
             Files.createDirectories(this.storageRoot);
         } catch (IOException ex) {
@@ -37,18 +40,18 @@ public class BlogMediaStorageService {
     }
 
     public StoredMedia store(MultipartFile file) {
-        try {
-            String extension = extractExtension(file.getOriginalFilename());
-            String filename = UUID.randomUUID() + (extension == null ? "" : "." + extension);
-            Path destination = storageRoot.resolve(filename);
-            Files.copy(file.getInputStream(), destination, StandardCopyOption.REPLACE_EXISTING);
-            return new StoredMedia(filename, file.getOriginalFilename(), file.getContentType(), file.getSize());
+        try (InputStream stream = file.getInputStream()) {
+            String key = blobStore.put(stream, extractExtension(file.getOriginalFilename())).key();
+            return new StoredMedia(key, file.getOriginalFilename(), file.getContentType(), file.getSize());
         } catch (IOException ex) {
             throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store media file");
         }
     }
 
     public Resource load(String key) {
+        if (MediaBlobStore.isBlobKey(key)) {
+            return blobStore.load(key);
+        }
         try {
             Path path = storageRoot.resolve(key).normalize();
             if (!path.startsWith(storageRoot)) {
@@ -68,6 +71,10 @@ public class BlogMediaStorageService {
         if (key == null || key.isBlank()) {
             return;
         }
+        if (MediaBlobStore.isBlobKey(key)) {
+            blobStore.release(key);
+            return;
+        }
         try {
             Path path = storageRoot.resolve(key).normalize();
             if (path.startsWith(storageRoot)) {
@@ -10,6 +10,10 @@ import com.example.rbac.common.blog.model.BlogPost;
 import com.example.rbac.admin.blog.repository.BlogCategoryRepository;
 import com.example.rbac.admin.blog.repository.BlogPostRepository;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -33,17 +37,20 @@ public class BlogPostService {
     private final BlogPostMapper blogPostMapper;
     private final ActivityRecorder activityRecorder;
     private final BlogMediaStorageService blogMediaStorageService;
+    private final KeysetPaginator keysetPaginator;
 
     public BlogPostService(BlogPostRepository blogPostRepository,
                            BlogCategoryRepository blogCategoryRepository,
                            BlogPostMapper blogPostMapper,
                            ActivityRecorder activityRecorder,
-                           BlogMediaStorageService blogMediaStorageService) {
+                           BlogMediaStorageService blogMediaStorageService,
+                           KeysetPaginator keysetPaginator) {
         this.blogPostRepository = blogPostRepository;
         this.blogCategoryRepository = blogCategoryRepository;
         this.blogPostMapper = blogPostMapper;
         this.activityRecorder = activityRecorder;
         this.blogMediaStorageService = blogMediaStorageService;
+        this.keysetPaginator = keysetPaginator;
     }
 
     @Transactional(readOnly = true)
@@ -61,6 +68,30 @@ public class BlogPostService {
             default -> "createdAt";
         };
         Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), Sort.by(sortDirection, sortProperty));
+        Specification<BlogPost> specification = buildListSpecification(categoryId, published, search);
+        Page<BlogPost> result = blogPostRepository.findAll(specification, pageable);
+        return PageResponse.from(result.map(blogPostMapper::toDto));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BlogPostDto> scroll(CursorPageRequest request,
+                                                  String sort,
+                                                  String direction,
+                                                  Long categoryId,
+                                                  Boolean published,
+                                                  String search) {
+        Sort.Direction sortDirection = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // publishedAt is null for drafts, which a keyset seek cannot step over, so it pages by creation time instead.
+        KeysetSort<BlogPost> keysetSort = "title".equals(sort)
+                ? KeysetSort.of("title", sortDirection, KeysetSort.ValueType.STRING, BlogPost::getTitle, BlogPost::getId)
+                : KeysetSort.of("createdAt", sortDirection, KeysetSort.ValueType.INSTANT, BlogPost::getCreatedAt, BlogPost::getId);
+        Specification<BlogPost> specification = buildListSpecification(categoryId, published, search);
+        boolean filtered = categoryId != null || published != null || (search != null && !search.isBlank());
+        return keysetPaginator.fetch(blogPostRepository, specification, keysetSort, request, blogPostMapper::toDto,
+                filtered ? () -> blogPostRepository.count(specification) : keysetPaginator.estimatedRows("blog_posts"));
+    }
+
+    private Specification<BlogPost> buildListSpecification(Long categoryId, Boolean published, String search) {
         Specification<BlogPost> specification = Specification.where(null);
         if (categoryId != null) {
             specification = specification.and((root, query, builder) -> builder.equal(root.get("category").get("id"), categoryId));
@@ -76,8 +107,7 @@ public class BlogPostService {
                     builder.like(builder.lower(root.get("metaTitle")), like)
             ));
         }
-        Page<BlogPost> result = blogPostRepository.findAll(specification, pageable);
-        return PageResponse.from(result.map(blogPostMapper::toDto));
+        return specification;
     }
 
     @Transactional(readOnly = true)
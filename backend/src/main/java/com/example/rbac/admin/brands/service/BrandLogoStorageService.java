@@ -1,6 +1,8 @@
 package com.example.rbac.admin.brands.service;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.ImageDerivativeService;
+import com.example.rbac.common.media.MediaBlobStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -10,13 +12,12 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.Set;
-import java.util.UUID;
 
 @Service
 public class BrandLogoStorageService {
@@ -25,12 +26,18 @@ public class BrandLogoStorageService {
 
     private final Path storageRoot;
     private final String publicBaseUrl;
+    private final MediaBlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
 
     public BrandLogoStorageService(
             @Value("${app.brand.logo-storage-path:storage/brands/logos}") String storagePath,
-            @Value("${app.brand.public-base-url:http://localhost:8080}") String publicBaseUrl) {
+            @Value("${app.brand.public-base-url:http://localhost:8080}") String publicBaseUrl,
+            MediaBlobStore blobStore,
+            ImageDerivativeService imageDerivativeService) {
         this.storageRoot = Paths.get(storagePath).toAbsolutePath().normalize();
         this.publicBaseUrl = normalizeBaseUrl(publicBaseUrl);
+        this.blobStore = blobStore;
+        this.imageDerivativeService = imageDerivativeService;
         try {
             Files.createDirectories(this.storageRoot);
         } catch (IOException ex) {
@@ -50,12 +57,10 @@ public class BrandLogoStorageService {
         if (!ALLOWED_EXTENSIONS.contains(extension)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported logo format. Allowed: " + String.join(", ", ALLOWED_EXTENSIONS));
         }
-        try {
-            Files.createDirectories(storageRoot);
-            String filename = UUID.randomUUID() + "." + extension;
-            Path target = storageRoot.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            return new StoredLogo(filename, file.getOriginalFilename(), contentType, file.getSize());
+        try (InputStream stream = file.getInputStream()) {
+            String key = blobStore.put(stream, extension).key();
+            imageDerivativeService.scheduleWarmUp(blobStore.load(key));
+            return new StoredLogo(key, file.getOriginalFilename(), contentType, file.getSize());
         } catch (IOException ex) {
             throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store brand logo");
         }
@@ -65,6 +70,9 @@ public class BrandLogoStorageService {
         if (!StringUtils.hasText(key)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid logo key");
         }
+        if (MediaBlobStore.isBlobKey(key)) {
+            return blobStore.load(key);
+        }
         Path candidate = storageRoot.resolve(key).normalize();
         if (!candidate.startsWith(storageRoot)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid logo path");
@@ -9,6 +9,7 @@ import com.example.rbac.admin.brands.model.Brand;
 import com.example.rbac.admin.brands.repository.BrandRepository;
 import com.example.rbac.common.exception.ApiException;
 import com.example.rbac.common.pagination.PageResponse;
+import com.example.rbac.common.web.cache.PublicResponseCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -31,15 +32,18 @@ public class BrandService {
     private final BrandMapper brandMapper;
     private final ActivityRecorder activityRecorder;
     private final BrandLogoStorageService logoStorageService;
+    private final PublicResponseCache publicResponseCache;
 
     public BrandService(BrandRepository brandRepository,
                         BrandMapper brandMapper,
                         ActivityRecorder activityRecorder,
-                        BrandLogoStorageService logoStorageService) {
+                        BrandLogoStorageService logoStorageService,
+                        PublicResponseCache publicResponseCache) {
         this.brandRepository = brandRepository;
         this.brandMapper = brandMapper;
         this.activityRecorder = activityRecorder;
         this.logoStorageService = logoStorageService;
+        this.publicResponseCache = publicResponseCache;
     }
 
     public PageResponse<BrandDto> list(int page, int size, String search) {
@@ -74,6 +78,7 @@ public class BrandService {
         applyRequest(brand, request);
         ensureUniqueSlug(brand.getSlug(), null);
         Brand saved = brandRepository.save(brand);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.BRANDS);
         activityRecorder.record("Catalog", "BRAND_CREATED", "Created brand " + saved.getName(), "SUCCESS", buildContext(saved));
         return mapToDto(saved);
     }
@@ -86,6 +91,7 @@ public class BrandService {
         applyRequest(brand, request);
         ensureUniqueSlug(brand.getSlug(), brand.getId());
         Brand saved = brandRepository.save(brand);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.BRANDS);
         activityRecorder.record("Catalog", "BRAND_UPDATED", "Updated brand " + saved.getName(), "SUCCESS", buildContext(saved));
         if (previousSlug != null && !previousSlug.equalsIgnoreCase(saved.getSlug())) {
             Map<String, Object> context = new HashMap<>();
@@ -102,6 +108,7 @@ public class BrandService {
         Brand brand = brandRepository.findById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Brand not found"));
         brandRepository.delete(brand);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.BRANDS);
         activityRecorder.record("Catalog", "BRAND_DELETED", "Deleted brand " + brand.getName(), "SUCCESS", buildContext(brand));
     }
 
@@ -1,6 +1,7 @@
 package com.example.rbac.admin.categories.service;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.MediaBlobStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -10,15 +11,14 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 
 @Service
 public class CategoryAssetStorageService {
@@ -52,14 +52,17 @@ public class CategoryAssetStorageService {
 
     private final Path storageRoot;
     private final String publicBaseUrl;
+    private final MediaBlobStore blobStore;
     private final Map<AssetType, Path> typeDirectories = new EnumMap<>(AssetType.class);
 
     public CategoryAssetStorageService(
             @Value("${app.category.asset-storage-path:storage/catalog/categories}") String storagePath,
-            @Value("${app.category.public-base-url:${app.brand.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}}") String publicBaseUrl
+            @Value("${app.category.public-base-url:${app.brand.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}}") String publicBaseUrl,
+            MediaBlobStore blobStore
     ) {
         this.storageRoot = Paths.get(storagePath).toAbsolutePath().normalize();
         this.publicBaseUrl = normalizeBaseUrl(publicBaseUrl);
+        this.blobStore = blobStore;
         try {
             Files.createDirectories(this.storageRoot);
             for (AssetType type : AssetType.values()) {
@@ -84,13 +87,9 @@ public class CategoryAssetStorageService {
         if (!ALLOWED_EXTENSIONS.contains(extension)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported image format. Allowed: " + String.join(", ", ALLOWED_EXTENSIONS));
         }
-        try {
-            Path directory = typeDirectories.get(type);
-            Files.createDirectories(directory);
-            String filename = UUID.randomUUID() + "." + extension;
-            Path target = directory.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            return new StoredAsset(type, filename, file.getOriginalFilename(), contentType, file.getSize());
+        try (InputStream stream = file.getInputStream()) {
+            String key = blobStore.put(stream, extension).key();
+            return new StoredAsset(type, key, file.getOriginalFilename(), contentType, file.getSize());
         } catch (IOException ex) {
             throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store category asset");
         }
@@ -100,6 +99,9 @@ public class CategoryAssetStorageService {
         if (!StringUtils.hasText(key)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid asset key");
         }
+        if (MediaBlobStore.isBlobKey(key)) {
+            return blobStore.load(key);
+        }
         Path directory = typeDirectories.get(type);
         Path candidate = directory.resolve(key).normalize();
         if (!candidate.startsWith(directory)) {
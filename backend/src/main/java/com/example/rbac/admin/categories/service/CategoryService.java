@@ -9,8 +9,13 @@ import com.example.rbac.admin.categories.mapper.CategoryMapper;
 import com.example.rbac.admin.categories.model.Category;
 import com.example.rbac.admin.categories.model.CategoryType;
 import com.example.rbac.admin.categories.repository.CategoryRepository;
+import com.example.rbac.common.concurrent.BackgroundRefreshExecutor;
+import com.example.rbac.common.concurrent.SingleFlightLoader;
 import com.example.rbac.common.exception.ApiException;
 import com.example.rbac.common.pagination.PageResponse;
+import com.example.rbac.common.web.cache.PublicResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,27 +25,48 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.util.*;
 
 @Service
 public class CategoryService {
 
+    private static final String PUBLIC_CATEGORIES_KEY = "all";
+
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final ActivityRecorder activityRecorder;
     private final CategoryAssetStorageService assetStorageService;
+    private final PublicResponseCache publicResponseCache;
+    private final SingleFlightLoader<String, List<PublicCategoryDto>> publicCategories;
 
     public CategoryService(CategoryRepository categoryRepository,
                            CategoryMapper categoryMapper,
                            ActivityRecorder activityRecorder,
-                           CategoryAssetStorageService assetStorageService) {
+                           CategoryAssetStorageService assetStorageService,
+                           PublicResponseCache publicResponseCache,
+                           BackgroundRefreshExecutor refreshExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.category.public-list-cache.ttl:PT10M}") Duration publicListTtl,
+                           @Value("${app.category.public-list-cache.stale-while-revalidate:PT1M}")
+                           Duration publicListStaleWhileRevalidate) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
         this.activityRecorder = activityRecorder;
         this.assetStorageService = assetStorageService;
+        this.publicResponseCache = publicResponseCache;
+        this.publicCategories = new SingleFlightLoader<>("public-categories", ignored -> loadPublicCategories(),
+                publicListTtl, publicListStaleWhileRevalidate, 1, refreshExecutor, meterRegistry);
     }
 
+    /**
+     * The storefront category list, loaded once for all concurrent callers and dropped when a category changes.
+     */
     public List<PublicCategoryDto> listPublicCategories() {
+        return publicCategories.get(PUBLIC_CATEGORIES_KEY);
+    }
+
+    private List<PublicCategoryDto> loadPublicCategories() {
         List<Category> categories = categoryRepository.findAllOrderByOrderNumberDescNameAsc();
         List<PublicCategoryDto> response = new ArrayList<>(categories.size());
         for (Category category : categories) {
@@ -54,7 +80,7 @@ public class CategoryService {
             dto.setDescription(trimToNull(category.getMetaDescription()));
             response.add(dto);
         }
-        return response;
+        return Collections.unmodifiableList(response);
     }
 
     public PageResponse<CategoryDto> list(int page, int size, String search) {
@@ -95,6 +121,8 @@ public class CategoryService {
         applyRequest(category, request);
         ensureUniqueSlug(category.getSlug(), null);
         Category saved = categoryRepository.save(category);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.CATEGORIES);
+        publicCategories.invalidateAllAfterCommit();
         activityRecorder.record("Catalog", "CATEGORY_CREATED", "Created category " + saved.getName(), "SUCCESS", buildContext(saved));
         return mapToDto(saved);
     }
@@ -107,6 +135,8 @@ public class CategoryService {
         applyRequest(category, request);
         ensureUniqueSlug(category.getSlug(), category.getId());
         Category saved = categoryRepository.save(category);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.CATEGORIES);
+        publicCategories.invalidateAllAfterCommit();
         activityRecorder.record("Catalog", "CATEGORY_UPDATED", "Updated category " + saved.getName(), "SUCCESS", buildContext(saved));
         if (previousSlug != null && !previousSlug.equalsIgnoreCase(saved.getSlug())) {
             Map<String, Object> context = new HashMap<>();
@@ -126,6 +156,8 @@ public class CategoryService {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Cannot delete a category that has child categories");
         }
         categoryRepository.delete(category);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.CATEGORIES);
+        publicCategories.invalidateAllAfterCommit();
         activityRecorder.record("Catalog", "CATEGORY_DELETED", "Deleted category " + category.getName(), "SUCCESS", buildContext(category));
     }
 
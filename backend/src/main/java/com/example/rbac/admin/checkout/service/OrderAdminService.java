@@ -14,8 +14,10 @@ import com.example.rbac.admin.checkout.dto.AdminOrderProductVariantOptionDto;
 import com.example.rbac.admin.products.model.Product;
 import com.example.rbac.admin.products.repository.ProductRepository;
 import com.example.rbac.admin.products.service.ProductService;
+import com.example.rbac.admin.users.dto.UserAudience;
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.repository.UserRepository;
+import com.example.rbac.admin.users.search.PeopleSearchIndex;
 import com.example.rbac.client.checkout.dto.AppliedCouponDto;
 import com.example.rbac.client.checkout.dto.CheckoutAddressDto;
 import com.example.rbac.client.checkout.dto.CheckoutAddressType;
@@ -47,6 +49,7 @@ import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +70,7 @@ public class OrderAdminService {
     private final ProductRepository productRepository;
     private final ProductService productService;
     private final ObjectMapper objectMapper;
+    private final PeopleSearchIndex peopleSearchIndex;
 
     public OrderAdminService(CheckoutOrderRepository orderRepository,
                              ActivityRecorder activityRecorder,
@@ -74,7 +78,8 @@ public class OrderAdminService {
                              OrderService orderService,
                              ProductRepository productRepository,
                              ProductService productService,
-                             ObjectMapper objectMapper) {
+                             ObjectMapper objectMapper,
+                             PeopleSearchIndex peopleSearchIndex) {
         this.orderRepository = orderRepository;
         this.activityRecorder = activityRecorder;
         this.userRepository = userRepository;
@@ -82,6 +87,7 @@ public class OrderAdminService {
         this.productRepository = productRepository;
         this.productService = productService;
         this.objectMapper = objectMapper;
+        this.peopleSearchIndex = peopleSearchIndex;
     }
 
     @Transactional(readOnly = true)
@@ -89,16 +95,19 @@ public class OrderAdminService {
         int pageSize = Math.min(Math.max(limit, 1), MAX_LOOKUP_SIZE);
         Pageable pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Order.asc("fullName"), Sort.Order.asc("id")));
         String normalizedSearch = search != null ? search.trim() : null;
-        Page<User> page;
+        List<User> users;
         if (StringUtils.hasText(normalizedSearch)) {
-            page = userRepository.searchCustomersByRoleKey(CUSTOMER_ROLE_KEY, normalizedSearch, pageable);
+            users = new ArrayList<>(userRepository.findAllById(
+                    peopleSearchIndex.search(normalizedSearch, UserAudience.CUSTOMERS, pageSize)));
+            users.sort(Comparator.comparing(User::getFullName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(User::getId));
         } else {
-            page = userRepository.findCustomersByRoleKey(CUSTOMER_ROLE_KEY, pageable);
+            users = userRepository.findCustomersByRoleKey(CUSTOMER_ROLE_KEY, pageable).getContent();
         }
-        if (page == null || CollectionUtils.isEmpty(page.getContent())) {
+        if (CollectionUtils.isEmpty(users)) {
             return Collections.emptyList();
         }
-        return page.getContent().stream()
+        return users.stream()
                 .filter(user -> user != null && user.getId() != null)
                 .map(user -> {
                     AdminOrderCustomerOptionDto dto = new AdminOrderCustomerOptionDto();
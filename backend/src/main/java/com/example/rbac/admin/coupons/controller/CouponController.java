@@ -1,5 +1,7 @@
 package com.example.rbac.admin.coupons.controller;
 
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.coupons.dto.*;
 import com.example.rbac.admin.coupons.model.CouponType;
@@ -32,6 +34,18 @@ public class CouponController {
         return couponService.list(page, size, type, state, discountType, search);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('COUPON_VIEW_GLOBAL')")
+    public CursorPageResponse<CouponSummaryDto> scroll(@RequestParam(name = "cursor", required = false) String cursor,
+                                                       @RequestParam(name = "size", defaultValue = "20") int size,
+                                                       @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                                       @RequestParam(name = "type", required = false) CouponType type,
+                                                       @RequestParam(name = "state", required = false) CouponState state,
+                                                       @RequestParam(name = "discountType", required = false) DiscountType discountType,
+                                                       @RequestParam(name = "search", required = false) String search) {
+        return couponService.scroll(CursorPageRequest.of(cursor, size, includeTotal), type, state, discountType, search);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('COUPON_VIEW_GLOBAL')")
     public CouponDetailDto get(@PathVariable("id") Long id) {
@@ -4,6 +4,10 @@ import com.example.rbac.admin.activity.service.ActivityRecorder;
 import com.example.rbac.admin.categories.model.Category;
 import com.example.rbac.admin.categories.repository.CategoryRepository;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.coupons.dto.*;
 import com.example.rbac.admin.coupons.mapper.CouponMapper;
@@ -14,8 +18,11 @@ import com.example.rbac.admin.coupons.repository.CouponRepository;
 import com.example.rbac.admin.products.model.DiscountType;
 import com.example.rbac.admin.products.model.Product;
 import com.example.rbac.admin.products.repository.ProductRepository;
+import com.example.rbac.admin.users.dto.UserAudience;
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.repository.UserRepository;
+import com.example.rbac.admin.users.search.PeopleSearchIndex;
+import com.example.rbac.common.web.cache.PublicResponseCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -39,18 +46,27 @@ public class CouponService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final ActivityRecorder activityRecorder;
+    private final KeysetPaginator keysetPaginator;
+    private final PeopleSearchIndex peopleSearchIndex;
+    private final PublicResponseCache publicResponseCache;
     private final CouponMapper couponMapper = new CouponMapper();
 
     public CouponService(CouponRepository couponRepository,
                          ProductRepository productRepository,
                          CategoryRepository categoryRepository,
                          UserRepository userRepository,
-                         ActivityRecorder activityRecorder) {
+                         ActivityRecorder activityRecorder,
+                         KeysetPaginator keysetPaginator,
+                         PeopleSearchIndex peopleSearchIndex,
+                         PublicResponseCache publicResponseCache) {
         this.couponRepository = couponRepository;
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
         this.activityRecorder = activityRecorder;
+        this.keysetPaginator = keysetPaginator;
+        this.peopleSearchIndex = peopleSearchIndex;
+        this.publicResponseCache = publicResponseCache;
     }
 
     @Transactional(readOnly = true)
@@ -61,6 +77,28 @@ public class CouponService {
                                                DiscountType discountType,
                                                String search) {
         Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<Coupon> result = couponRepository.findAll(buildListSpecification(type, state, discountType, search), pageable);
+        return PageResponse.from(result.map(couponMapper::toSummary));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CouponSummaryDto> scroll(CursorPageRequest request,
+                                                       CouponType type,
+                                                       CouponState state,
+                                                       DiscountType discountType,
+                                                       String search) {
+        Specification<Coupon> specification = buildListSpecification(type, state, discountType, search);
+        boolean filtered = type != null || state != null || discountType != null || StringUtils.hasText(search);
+        KeysetSort<Coupon> sort = KeysetSort.of("createdAt", Sort.Direction.DESC, KeysetSort.ValueType.INSTANT,
+                Coupon::getCreatedAt, Coupon::getId);
+        return keysetPaginator.fetch(couponRepository, specification, sort, request, couponMapper::toSummary,
+                filtered ? () -> couponRepository.count(specification) : keysetPaginator.estimatedRows("coupons"));
+    }
+
+    private Specification<Coupon> buildListSpecification(CouponType type,
+                                                         CouponState state,
+                                                         DiscountType discountType,
+                                                         String search) {
         Specification<Coupon> specification = Specification.where(null);
         if (type != null) {
             specification = specification.and((root, query, cb) -> cb.equal(root.get("type"), type));
@@ -78,8 +116,7 @@ public class CouponService {
         if (state != null) {
             specification = specification.and(buildStateSpecification(state));
         }
-        Page<Coupon> result = couponRepository.findAll(specification, pageable);
-        return PageResponse.from(result.map(couponMapper::toSummary));
+        return specification;
     }
 
     @Transactional(readOnly = true)
@@ -118,6 +155,7 @@ public class CouponService {
         applyRequest(coupon, request);
         ensureUniqueCode(coupon.getCode(), null);
         Coupon saved = couponRepository.save(coupon);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.COUPONS);
         activityRecorder.record("Catalog", "COUPON_CREATED", "Created coupon " + saved.getCode(), "SUCCESS", buildContext(saved));
         return couponMapper.toDetail(saved);
     }
@@ -129,6 +167,7 @@ public class CouponService {
         applyRequest(coupon, request);
         ensureUniqueCode(coupon.getCode(), coupon.getId());
         Coupon saved = couponRepository.save(coupon);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.COUPONS);
         activityRecorder.record("Catalog", "COUPON_UPDATED", "Updated coupon " + saved.getCode(), "SUCCESS", buildContext(saved));
         return couponMapper.toDetail(saved);
     }
@@ -138,6 +177,7 @@ public class CouponService {
         Coupon coupon = couponRepository.findById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Coupon not found"));
         couponRepository.delete(coupon);
+        publicResponseCache.invalidateAfterCommit(PublicResponseCache.COUPONS);
         activityRecorder.record("Catalog", "COUPON_DELETED", "Deleted coupon " + coupon.getCode(), "SUCCESS", buildContext(coupon));
     }
 
@@ -183,15 +223,17 @@ public class CouponService {
     @Transactional(readOnly = true)
     public List<CouponUserDto> findUserOptions(String search, int size) {
         Pageable pageable = PageRequest.of(0, Math.max(size, 1), Sort.by(Sort.Direction.ASC, "fullName"));
-        Page<User> page;
+        List<User> users;
         if (StringUtils.hasText(search)) {
-            String term = search.trim();
-            page = userRepository.findByEmailContainingIgnoreCaseOrFullNameContainingIgnoreCase(term, term, pageable);
+            users = new ArrayList<>(userRepository.findAllById(
+                    peopleSearchIndex.search(search.trim(), UserAudience.ALL, pageable.getPageSize())));
+            users.sort(Comparator.comparing(User::getFullName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(User::getId));
         } else {
-            page = userRepository.findAll(pageable);
+            users = userRepository.findAll(pageable).getContent();
         }
         List<CouponUserDto> options = new ArrayList<>();
-        for (User user : page.getContent()) {
+        for (User user : users) {
             CouponUserDto dto = new CouponUserDto();
             dto.setId(user.getId());
             dto.setName(user.getFullName());
@@ -1,5 +1,7 @@
 package com.example.rbac.admin.customers.controller;
 
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.customers.dto.CustomerDto;
 import com.example.rbac.admin.customers.dto.CustomerRequest;
@@ -25,6 +27,14 @@ public class CustomerController {
         return customerService.list(page, size);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyAuthority('USER_VIEW','USER_VIEW_GLOBAL')")
+    public CursorPageResponse<CustomerDto> scroll(@RequestParam(name = "cursor", required = false) String cursor,
+                                                  @RequestParam(name = "size", defaultValue = "20") int size,
+                                                  @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        return customerService.scroll(CursorPageRequest.of(cursor, size, includeTotal));
+    }
+
     @PostMapping
     @PreAuthorize("hasAuthority('USER_CREATE')")
     public CustomerDto create(@Valid @RequestBody CustomerRequest request) {
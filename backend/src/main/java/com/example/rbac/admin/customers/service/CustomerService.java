@@ -2,6 +2,10 @@ package com.example.rbac.admin.customers.service;
 
 import com.example.rbac.admin.activity.service.ActivityRecorder;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.customers.dto.CustomerDto;
 import com.example.rbac.admin.customers.dto.CustomerRequest;
@@ -11,6 +15,7 @@ import com.example.rbac.admin.customers.repository.CustomerRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -26,13 +31,16 @@ public class CustomerService {
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
     private final ActivityRecorder activityRecorder;
+    private final KeysetPaginator keysetPaginator;
 
     public CustomerService(CustomerRepository customerRepository,
                            CustomerMapper customerMapper,
-                           ActivityRecorder activityRecorder) {
+                           ActivityRecorder activityRecorder,
+                           KeysetPaginator keysetPaginator) {
         this.customerRepository = customerRepository;
         this.customerMapper = customerMapper;
         this.activityRecorder = activityRecorder;
+        this.keysetPaginator = keysetPaginator;
     }
 
     @PreAuthorize("hasAnyAuthority('USER_VIEW','USER_VIEW_GLOBAL')")
@@ -42,6 +50,13 @@ public class CustomerService {
         return PageResponse.from(result);
     }
 
+    @PreAuthorize("hasAnyAuthority('USER_VIEW','USER_VIEW_GLOBAL')")
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CustomerDto> scroll(CursorPageRequest request) {
+        return keysetPaginator.fetch(customerRepository, null, KeysetSort.byId(Sort.Direction.ASC, Customer::getId),
+                request, customerMapper::toDto, keysetPaginator.estimatedRows("customers"));
+    }
+
     @PreAuthorize("hasAuthority('USER_CREATE')")
     @Transactional
     public CustomerDto create(CustomerRequest request) {
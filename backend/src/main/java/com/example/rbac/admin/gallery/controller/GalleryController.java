@@ -1,10 +1,17 @@
 package com.example.rbac.admin.gallery.controller;
 
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.gallery.dto.*;
 import com.example.rbac.admin.gallery.service.GalleryFileContent;
 import com.example.rbac.admin.gallery.service.GalleryService;
 import com.example.rbac.admin.users.model.UserPrincipal;
+import com.example.rbac.common.media.ImageDerivativeService;
+import com.example.rbac.common.media.upload.dto.UploadChunkDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionRequest;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -15,6 +22,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -44,6 +52,23 @@ public class GalleryController {
         return galleryService.list(page, size, sort, direction, folderId, ownerId, uploaderId, uploaderEmail, search, principal);
     }
 
+    @GetMapping("/files/scroll")
+    @PreAuthorize("hasAnyAuthority('GALLERY_VIEW_ALL','GALLERY_VIEW_OWN')")
+    public CursorPageResponse<GalleryFileDto> scrollFiles(@RequestParam(name = "cursor", required = false) String cursor,
+                                                          @RequestParam(name = "size", defaultValue = "20") int size,
+                                                          @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                                          @RequestParam(name = "sort", required = false) String sort,
+                                                          @RequestParam(name = "direction", required = false) String direction,
+                                                          @RequestParam(name = "folderId", required = false) Long folderId,
+                                                          @RequestParam(name = "ownerId", required = false) Long ownerId,
+                                                          @RequestParam(name = "uploaderId", required = false) Long uploaderId,
+                                                          @RequestParam(name = "uploader", required = false) String uploaderEmail,
+                                                          @RequestParam(name = "search", required = false) String search,
+                                                          @AuthenticationPrincipal UserPrincipal principal) {
+        return galleryService.scroll(CursorPageRequest.of(cursor, size, includeTotal), sort, direction, folderId, ownerId,
+                uploaderId, uploaderEmail, search, principal);
+    }
+
     @GetMapping("/settings")
     @PreAuthorize("hasAnyAuthority('GALLERY_VIEW_ALL','GALLERY_VIEW_OWN','GALLERY_CREATE','GALLERY_EDIT_ALL')")
     public GallerySettingsDto getSettings(@AuthenticationPrincipal UserPrincipal principal) {
@@ -52,12 +77,51 @@ public class GalleryController {
 
     @PostMapping("/files")
     @PreAuthorize("hasAuthority('GALLERY_CREATE')")
-    public List<GalleryFileDto> uploadFiles(@RequestParam(name = "folderId", required = false) Long folderId,
-                                            @RequestParam("files") List<MultipartFile> files,
-                                            @AuthenticationPrincipal UserPrincipal principal) {
+    public GalleryUploadResponse uploadFiles(@RequestParam(name = "folderId", required = false) Long folderId,
+                                             @RequestParam("files") List<MultipartFile> files,
+                                             @AuthenticationPrincipal UserPrincipal principal) {
         return galleryService.upload(folderId, files, principal);
     }
 
+    @PostMapping("/uploads")
+    @PreAuthorize("hasAuthority('GALLERY_CREATE')")
+    public UploadSessionDto startUpload(@RequestParam(name = "folderId", required = false) Long folderId,
+                                        @Valid @RequestBody UploadSessionRequest request,
+                                        @AuthenticationPrincipal UserPrincipal principal) {
+        return galleryService.startChunkedUpload(folderId, request, principal);
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasAuthority('GALLERY_CREATE')")
+    public UploadSessionDto getUpload(@PathVariable("uploadId") String uploadId,
+                                      @AuthenticationPrincipal UserPrincipal principal) {
+        return galleryService.getChunkedUpload(uploadId, principal);
+    }
+
+    @PutMapping(value = "/uploads/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('GALLERY_CREATE')")
+    public UploadChunkDto uploadChunk(@PathVariable("uploadId") String uploadId,
+                                      @PathVariable("index") int index,
+                                      @RequestHeader(name = "X-Chunk-SHA256", required = false) String checksum,
+                                      HttpServletRequest request,
+                                      @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+        return galleryService.uploadChunk(uploadId, index, request.getInputStream(), checksum, principal);
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    @PreAuthorize("hasAuthority('GALLERY_CREATE')")
+    public GalleryFileDto completeUpload(@PathVariable("uploadId") String uploadId,
+                                         @AuthenticationPrincipal UserPrincipal principal) {
+        return galleryService.completeChunkedUpload(uploadId, principal);
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasAuthority('GALLERY_CREATE')")
+    public void abortUpload(@PathVariable("uploadId") String uploadId,
+                            @AuthenticationPrincipal UserPrincipal principal) {
+        galleryService.abortChunkedUpload(uploadId, principal);
+    }
+
     @PatchMapping("/files/{id}")
     @PreAuthorize("hasAuthority('GALLERY_EDIT_ALL')")
     public GalleryFileDto updateFile(@PathVariable("id") Long id,
@@ -82,13 +146,16 @@ public class GalleryController {
     @GetMapping("/files/{id}/content")
     @PreAuthorize("hasAnyAuthority('GALLERY_VIEW_ALL','GALLERY_VIEW_OWN')")
     public ResponseEntity<Resource> downloadFile(@PathVariable("id") Long id,
+                                                  @RequestParam(name = "w", required = false) Integer width,
+                                                  @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
                                                   @AuthenticationPrincipal UserPrincipal principal) {
-        GalleryFileContent content = galleryService.loadContent(id, principal);
+        GalleryFileContent content = galleryService.loadContent(id, width, ImageDerivativeService.acceptsWebp(accept), principal);
         String filename = encodeFilename(content.filename());
         MediaType mediaType = content.mimeType() != null ? MediaType.parseMediaType(content.mimeType()) : MediaType.APPLICATION_OCTET_STREAM;
         return ResponseEntity.ok()
                 .contentType(mediaType)
                 .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
                 .body(content.resource());
     }
 
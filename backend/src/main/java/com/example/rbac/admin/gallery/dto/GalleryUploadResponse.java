@@ -0,0 +1,43 @@
+package com.example.rbac.admin.gallery.dto;
+
+import java.util.List;
+
+public class GalleryUploadResponse {
+
+    private List<GalleryUploadResultDto> results;
+    private int uploadedCount;
+    private int failedCount;
+
+    public GalleryUploadResponse() {
+    }
+
+    public GalleryUploadResponse(List<GalleryUploadResultDto> results, int uploadedCount, int failedCount) {
+        this.results = results;
+        this.uploadedCount = uploadedCount;
+        this.failedCount = failedCount;
+    }
+
+    public List<GalleryUploadResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<GalleryUploadResultDto> results) {
+        this.results = results;
+    }
+
+    public int getUploadedCount() {
+        return uploadedCount;
+    }
+
+    public void setUploadedCount(int uploadedCount) {
+        this.uploadedCount = uploadedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+}
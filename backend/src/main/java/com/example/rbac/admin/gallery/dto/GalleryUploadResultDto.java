@@ -0,0 +1,51 @@
+package com.example.rbac.admin.gallery.dto;
+
+public class GalleryUploadResultDto {
+
+    private String filename;
+    private boolean success;
+    private GalleryFileDto file;
+    private String error;
+
+    public GalleryUploadResultDto() {
+    }
+
+    public GalleryUploadResultDto(String filename, boolean success, GalleryFileDto file, String error) {
+        this.filename = filename;
+        this.success = success;
+        this.file = file;
+        this.error = error;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public GalleryFileDto getFile() {
+        return file;
+    }
+
+    public void setFile(GalleryFileDto file) {
+        this.file = file;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -36,7 +36,7 @@ public class GalleryFile {
     @Column(name = "size_bytes", nullable = false)
     private long sizeBytes;
 
-    @Column(name = "storage_key", nullable = false, unique = true, length = 500)
+    @Column(name = "storage_key", nullable = false, length = 500)
     private String storageKey;
 
     @Column(name = "created_at", nullable = false, updatable = false)
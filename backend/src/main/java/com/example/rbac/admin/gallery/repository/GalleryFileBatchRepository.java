@@ -0,0 +1,84 @@
+package com.example.rbac.admin.gallery.repository;
+
+import com.example.rbac.admin.gallery.model.GalleryFile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts the metadata of a multi-file upload as one JDBC batch. Gallery files use identity keys, which stop
+ * Hibernate from batching {@code saveAll}, so the rows are written here and the generated ids copied back onto the
+ * (detached) entities.
+ */
+@Repository
+public class GalleryFileBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO gallery_files (folder_id, uploader_id, display_name, " +
+            "original_filename, extension, mime_type, size_bytes, storage_key, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GalleryFileBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public void insertAll(List<GalleryFile> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int index) throws SQLException {
+                        GalleryFile file = files.get(index);
+                        if (file.getFolder() != null) {
+                            statement.setLong(1, file.getFolder().getId());
+                        } else {
+                            statement.setNull(1, Types.BIGINT);
+                        }
+                        statement.setLong(2, file.getUploader().getId());
+                        statement.setString(3, file.getDisplayName());
+                        statement.setString(4, file.getOriginalFilename());
+                        statement.setString(5, file.getExtension());
+                        statement.setString(6, file.getMimeType());
+                        statement.setLong(7, file.getSizeBytes());
+                        statement.setString(8, file.getStorageKey());
+                        statement.setTimestamp(9, now);
+                        statement.setTimestamp(10, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return files.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < files.size(); i++) {
+            GalleryFile file = files.get(i);
+            file.setId(i < keys.size() ? extractId(keys.get(i)) : null);
+            file.setCreatedAt(now.toInstant());
+            file.setUpdatedAt(now.toInstant());
+        }
+    }
+
+    private Long extractId(Map<String, Object> key) {
+        Object value = key.size() == 1 ? key.values().iterator().next() : key.getOrDefault("GENERATED_KEY", key.get("id"));
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
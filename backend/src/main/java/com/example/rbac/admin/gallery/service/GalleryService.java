@@ -2,47 +2,74 @@ package com.example.rbac.admin.gallery.service;
 
 import com.example.rbac.admin.activity.service.ActivityRecorder;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.upload.ChunkedUploadService;
+import com.example.rbac.common.media.upload.UploadSession;
+import com.example.rbac.common.media.upload.dto.UploadChunkDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionRequest;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.gallery.dto.*;
 import com.example.rbac.admin.gallery.model.GalleryFile;
 import com.example.rbac.admin.gallery.model.GalleryFolder;
+import com.example.rbac.admin.gallery.repository.GalleryFileBatchRepository;
 import com.example.rbac.admin.gallery.repository.GalleryFileRepository;
 import com.example.rbac.admin.gallery.repository.GalleryFolderRepository;
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.model.UserPrincipal;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.*;
 
 @Service
 public class GalleryService {
 
     private static final String MODULE_NAME = "Gallery";
+    private static final String UPLOAD_PURPOSE = "GALLERY";
 
     private final GalleryFileRepository fileRepository;
     private final GalleryFolderRepository folderRepository;
     private final GallerySettingsService settingsService;
     private final GalleryStorageService storageService;
     private final ActivityRecorder activityRecorder;
+    private final ChunkedUploadService chunkedUploadService;
+    private final GalleryUploadPipeline uploadPipeline;
+    private final GalleryFileBatchRepository fileBatchRepository;
+    private final KeysetPaginator keysetPaginator;
 
     public GalleryService(GalleryFileRepository fileRepository,
                           GalleryFolderRepository folderRepository,
                           GallerySettingsService settingsService,
                           GalleryStorageService storageService,
-                          ActivityRecorder activityRecorder) {
+                          ActivityRecorder activityRecorder,
+                          ChunkedUploadService chunkedUploadService,
+                          GalleryUploadPipeline uploadPipeline,
+                          GalleryFileBatchRepository fileBatchRepository,
+                          KeysetPaginator keysetPaginator) {
         this.fileRepository = fileRepository;
         this.folderRepository = folderRepository;
         this.settingsService = settingsService;
         this.storageService = storageService;
         this.activityRecorder = activityRecorder;
+        this.chunkedUploadService = chunkedUploadService;
+        this.uploadPipeline = uploadPipeline;
+        this.fileBatchRepository = fileBatchRepository;
+        this.keysetPaginator = keysetPaginator;
     }
 
     @Transactional(readOnly = true)
@@ -56,6 +83,35 @@ public class GalleryService {
                                              String uploaderEmail,
                                              String search,
                                              UserPrincipal principal) {
+        Specification<GalleryFile> specification = buildListSpecification(folderId, ownerId, uploaderId, uploaderEmail,
+                search, principal);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), resolveSort(sort, direction));
+        Page<GalleryFileDto> result = fileRepository.findAll(specification, pageable).map(this::toDto);
+        return PageResponse.from(result);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<GalleryFileDto> scroll(CursorPageRequest request,
+                                                     String sort,
+                                                     String direction,
+                                                     Long folderId,
+                                                     Long ownerId,
+                                                     Long uploaderId,
+                                                     String uploaderEmail,
+                                                     String search,
+                                                     UserPrincipal principal) {
+        Specification<GalleryFile> specification = buildListSpecification(folderId, ownerId, uploaderId, uploaderEmail,
+                search, principal);
+        return keysetPaginator.fetch(fileRepository, specification, resolveKeysetSort(sort, direction), request,
+                this::toDto, () -> fileRepository.count(specification));
+    }
+
+    private Specification<GalleryFile> buildListSpecification(Long folderId,
+                                                              Long ownerId,
+                                                              Long uploaderId,
+                                                              String uploaderEmail,
+                                                              String search,
+                                                              UserPrincipal principal) {
         boolean canViewAll = hasAuthority(principal, "GALLERY_VIEW_ALL");
         Long currentUserId = resolveUserId(principal);
 
@@ -83,13 +139,16 @@ public class GalleryService {
             }
         }
 
-        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), resolveSort(sort, direction));
-        Page<GalleryFileDto> result = fileRepository.findAll(specification, pageable).map(this::toDto);
-        return PageResponse.from(result);
+        return specification;
     }
 
-    @Transactional
-    public List<GalleryFileDto> upload(Long folderId, List<MultipartFile> files, UserPrincipal principal) {
+    /**
+     * Stores a batch of files. Validation and the copy into storage run concurrently per file outside any
+     * transaction; the metadata of every file that reached storage is then inserted as one batch, so the request only
+     * holds a database connection for the folder lookup and that final insert. Files that fail are reported
+     * individually instead of failing the whole upload.
+     */
+    public GalleryUploadResponse upload(Long folderId, List<MultipartFile> files, UserPrincipal principal) {
         if (files == null || files.isEmpty()) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "No files provided for upload");
         }
@@ -97,24 +156,89 @@ public class GalleryService {
         GalleryFolder folder = resolveFolder(folderId, principal);
         List<String> allowedExtensions = settingsService.resolveAllowedExtensions();
         long maxFileSizeBytes = settingsService.resolveMaxFileSizeBytes();
-        List<GalleryFileDto> uploaded = new ArrayList<>();
-        List<Long> fileIds = new ArrayList<>();
 
-        for (MultipartFile file : files) {
+        List<GalleryUploadPipeline.Outcome<MultipartFile, GalleryFile>> outcomes = uploadPipeline.process(files, file -> {
             validateFileSize(file, maxFileSizeBytes);
-            GalleryFile entity = storeFile(folder, uploader, file, allowedExtensions);
-            uploaded.add(toDto(entity));
-            fileIds.add(entity.getId());
+            String originalName = resolveOriginalFilename(file);
+            String extension = validateExtension(originalName, allowedExtensions).toLowerCase(Locale.ROOT);
+            String storageKey = storageService.store(file, extension);
+            return newFile(folder, uploader, originalName, extension, file.getContentType(), file.getSize(), storageKey);
+        });
+
+        List<GalleryFile> stored = outcomes.stream()
+                .filter(GalleryUploadPipeline.Outcome::succeeded)
+                .map(GalleryUploadPipeline.Outcome::result)
+                .toList();
+        try {
+            fileBatchRepository.insertAll(stored);
+        } catch (RuntimeException ex) {
+            stored.forEach(file -> storageService.delete(file.getStorageKey()));
+            throw ex;
+        }
+
+        List<GalleryUploadResultDto> results = new ArrayList<>(outcomes.size());
+        for (GalleryUploadPipeline.Outcome<MultipartFile, GalleryFile> outcome : outcomes) {
+            String filename = resolveOriginalFilename(outcome.item());
+            results.add(outcome.succeeded()
+                    ? new GalleryUploadResultDto(filename, true, toDto(outcome.result()), null)
+                    : new GalleryUploadResultDto(filename, false, null, outcome.error()));
+        }
+        int failedCount = outcomes.size() - stored.size();
+
+        if (!stored.isEmpty()) {
+            Map<String, Object> context = new HashMap<>();
+            context.put("fileIds", stored.stream().map(GalleryFile::getId).toList());
+            if (failedCount > 0) {
+                context.put("failedCount", failedCount);
+            }
+            if (folder != null) {
+                context.put("folderId", folder.getId());
+                context.put("folderPath", folder.getPath());
+            }
+            activityRecorder.record(MODULE_NAME, "UPLOAD", "Uploaded " + stored.size() + " file(s)", "SUCCESS", context);
         }
+        return new GalleryUploadResponse(results, stored.size(), failedCount);
+    }
 
-        Map<String, Object> context = new HashMap<>();
-        context.put("fileIds", fileIds);
-        if (folder != null) {
-            context.put("folderId", folder.getId());
-            context.put("folderPath", folder.getPath());
-        }
-        activityRecorder.record(MODULE_NAME, "UPLOAD", "Uploaded " + uploaded.size() + " file(s)", "SUCCESS", context);
-        return uploaded;
+    @Transactional
+    public UploadSessionDto startChunkedUpload(Long folderId, UploadSessionRequest request, UserPrincipal principal) {
+        GalleryFolder folder = resolveFolder(folderId, principal);
+        String originalName = request.getFilename().trim();
+        validateExtension(originalName, settingsService.resolveAllowedExtensions());
+        validateFileSize(originalName, request.getSizeBytes(), settingsService.resolveMaxFileSizeBytes());
+        UploadSession session = chunkedUploadService.open(request, resolveUserId(principal), UPLOAD_PURPOSE,
+                folder != null ? folder.getId().toString() : null);
+        return chunkedUploadService.describe(session);
+    }
+
+    @Transactional(readOnly = true)
+    public UploadSessionDto getChunkedUpload(String uploadId, UserPrincipal principal) {
+        return chunkedUploadService.describe(chunkedUploadService.get(uploadId, resolveUserId(principal), UPLOAD_PURPOSE));
+    }
+
+    public UploadChunkDto uploadChunk(String uploadId, int index, InputStream body, String checksum, UserPrincipal principal) {
+        UploadSession session = chunkedUploadService.get(uploadId, resolveUserId(principal), UPLOAD_PURPOSE);
+        return chunkedUploadService.writeChunk(session, index, body, checksum);
+    }
+
+    @Transactional
+    public GalleryFileDto completeChunkedUpload(String uploadId, UserPrincipal principal) {
+        UploadSession session = chunkedUploadService.get(uploadId, resolveUserId(principal), UPLOAD_PURPOSE);
+        GalleryFolder folder = session.context() != null ? resolveFolder(Long.valueOf(session.context()), principal) : null;
+        ChunkedUploadService.CompletedUpload completed = chunkedUploadService.complete(session);
+        String extension = extractExtension(session.originalFilename()).toLowerCase(Locale.ROOT);
+        GalleryFile entity = saveFile(folder, resolveUser(principal), session.originalFilename(), extension,
+                session.contentType(), session.sizeBytes(), completed.blob().key());
+
+        Map<String, Object> context = buildFileContext(entity);
+        context.put("chunks", session.chunkCount());
+        activityRecorder.record(MODULE_NAME, "UPLOAD", "Uploaded 1 file(s)", "SUCCESS", context);
+        return toDto(entity);
+    }
+
+    @Transactional
+    public void abortChunkedUpload(String uploadId, UserPrincipal principal) {
+        chunkedUploadService.abort(chunkedUploadService.get(uploadId, resolveUserId(principal), UPLOAD_PURPOSE));
     }
 
     @Transactional(readOnly = true)
@@ -198,15 +322,16 @@ public class GalleryService {
     }
 
     @Transactional(readOnly = true)
-    public GalleryFileContent loadContent(Long id, UserPrincipal principal) {
+    public GalleryFileContent loadContent(Long id, Integer width, boolean acceptsWebp, UserPrincipal principal) {
         GalleryFile file = fileRepository.findById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "File not found"));
         enforceViewPermission(file, principal);
-        return new GalleryFileContent(
-                storageService.loadAsResource(file.getStorageKey()),
-                file.getMimeType(),
-                file.getOriginalFilename()
-        );
+        Resource original = storageService.loadAsResource(file.getStorageKey());
+        Resource resource = storageService.resize(original, width, acceptsWebp);
+        String mimeType = resource == original
+                ? file.getMimeType()
+                : MediaTypeFactory.getMediaType(resource).map(MediaType::toString).orElse(file.getMimeType());
+        return new GalleryFileContent(resource, mimeType, file.getOriginalFilename());
     }
 
     @Transactional(readOnly = true)
@@ -303,8 +428,36 @@ public class GalleryService {
                 });
     }
 
-    private GalleryFile storeFile(GalleryFolder folder, User uploader, MultipartFile file, List<String> allowedExtensions) {
-        String originalName = resolveOriginalFilename(file);
+    private GalleryFile saveFile(GalleryFolder folder,
+                                 User uploader,
+                                 String originalName,
+                                 String extension,
+                                 String mimeType,
+                                 long sizeBytes,
+                                 String storageKey) {
+        return fileRepository.save(newFile(folder, uploader, originalName, extension, mimeType, sizeBytes, storageKey));
+    }
+
+    private GalleryFile newFile(GalleryFolder folder,
+                                User uploader,
+                                String originalName,
+                                String extension,
+                                String mimeType,
+                                long sizeBytes,
+                                String storageKey) {
+        GalleryFile entity = new GalleryFile();
+        entity.setFolder(folder);
+        entity.setUploader(uploader);
+        entity.setDisplayName(deriveDisplayName(originalName));
+        entity.setOriginalFilename(originalName);
+        entity.setExtension(extension);
+        entity.setMimeType(mimeType);
+        entity.setSizeBytes(sizeBytes);
+        entity.setStorageKey(storageKey);
+        return entity;
+    }
+
+    private String validateExtension(String originalName, List<String> allowedExtensions) {
         String extension = extractExtension(originalName);
         if (extension.isBlank()) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "File " + originalName + " is missing an extension");
@@ -312,28 +465,20 @@ public class GalleryService {
         if (allowedExtensions.stream().noneMatch(ext -> ext.equalsIgnoreCase(extension))) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "File type not allowed: " + extension);
         }
-        String storageKey = storageService.store(file, folder != null ? folder.getPath() : "/", extension.toLowerCase(Locale.ROOT));
-        GalleryFile entity = new GalleryFile();
-        entity.setFolder(folder);
-        entity.setUploader(uploader);
-        entity.setDisplayName(deriveDisplayName(originalName));
-        entity.setOriginalFilename(originalName);
-        entity.setExtension(extension.toLowerCase(Locale.ROOT));
-        entity.setMimeType(file.getContentType());
-        entity.setSizeBytes(file.getSize());
-        entity.setStorageKey(storageKey);
-        return fileRepository.save(entity);
+        return extension;
     }
 
     private void validateFileSize(MultipartFile file, long maxFileSizeBytes) {
+        validateFileSize(resolveOriginalFilename(file), file.getSize(), maxFileSizeBytes);
+    }
+
+    private void validateFileSize(String fileName, long size, long maxFileSizeBytes) {
         if (maxFileSizeBytes <= 0) {
             return;
         }
-        long size = file.getSize();
         if (size <= maxFileSizeBytes) {
             return;
         }
-        String fileName = resolveOriginalFilename(file);
         String formattedLimit = formatFileSize(maxFileSizeBytes);
         throw new ApiException(HttpStatus.BAD_REQUEST,
                 String.format(Locale.ROOT, "File %s exceeds the maximum allowed size of %s.", fileName, formattedLimit));
@@ -377,6 +522,22 @@ public class GalleryService {
         return String.format(Locale.ROOT, pattern, value, units[unitIndex]);
     }
 
+    private KeysetSort<GalleryFile> resolveKeysetSort(String sort, String direction) {
+        String normalizedSort = sort == null ? "createdAt" : sort.trim();
+        Sort.Direction sortDirection = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return switch (normalizedSort.toLowerCase(Locale.ROOT)) {
+            case "size" -> KeysetSort.of("sizeBytes", sortDirection, KeysetSort.ValueType.LONG,
+                    GalleryFile::getSizeBytes, GalleryFile::getId);
+            case "extension" -> KeysetSort.of("extension", sortDirection, KeysetSort.ValueType.STRING,
+                    GalleryFile::getExtension, GalleryFile::getId);
+            case "name" -> KeysetSort.of("displayName", sortDirection, KeysetSort.ValueType.STRING,
+                    GalleryFile::getDisplayName, GalleryFile::getId);
+            // The uploader e-mail lives on another table and may be null, so it cannot anchor a cursor.
+            default -> KeysetSort.of("createdAt", sortDirection, KeysetSort.ValueType.INSTANT,
+                    GalleryFile::getCreatedAt, GalleryFile::getId);
+        };
+    }
+
     private Sort resolveSort(String sort, String direction) {
         String normalizedSort = sort == null ? "createdAt" : sort.trim();
         Sort.Direction sortDirection;
@@ -395,11 +556,7 @@ public class GalleryService {
     }
 
     private boolean hasAuthority(UserPrincipal principal, String authority) {
-        if (principal == null || principal.getAuthorities() == null) {
-            return false;
-        }
-        return principal.getAuthorities().stream()
-                .anyMatch(grantedAuthority -> authority.equalsIgnoreCase(grantedAuthority.getAuthority()));
+        return principal != null && principal.hasPermission(authority);
     }
 
     private Long resolveUserId(UserPrincipal principal) {
@@ -1,33 +1,64 @@
 package com.example.rbac.admin.gallery.service;
 
-import com.example.rbac.admin.settings.model.Setting;
-import com.example.rbac.admin.settings.repository.SettingRepository;
+import com.example.rbac.admin.settings.service.SettingsCache;
+import com.example.rbac.admin.settings.service.SettingsChangeListener;
+import com.example.rbac.admin.settings.service.SettingsSnapshot;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
-public class GallerySettingsService {
+public class GallerySettingsService implements SettingsChangeListener {
 
     private static final String ALLOWED_EXTENSIONS_CODE = "gallery.allowed_extensions";
     private static final String MAX_FILE_SIZE_CODE = "gallery.max_file_size_mb";
     private static final long DEFAULT_MAX_FILE_SIZE_BYTES = 50L * 1024L * 1024L;
     private static final long MAX_CONFIGURABLE_FILE_SIZE_BYTES = 5L * 1024L * 1024L * 1024L;
 
-    private final SettingRepository settingRepository;
+    private final SettingsCache settingsCache;
+    private final AtomicReference<Limits> limits = new AtomicReference<>();
 
-    public GallerySettingsService(SettingRepository settingRepository) {
-        this.settingRepository = settingRepository;
+    public GallerySettingsService(SettingsCache settingsCache) {
+        this.settingsCache = settingsCache;
     }
 
     public List<String> resolveAllowedExtensions() {
-        Optional<Setting> setting = settingRepository.findByCode(ALLOWED_EXTENSIONS_CODE);
-        String configured = setting.map(Setting::getValue).orElse(null);
+        return limits().allowedExtensions();
+    }
+
+    public long resolveMaxFileSizeBytes() {
+        return limits().maxFileSizeBytes();
+    }
+
+    @Override
+    public void onSettingsChanged(SettingsSnapshot snapshot, Set<String> changedCodes) {
+        if (changedCodes.contains(ALLOWED_EXTENSIONS_CODE) || changedCodes.contains(MAX_FILE_SIZE_CODE)) {
+            limits.set(buildLimits(snapshot));
+        }
+    }
+
+    private Limits limits() {
+        Limits current = limits.get();
+        if (current == null) {
+            // A change notification may land while this builds; never replace what it installed.
+            limits.compareAndSet(null, buildLimits(settingsCache.snapshot()));
+            current = limits.get();
+        }
+        return current;
+    }
+
+    private Limits buildLimits(SettingsSnapshot snapshot) {
+        return new Limits(parseAllowedExtensions(snapshot.value(ALLOWED_EXTENSIONS_CODE)),
+                parseMaxFileSizeBytes(snapshot.value(MAX_FILE_SIZE_CODE)));
+    }
+
+    private List<String> parseAllowedExtensions(String configured) {
         if (configured == null || configured.isBlank()) {
             return List.of("png", "jpg", "jpeg", "gif", "pdf", "docx", "xlsx", "mp4", "zip");
         }
@@ -37,12 +68,10 @@ public class GallerySettingsService {
                 .map(this::normalizeExtension)
                 .collect(Collectors.toCollection(LinkedHashSet::new));
         normalized.add("zip");
-        return normalized.stream().collect(Collectors.toList());
+        return List.copyOf(normalized);
     }
 
-    public long resolveMaxFileSizeBytes() {
-        Optional<Setting> setting = settingRepository.findByCode(MAX_FILE_SIZE_CODE);
-        String configured = setting.map(Setting::getValue).orElse(null);
+    private long parseMaxFileSizeBytes(String configured) {
         if (configured == null || configured.isBlank()) {
             return DEFAULT_MAX_FILE_SIZE_BYTES;
         }
@@ -69,4 +98,7 @@ public class GallerySettingsService {
         String sanitized = value.startsWith(".") ? value.substring(1) : value;
         return sanitized.toLowerCase(Locale.ROOT);
     }
+
+    private record Limits(List<String> allowedExtensions, long maxFileSizeBytes) {
+    }
 }
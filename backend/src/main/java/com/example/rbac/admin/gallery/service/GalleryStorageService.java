@@ -1,6 +1,8 @@
 package com.example.rbac.admin.gallery.service;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.ImageDerivativeService;
+import com.example.rbac.common.media.MediaBlobStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -9,20 +11,25 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
 
 @Service
 public class GalleryStorageService {
 
     private final Path storageRoot;
+    private final MediaBlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
 
-    public GalleryStorageService(@Value("${app.gallery.storage-path:storage/gallery}") String storagePath) {
+    public GalleryStorageService(@Value("${app.gallery.storage-path:storage/gallery}") String storagePath,
+                                 MediaBlobStore blobStore,
+                                 ImageDerivativeService imageDerivativeService) {
         this.storageRoot = Paths.get(storagePath).toAbsolutePath().normalize();
+        this.blobStore = blobStore;
+        this.imageDerivativeService = imageDerivativeService;
         try {
             Files.createDirectories(this.storageRoot);
         } catch (IOException ex) {
@@ -30,20 +37,28 @@ public class GalleryStorageService {
         }
     }
 
-    public String store(MultipartFile file, String folderPath, String extension) {
-        try {
-            Path targetDirectory = resolveFolderPath(folderPath);
-            Files.createDirectories(targetDirectory);
-            String filename = UUID.randomUUID() + (extension == null || extension.isBlank() ? "" : "." + extension);
-            Path destination = targetDirectory.resolve(filename);
-            Files.copy(file.getInputStream(), destination, StandardCopyOption.REPLACE_EXISTING);
-            return storageRoot.relativize(destination).toString().replace('\\', '/');
+    /**
+     * Stores the upload in the shared blob store. Folders are a catalogue concept only, so the returned key is the
+     * content address and identical files uploaded into different folders share one copy on disk.
+     */
+    public String store(MultipartFile file, String extension) {
+        try (InputStream stream = file.getInputStream()) {
+            String key = blobStore.put(stream, extension).key();
+            imageDerivativeService.scheduleWarmUp(blobStore.load(key));
+            return key;
         } catch (IOException ex) {
             throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store uploaded file");
         }
     }
 
+    public Resource resize(Resource original, Integer width, boolean acceptsWebp) {
+        return imageDerivativeService.resolve(original, width, acceptsWebp);
+    }
+
     public Resource loadAsResource(String storageKey) {
+        if (MediaBlobStore.isBlobKey(storageKey)) {
+            return blobStore.load(storageKey);
+        }
         try {
             Path filePath = storageRoot.resolve(storageKey).normalize();
             if (!filePath.startsWith(storageRoot)) {
@@ -64,6 +79,10 @@ public class GalleryStorageService {
             if (storageKey == null || storageKey.isBlank()) {
                 return;
             }
+            if (MediaBlobStore.isBlobKey(storageKey)) {
+                blobStore.release(storageKey);
+                return;
+            }
             Path filePath = storageRoot.resolve(storageKey).normalize();
             if (filePath.startsWith(storageRoot)) {
                 Files.deleteIfExists(filePath);
@@ -72,16 +91,4 @@ public class GalleryStorageService {
             // ignore deletion errors to avoid blocking the request
         }
     }
-
-    private Path resolveFolderPath(String folderPath) {
-        if (folderPath == null || folderPath.isBlank() || "/".equals(folderPath)) {
-            return storageRoot;
-        }
-        String sanitized = folderPath;
-        if (sanitized.startsWith("/")) {
-            sanitized = sanitized.substring(1);
-        }
-        sanitized = sanitized.replace('\\', '/');
-        return storageRoot.resolve(sanitized).normalize();
-    }
 }
@@ -0,0 +1,105 @@
+package com.example.rbac.admin.gallery.service;
+
+import com.example.rbac.common.exception.ApiException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the per-file part of a multi-file gallery upload (validation and streaming into storage) on a small bounded
+ * pool so a batch of photos is written concurrently instead of one after another. When the queue is full the request
+ * thread stores the file itself, which throttles very large batches without rejecting them. A failing file never
+ * aborts its siblings; its error is reported in its own {@link Outcome}.
+ * <p>
+ * The bounded platform-thread pool stands in for a virtual-thread-per-task executor, which the build cannot use while
+ * it targets Java 17; its size also caps how many files one request writes at once.
+ */
+@Component
+public class GalleryUploadPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GalleryUploadPipeline.class);
+
+    private final ThreadPoolExecutor executor;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+
+    public GalleryUploadPipeline(@Value("${app.gallery.upload.parallelism:4}") int parallelism,
+                                 @Value("${app.gallery.upload.queue-capacity:64}") int queueCapacity,
+                                 MeterRegistry meterRegistry) {
+        int threads = Math.max(1, parallelism);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "gallery-upload-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.batchTimer = Timer.builder("gallery.upload.batch")
+                .description("Time spent storing the files of one gallery upload request")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("gallery.upload.batch.files")
+                .description("Number of files per gallery upload request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies {@code task} to every item concurrently and returns the outcomes in input order.
+     */
+    public <T, R> List<Outcome<T, R>> process(List<T> items, Function<T, R> task) {
+        long started = System.nanoTime();
+        List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(item), executor));
+        }
+        List<Outcome<T, R>> outcomes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            try {
+                outcomes.add(new Outcome<>(item, futures.get(i).join(), null));
+            } catch (CompletionException ex) {
+                outcomes.add(new Outcome<>(item, null, describe(ex.getCause())));
+            }
+        }
+        batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        batchSize.record(items.size());
+        return outcomes;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private String describe(Throwable error) {
+        if (error instanceof ApiException apiException) {
+            return apiException.getMessage();
+        }
+        LOGGER.warn("Gallery upload task failed", error);
+        return "Failed to store uploaded file";
+    }
+
+    public record Outcome<T, R>(T item, R result, String error) {
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.rbac.admin.products.controller;
 
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.products.dto.CreateProductRequest;
 import com.example.rbac.admin.products.dto.ProductDto;
@@ -27,6 +29,15 @@ public class ProductController {
         return productService.list(page, size, search);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('PRODUCT_VIEW')")
+    public CursorPageResponse<ProductSummaryDto> scroll(@RequestParam(name = "cursor", required = false) String cursor,
+                                                        @RequestParam(name = "size", defaultValue = "20") int size,
+                                                        @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                                        @RequestParam(name = "search", required = false) String search) {
+        return productService.scroll(CursorPageRequest.of(cursor, size, includeTotal), search);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('PRODUCT_VIEW')")
     public ProductDto get(@PathVariable("id") Long id) {
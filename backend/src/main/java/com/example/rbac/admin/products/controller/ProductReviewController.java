@@ -1,5 +1,7 @@
 package com.example.rbac.admin.products.controller;
 
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.products.dto.ProductReviewDto;
 import com.example.rbac.admin.products.dto.ProductReviewRequest;
@@ -30,6 +32,15 @@ public class ProductReviewController {
         return productReviewService.list(page, size, productId, categoryId, customerId, ratingMin, ratingMax);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('PRODUCT_REVIEW_VIEW')")
+    public CursorPageResponse<ProductReviewDto> scroll(@RequestParam(name = "cursor", required = false) String cursor,
+                                                       @RequestParam(name = "size", defaultValue = "20") int size,
+                                                       @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                                       @RequestParam(name = "productId", required = false) Long productId) {
+        return productReviewService.scroll(CursorPageRequest.of(cursor, size, includeTotal), productId);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('PRODUCT_REVIEW_VIEW')")
     public ProductReviewDto get(@PathVariable("id") Long id) {
@@ -31,6 +31,8 @@ public class ProductDto {
     private List<ProductExpandableSectionDto> expandableSections;
     private List<ProductInfoSectionDto> infoSections;
     private List<ProductReviewDto> reviews;
+    private ProductReviewSummaryDto reviewSummary;
+    private String reviewsNextCursor;
     private List<ProductSummaryDto> frequentlyBoughtProducts;
     private List<Long> frequentlyBoughtCategoryIds;
     private Instant createdAt;
@@ -236,6 +238,22 @@ public class ProductDto {
         this.reviews = reviews;
     }
 
+    public ProductReviewSummaryDto getReviewSummary() {
+        return reviewSummary;
+    }
+
+    public void setReviewSummary(ProductReviewSummaryDto reviewSummary) {
+        this.reviewSummary = reviewSummary;
+    }
+
+    public String getReviewsNextCursor() {
+        return reviewsNextCursor;
+    }
+
+    public void setReviewsNextCursor(String reviewsNextCursor) {
+        this.reviewsNextCursor = reviewsNextCursor;
+    }
+
     public List<ProductSummaryDto> getFrequentlyBoughtProducts() {
         return frequentlyBoughtProducts;
     }
@@ -0,0 +1,34 @@
+package com.example.rbac.admin.products.dto;
+
+import java.util.Map;
+
+public class ProductReviewSummaryDto {
+
+    private double averageRating;
+    private long totalReviews;
+    private Map<Integer, Long> ratingCounts;
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public long getTotalReviews() {
+        return totalReviews;
+    }
+
+    public void setTotalReviews(long totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public Map<Integer, Long> getRatingCounts() {
+        return ratingCounts;
+    }
+
+    public void setRatingCounts(Map<Integer, Long> ratingCounts) {
+        this.ratingCounts = ratingCounts;
+    }
+}
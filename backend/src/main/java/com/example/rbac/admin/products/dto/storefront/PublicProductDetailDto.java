@@ -27,6 +27,7 @@ public class PublicProductDetailDto {
     private List<PublicProductSectionDto> infoSections;
     private PublicProductReviewSummaryDto reviewSummary;
     private List<PublicProductReviewDto> reviews;
+    private String reviewsNextCursor;
     private List<PublicProductRecommendationDto> frequentlyBought;
     private List<PublicProductRecommendationDto> recentlyViewed;
 
@@ -198,6 +199,14 @@ public class PublicProductDetailDto {
         this.reviews = reviews;
     }
 
+    public String getReviewsNextCursor() {
+        return reviewsNextCursor;
+    }
+
+    public void setReviewsNextCursor(String reviewsNextCursor) {
+        this.reviewsNextCursor = reviewsNextCursor;
+    }
+
 
     public List<PublicProductRecommendationDto> getFrequentlyBought() {
         return frequentlyBought;
@@ -1,9 +1,12 @@
 package com.example.rbac.admin.products.dto.storefront;
 
+import java.util.Map;
+
 public class PublicProductReviewSummaryDto {
 
     private double averageRating;
     private int totalReviews;
+    private Map<Integer, Long> ratingCounts;
 
     public double getAverageRating() {
         return averageRating;
@@ -20,4 +23,12 @@ public class PublicProductReviewSummaryDto {
     public void setTotalReviews(int totalReviews) {
         this.totalReviews = totalReviews;
     }
+
+    public Map<Integer, Long> getRatingCounts() {
+        return ratingCounts;
+    }
+
+    public void setRatingCounts(Map<Integer, Long> ratingCounts) {
+        this.ratingCounts = ratingCounts;
+    }
 }
@@ -7,6 +7,7 @@ import com.example.rbac.admin.products.model.Product;
 import com.example.rbac.admin.products.model.ProductExpandableSection;
 import com.example.rbac.admin.products.model.ProductGalleryImage;
 import com.example.rbac.admin.products.model.ProductReview;
+import com.example.rbac.admin.products.model.ProductReviewStats;
 import com.example.rbac.admin.products.model.ProductVariant;
 import com.example.rbac.admin.products.model.ProductVariantMedia;
 import com.example.rbac.admin.products.model.ProductVariantValue;
@@ -56,6 +57,18 @@ public class ProductMapper {
     }
 
     public ProductDto toDto(Product product, List<ProductReview> reviews) {
+        return toDto(product, reviews, ProductReviewStats.EMPTY, null);
+    }
+
+    /**
+     * @param reviews           the first page of the product's reviews
+     * @param reviewStats       aggregate over all of the product's reviews
+     * @param reviewsNextCursor cursor for the page after {@code reviews}, or {@code null} when there is none
+     */
+    public ProductDto toDto(Product product,
+                            List<ProductReview> reviews,
+                            ProductReviewStats reviewStats,
+                            String reviewsNextCursor) {
         ProductDto dto = new ProductDto();
         dto.setId(product.getId());
         dto.setName(product.getName());
@@ -81,6 +94,8 @@ public class ProductMapper {
         dto.setExpandableSections(mapExpandableSections(product.getExpandableSections()));
         dto.setInfoSections(mapInfoSections(product.getInfoSections()));
         dto.setReviews(productReviewMapper.toDtoList(reviews));
+        dto.setReviewSummary(mapReviewSummary(reviewStats));
+        dto.setReviewsNextCursor(reviewsNextCursor);
         dto.setFrequentlyBoughtProducts(mapFrequentlyBoughtProducts(product.getFrequentlyBoughtProducts()));
         dto.setFrequentlyBoughtCategoryIds(mapFrequentlyBoughtCategoryIds(product.getFrequentlyBoughtCategories()));
         dto.setCreatedAt(product.getCreatedAt());
@@ -194,6 +209,15 @@ public class ProductMapper {
                 .collect(Collectors.toList());
     }
 
+    private ProductReviewSummaryDto mapReviewSummary(ProductReviewStats stats) {
+        ProductReviewStats source = stats != null ? stats : ProductReviewStats.EMPTY;
+        ProductReviewSummaryDto summary = new ProductReviewSummaryDto();
+        summary.setAverageRating(source.averageRating());
+        summary.setTotalReviews(source.reviewCount());
+        summary.setRatingCounts(source.histogram());
+        return summary;
+    }
+
     private List<ProductSummaryDto> mapFrequentlyBoughtProducts(Set<Product> relatedProducts) {
         if (relatedProducts == null || relatedProducts.isEmpty()) {
             return List.of();
@@ -1,5 +1,6 @@
 package com.example.rbac.admin.products.mapper;
 
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.admin.categories.model.Category;
 import com.example.rbac.admin.coupons.model.Coupon;
 import com.example.rbac.admin.products.dto.MediaAssetDto;
@@ -11,9 +12,11 @@ import com.example.rbac.admin.products.model.ProductExpandableSection;
 import com.example.rbac.admin.products.model.ProductGalleryImage;
 import com.example.rbac.admin.products.model.ProductInfoSection;
 import com.example.rbac.admin.products.model.ProductReview;
+import com.example.rbac.admin.products.model.ProductReviewStats;
 import com.example.rbac.admin.products.model.ProductVariant;
 import com.example.rbac.admin.products.model.ProductVariantMedia;
 import com.example.rbac.admin.products.model.ProductVariantValue;
+import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -33,7 +36,8 @@ import java.util.stream.Collectors;
 public class PublicProductMapper {
 
     public PublicProductDetailDto toDetail(Product product,
-                                           List<ProductReview> reviews,
+                                           ProductReviewStats reviewStats,
+                                           CursorPageResponse<PublicProductReviewDto> reviews,
                                            List<Coupon> coupons,
                                            List<Product> recentlyViewed) {
         PublicProductDetailDto dto = new PublicProductDetailDto();
@@ -62,13 +66,24 @@ public class PublicProductMapper {
         dto.setVariants(mapVariants(product, pricing != null ? pricing.getFinalPrice() : null));
         dto.setExpandableSections(mapExpandableSections(product.getExpandableSections()));
         dto.setInfoSections(mapInfoSections(product.getInfoSections()));
-        dto.setReviewSummary(mapReviewSummary(reviews));
-        dto.setReviews(mapReviews(reviews));
+        dto.setReviewSummary(mapReviewSummary(reviewStats));
+        dto.setReviews(reviews != null ? reviews.content() : List.of());
+        dto.setReviewsNextCursor(reviews != null ? reviews.nextCursor() : null);
         dto.setFrequentlyBought(mapRecommendations(product.getFrequentlyBoughtProducts()));
         dto.setRecentlyViewed(mapRecommendations(recentlyViewed));
         return dto;
     }
 
+    /**
+     * Shallow copy of a product page shared between viewers, carrying one viewer's recently viewed products.
+     */
+    public PublicProductDetailDto withRecentlyViewed(PublicProductDetailDto detail, List<Product> recentlyViewed) {
+        PublicProductDetailDto copy = new PublicProductDetailDto();
+        BeanUtils.copyProperties(detail, copy);
+        copy.setRecentlyViewed(mapRecommendations(recentlyViewed));
+        return copy;
+    }
+
     private List<PublicProductOfferDto> mapOffers(List<Coupon> coupons) {
         if (coupons == null || coupons.isEmpty()) {
             return List.of();
@@ -330,43 +345,26 @@ public class PublicProductMapper {
                 .collect(Collectors.toList());
     }
 
-    private PublicProductReviewSummaryDto mapReviewSummary(List<ProductReview> reviews) {
-        PublicProductReviewSummaryDto summary = new PublicProductReviewSummaryDto();
-        if (reviews == null || reviews.isEmpty()) {
-            summary.setAverageRating(0);
-            summary.setTotalReviews(0);
-            return summary;
-        }
-        double average = reviews.stream()
-                .map(ProductReview::getRating)
-                .filter(Objects::nonNull)
-                .mapToInt(Integer::intValue)
-                .average()
-                .orElse(0);
-        summary.setAverageRating(Math.round(average * 10.0) / 10.0);
-        summary.setTotalReviews((int) reviews.stream().filter(review -> review.getRating() != null).count());
-        return summary;
+    public PublicProductReviewDto toReview(ProductReview review) {
+        PublicProductReviewDto dto = new PublicProductReviewDto();
+        dto.setId(review.getId());
+        dto.setReviewerName(resolveReviewerName(review));
+        dto.setCustomerAddress(review.getCustomer() != null ? review.getCustomer().getAddress() : null);
+        dto.setRating(review.getRating());
+        dto.setComment(review.getComment());
+        dto.setReviewedAt(review.getReviewedAt());
+        dto.setReviewerAvatar(mapMedia(review.getReviewerAvatar()));
+        dto.setMedia(mapReviewMedia(review));
+        return dto;
     }
 
-    private List<PublicProductReviewDto> mapReviews(List<ProductReview> reviews) {
-        if (reviews == null || reviews.isEmpty()) {
-            return List.of();
-        }
-        return reviews.stream()
-                .sorted(Comparator.comparing(ProductReview::getReviewedAt, Comparator.nullsLast(Comparator.reverseOrder())))
-                .map(review -> {
-                    PublicProductReviewDto dto = new PublicProductReviewDto();
-                    dto.setId(review.getId());
-                    dto.setReviewerName(resolveReviewerName(review));
-                    dto.setCustomerAddress(review.getCustomer() != null ? review.getCustomer().getAddress() : null);
-                    dto.setRating(review.getRating());
-                    dto.setComment(review.getComment());
-                    dto.setReviewedAt(review.getReviewedAt());
-                    dto.setReviewerAvatar(mapMedia(review.getReviewerAvatar()));
-                    dto.setMedia(mapReviewMedia(review));
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    private PublicProductReviewSummaryDto mapReviewSummary(ProductReviewStats stats) {
+        ProductReviewStats source = stats != null ? stats : ProductReviewStats.EMPTY;
+        PublicProductReviewSummaryDto summary = new PublicProductReviewSummaryDto();
+        summary.setAverageRating(source.averageRating());
+        summary.setTotalReviews((int) Math.min(source.reviewCount(), Integer.MAX_VALUE));
+        summary.setRatingCounts(source.histogram());
+        return summary;
     }
 
     private String resolveReviewerName(ProductReview review) {
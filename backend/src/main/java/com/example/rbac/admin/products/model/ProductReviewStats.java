@@ -0,0 +1,46 @@
+package com.example.rbac.admin.products.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Review aggregate for one product, read from {@code product_review_stats}.
+ *
+ * @param ratingCounts number of reviews per star rating, index 0 holding the 1-star count
+ */
+public record ProductReviewStats(long reviewCount, long ratingTotal, List<Long> ratingCounts) {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    public static final ProductReviewStats EMPTY = new ProductReviewStats(0, 0, List.of(0L, 0L, 0L, 0L, 0L));
+
+    public ProductReviewStats {
+        ratingCounts = List.copyOf(ratingCounts);
+        if (ratingCounts.size() != MAX_RATING) {
+            throw new IllegalArgumentException("Expected " + MAX_RATING + " rating counts");
+        }
+    }
+
+    /**
+     * @return the mean rating rounded to one decimal, or {@code 0} when there are no reviews
+     */
+    public double averageRating() {
+        if (reviewCount <= 0) {
+            return 0;
+        }
+        return Math.round(ratingTotal * 10.0 / reviewCount) / 10.0;
+    }
+
+    /**
+     * @return counts keyed by star rating, from 5 down to 1
+     */
+    public Map<Integer, Long> histogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int rating = MAX_RATING; rating >= MIN_RATING; rating--) {
+            histogram.put(rating, ratingCounts.get(rating - 1));
+        }
+        return histogram;
+    }
+}
@@ -5,13 +5,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     @EntityGraph(attributePaths = {"brand"})
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
@@ -35,6 +36,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Optional<Product> findDetailedBySlugIgnoreCase(String slug);
 
+    @Query("SELECT p.id FROM Product p WHERE LOWER(p.slug) = LOWER(:slug)")
+    Optional<Long> findIdBySlugIgnoreCase(@Param("slug") String slug);
+
     List<Product> findByIdIn(List<Long> ids);
 
     boolean existsBySku(String sku);
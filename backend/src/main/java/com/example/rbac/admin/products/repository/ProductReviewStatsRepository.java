@@ -0,0 +1,66 @@
+package com.example.rbac.admin.products.repository;
+
+import com.example.rbac.admin.products.model.ProductReviewStats;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incrementally maintained review aggregates in {@code product_review_stats}, one row per product and visibility.
+ * Every adjustment is a single upsert, so concurrent review writes for the same product serialize on the stats row
+ * instead of recounting {@code product_reviews}.
+ */
+@Repository
+public class ProductReviewStatsRepository {
+
+    private static final String SELECT_SQL = "SELECT SUM(review_count) AS review_count, SUM(rating_total) AS rating_total, " +
+            "SUM(rating_1_count) AS rating_1_count, SUM(rating_2_count) AS rating_2_count, " +
+            "SUM(rating_3_count) AS rating_3_count, SUM(rating_4_count) AS rating_4_count, " +
+            "SUM(rating_5_count) AS rating_5_count FROM product_review_stats WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductReviewStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds ({@code delta > 0}) or removes ({@code delta < 0}) reviews with the given rating from the product's
+     * aggregate. Counts never drop below zero.
+     */
+    public void adjust(Long productId, boolean published, int rating, int delta) {
+        if (productId == null || delta == 0) {
+            return;
+        }
+        if (rating < ProductReviewStats.MIN_RATING || rating > ProductReviewStats.MAX_RATING) {
+            throw new IllegalArgumentException("Rating out of range: " + rating);
+        }
+        String ratingColumn = "rating_" + rating + "_count";
+        long ratingDelta = (long) rating * delta;
+        jdbcTemplate.update("INSERT INTO product_review_stats (product_id, is_published, review_count, rating_total, " +
+                        ratingColumn + ") VALUES (?, ?, GREATEST(?, 0), GREATEST(?, 0), GREATEST(?, 0)) " +
+                        "ON DUPLICATE KEY UPDATE review_count = GREATEST(review_count + ?, 0), " +
+                        "rating_total = GREATEST(rating_total + ?, 0), " +
+                        ratingColumn + " = GREATEST(" + ratingColumn + " + ?, 0)",
+                productId, published, delta, ratingDelta, delta, delta, ratingDelta, delta);
+    }
+
+    /**
+     * @param publishedOnly whether to leave hidden reviews out, as the storefront does
+     */
+    public ProductReviewStats find(Long productId, boolean publishedOnly) {
+        if (productId == null) {
+            return ProductReviewStats.EMPTY;
+        }
+        String sql = publishedOnly ? SELECT_SQL + " AND is_published = 1" : SELECT_SQL;
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            List<Long> ratingCounts = new ArrayList<>(ProductReviewStats.MAX_RATING);
+            for (int rating = ProductReviewStats.MIN_RATING; rating <= ProductReviewStats.MAX_RATING; rating++) {
+                ratingCounts.add(rs.getLong("rating_" + rating + "_count"));
+            }
+            return new ProductReviewStats(rs.getLong("review_count"), rs.getLong("rating_total"), ratingCounts);
+        }, productId);
+    }
+}
@@ -36,6 +36,9 @@ public class PublicProductSearchRepository {
             " + (" + FINAL_PRICE_SQL + " * COALESCE(tax_stats.percent_total, 0) / 100) " +
             " + COALESCE(tax_stats.flat_total, 0)";
 
+    private static final String AVERAGE_RATING_SQL =
+            "COALESCE(review_stats.rating_total / NULLIF(review_stats.review_count, 0), 0)";
+
     private final NamedParameterJdbcTemplate jdbcTemplate;
 
     public PublicProductSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
@@ -55,7 +58,7 @@ public class PublicProductSearchRepository {
 
         String selectSql = "SELECT p.id, p.name, p.slug, p.unit_price, p.discount_type, p.discount_value, " +
                 "p.stock_quantity, p.created_at, b.name AS brand_name, p.thumbnail_url, " +
-                "COALESCE(review_stats.average_rating, 0) AS average_rating, " +
+                AVERAGE_RATING_SQL + " AS average_rating, " +
                 "COALESCE(review_stats.review_count, 0) AS review_count, " +
                 "COALESCE(tax_stats.percent_total, 0) AS tax_percent, " +
                 "COALESCE(tax_stats.flat_total, 0) AS tax_flat, " +
@@ -123,10 +126,8 @@ public class PublicProductSearchRepository {
     private String buildFromClause() {
         return "products p " +
                 "LEFT JOIN brands b ON b.id = p.brand_id " +
-                "LEFT JOIN (" +
-                "    SELECT product_id, AVG(rating) AS average_rating, COUNT(*) AS review_count " +
-                "    FROM product_reviews WHERE is_published = 1 GROUP BY product_id" +
-                ") review_stats ON review_stats.product_id = p.id " +
+                "LEFT JOIN product_review_stats review_stats " +
+                "    ON review_stats.product_id = p.id AND review_stats.is_published = 1 " +
                 "LEFT JOIN (" +
                 "    SELECT ptr.product_id, " +
                 "           SUM(CASE WHEN tr.rate_type = 'PERCENTAGE' THEN tr.rate_value ELSE 0 END) AS percent_total, " +
@@ -152,7 +153,7 @@ public class PublicProductSearchRepository {
             where.append(" AND ").append(TAXED_PRICE_SQL).append(" <= :maxPrice");
         }
         if (criteria.getMinimumRating() != null) {
-            where.append(" AND COALESCE(review_stats.average_rating, 0) >= :minRating");
+            where.append(" AND " + AVERAGE_RATING_SQL + " >= :minRating");
         }
         if (criteria.getAvailability() != null) {
             switch (criteria.getAvailability()) {
@@ -167,7 +168,7 @@ public class PublicProductSearchRepository {
         return switch (sort) {
             case PRICE_ASC -> " ORDER BY " + TAXED_PRICE_SQL + " ASC, p.name ASC";
             case PRICE_DESC -> " ORDER BY " + TAXED_PRICE_SQL + " DESC, p.name ASC";
-            case HIGHEST_RATED -> " ORDER BY COALESCE(review_stats.average_rating, 0) DESC, p.name ASC";
+            case HIGHEST_RATED -> " ORDER BY " + AVERAGE_RATING_SQL + " DESC, p.name ASC";
             case MOST_POPULAR -> " ORDER BY COALESCE(review_stats.review_count, 0) DESC, p.name ASC";
             case NEWEST ->  " ORDER BY p.created_at DESC";
         };
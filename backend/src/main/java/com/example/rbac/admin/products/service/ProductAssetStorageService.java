@@ -1,6 +1,8 @@
 package com.example.rbac.admin.products.service;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.ImageDerivativeService;
+import com.example.rbac.common.media.MediaBlobStore;
 import com.example.rbac.admin.uploadedfile.model.UploadedFileModule;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -12,11 +14,11 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 @Service
@@ -80,13 +82,19 @@ public class ProductAssetStorageService {
     private final Path storageRoot;
     private final Map<AssetType, Path> directories = new EnumMap<>(AssetType.class);
     private final String publicBaseUrl;
+    private final MediaBlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
 
     public ProductAssetStorageService(
             @Value("${app.product.asset-storage-path:storage/catalog/products}") String storagePath,
-            @Value("${app.product.public-base-url:${app.brand.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}}") String publicBaseUrl
+            @Value("${app.product.public-base-url:${app.brand.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}}") String publicBaseUrl,
+            MediaBlobStore blobStore,
+            ImageDerivativeService imageDerivativeService
     ) {
         this.storageRoot = Paths.get(storagePath).toAbsolutePath().normalize();
         this.publicBaseUrl = normalizeBaseUrl(publicBaseUrl);
+        this.blobStore = blobStore;
+        this.imageDerivativeService = imageDerivativeService;
         try {
             Files.createDirectories(this.storageRoot);
             for (AssetType type : AssetType.values()) {
@@ -132,7 +140,9 @@ public class ProductAssetStorageService {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Only image uploads are allowed for this asset type");
         }
         String extension = resolveExtension(file, IMAGE_EXTENSIONS);
-        return copyToStorage(file, type, extension);
+        StoredAsset stored = copyToStorage(file, type, extension);
+        imageDerivativeService.scheduleWarmUp(blobStore.load(stored.key()));
+        return stored;
     }
 
     private StoredAsset storeDocument(MultipartFile file, AssetType type) {
@@ -145,16 +155,12 @@ public class ProductAssetStorageService {
     }
 
     private StoredAsset copyToStorage(MultipartFile file, AssetType type, String extension) {
-        try {
-            Path directory = directories.get(type);
-            if (directory == null) {
-                throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported product asset destination");
-            }
-            Files.createDirectories(directory);
-            String filename = UUID.randomUUID() + "." + extension;
-            Path target = directory.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            return new StoredAsset(type, filename, file.getOriginalFilename(), file.getContentType(), file.getSize(), type.getModule());
+        if (!directories.containsKey(type)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported product asset destination");
+        }
+        try (InputStream stream = file.getInputStream()) {
+            String key = blobStore.put(stream, extension).key();
+            return new StoredAsset(type, key, file.getOriginalFilename(), file.getContentType(), file.getSize(), type.getModule());
         } catch (IOException ex) {
             throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store product asset");
         }
@@ -164,6 +170,9 @@ public class ProductAssetStorageService {
         if (!StringUtils.hasText(key)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid asset key");
         }
+        if (MediaBlobStore.isBlobKey(key)) {
+            return blobStore.load(key);
+        }
         Path directory = directories.get(type);
         if (directory == null) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported product asset type");
@@ -1,6 +1,10 @@
 package com.example.rbac.admin.products.service;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.customers.model.Customer;
 import com.example.rbac.admin.customers.repository.CustomerRepository;
@@ -11,8 +15,10 @@ import com.example.rbac.admin.products.mapper.ProductReviewMapper;
 import com.example.rbac.admin.products.model.MediaAsset;
 import com.example.rbac.admin.products.model.Product;
 import com.example.rbac.admin.products.model.ProductReview;
+import com.example.rbac.admin.products.model.ProductReviewStats;
 import com.example.rbac.admin.products.repository.ProductRepository;
 import com.example.rbac.admin.products.repository.ProductReviewRepository;
+import com.example.rbac.admin.products.repository.ProductReviewStatsRepository;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
@@ -31,23 +37,33 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 public class ProductReviewService {
 
+    private static final KeysetSort<ProductReview> NEWEST_FIRST = KeysetSort.of("reviewedAt", Sort.Direction.DESC,
+            KeysetSort.ValueType.INSTANT, ProductReview::getReviewedAt, ProductReview::getId);
+
     private final ProductReviewRepository productReviewRepository;
+    private final ProductReviewStatsRepository productReviewStatsRepository;
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
     private final ProductReviewMapper productReviewMapper;
+    private final KeysetPaginator keysetPaginator;
 
     public ProductReviewService(ProductReviewRepository productReviewRepository,
+                                ProductReviewStatsRepository productReviewStatsRepository,
                                 ProductRepository productRepository,
                                 CustomerRepository customerRepository,
-                                ProductReviewMapper productReviewMapper) {
+                                ProductReviewMapper productReviewMapper,
+                                KeysetPaginator keysetPaginator) {
         this.productReviewRepository = productReviewRepository;
+        this.productReviewStatsRepository = productReviewStatsRepository;
         this.productRepository = productRepository;
         this.customerRepository = customerRepository;
         this.productReviewMapper = productReviewMapper;
+        this.keysetPaginator = keysetPaginator;
     }
 
     @Transactional(readOnly = true)
@@ -67,6 +83,36 @@ public class ProductReviewService {
         return PageResponse.from(result.map(productReviewMapper::toDto));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductReviewDto> scroll(CursorPageRequest request, Long productId) {
+        if (productId != null) {
+            return scrollForProduct(productId, false, request, this::toInitializedDto);
+        }
+        return keysetPaginator.fetch(productReviewRepository, null, NEWEST_FIRST, request, this::toInitializedDto,
+                keysetPaginator.estimatedRows("product_reviews"));
+    }
+
+    /**
+     * Pages through one product's reviews, newest first. The total, when requested, comes from the review aggregate
+     * rather than a count query.
+     */
+    @Transactional(readOnly = true)
+    public <D> CursorPageResponse<D> scrollForProduct(Long productId,
+                                                      boolean publishedOnly,
+                                                      CursorPageRequest request,
+                                                      Function<ProductReview, D> mapper) {
+        Specification<ProductReview> specification = (root, query, builder) -> publishedOnly
+                ? builder.and(builder.equal(root.get("product").get("id"), productId), builder.isTrue(root.get("published")))
+                : builder.equal(root.get("product").get("id"), productId);
+        return keysetPaginator.fetch(productReviewRepository, specification, NEWEST_FIRST, request, mapper,
+                () -> productReviewStatsRepository.find(productId, publishedOnly).reviewCount());
+    }
+
+    @Transactional(readOnly = true)
+    public ProductReviewStats stats(Long productId, boolean publishedOnly) {
+        return productReviewStatsRepository.find(productId, publishedOnly);
+    }
+
     @Transactional(readOnly = true)
     public ProductReviewDto get(Long id) {
         ProductReview review = productReviewRepository.findById(id)
@@ -90,6 +136,7 @@ public class ProductReviewService {
         review.setProduct(product);
         applyRequest(review, request);
         ProductReview saved = productReviewRepository.save(review);
+        adjustStats(saved.getProduct().getId(), saved.isPublished(), saved.getRating(), 1);
         initializeAssociations(List.of(saved));
         return productReviewMapper.toDto(saved);
     }
@@ -98,6 +145,9 @@ public class ProductReviewService {
     public ProductReviewDto update(Long id, ProductReviewRequest request) {
         ProductReview review = productReviewRepository.findById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Review not found"));
+        Long previousProductId = review.getProduct().getId();
+        boolean previouslyPublished = review.isPublished();
+        Integer previousRating = review.getRating();
         if (!Objects.equals(review.getProduct().getId(), request.getProductId())) {
             Product product = productRepository.findById(request.getProductId())
                     .orElseThrow(() -> new ApiException(HttpStatus.BAD_REQUEST, "Product not found"));
@@ -105,6 +155,12 @@ public class ProductReviewService {
         }
         applyRequest(review, request);
         ProductReview saved = productReviewRepository.save(review);
+        if (!Objects.equals(previousProductId, saved.getProduct().getId())
+                || previouslyPublished != saved.isPublished()
+                || !Objects.equals(previousRating, saved.getRating())) {
+            adjustStats(previousProductId, previouslyPublished, previousRating, -1);
+            adjustStats(saved.getProduct().getId(), saved.isPublished(), saved.getRating(), 1);
+        }
         initializeAssociations(List.of(saved));
         return productReviewMapper.toDto(saved);
     }
@@ -114,6 +170,18 @@ public class ProductReviewService {
         ProductReview review = productReviewRepository.findById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Review not found"));
         productReviewRepository.delete(review);
+        adjustStats(review.getProduct().getId(), review.isPublished(), review.getRating(), -1);
+    }
+
+    private ProductReviewDto toInitializedDto(ProductReview review) {
+        initializeAssociations(List.of(review));
+        return productReviewMapper.toDto(review);
+    }
+
+    private void adjustStats(Long productId, boolean published, Integer rating, int delta) {
+        if (rating != null) {
+            productReviewStatsRepository.adjust(productId, published, rating, delta);
+        }
     }
 
     private void applyRequest(ProductReview review, ProductReviewRequest request) {
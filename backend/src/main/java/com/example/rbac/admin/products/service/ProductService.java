@@ -7,6 +7,10 @@ import com.example.rbac.admin.brands.repository.BrandRepository;
 import com.example.rbac.admin.categories.model.Category;
 import com.example.rbac.admin.categories.repository.CategoryRepository;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.finance.taxrate.model.TaxRate;
 import com.example.rbac.admin.finance.taxrate.repository.TaxRateRepository;
@@ -14,11 +18,12 @@ import com.example.rbac.admin.products.dto.*;
 import com.example.rbac.admin.products.mapper.ProductMapper;
 import com.example.rbac.admin.products.model.*;
 import com.example.rbac.admin.products.repository.ProductRepository;
-import com.example.rbac.admin.products.repository.ProductReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,8 +45,11 @@ public class ProductService {
     private final TaxRateRepository taxRateRepository;
     private final AttributeValueRepository attributeValueRepository;
     private final ProductMapper productMapper;
-    private final ProductReviewRepository productReviewRepository;
+    private final ProductReviewService productReviewService;
     private final SkuGenerator skuGenerator;
+    private final KeysetPaginator keysetPaginator;
+    private final PublicProductService publicProductService;
+    private final int reviewFirstPageSize;
 
     public ProductService(ProductRepository productRepository,
                           BrandRepository brandRepository,
@@ -49,16 +57,22 @@ public class ProductService {
                           TaxRateRepository taxRateRepository,
                           AttributeValueRepository attributeValueRepository,
                           ProductMapper productMapper,
-                          ProductReviewRepository productReviewRepository,
-                          SkuGenerator skuGenerator) {
+                          ProductReviewService productReviewService,
+                          SkuGenerator skuGenerator,
+                          KeysetPaginator keysetPaginator,
+                          PublicProductService publicProductService,
+                          @Value("${app.products.reviews.first-page-size:10}") int reviewFirstPageSize) {
         this.productRepository = productRepository;
         this.brandRepository = brandRepository;
         this.categoryRepository = categoryRepository;
         this.taxRateRepository = taxRateRepository;
         this.attributeValueRepository = attributeValueRepository;
         this.productMapper = productMapper;
-        this.productReviewRepository = productReviewRepository;
+        this.productReviewService = productReviewService;
         this.skuGenerator = skuGenerator;
+        this.keysetPaginator = keysetPaginator;
+        this.publicProductService = publicProductService;
+        this.reviewFirstPageSize = reviewFirstPageSize;
     }
 
     @Transactional(readOnly = true)
@@ -74,12 +88,29 @@ public class ProductService {
         return PageResponse.from(result.map(productMapper::toSummary));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductSummaryDto> scroll(CursorPageRequest request, String search) {
+        Specification<Product> specification = nameContains(search);
+        KeysetSort<Product> sort = KeysetSort.of("createdAt", Sort.Direction.DESC, KeysetSort.ValueType.INSTANT,
+                Product::getCreatedAt, Product::getId);
+        return keysetPaginator.fetch(productRepository, specification, sort, request, productMapper::toSummary,
+                specification != null ? () -> productRepository.count(specification) : keysetPaginator.estimatedRows("products"));
+    }
+
+    private Specification<Product> nameContains(String search) {
+        if (!StringUtils.hasText(search)) {
+            return null;
+        }
+        String term = "%" + search.trim().toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), term);
+    }
+
     @Transactional(readOnly = true)
     public ProductDto get(Long id) {
         Product product = productRepository.findDetailedById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Product not found"));
         initializeDetailedAssociations(product);
-        return productMapper.toDto(product, productReviewRepository.findByProductIdOrderByReviewedAtDesc(id));
+        return toDetailDto(product);
     }
 
     @Transactional
@@ -97,9 +128,18 @@ public class ProductService {
         Product product = productRepository.findDetailedById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Product not found"));
         initializeDetailedAssociations(product);
+        String previousSlug = product.getSlug();
         applyRequest(product, request, false);
         Product saved = productRepository.save(product);
-        return productMapper.toDto(saved, productReviewRepository.findByProductIdOrderByReviewedAtDesc(saved.getId()));
+        publicProductService.evictProductPage(previousSlug);
+        return toDetailDto(saved);
+    }
+
+    private ProductDto toDetailDto(Product product) {
+        CursorPageResponse<ProductReview> reviews = productReviewService.scrollForProduct(product.getId(), false,
+                CursorPageRequest.of(null, reviewFirstPageSize, false), Function.identity());
+        return productMapper.toDto(product, reviews.content(), productReviewService.stats(product.getId(), false),
+                reviews.nextCursor());
     }
 
     private void initializeDetailedAssociations(Product product) {
@@ -179,6 +219,7 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Product not found"));
         productRepository.delete(product);
+        publicProductService.evictProductPage(product.getSlug());
     }
 
     private void applyRequest(Product product, CreateProductRequest request, boolean creating) {
@@ -1,29 +1,38 @@
 package com.example.rbac.admin.products.service;
 
+import com.example.rbac.common.concurrent.BackgroundRefreshExecutor;
+import com.example.rbac.common.concurrent.SingleFlightLoader;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.admin.coupons.model.Coupon;
 import com.example.rbac.admin.coupons.repository.CouponRepository;
 import com.example.rbac.admin.products.dto.storefront.PublicProductDetailDto;
+import com.example.rbac.admin.products.dto.storefront.PublicProductReviewDto;
 import com.example.rbac.admin.products.dto.storefront.PublicProductSearchCriteria;
 import com.example.rbac.admin.products.dto.storefront.PublicProductSearchResponse;
 import com.example.rbac.admin.products.mapper.PublicProductMapper;
 import com.example.rbac.admin.products.model.Product;
-import com.example.rbac.admin.products.model.ProductReview;
 import com.example.rbac.admin.products.repository.ProductRepository;
-import com.example.rbac.admin.products.repository.ProductReviewRepository;
 import com.example.rbac.admin.products.repository.PublicProductSearchRepository;
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.model.UserPrincipal;
 import com.example.rbac.admin.users.service.UserRecentViewService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -33,24 +42,41 @@ import java.util.stream.Stream;
 public class PublicProductService {
 
     private final ProductRepository productRepository;
-    private final ProductReviewRepository productReviewRepository;
+    private final ProductReviewService productReviewService;
     private final CouponRepository couponRepository;
     private final PublicProductMapper publicProductMapper;
     private final UserRecentViewService userRecentViewService;
     private final PublicProductSearchRepository publicProductSearchRepository;
+    private final int reviewFirstPageSize;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlightLoader<String, ProductPage> productPages;
 
     public PublicProductService(ProductRepository productRepository,
-                                ProductReviewRepository productReviewRepository,
+                                ProductReviewService productReviewService,
                                 CouponRepository couponRepository,
                                 PublicProductMapper publicProductMapper,
                                 UserRecentViewService userRecentViewService,
-                                PublicProductSearchRepository publicProductSearchRepository) {
+                                PublicProductSearchRepository publicProductSearchRepository,
+                                @Value("${app.products.reviews.first-page-size:10}") int reviewFirstPageSize,
+                                PlatformTransactionManager transactionManager,
+                                BackgroundRefreshExecutor refreshExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.products.detail-cache.ttl:PT5S}") Duration detailTtl,
+                                @Value("${app.products.detail-cache.stale-while-revalidate:PT30S}")
+                                Duration detailStaleWhileRevalidate,
+                                @Value("${app.products.detail-cache.max-entries:5000}") int detailMaxEntries) {
         this.productRepository = productRepository;
-        this.productReviewRepository = productReviewRepository;
+        this.productReviewService = productReviewService;
         this.couponRepository = couponRepository;
         this.publicProductMapper = publicProductMapper;
         this.userRecentViewService = userRecentViewService;
         this.publicProductSearchRepository = publicProductSearchRepository;
+        this.reviewFirstPageSize = reviewFirstPageSize;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.productPages = new SingleFlightLoader<>("public-product-pages",
+                slug -> readOnlyTransaction.execute(status -> loadProductPage(slug)),
+                detailTtl, detailStaleWhileRevalidate, detailMaxEntries, refreshExecutor, meterRegistry);
     }
 
     @Transactional(readOnly = true)
@@ -58,12 +84,33 @@ public class PublicProductService {
         return publicProductSearchRepository.search(criteria);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * The product page is shared by every viewer and coalesced through {@link SingleFlightLoader}, so concurrent
+     * requests for a product that has just expired load it once; only the recently viewed products are resolved per
+     * request. Waiting callers hold no transaction, and therefore no pooled connection, while the shared load runs.
+     */
     public PublicProductDetailDto getBySlug(String slug, UserPrincipal principal, List<Long> guestRecentProductIds) {
+        ProductPage page = productPages.get(pageKey(slug));
+        return readOnlyTransaction.execute(status -> publicProductMapper.withRecentlyViewed(page.detail(),
+                resolveRecentlyViewedProducts(principal, guestRecentProductIds,
+                        productRepository.getReferenceById(page.productId()))));
+    }
+
+    /**
+     * Drops the cached page for {@code slug} once the surrounding transaction commits.
+     */
+    public void evictProductPage(String slug) {
+        if (slug != null) {
+            productPages.invalidateAfterCommit(pageKey(slug));
+        }
+    }
+
+    private ProductPage loadProductPage(String slug) {
         Product product = productRepository.findDetailedBySlugIgnoreCase(slug)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Product not found"));
         initializeAssociations(product);
-        List<ProductReview> reviews = productReviewRepository.findByProductIdAndPublishedTrueOrderByReviewedAtDesc(product.getId());
+        CursorPageResponse<PublicProductReviewDto> reviews = productReviewService.scrollForProduct(product.getId(), true,
+                CursorPageRequest.of(null, reviewFirstPageSize, false), publicProductMapper::toReview);
         Instant now = Instant.now();
         List<Coupon> productCoupons = couponRepository.findActiveProductCoupons(product.getId(), now);
         List<Long> categoryIds = product.getCategories() == null ? List.of()
@@ -76,8 +123,22 @@ public class PublicProductService {
                 ? List.of()
                 : couponRepository.findActiveCategoryCoupons(categoryIds, now);
         List<Coupon> coupons = mergeCoupons(productCoupons, categoryCoupons);
-        List<Product> recentProducts = resolveRecentlyViewedProducts(principal, guestRecentProductIds, product);
-        return publicProductMapper.toDetail(product, reviews, coupons, recentProducts);
+        return new ProductPage(product.getId(), publicProductMapper.toDetail(product,
+                productReviewService.stats(product.getId(), true), reviews, coupons, List.of()));
+    }
+
+    private static String pageKey(String slug) {
+        return slug == null ? "" : slug.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Published reviews after the first page embedded in {@link #getBySlug}, newest first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PublicProductReviewDto> scrollReviews(String slug, CursorPageRequest request) {
+        Long productId = productRepository.findIdBySlugIgnoreCase(slug)
+                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Product not found"));
+        return productReviewService.scrollForProduct(productId, true, request, publicProductMapper::toReview);
     }
 
     private void initializeAssociations(Product product) {
@@ -131,11 +192,7 @@ public class PublicProductService {
     }
 
     private boolean hasAuthority(UserPrincipal principal, String authority) {
-        if (principal == null || authority == null) {
-            return false;
-        }
-        return principal.getAuthorities().stream()
-                .anyMatch(granted -> authority.equalsIgnoreCase(granted.getAuthority()));
+        return principal != null && principal.hasPermission(authority);
     }
 
     private void initializeRecommendationAssociations(Product product) {
@@ -153,4 +210,7 @@ public class PublicProductService {
                 .forEach(coupon -> unique.putIfAbsent(coupon.getId(), coupon));
         return new ArrayList<>(unique.values());
     }
+
+    private record ProductPage(Long productId, PublicProductDetailDto detail) {
+    }
 }
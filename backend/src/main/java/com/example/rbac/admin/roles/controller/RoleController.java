@@ -1,10 +1,14 @@
 package com.example.rbac.admin.roles.controller;
 
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.roles.dto.AssignPermissionsRequest;
+import com.example.rbac.admin.roles.dto.BulkRolePermissionsRequest;
 import com.example.rbac.admin.roles.dto.RoleDto;
 import com.example.rbac.admin.roles.dto.RoleRequest;
 import com.example.rbac.admin.roles.service.RoleService;
+import com.example.rbac.admin.users.dto.BulkAssignmentResponse;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,6 +30,15 @@ public class RoleController {
         return roleService.list(page, size, sort, direction);
     }
 
+    @GetMapping("/scroll")
+    public CursorPageResponse<RoleDto> scroll(@RequestParam(name = "cursor", required = false) String cursor,
+                                              @RequestParam(name = "size", defaultValue = "20") int size,
+                                              @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                              @RequestParam(name = "sort", defaultValue = "name") String sort,
+                                              @RequestParam(name = "direction", defaultValue = "asc") String direction) {
+        return roleService.scroll(CursorPageRequest.of(cursor, size, includeTotal), sort, direction);
+    }
+
     @PostMapping
     public RoleDto create(@Valid @RequestBody RoleRequest request) {
         return roleService.create(request);
@@ -51,6 +64,11 @@ public class RoleController {
         return roleService.assignPermissions(id, request);
     }
 
+    @PostMapping("/bulk/permissions")
+    public BulkAssignmentResponse bulkUpdatePermissions(@Valid @RequestBody BulkRolePermissionsRequest request) {
+        return roleService.bulkUpdatePermissions(request);
+    }
+
     @DeleteMapping("/{id}/permissions/{permissionId}")
     public RoleDto removePermission(@PathVariable("id") Long id, @PathVariable("permissionId") Long permissionId) {
         return roleService.removePermission(id, permissionId);
@@ -0,0 +1,41 @@
+package com.example.rbac.admin.roles.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class BulkRolePermissionsRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private Set<Long> roleIds;
+
+    private Set<Long> addPermissionIds = new HashSet<>();
+
+    private Set<Long> removePermissionIds = new HashSet<>();
+
+    public Set<Long> getRoleIds() {
+        return roleIds;
+    }
+
+    public void setRoleIds(Set<Long> roleIds) {
+        this.roleIds = roleIds;
+    }
+
+    public Set<Long> getAddPermissionIds() {
+        return addPermissionIds;
+    }
+
+    public void setAddPermissionIds(Set<Long> addPermissionIds) {
+        this.addPermissionIds = addPermissionIds;
+    }
+
+    public Set<Long> getRemovePermissionIds() {
+        return removePermissionIds;
+    }
+
+    public void setRemovePermissionIds(Set<Long> removePermissionIds) {
+        this.removePermissionIds = removePermissionIds;
+    }
+}
@@ -2,15 +2,24 @@ package com.example.rbac.admin.roles.service;
 
 import com.example.rbac.admin.activity.service.ActivityRecorder;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.permissions.model.Permission;
 import com.example.rbac.admin.permissions.repository.PermissionRepository;
 import com.example.rbac.admin.roles.dto.AssignPermissionsRequest;
+import com.example.rbac.admin.roles.dto.BulkRolePermissionsRequest;
 import com.example.rbac.admin.roles.dto.RoleDto;
 import com.example.rbac.admin.roles.dto.RoleRequest;
 import com.example.rbac.admin.roles.mapper.RoleMapper;
 import com.example.rbac.admin.roles.model.Role;
 import com.example.rbac.admin.roles.repository.RoleRepository;
+import com.example.rbac.admin.users.dto.BulkAssignmentResponse;
+import com.example.rbac.admin.users.repository.AccessAssignmentRepository;
+import com.example.rbac.admin.users.repository.AccessAssignmentRepository.Assignment;
+import com.example.rbac.admin.users.search.PeopleSearchIndex;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -20,10 +29,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class RoleService {
@@ -32,6 +44,11 @@ public class RoleService {
     private final PermissionRepository permissionRepository;
     private final RoleMapper roleMapper;
     private final ActivityRecorder activityRecorder;
+    private final KeysetPaginator keysetPaginator;
+    private final PeopleSearchIndex peopleSearchIndex;
+    private final AccessAssignmentRepository accessAssignmentRepository;
+
+    private static final String CUSTOMER_ROLE_KEY = "CUSTOMER";
 
     private static final Map<String, String> ROLE_SORT_MAPPING = Map.of(
             "name", "name",
@@ -42,11 +59,17 @@ public class RoleService {
     public RoleService(RoleRepository roleRepository,
                        PermissionRepository permissionRepository,
                        RoleMapper roleMapper,
-                       ActivityRecorder activityRecorder) {
+                       ActivityRecorder activityRecorder,
+                       KeysetPaginator keysetPaginator,
+                       PeopleSearchIndex peopleSearchIndex,
+                       AccessAssignmentRepository accessAssignmentRepository) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
         this.roleMapper = roleMapper;
         this.activityRecorder = activityRecorder;
+        this.keysetPaginator = keysetPaginator;
+        this.peopleSearchIndex = peopleSearchIndex;
+        this.accessAssignmentRepository = accessAssignmentRepository;
     }
 
     @PreAuthorize("hasAuthority('ROLE_VIEW') or hasAuthority('PERMISSION_VIEW')")
@@ -57,6 +80,20 @@ public class RoleService {
         return PageResponse.from(result);
     }
 
+    @PreAuthorize("hasAuthority('ROLE_VIEW') or hasAuthority('PERMISSION_VIEW')")
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RoleDto> scroll(CursorPageRequest request, String sort, String direction) {
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String normalizedSort = sort == null ? "name" : sort.toLowerCase();
+        KeysetSort<Role> keysetSort = switch (normalizedSort) {
+            case "key" -> KeysetSort.of("key", sortDirection, KeysetSort.ValueType.STRING, Role::getKey, Role::getId);
+            case "createdat" -> KeysetSort.of("createdAt", sortDirection, KeysetSort.ValueType.INSTANT, Role::getCreatedAt, Role::getId);
+            default -> KeysetSort.of("name", sortDirection, KeysetSort.ValueType.STRING, Role::getName, Role::getId);
+        };
+        return keysetPaginator.fetch(roleRepository, null, keysetSort, request, roleMapper::toDto,
+                keysetPaginator.estimatedRows("roles"));
+    }
+
     private Pageable buildPageable(int page, int size, String sort, String direction) {
         String normalizedSort = sort == null ? "name" : sort.toLowerCase();
         String property = ROLE_SORT_MAPPING.getOrDefault(normalizedSort, ROLE_SORT_MAPPING.get("name"));
@@ -92,9 +129,15 @@ public class RoleService {
     public RoleDto update(Long id, RoleRequest request) {
         Role role = roleRepository.findWithPermissionsById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Role not found"));
+        boolean customerRoleChanged = !Objects.equals(role.getKey(), request.getKey())
+                && (isCustomerRole(role.getKey()) || isCustomerRole(request.getKey()));
         role.setKey(request.getKey());
         role.setName(request.getName());
         role = roleRepository.save(role);
+        if (customerRoleChanged) {
+            roleRepository.flush();
+            peopleSearchIndex.refreshCustomerFlags();
+        }
         RoleDto dto = roleMapper.toDto(role);
         activityRecorder.record("Roles", "UPDATE", "Updated role " + role.getName(), "SUCCESS", buildRoleContext(role));
         return dto;
@@ -105,6 +148,9 @@ public class RoleService {
         Role role = roleRepository.findById(id)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Role not found"));
         roleRepository.delete(role);
+        if (isCustomerRole(role.getKey())) {
+            peopleSearchIndex.refreshCustomerFlags();
+        }
         activityRecorder.record("Roles", "DELETE", "Deleted role " + role.getName(), "SUCCESS", buildRoleContext(role));
     }
 
@@ -127,6 +173,46 @@ public class RoleService {
         return dto;
     }
 
+    /**
+     * Adds and removes permissions across many roles with set-based writes to {@code role_permissions} and a single
+     * audit entry.
+     */
+    @PreAuthorize("hasAuthority('ROLE_UPDATE') or hasAuthority('PERMISSION_UPDATE')")
+    @Transactional
+    public BulkAssignmentResponse bulkUpdatePermissions(BulkRolePermissionsRequest request) {
+        Set<Long> roleIds = nonNullIds(request.getRoleIds());
+        Set<Long> addPermissionIds = nonNullIds(request.getAddPermissionIds());
+        Set<Long> removePermissionIds = nonNullIds(request.getRemovePermissionIds());
+        if (roleIds.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "No roles selected");
+        }
+        if (addPermissionIds.isEmpty() && removePermissionIds.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "No permissions to add or remove");
+        }
+        if (!Collections.disjoint(addPermissionIds, removePermissionIds)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "A permission cannot be added and removed in the same request");
+        }
+        if (accessAssignmentRepository.countOwners(Assignment.ROLE_PERMISSIONS, roleIds) != roleIds.size()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "One or more roles not found");
+        }
+        Set<Long> permissionIds = new HashSet<>(addPermissionIds);
+        permissionIds.addAll(removePermissionIds);
+        if (permissionRepository.findAllById(permissionIds).size() != permissionIds.size()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "One or more permissions not found");
+        }
+        int removed = accessAssignmentRepository.removeAll(Assignment.ROLE_PERMISSIONS, roleIds, removePermissionIds);
+        int added = accessAssignmentRepository.addAll(Assignment.ROLE_PERMISSIONS, roleIds, addPermissionIds);
+        HashMap<String, Object> context = new HashMap<>();
+        context.put("roleIds", roleIds);
+        context.put("addedPermissionIds", addPermissionIds);
+        context.put("removedPermissionIds", removePermissionIds);
+        context.put("added", added);
+        context.put("removed", removed);
+        activityRecorder.record("Roles", "BULK_PERMISSIONS", "Updated permissions for " + roleIds.size() + " roles",
+                "SUCCESS", context);
+        return new BulkAssignmentResponse(roleIds.size(), added, removed);
+    }
+
     @PreAuthorize("hasAuthority('ROLE_UPDATE') or hasAuthority('PERMISSION_UPDATE')")
     @Transactional
     public RoleDto removePermission(Long roleId, Long permissionId) {
@@ -141,6 +227,17 @@ public class RoleService {
         return dto;
     }
 
+    private Set<Long> nonNullIds(Set<Long> ids) {
+        if (ids == null) {
+            return new HashSet<>();
+        }
+        return ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private boolean isCustomerRole(String key) {
+        return CUSTOMER_ROLE_KEY.equalsIgnoreCase(key);
+    }
+
     private HashMap<String, Object> buildRoleContext(Role role) {
         HashMap<String, Object> context = new HashMap<>();
         if (role == null) {
@@ -2,7 +2,9 @@ package com.example.rbac.admin.settings.repository;
 
 import com.example.rbac.admin.settings.model.Setting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +14,17 @@ public interface SettingRepository extends JpaRepository<Setting, Long> {
     List<Setting> findAllByOrderByCategoryOrderAscSectionOrderAscFieldOrderAsc();
 
     List<Setting> findByCodeIn(List<String> codes);
+
+    /**
+     * Cheap fingerprint of the table: any insert, update or delete changes the row count or the latest update time.
+     */
+    @Query("select count(s) as rowCount, max(s.updatedAt) as lastUpdated from Setting s")
+    Version findVersion();
+
+    interface Version {
+
+        Long getRowCount();
+
+        Instant getLastUpdated();
+    }
 }
@@ -5,8 +5,6 @@ import com.example.rbac.common.exception.ApiException;
 import com.example.rbac.admin.settings.dto.EmailSettingsDto;
 import com.example.rbac.admin.settings.dto.EmailTestRequest;
 import com.example.rbac.admin.settings.dto.EmailTestResponse;
-import com.example.rbac.admin.settings.model.Setting;
-import com.example.rbac.admin.settings.repository.SettingRepository;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
@@ -29,10 +27,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
-public class EmailSettingsService {
+public class EmailSettingsService implements SettingsChangeListener {
 
     private static final Logger log = LoggerFactory.getLogger(EmailSettingsService.class);
     private static final List<String> EMAIL_SETTING_CODES = List.of(
@@ -51,19 +49,21 @@ public class EmailSettingsService {
             "email.footer_html"
     );
 
-    private final SettingRepository settingRepository;
+    private final SettingsCache settingsCache;
     private final ActivityRecorder activityRecorder;
+    private volatile EmailDeliveryPreparation deliveryPreparation;
 
-    public EmailSettingsService(SettingRepository settingRepository, ActivityRecorder activityRecorder) {
-        this.settingRepository = settingRepository;
+    public EmailSettingsService(SettingsCache settingsCache, ActivityRecorder activityRecorder) {
+        this.settingsCache = settingsCache;
         this.activityRecorder = activityRecorder;
     }
 
-    @Transactional(readOnly = true)
     public EmailSettingsDto getEmailSettings() {
-        List<Setting> settings = settingRepository.findByCodeIn(EMAIL_SETTING_CODES);
-        Map<String, Setting> byCode = settings.stream()
-                .collect(Collectors.toMap(Setting::getCode, setting -> setting));
+        return toEmailSettings(settingsCache.snapshot());
+    }
+
+    private EmailSettingsDto toEmailSettings(SettingsSnapshot snapshot) {
+        Map<String, String> byCode = snapshot.values();
 
         EmailSettingsDto dto = new EmailSettingsDto();
         dto.setDriver(normalizeDriver(rawValue(byCode, "email.driver")));
@@ -153,9 +153,35 @@ public class EmailSettingsService {
         }
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Returns the SMTP transport built from the current settings. It is built once and reused for every email until
+     * an email setting changes.
+     */
     public EmailDeliveryPreparation prepareDeliveryContext() {
-        EmailSettingsDto emailSettings = getEmailSettings();
+        EmailDeliveryPreparation current = deliveryPreparation;
+        if (current != null) {
+            return current;
+        }
+        SettingsSnapshot snapshot = settingsCache.snapshot();
+        current = buildDeliveryPreparation(snapshot);
+        synchronized (this) {
+            // Only cache what was built from the latest snapshot; a concurrent change has already cleared the cache.
+            if (settingsCache.snapshot() == snapshot) {
+                deliveryPreparation = current;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void onSettingsChanged(SettingsSnapshot snapshot, Set<String> changedCodes) {
+        if (changedCodes.stream().anyMatch(EMAIL_SETTING_CODES::contains)) {
+            deliveryPreparation = null;
+        }
+    }
+
+    private EmailDeliveryPreparation buildDeliveryPreparation(SettingsSnapshot snapshot) {
+        EmailSettingsDto emailSettings = toEmailSettings(snapshot);
         String driver = Optional.ofNullable(emailSettings.getDriver())
                 .map(String::trim)
                 .map(value -> value.toLowerCase(Locale.ROOT))
@@ -284,17 +310,16 @@ public class EmailSettingsService {
                 .toArray(String[]::new);
     }
 
-    private String rawValue(Map<String, Setting> settings, String code) {
-        Setting setting = settings.get(code);
-        return setting != null ? setting.getValue() : null;
+    private String rawValue(Map<String, String> settings, String code) {
+        return settings.get(code);
     }
 
-    private String trimmedValue(Map<String, Setting> settings, String code) {
+    private String trimmedValue(Map<String, String> settings, String code) {
         String value = rawValue(settings, code);
         return value != null ? value.trim() : null;
     }
 
-    private Integer integerValue(Map<String, Setting> settings, String code) {
+    private Integer integerValue(Map<String, String> settings, String code) {
         String value = trimmedValue(settings, code);
         if (value == null || value.isEmpty()) {
             return null;
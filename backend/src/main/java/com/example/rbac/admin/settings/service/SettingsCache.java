@@ -0,0 +1,159 @@
+package com.example.rbac.admin.settings.service;
+
+import com.example.rbac.admin.settings.model.Setting;
+import com.example.rbac.admin.settings.repository.SettingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache of the {@code settings} table. The first reader loads every row once; afterwards reads are a
+ * volatile load of the current {@link SettingsSnapshot}. Writers call {@link #refreshAfterCommit()} so the snapshot is
+ * rebuilt from committed data and {@link SettingsChangeListener}s are told which codes changed. Changes committed on
+ * another instance are picked up by comparing the table's row count and latest {@code updated_at} with those seen at
+ * load time, at most once every {@code app.settings.cache.revalidate-interval}.
+ */
+@Component
+public class SettingsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SettingsCache.class);
+
+    private final SettingRepository settingRepository;
+    private final ObjectProvider<SettingsChangeListener> listeners;
+    private final AtomicReference<SettingsSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final long revalidateIntervalNanos;
+    private final LongSupplier clock;
+    private final AtomicLong nextRevalidation;
+    private volatile Stamp loadedStamp;
+
+    public SettingsCache(SettingRepository settingRepository,
+                         ObjectProvider<SettingsChangeListener> listeners,
+                         @Value("${app.settings.cache.revalidate-interval:PT5S}") Duration revalidateInterval) {
+        this(settingRepository, listeners, revalidateInterval, System::nanoTime);
+    }
+
+    SettingsCache(SettingRepository settingRepository,
+                  ObjectProvider<SettingsChangeListener> listeners,
+                  Duration revalidateInterval,
+                  LongSupplier clock) {
+        this.settingRepository = settingRepository;
+        this.listeners = listeners;
+        this.revalidateIntervalNanos = revalidateInterval.toNanos();
+        this.clock = clock;
+        this.nextRevalidation = new AtomicLong(clock.getAsLong() + revalidateIntervalNanos);
+    }
+
+    public SettingsSnapshot snapshot() {
+        SettingsSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current.get();
+                if (snapshot == null) {
+                    snapshot = load();
+                    current.set(snapshot);
+                }
+                return snapshot;
+            }
+        }
+        if (revalidateIntervalNanos > 0) {
+            long now = clock.getAsLong();
+            long due = nextRevalidation.get();
+            // One caller per interval checks the table; everyone else keeps reading the current snapshot.
+            if (now - due >= 0 && nextRevalidation.compareAndSet(due, now + revalidateIntervalNanos)) {
+                return revalidate(snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reloads the snapshot once the surrounding transaction commits, or immediately when there is none. Nothing is
+     * reloaded when the transaction rolls back.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+            return;
+        }
+        refresh();
+    }
+
+    public SettingsSnapshot refresh() {
+        SettingsSnapshot previous;
+        SettingsSnapshot next;
+        synchronized (this) {
+            previous = current.get();
+            next = load();
+            current.set(next);
+        }
+        Set<String> changed = next.changedSince(previous);
+        if (previous != null && !changed.isEmpty()) {
+            notifyListeners(next, changed);
+        }
+        return next;
+    }
+
+    private SettingsSnapshot revalidate(SettingsSnapshot snapshot) {
+        try {
+            if (!Objects.equals(readStamp(), loadedStamp)) {
+                return refresh();
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Unable to check settings for changes made on other instances", ex);
+        }
+        return snapshot;
+    }
+
+    private void notifyListeners(SettingsSnapshot snapshot, Set<String> changed) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onSettingsChanged(snapshot, changed);
+            } catch (RuntimeException ex) {
+                log.error("Settings listener {} failed", listener.getClass().getName(), ex);
+            }
+        });
+    }
+
+    private SettingsSnapshot load() {
+        // Read the stamp first: a change committed in between triggers one more reload rather than being missed.
+        loadedStamp = readStamp();
+        List<Setting> settings = settingRepository.findAll();
+        Map<String, String> values = new HashMap<>(settings.size() * 2);
+        for (Setting setting : settings) {
+            if (setting.getCode() != null && setting.getValue() != null) {
+                values.put(setting.getCode(), setting.getValue());
+            }
+        }
+        return new SettingsSnapshot(versions.incrementAndGet(), Instant.now(), values);
+    }
+
+    private Stamp readStamp() {
+        SettingRepository.Version version = settingRepository.findVersion();
+        return version == null ? null : new Stamp(version.getRowCount(), version.getLastUpdated());
+    }
+
+    private record Stamp(Long rowCount, Instant lastUpdated) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.rbac.admin.settings.service;
+
+import java.util.Set;
+
+/**
+ * Notified after a new {@link SettingsSnapshot} has been published. Implementations are discovered as Spring beans and
+ * are called on the thread that committed the change, so they should only rebuild cheap derived state.
+ */
+@FunctionalInterface
+public interface SettingsChangeListener {
+
+    void onSettingsChanged(SettingsSnapshot snapshot, Set<String> changedCodes);
+}
@@ -6,6 +6,7 @@ import com.example.rbac.admin.settings.dto.*;
 import com.example.rbac.admin.settings.model.Setting;
 import com.example.rbac.admin.settings.model.SettingValueType;
 import com.example.rbac.admin.settings.repository.SettingRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -16,16 +17,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Currency;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,11 +46,17 @@ public class SettingsService {
     private static final String DEFAULT_BASE_CURRENCY = "USD";
 
     private final SettingRepository settingRepository;
+    private final SettingsCache settingsCache;
     private final ObjectMapper objectMapper;
     private final ActivityRecorder activityRecorder;
+    private final AtomicReference<ThemePayload> themePayload = new AtomicReference<>();
 
-    public SettingsService(SettingRepository settingRepository, ObjectMapper objectMapper, ActivityRecorder activityRecorder) {
+    public SettingsService(SettingRepository settingRepository,
+                           SettingsCache settingsCache,
+                           ObjectMapper objectMapper,
+                           ActivityRecorder activityRecorder) {
         this.settingRepository = settingRepository;
+        this.settingsCache = settingsCache;
         this.objectMapper = objectMapper;
         this.activityRecorder = activityRecorder;
     }
@@ -92,6 +102,7 @@ public class SettingsService {
 
         if (!toPersist.isEmpty()) {
             settingRepository.saveAll(toPersist);
+            settingsCache.refreshAfterCommit();
             activityRecorder.record("Settings", "UPDATE", "Updated application settings", "SUCCESS", buildSettingsContext(toPersist));
         }
 
@@ -99,7 +110,37 @@ public class SettingsService {
     }
 
     public SettingsThemeDto getTheme() {
-        return new SettingsThemeDto(resolvePrimaryColor(), resolveApplicationName(), resolveBaseCurrency());
+        SettingsThemeDto theme = getThemePayload().theme();
+        return new SettingsThemeDto(theme.getPrimaryColor(), theme.getApplicationName(), theme.getBaseCurrency());
+    }
+
+    /**
+     * Theme serialized once per settings snapshot, for endpoints that serve it on every storefront page load.
+     */
+    public ThemePayload getThemePayload() {
+        SettingsSnapshot snapshot = settingsCache.snapshot();
+        ThemePayload cached = themePayload.get();
+        if (cached != null && cached.version() == snapshot.getVersion()) {
+            return cached;
+        }
+        SettingsThemeDto theme = new SettingsThemeDto(primaryColor(snapshot), applicationName(snapshot), baseCurrency(snapshot));
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(theme);
+            ThemePayload payload = new ThemePayload(snapshot.getVersion(), theme, body, etag(body));
+            themePayload.set(payload);
+            return payload;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize theme settings", ex);
+        }
+    }
+
+    private String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
     }
 
     private Map<String, Object> buildSettingsContext(List<Setting> updatedSettings) {
@@ -116,31 +157,33 @@ public class SettingsService {
     }
 
     public String resolvePrimaryColor() {
-        Optional<Setting> setting = settingRepository.findByCode(PRIMARY_COLOR_CODE);
-        return normalizeColor(setting.map(Setting::getValue).orElse(DEFAULT_PRIMARY_COLOR));
+        return primaryColor(settingsCache.snapshot());
     }
 
     public String resolveApplicationName() {
-        return settingRepository.findByCode(APPLICATION_NAME_CODE)
-                .map(Setting::getValue)
-                .map(String::trim)
-                .filter(value -> !value.isBlank())
-                .orElse(DEFAULT_APPLICATION_NAME);
+        return applicationName(settingsCache.snapshot());
     }
 
     public String resolveSupportEmail() {
-        return settingRepository.findByCode(SUPPORT_EMAIL_CODE)
-                .map(Setting::getValue)
-                .map(String::trim)
-                .filter(value -> !value.isBlank())
-                .orElse(DEFAULT_SUPPORT_EMAIL);
+        return settingsCache.snapshot().text(SUPPORT_EMAIL_CODE).orElse(DEFAULT_SUPPORT_EMAIL);
     }
 
     public String resolveBaseCurrency() {
-        return settingRepository.findByCode(BASE_CURRENCY_CODE)
-                .map(Setting::getValue)
-                .map(value -> value == null ? "" : value.trim().toUpperCase(Locale.ROOT))
-                .filter(value -> !value.isBlank())
+        return baseCurrency(settingsCache.snapshot());
+    }
+
+    private String primaryColor(SettingsSnapshot snapshot) {
+        String value = snapshot.value(PRIMARY_COLOR_CODE);
+        return normalizeColor(value != null ? value : DEFAULT_PRIMARY_COLOR);
+    }
+
+    private String applicationName(SettingsSnapshot snapshot) {
+        return snapshot.text(APPLICATION_NAME_CODE).orElse(DEFAULT_APPLICATION_NAME);
+    }
+
+    private String baseCurrency(SettingsSnapshot snapshot) {
+        return snapshot.text(BASE_CURRENCY_CODE)
+                .map(value -> value.toUpperCase(Locale.ROOT))
                 .orElse(DEFAULT_BASE_CURRENCY);
     }
 
@@ -290,4 +333,7 @@ public class SettingsService {
         }
         return normalized;
     }
+
+    public record ThemePayload(long version, SettingsThemeDto theme, byte[] body, String etag) {
+    }
 }
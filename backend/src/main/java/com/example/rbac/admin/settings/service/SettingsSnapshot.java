@@ -0,0 +1,74 @@
+package com.example.rbac.admin.settings.service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable view of every setting value at a point in time. A new snapshot replaces the previous one as a whole
+ * whenever settings change, so readers never observe a half-applied update and never touch the database.
+ */
+public final class SettingsSnapshot {
+
+    private final long version;
+    private final Instant loadedAt;
+    private final Map<String, String> values;
+
+    SettingsSnapshot(long version, Instant loadedAt, Map<String, String> values) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return the stored value, or {@code null} when the setting is missing or has no value
+     */
+    public String value(String code) {
+        return values.get(code);
+    }
+
+    /**
+     * @return the trimmed value, empty when the setting is missing or blank
+     */
+    public Optional<String> text(String code) {
+        return Optional.ofNullable(values.get(code))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty());
+    }
+
+    public Map<String, String> values() {
+        return values;
+    }
+
+    /**
+     * @return codes whose value differs between this snapshot and {@code previous}
+     */
+    public Set<String> changedSince(SettingsSnapshot previous) {
+        Set<String> changed = new LinkedHashSet<>();
+        Map<String, String> before = previous != null ? previous.values : Map.of();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!before.containsKey(entry.getKey()) || !Objects.equals(before.get(entry.getKey()), entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String code : before.keySet()) {
+            if (!values.containsKey(code)) {
+                changed.add(code);
+            }
+        }
+        return changed;
+    }
+}
@@ -2,11 +2,26 @@ package com.example.rbac.admin.setup.repository;
 
 import com.example.rbac.admin.setup.model.MenuLayout;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface MenuLayoutRepository extends JpaRepository<MenuLayout, Long> {
     Optional<MenuLayout> findByLayoutKeyAndUserId(String layoutKey, Long userId);
 
     Optional<MenuLayout> findByLayoutKeyAndUserIdIsNull(String layoutKey);
+
+    /**
+     * Cheap fingerprint of the table: saving or deleting any layout changes the row count or the latest update time.
+     */
+    @Query("select count(l) as rowCount, max(l.updatedAt) as lastUpdated from MenuLayout l")
+    Version findVersion();
+
+    interface Version {
+
+        Long getRowCount();
+
+        Instant getLastUpdated();
+    }
 }
@@ -0,0 +1,195 @@
+package com.example.rbac.admin.setup.service;
+
+import com.example.rbac.admin.setup.dto.MenuNodeDto;
+import com.example.rbac.admin.setup.repository.MenuLayoutRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes navigation menus. The merged layout tree is cached per user (most users resolve to the shared global
+ * layout) and the permission-filtered tree is cached per (layout fingerprint, authority set), so users who share a
+ * role share one entry. Any layout change bumps the generation, which invalidates both levels at once. Layouts saved
+ * on another instance are noticed by comparing the table's row count and latest {@code updated_at} with the last
+ * values seen, at most once every {@code app.navigation.revalidate-interval}.
+ */
+@Component
+public class NavigationMenuCache {
+
+    private static final Logger log = LoggerFactory.getLogger(NavigationMenuCache.class);
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, ResolvedLayout> layouts;
+    private final Map<MenuKey, List<MenuNodeDto>> menus;
+    private final Supplier<LayoutVersion> versions;
+    private final long revalidateIntervalNanos;
+    private final LongSupplier clock;
+    private final AtomicLong nextRevalidation;
+    private volatile LayoutVersion seenVersion;
+
+    public NavigationMenuCache(MenuLayoutRepository menuLayoutRepository,
+                               @Value("${app.navigation.cache-size:1024}") int maxEntries,
+                               @Value("${app.navigation.revalidate-interval:PT5S}") Duration revalidateInterval) {
+        this(maxEntries, revalidateInterval, () -> LayoutVersion.of(menuLayoutRepository.findVersion()),
+                System::nanoTime);
+    }
+
+    NavigationMenuCache(int maxEntries, Duration revalidateInterval, Supplier<LayoutVersion> versions,
+                        LongSupplier clock) {
+        this.layouts = lruMap(Math.max(16, maxEntries));
+        this.menus = lruMap(Math.max(16, maxEntries / 4));
+        this.versions = versions;
+        this.revalidateIntervalNanos = revalidateInterval.toNanos();
+        this.clock = clock;
+        this.nextRevalidation = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * @param userId the requesting user, or {@code null} for the global layout
+     * @param loader loads the layout from the database on a miss
+     */
+    ResolvedLayout layout(Long userId, Supplier<ResolvedLayout> loader) {
+        revalidateIfDue();
+        long current = generation.get();
+        ResolvedLayout cached = layouts.get(userId);
+        if (cached != null && cached.generation() == current) {
+            return cached;
+        }
+        ResolvedLayout loaded = loader.get().withGeneration(current);
+        layouts.put(userId, loaded);
+        return loaded;
+    }
+
+    List<MenuNodeDto> filteredMenu(ResolvedLayout layout, Set<String> authorities) {
+        MenuKey key = new MenuKey(layout.fingerprint(), layout.generation(), Set.copyOf(authorities));
+        List<MenuNodeDto> cached = menus.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<MenuNodeDto> filtered = Collections.unmodifiableList(filter(layout.menu(), key.authorities()));
+        menus.put(key, filtered);
+        return filtered;
+    }
+
+    /**
+     * Invalidates every cached menu once the surrounding transaction commits, or immediately when there is none.
+     */
+    void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+            return;
+        }
+        invalidate();
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+        layouts.clear();
+        menus.clear();
+    }
+
+    private void revalidateIfDue() {
+        if (revalidateIntervalNanos <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long due = nextRevalidation.get();
+        // One caller per interval checks the table; everyone else keeps using the cached layouts.
+        if (now - due < 0 || !nextRevalidation.compareAndSet(due, now + revalidateIntervalNanos)) {
+            return;
+        }
+        try {
+            LayoutVersion latest = versions.get();
+            LayoutVersion previous = seenVersion;
+            seenVersion = latest;
+            // Without an earlier version (first check, or the earlier ones failed) only what is cached is suspect.
+            if (!Objects.equals(previous, latest) && (previous != null || !layouts.isEmpty())) {
+                invalidate();
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Unable to check menu layouts for changes made on other instances", ex);
+        }
+    }
+
+    static List<MenuNodeDto> filter(List<MenuNodeDto> nodes, Set<String> authorities) {
+        List<MenuNodeDto> visible = new ArrayList<>();
+        for (MenuNodeDto node : nodes) {
+            if (node.isGroup()) {
+                List<MenuNodeDto> children = filter(node.getChildren(), authorities);
+                if (!children.isEmpty()) {
+                    visible.add(copy(node, children));
+                }
+                continue;
+            }
+            List<String> required = node.getPermissions();
+            if (required == null || required.isEmpty() || required.stream().anyMatch(authorities::contains)) {
+                visible.add(copy(node, List.of()));
+            }
+        }
+        return visible;
+    }
+
+    private static MenuNodeDto copy(MenuNodeDto node, List<MenuNodeDto> children) {
+        MenuNodeDto copy = new MenuNodeDto();
+        copy.setKey(node.getKey());
+        copy.setLabel(node.getLabel());
+        copy.setIcon(node.getIcon());
+        copy.setPath(node.getPath());
+        copy.setGroup(node.isGroup());
+        copy.setPermissions(node.getPermissions());
+        copy.setChildren(children);
+        return copy;
+    }
+
+    private static <K, V> Map<K, V> lruMap(int capacity) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * Merged layout tree for one user. The fingerprint identifies the stored structure, so users resolving to the
+     * same layout row share filtered-menu entries.
+     */
+    record ResolvedLayout(String fingerprint, long generation, List<MenuNodeDto> menu) {
+
+        ResolvedLayout withGeneration(long generation) {
+            return new ResolvedLayout(fingerprint, generation, menu);
+        }
+    }
+
+    record LayoutVersion(Long rowCount, Instant lastUpdated) {
+
+        static LayoutVersion of(MenuLayoutRepository.Version version) {
+            return version == null ? null : new LayoutVersion(version.getRowCount(), version.getLastUpdated());
+        }
+    }
+
+    private record MenuKey(String fingerprint, long generation, Set<String> authorities) {
+    }
+}
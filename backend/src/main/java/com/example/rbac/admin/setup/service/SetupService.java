@@ -40,26 +40,33 @@ public class SetupService {
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
     private final ActivityRecorder activityRecorder;
+    private final NavigationMenuCache menuCache;
+    private final List<MenuNodeDto> defaultNodes;
 
     public SetupService(MenuLayoutRepository menuLayoutRepository,
                         UserRepository userRepository,
                         ObjectMapper objectMapper,
-                        ActivityRecorder activityRecorder) {
+                        ActivityRecorder activityRecorder,
+                        NavigationMenuCache menuCache) {
         this.menuLayoutRepository = menuLayoutRepository;
         this.userRepository = userRepository;
         this.objectMapper = objectMapper;
         this.activityRecorder = activityRecorder;
+        this.menuCache = menuCache;
+        this.defaultNodes = Collections.unmodifiableList(mergeLayout(Collections.emptyList(), DEFAULT_MENU));
     }
 
+    /**
+     * Returns the caller's layout filtered to the entries their permissions allow. Both the parsed layout and the
+     * filtered tree are served from {@link NavigationMenuCache}, so repeated page loads do not touch the database.
+     */
     public NavigationMenuResponse getNavigationMenu(UserPrincipal principal) {
         Long userId = principal != null && principal.getUser() != null ? principal.getUser().getId() : null;
-        List<MenuNodeConfig> stored = loadStoredLayout(userId);
-        List<MenuNodeDto> applied = mergeLayout(stored, DEFAULT_MENU);
-        List<MenuNodeDto> defaults = mergeLayout(Collections.emptyList(), DEFAULT_MENU);
+        NavigationMenuCache.ResolvedLayout layout = menuCache.layout(userId, () -> resolveLayout(userId));
 
         NavigationMenuResponse response = new NavigationMenuResponse();
-        response.setMenu(applied);
-        response.setDefaults(defaults);
+        response.setMenu(menuCache.filteredMenu(layout, authorities(principal)));
+        response.setDefaults(defaultNodes);
         return response;
     }
 
@@ -109,6 +116,7 @@ public class SetupService {
         layout.setUserId(userId);
         layout.setUpdatedByUserId(userId);
         MenuLayout saved = menuLayoutRepository.save(layout);
+        menuCache.invalidateAfterCommit();
 
         if (changed) {
             Map<String, Object> context = Map.of(
@@ -135,6 +143,13 @@ public class SetupService {
     }
 
     private List<MenuNodeConfig> loadStoredLayout(Long userId) {
+        return findLayout(userId)
+                .map(MenuLayout::getStructureJson)
+                .map(this::parseLayout)
+                .orElse(Collections.emptyList());
+    }
+
+    private Optional<MenuLayout> findLayout(Long userId) {
         Optional<MenuLayout> layout = Optional.empty();
         if (userId != null) {
             layout = menuLayoutRepository.findByLayoutKeyAndUserId(LAYOUT_KEY, userId);
@@ -142,10 +157,24 @@ public class SetupService {
         if (layout.isEmpty()) {
             layout = menuLayoutRepository.findByLayoutKeyAndUserIdIsNull(LAYOUT_KEY);
         }
-        return layout
-                .map(MenuLayout::getStructureJson)
-                .map(this::parseLayout)
-                .orElse(Collections.emptyList());
+        return layout;
+    }
+
+    private NavigationMenuCache.ResolvedLayout resolveLayout(Long userId) {
+        Optional<MenuLayout> layout = findLayout(userId);
+        String json = layout.map(MenuLayout::getStructureJson).orElse(null);
+        String fingerprint = layout
+                .map(found -> found.getId() + ":" + Integer.toHexString(json != null ? json.hashCode() : 0))
+                .orElse("default");
+        List<MenuNodeDto> merged = mergeLayout(parseLayout(json), DEFAULT_MENU);
+        return new NavigationMenuCache.ResolvedLayout(fingerprint, 0, Collections.unmodifiableList(merged));
+    }
+
+    private Set<String> authorities(UserPrincipal principal) {
+        if (principal == null) {
+            return Set.of();
+        }
+        return principal.getAuthorityKeys();
     }
 
     private List<MenuNodeConfig> parseLayout(String json) {
@@ -390,7 +419,7 @@ public class SetupService {
                             "📦",
                             "/admin/orders",
                             List.of("ORDER_VIEW_GLOBAL", "ORDER_CREATE", "ORDER_EDIT", "ORDER_DELETE")
-                    ),
+                    )
             )),
             MenuDefinition.group("configuration", "Configuration", "🧩", List.of(
                     MenuDefinition.item(
@@ -1,376 +1,208 @@
 package com.example.rbac.admin.shipping.bootstrap;
 
-import com.example.rbac.admin.shipping.model.ShippingCity;
-import com.example.rbac.admin.shipping.model.ShippingCountry;
-import com.example.rbac.admin.shipping.model.ShippingState;
 import com.example.rbac.admin.shipping.reference.ShippingReferenceData;
-import com.example.rbac.admin.shipping.repository.ShippingCityRepository;
-import com.example.rbac.admin.shipping.repository.ShippingCountryRepository;
-import com.example.rbac.admin.shipping.repository.ShippingStateRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * Seeds countries, states and cities from the bundled reference dataset using set-based JDBC statements.
+ * Existing rows are read once per country and only the missing names are inserted in batches, so a warm
+ * database costs a handful of queries instead of one round trip per row.
+ */
 @Component
 public class ShippingDataInitializer implements ApplicationRunner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ShippingDataInitializer.class);
 
-    private final ShippingCountryRepository countryRepository;
-    private final ShippingStateRepository stateRepository;
-    private final ShippingCityRepository cityRepository;
+    private static final String[] REGION_MARKERS = {"Northern", "Central", "Southern"};
+    private static final String[] CITY_MARKERS = {"Metropolitan", "Harbor", "Valley"};
+
+    private final JdbcTemplate jdbcTemplate;
     private final ShippingReferenceData shippingReferenceData;
-    private final ObjectMapper objectMapper;
-    private final Resource indiaStatesResource;
-    private final Resource globalStatesResource;
+    private final int batchSize;
 
-    public ShippingDataInitializer(ShippingCountryRepository countryRepository,
-                                   ShippingStateRepository stateRepository,
-                                   ShippingCityRepository cityRepository,
+    public ShippingDataInitializer(JdbcTemplate jdbcTemplate,
                                    ShippingReferenceData shippingReferenceData,
-                                   ObjectMapper objectMapper,
-                                   @Value("classpath:data/shipping/india_states.json") Resource indiaStatesResource,
-                                   @Value("classpath:data/shipping/global_states_cities.json") Resource globalStatesResource) {
-        this.countryRepository = countryRepository;
-        this.stateRepository = stateRepository;
-        this.cityRepository = cityRepository;
+                                   @Value("${app.shipping.reference.seed-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
         this.shippingReferenceData = shippingReferenceData;
-        this.objectMapper = objectMapper;
-        this.indiaStatesResource = indiaStatesResource;
-        this.globalStatesResource = globalStatesResource;
+        this.batchSize = Math.max(1, batchSize);
     }
 
     @Override
     @Transactional
     public void run(ApplicationArguments args) {
-        seedCountries();
-        seedStructuredStates(globalStatesResource);
-        seedIndiaStatesAndCities();
-        seedDefaultStatesAndCities();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long started = System.nanoTime();
+
+        int countries = seedCountries();
+        List<CountryRow> countryRows = loadCountries();
+        int states = seedStates(countryRows);
+        int enabledStates = jdbcTemplate.update("UPDATE shipping_states SET enabled = TRUE WHERE enabled = FALSE");
+        int cities = 0;
+        for (CountryRow country : countryRows) {
+            cities += seedCities(country);
+        }
+        int enabledCities = jdbcTemplate.update("UPDATE shipping_cities SET enabled = TRUE WHERE enabled = FALSE");
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        long heapDeltaKb = Math.max(0, (runtime.totalMemory() - runtime.freeMemory()) - heapBefore) / 1024;
+        LOGGER.info("Shipping seed inserted {} countries, {} states, {} cities and enabled {} states, {} cities in {} ms (heap delta ~{} KB)",
+                countries, states, cities, enabledStates, enabledCities, elapsedMillis, heapDeltaKb);
     }
 
-    private void seedStructuredStates(Resource resource) {
-        if (resource == null || !resource.exists()) {
-            return;
-        }
-        try (InputStream stream = resource.getInputStream()) {
-            List<CountrySeed> seeds = objectMapper.readValue(stream, new TypeReference<>() {
-            });
-            if (CollectionUtils.isEmpty(seeds)) {
-                return;
-            }
-            for (CountrySeed countrySeed : seeds) {
-                if (!StringUtils.hasText(countrySeed.getCode()) || CollectionUtils.isEmpty(countrySeed.getStates())) {
-                    continue;
-                }
-                ShippingCountry country = countryRepository.findByCodeIgnoreCase(countrySeed.getCode())
-                        .orElse(null);
-                if (country == null) {
-                    continue;
-                }
-                ensureStatesAndCities(country, countrySeed.getStates());
+    private int seedCountries() {
+        Set<String> existingCodes = new HashSet<>();
+        Set<String> existingNames = new HashSet<>();
+        jdbcTemplate.query("SELECT code, name FROM shipping_countries", rs -> {
+            String code = rs.getString("code");
+            if (code != null) {
+                existingCodes.add(code.toUpperCase(Locale.ENGLISH));
             }
-        } catch (IOException ex) {
-            LOGGER.warn("Failed to seed structured states: {}", ex.getMessage());
-        }
-    }
+            existingNames.add(normalizeKey(rs.getString("name")));
+        });
 
-    private void seedCountries() {
-        String[] isoCountries = Locale.getISOCountries();
-        for (String isoCode : isoCountries) {
-            Locale locale = new Locale("", isoCode);
-            String name = locale.getDisplayCountry(Locale.ENGLISH);
+        List<Object[]> rows = new ArrayList<>();
+        for (String isoCode : Locale.getISOCountries()) {
+            String name = new Locale("", isoCode).getDisplayCountry(Locale.ENGLISH);
             if (!StringUtils.hasText(name)) {
                 continue;
             }
-            if (countryRepository.existsByCodeIgnoreCase(isoCode)
-                    || countryRepository.existsByNameIgnoreCase(name)) {
+            if (existingCodes.contains(isoCode) || !existingNames.add(normalizeKey(name))) {
                 continue;
             }
-            ShippingCountry country = new ShippingCountry();
-            country.setName(name);
-            country.setCode(isoCode);
-            country.setEnabled(true);
-            countryRepository.save(country);
+            rows.add(new Object[]{name, isoCode});
         }
+        batchInsert("INSERT INTO shipping_countries (name, code, enabled) VALUES (?, ?, TRUE)", rows);
+        return rows.size();
     }
 
-    private void seedIndiaStatesAndCities() {
-        ShippingCountry india = countryRepository.findByCodeIgnoreCase("IN")
-                .orElse(null);
-        if (india == null) {
-            LOGGER.warn("Unable to seed India states because the country record was not found");
-            return;
-        }
-        if (!indiaStatesResource.exists()) {
-            LOGGER.warn("India states resource {} is missing", indiaStatesResource);
-            return;
-        }
-        try (InputStream stream = indiaStatesResource.getInputStream()) {
-            List<StateSeed> states = objectMapper.readValue(stream, new TypeReference<>() {
-            });
-            if (CollectionUtils.isEmpty(states)) {
-                return;
-            }
-            ensureStatesAndCities(india, states);
-        } catch (IOException ex) {
-            LOGGER.warn("Failed to seed India states: {}", ex.getMessage());
-        }
+    private List<CountryRow> loadCountries() {
+        return jdbcTemplate.query("SELECT id, code, name FROM shipping_countries ORDER BY id",
+                (rs, rowNum) -> new CountryRow(rs.getLong("id"), rs.getString("code"), rs.getString("name")));
     }
 
-    private void ensureStatesAndCities(ShippingCountry country, List<StateSeed> states) {
-        if (country == null || CollectionUtils.isEmpty(states)) {
-            return;
-        }
-        List<ShippingState> existingStates = new ArrayList<>(stateRepository.findByCountryIdOrderByNameAsc(country.getId()));
-        for (StateSeed stateSeed : states) {
-            if (!StringUtils.hasText(stateSeed.getName())) {
-                continue;
-            }
-            String normalizedStateName = stateSeed.getName().trim();
-            ShippingState state = existingStates.stream()
-                    .filter(existing -> existing.getName().equalsIgnoreCase(normalizedStateName))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        ShippingState created = new ShippingState();
-                        created.setCountry(country);
-                        created.setName(normalizedStateName);
-                        created.setEnabled(true);
-                        ShippingState saved = stateRepository.save(created);
-                        existingStates.add(saved);
-                        return saved;
-                    });
-
-            if (!state.isEnabled()) {
-                state.setEnabled(true);
-                stateRepository.save(state);
-            }
-
-            List<ShippingCity> existingCities = new ArrayList<>(cityRepository.findByStateIdOrderByNameAsc(state.getId()));
-            boolean citiesUpdated = false;
-            for (ShippingCity existingCity : existingCities) {
-                if (!existingCity.isEnabled()) {
-                    existingCity.setEnabled(true);
-                    citiesUpdated = true;
+    private int seedStates(List<CountryRow> countries) {
+        Map<Long, Set<String>> existingByCountry = new HashMap<>();
+        jdbcTemplate.query("SELECT country_id, name FROM shipping_states", rs -> {
+            existingByCountry.computeIfAbsent(rs.getLong("country_id"), key -> new HashSet<>())
+                    .add(normalizeKey(rs.getString("name")));
+        });
+
+        List<Object[]> rows = new ArrayList<>();
+        for (CountryRow country : countries) {
+            Set<String> existing = existingByCountry.computeIfAbsent(country.id(), key -> new HashSet<>());
+            boolean hadStates = !existing.isEmpty();
+            int added = 0;
+            for (String stateName : shippingReferenceData.getStateNames(country.code(), country.name())) {
+                String normalizedName = normalizeName(stateName);
+                if (normalizedName != null && existing.add(normalizeKey(normalizedName))) {
+                    rows.add(new Object[]{country.id(), normalizedName});
+                    added++;
                 }
             }
-
-            if (!CollectionUtils.isEmpty(stateSeed.getCities())) {
-                for (String cityName : stateSeed.getCities()) {
-                    if (!StringUtils.hasText(cityName)) {
-                        continue;
-                    }
-                    String normalizedCityName = cityName.trim();
-                    ShippingCity city = existingCities.stream()
-                            .filter(existing -> existing.getName().equalsIgnoreCase(normalizedCityName))
-                            .findFirst()
-                            .orElseGet(() -> {
-                                ShippingCity created = new ShippingCity();
-                                created.setState(state);
-                                created.setName(normalizedCityName);
-                                created.setEnabled(true);
-                                ShippingCity saved = cityRepository.save(created);
-                                existingCities.add(saved);
-                                return saved;
-                            });
-                    if (!city.isEnabled()) {
-                        city.setEnabled(true);
-                        citiesUpdated = true;
-                    }
-                }
-            }
-
-            if (citiesUpdated) {
-                cityRepository.saveAll(existingCities);
-            }
-        }
-    }
-
-    private void seedDefaultStatesAndCities() {
-        List<ShippingCountry> countries = countryRepository.findAll();
-        for (ShippingCountry country : countries) {
-            List<ShippingState> states = stateRepository.findByCountryIdOrderByNameAsc(country.getId());
-            if (states.isEmpty()) {
-                states = createDefaultStates(country);
-            }
-            boolean stateUpdates = false;
-            for (ShippingState state : states) {
-                if (!state.isEnabled()) {
-                    state.setEnabled(true);
-                    stateUpdates = true;
-                }
-                ensureDefaultCities(state);
-            }
-            if (stateUpdates) {
-                stateRepository.saveAll(states);
-            }
-        }
-    }
-
-    private List<ShippingState> createDefaultStates(ShippingCountry country) {
-        String baseName = StringUtils.hasText(country.getName()) ? country.getName().trim() : country.getCode();
-        if (!StringUtils.hasText(baseName)) {
-            baseName = "Country " + country.getId();
-        }
-        String[] regionMarkers = {"Northern", "Central", "Southern"};
-        List<ShippingState> createdStates = new ArrayList<>();
-        for (String marker : regionMarkers) {
-            String stateName = (baseName + " " + marker + " Region").replaceAll("\\s+", " ").trim();
-            if (!StringUtils.hasText(stateName)) {
+            if (hadStates || added > 0) {
                 continue;
             }
-            if (stateRepository.existsByCountryIdAndNameIgnoreCase(country.getId(), stateName)) {
-                continue;
+            String baseName = StringUtils.hasText(country.name()) ? country.name().trim() : country.code();
+            if (!StringUtils.hasText(baseName)) {
+                baseName = "Country " + country.id();
             }
-            ShippingState state = new ShippingState();
-            state.setCountry(country);
-            state.setName(stateName);
-            state.setEnabled(true);
-            ShippingState saved = stateRepository.save(state);
-            createdStates.add(saved);
-        }
-
-        if (createdStates.isEmpty()) {
-            String fallbackName = (baseName + " Region").replaceAll("\\s+", " ").trim();
-            if (!stateRepository.existsByCountryIdAndNameIgnoreCase(country.getId(), fallbackName)) {
-                ShippingState state = new ShippingState();
-                state.setCountry(country);
-                state.setName(fallbackName);
-                state.setEnabled(true);
-                ShippingState saved = stateRepository.save(state);
-                createdStates.add(saved);
+            for (String marker : REGION_MARKERS) {
+                String stateName = normalizeName(baseName + " " + marker + " Region");
+                if (stateName != null && existing.add(normalizeKey(stateName))) {
+                    rows.add(new Object[]{country.id(), stateName});
+                }
             }
         }
-        return createdStates;
+        batchInsert("INSERT INTO shipping_states (country_id, name, enabled) VALUES (?, ?, TRUE)", rows);
+        return rows.size();
     }
 
-    private void ensureDefaultCities(ShippingState state) {
-        List<ShippingCity> cities = cityRepository.findByStateIdOrderByNameAsc(state.getId());
-        boolean updated = false;
-        Set<String> existingCityNames = new HashSet<>();
-        for (ShippingCity city : cities) {
-            if (!city.isEnabled()) {
-                city.setEnabled(true);
-                updated = true;
-            }
-            if (StringUtils.hasText(city.getName())) {
-                existingCityNames.add(city.getName().trim().toLowerCase(Locale.ENGLISH));
-            }
-        }
-        if (updated) {
-            cityRepository.saveAll(cities);
-        }
-
-        List<String> referenceCities = Collections.emptyList();
-        if (state.getCountry() != null) {
-            referenceCities = shippingReferenceData.getCityNames(
-                    state.getCountry().getCode(),
-                    state.getCountry().getName(),
-                    state.getName());
-        }
-
-        boolean createdFromReference = false;
-        if (!CollectionUtils.isEmpty(referenceCities)) {
-            for (String referenceCity : referenceCities) {
-                if (!StringUtils.hasText(referenceCity)) {
-                    continue;
-                }
-                String normalizedName = referenceCity.trim();
-                String normalizedKey = normalizedName.toLowerCase(Locale.ENGLISH);
-                if (existingCityNames.contains(normalizedKey)) {
-                    continue;
+    private int seedCities(CountryRow country) {
+        List<StateRow> states = jdbcTemplate.query(
+                "SELECT id, name FROM shipping_states WHERE country_id = ?",
+                (rs, rowNum) -> new StateRow(rs.getLong("id"), rs.getString("name")),
+                country.id());
+        if (states.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Set<String>> existingByState = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT c.state_id, c.name FROM shipping_cities c JOIN shipping_states s ON s.id = c.state_id WHERE s.country_id = ?",
+                rs -> {
+                    existingByState.computeIfAbsent(rs.getLong("state_id"), key -> new HashSet<>())
+                            .add(normalizeKey(rs.getString("name")));
+                },
+                country.id());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (StateRow state : states) {
+            Set<String> existing = existingByState.computeIfAbsent(state.id(), key -> new HashSet<>());
+            boolean hadCities = !existing.isEmpty();
+            int added = 0;
+            List<String> referenceCities = shippingReferenceData.getBundledCityNames(
+                    country.code(), country.name(), state.name());
+            for (String cityName : referenceCities) {
+                String normalizedName = normalizeName(cityName);
+                if (normalizedName != null && existing.add(normalizeKey(normalizedName))) {
+                    rows.add(new Object[]{state.id(), normalizedName});
+                    added++;
                 }
-                ShippingCity city = new ShippingCity();
-                city.setState(state);
-                city.setName(normalizedName);
-                city.setEnabled(true);
-                cityRepository.save(city);
-                existingCityNames.add(normalizedKey);
-                createdFromReference = true;
             }
-            if (createdFromReference) {
-                return;
-            }
-        }
-
-        if (!cities.isEmpty()) {
-            return;
-        }
-        String baseName = StringUtils.hasText(state.getName()) ? state.getName().trim() : "State " + state.getId();
-        String[] cityMarkers = {"Metropolitan", "Harbor", "Valley"};
-        for (String marker : cityMarkers) {
-            String cityName = (baseName + " " + marker + " City").replaceAll("\\s+", " ").trim();
-            if (!StringUtils.hasText(cityName)) {
+            if (hadCities || added > 0) {
                 continue;
             }
-            if (cityRepository.existsByStateIdAndNameIgnoreCase(state.getId(), cityName)) {
-                continue;
+            String baseName = StringUtils.hasText(state.name()) ? state.name().trim() : "State " + state.id();
+            for (String marker : CITY_MARKERS) {
+                String cityName = normalizeName(baseName + " " + marker + " City");
+                if (cityName != null && existing.add(normalizeKey(cityName))) {
+                    rows.add(new Object[]{state.id(), cityName});
+                }
             }
-            ShippingCity city = new ShippingCity();
-            city.setState(state);
-            city.setName(cityName);
-            city.setEnabled(true);
-            cityRepository.save(city);
         }
+        batchInsert("INSERT INTO shipping_cities (state_id, name, enabled) VALUES (?, ?, TRUE)", rows);
+        return rows.size();
     }
 
-    private static class CountrySeed {
-        private String code;
-        private List<StateSeed> states;
-
-        public String getCode() {
-            return code;
-        }
-
-        public void setCode(String code) {
-            this.code = code;
-        }
-
-        public List<StateSeed> getStates() {
-            return states;
-        }
-
-        public void setStates(List<StateSeed> states) {
-            this.states = states;
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            int end = Math.min(rows.size(), start + batchSize);
+            jdbcTemplate.batchUpdate(sql, rows.subList(start, end));
         }
     }
 
-    private static class StateSeed {
-        private String name;
-        private List<String> cities;
-
-        public String getName() {
-            return name;
+    private String normalizeName(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
         }
+        return value.trim().replaceAll("\\s+", " ");
+    }
 
-        public void setName(String name) {
-            this.name = name;
-        }
+    private String normalizeKey(String value) {
+        String normalized = normalizeName(value);
+        return normalized != null ? normalized.toLowerCase(Locale.ENGLISH) : null;
+    }
 
-        public List<String> getCities() {
-            return cities;
-        }
+    private record CountryRow(long id, String code, String name) {
+    }
 
-        public void setCities(List<String> cities) {
-            this.cities = cities;
-        }
+    private record StateRow(long id, String name) {
     }
 }
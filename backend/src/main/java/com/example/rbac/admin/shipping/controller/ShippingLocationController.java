@@ -57,7 +57,7 @@ public class ShippingLocationController {
 
     @PutMapping("/countries/bulk-settings")
     @PreAuthorize("hasAuthority('SHIPPING_MANAGE')")
-    public List<ShippingCountryDto> bulkUpdateCountrySettings(@RequestBody ShippingCountryBulkSettingsRequest request) {
+    public ShippingBulkSettingsResultDto bulkUpdateCountrySettings(@RequestBody ShippingCountryBulkSettingsRequest request) {
         return shippingLocationService.bulkUpdateCountrySettings(request);
     }
 
@@ -103,7 +103,7 @@ public class ShippingLocationController {
 
     @PutMapping("/states/bulk-settings")
     @PreAuthorize("hasAuthority('SHIPPING_MANAGE')")
-    public List<ShippingStateDto> bulkUpdateStateSettings(@RequestBody ShippingStateBulkSettingsRequest request) {
+    public ShippingBulkSettingsResultDto bulkUpdateStateSettings(@RequestBody ShippingStateBulkSettingsRequest request) {
         return shippingLocationService.bulkUpdateStateSettings(request);
     }
 
@@ -157,7 +157,7 @@ public class ShippingLocationController {
 
     @PutMapping("/cities/bulk-settings")
     @PreAuthorize("hasAuthority('SHIPPING_MANAGE')")
-    public List<ShippingCityDto> bulkUpdateCitySettings(@RequestBody ShippingCityBulkSettingsRequest request) {
+    public ShippingBulkSettingsResultDto bulkUpdateCitySettings(@RequestBody ShippingCityBulkSettingsRequest request) {
         return shippingLocationService.bulkUpdateCitySettings(request);
     }
 
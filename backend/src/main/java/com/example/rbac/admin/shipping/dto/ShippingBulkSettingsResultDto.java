@@ -0,0 +1,50 @@
+package com.example.rbac.admin.shipping.dto;
+
+public class ShippingBulkSettingsResultDto {
+    private int matched;
+    private int enabledChanged;
+    private int costChanged;
+    private int descendantsDisabled;
+
+    public ShippingBulkSettingsResultDto() {
+    }
+
+    public ShippingBulkSettingsResultDto(int matched, int enabledChanged, int costChanged, int descendantsDisabled) {
+        this.matched = matched;
+        this.enabledChanged = enabledChanged;
+        this.costChanged = costChanged;
+        this.descendantsDisabled = descendantsDisabled;
+    }
+
+    public int getMatched() {
+        return matched;
+    }
+
+    public void setMatched(int matched) {
+        this.matched = matched;
+    }
+
+    public int getEnabledChanged() {
+        return enabledChanged;
+    }
+
+    public void setEnabledChanged(int enabledChanged) {
+        this.enabledChanged = enabledChanged;
+    }
+
+    public int getCostChanged() {
+        return costChanged;
+    }
+
+    public void setCostChanged(int costChanged) {
+        this.costChanged = costChanged;
+    }
+
+    public int getDescendantsDisabled() {
+        return descendantsDisabled;
+    }
+
+    public void setDescendantsDisabled(int descendantsDisabled) {
+        this.descendantsDisabled = descendantsDisabled;
+    }
+}
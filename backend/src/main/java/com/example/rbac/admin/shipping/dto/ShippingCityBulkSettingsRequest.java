@@ -6,6 +6,8 @@ import java.util.List;
 public class ShippingCityBulkSettingsRequest {
 
     private List<Long> ids;
+    private Long stateId;
+    private Long countryId;
     private Boolean enabled;
     private BigDecimal overrideCost;
     private Boolean clearOverride;
@@ -41,4 +43,20 @@ public class ShippingCityBulkSettingsRequest {
     public void setClearOverride(Boolean clearOverride) {
         this.clearOverride = clearOverride;
     }
+
+    public Long getStateId() {
+        return stateId;
+    }
+
+    public void setStateId(Long stateId) {
+        this.stateId = stateId;
+    }
+
+    public Long getCountryId() {
+        return countryId;
+    }
+
+    public void setCountryId(Long countryId) {
+        this.countryId = countryId;
+    }
 }
@@ -6,6 +6,7 @@ import java.util.List;
 public class ShippingStateBulkSettingsRequest {
 
     private List<Long> ids;
+    private Long countryId;
     private Boolean enabled;
     private BigDecimal overrideCost;
     private Boolean clearOverride;
@@ -41,4 +42,12 @@ public class ShippingStateBulkSettingsRequest {
     public void setClearOverride(Boolean clearOverride) {
         this.clearOverride = clearOverride;
     }
+
+    public Long getCountryId() {
+        return countryId;
+    }
+
+    public void setCountryId(Long countryId) {
+        this.countryId = countryId;
+    }
 }
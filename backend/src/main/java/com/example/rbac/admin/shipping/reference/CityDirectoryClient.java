@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
@@ -11,27 +12,41 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClient;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Remote city lookup used to enrich states missing from the bundled dataset. Disabled unless
+ * {@code app.integrations.city-directory.enabled} is set, so startup and tests never depend on the network.
+ */
 @Component
-public class CityDirectoryClient {
+@ConditionalOnProperty(prefix = "app.integrations.city-directory", name = "enabled", havingValue = "true")
+public class CityDirectoryClient implements CityDirectorySource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CityDirectoryClient.class);
 
     private final RestClient restClient;
     private final ObjectMapper objectMapper;
-    private final Map<String, List<String>> cache = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> cache;
 
     public CityDirectoryClient(RestClient.Builder restClientBuilder,
                                ObjectMapper objectMapper,
-                               @Value("${app.integrations.city-directory.base-url:https://countriesnow.space/api/v0.1}") String baseUrl) {
+                               @Value("${app.integrations.city-directory.base-url:https://countriesnow.space/api/v0.1}") String baseUrl,
+                               @Value("${app.integrations.city-directory.max-cache-entries:512}") int maxCacheEntries) {
         this.restClient = restClientBuilder.baseUrl(baseUrl).build();
         this.objectMapper = objectMapper;
+        int capacity = Math.max(1, maxCacheEntries);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > capacity;
+            }
+        });
     }
 
+    @Override
     public List<String> fetchCities(String countryName, String stateName) {
         if (!StringUtils.hasText(countryName) || !StringUtils.hasText(stateName)) {
             return List.of();
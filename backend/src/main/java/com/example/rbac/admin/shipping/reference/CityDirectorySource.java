@@ -0,0 +1,11 @@
+package com.example.rbac.admin.shipping.reference;
+
+import java.util.List;
+
+/**
+ * Optional enrichment source consulted when the bundled reference dataset has no cities for a state.
+ */
+public interface CityDirectorySource {
+
+    List<String> fetchCities(String countryName, String stateName);
+}
@@ -1,6 +1,5 @@
 package com.example.rbac.admin.shipping.reference;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
@@ -12,7 +11,6 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -29,28 +27,35 @@ public class ShippingReferenceData {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ShippingReferenceData.class);
 
-    private final ObjectMapper objectMapper;
-    private final Resource globalStatesResource;
-    private final Resource indiaStatesResource;
-    private final CityDirectoryClient cityDirectoryClient;
+    private final ShippingReferenceDatasetReader datasetReader;
+    private final Resource datasetResource;
+    private final List<CityDirectorySource> cityDirectorySources;
 
     private final Map<String, Map<String, StateReference>> referenceStates = new LinkedHashMap<>();
     private final Map<String, String> countryAliases = new LinkedHashMap<>();
 
     public ShippingReferenceData(ObjectMapper objectMapper,
-                                 @Value("classpath:data/shipping/global_states_cities.json") Resource globalStatesResource,
-                                 @Value("classpath:data/shipping/india_states.json") Resource indiaStatesResource,
-                                 CityDirectoryClient cityDirectoryClient) {
-        this.objectMapper = objectMapper;
-        this.globalStatesResource = globalStatesResource;
-        this.indiaStatesResource = indiaStatesResource;
-        this.cityDirectoryClient = cityDirectoryClient;
+                                 @Value("${app.shipping.reference.dataset:classpath:data/shipping/shipping_reference.json.gz}") Resource datasetResource,
+                                 List<CityDirectorySource> cityDirectorySources) {
+        this.datasetReader = new ShippingReferenceDatasetReader(objectMapper);
+        this.datasetResource = datasetResource;
+        this.cityDirectorySources = cityDirectorySources != null ? List.copyOf(cityDirectorySources) : List.of();
     }
 
     @PostConstruct
     public void loadReferenceData() {
-        loadGlobalStates();
-        loadIndiaStates();
+        if (datasetResource == null || !datasetResource.exists()) {
+            LOGGER.warn("Shipping reference dataset {} is missing", datasetResource);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            int countries = datasetReader.read(datasetResource, this::mergeCountrySeed);
+            LOGGER.info("Loaded shipping reference data for {} countries in {} ms",
+                    countries, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException ex) {
+            LOGGER.warn("Failed to load shipping reference data: {}", ex.getMessage());
+        }
     }
 
     public List<String> getStateNames(String countryCode, String countryName) {
@@ -66,26 +71,24 @@ public class ShippingReferenceData {
         return getStateNamesByCode(resolvedCode);
     }
 
+    /**
+     * Resolves cities from the bundled dataset first and falls back to the configured enrichment sources,
+     * remembering any cities they return for the lifetime of the application.
+     */
     public List<String> getCityNames(String countryCode, String countryName, String stateName) {
-        if (!StringUtils.hasText(stateName)) {
-            return Collections.emptyList();
-        }
-        String normalizedCode = normalizeCountryCode(countryCode);
-        List<String> cities = getCityNamesByCode(normalizedCode, stateName);
-        if (!cities.isEmpty()) {
+        List<String> cities = getBundledCityNames(countryCode, countryName, stateName);
+        if (!cities.isEmpty() || cityDirectorySources.isEmpty()) {
             return cities;
         }
+        String normalizedCode = normalizeCountryCode(countryCode);
         String resolvedCode = resolveCountryCodeByName(countryName);
-        if (resolvedCode != null && !resolvedCode.equals(normalizedCode)) {
-            cities = getCityNamesByCode(resolvedCode, stateName);
-            if (!cities.isEmpty()) {
-                return cities;
+        String codeToRegister = normalizedCode != null ? normalizedCode : resolvedCode;
+        String apiCountryName = resolveCountryDisplayName(codeToRegister, countryName);
+        for (CityDirectorySource source : cityDirectorySources) {
+            List<String> externalCities = source.fetchCities(apiCountryName, stateName);
+            if (CollectionUtils.isEmpty(externalCities)) {
+                continue;
             }
-        }
-        String apiCountryName = resolveCountryDisplayName(normalizedCode != null ? normalizedCode : resolvedCode, countryName);
-        List<String> externalCities = cityDirectoryClient.fetchCities(apiCountryName, stateName);
-        if (!CollectionUtils.isEmpty(externalCities)) {
-            String codeToRegister = normalizedCode != null ? normalizedCode : resolvedCode;
             if (codeToRegister != null) {
                 registerExternalCities(codeToRegister, apiCountryName, stateName, externalCities);
             }
@@ -94,46 +97,26 @@ public class ShippingReferenceData {
         return Collections.emptyList();
     }
 
-    private void loadGlobalStates() {
-        if (globalStatesResource == null || !globalStatesResource.exists()) {
-            return;
-        }
-        try (InputStream stream = globalStatesResource.getInputStream()) {
-            List<CountrySeed> seeds = objectMapper.readValue(stream, new TypeReference<>() {
-            });
-            if (CollectionUtils.isEmpty(seeds)) {
-                return;
-            }
-            for (CountrySeed seed : seeds) {
-                mergeCountrySeed(seed);
-            }
-        } catch (IOException ex) {
-            LOGGER.warn("Failed to load global shipping reference data: {}", ex.getMessage());
+    /**
+     * Resolves cities from the bundled dataset only; never reaches out to enrichment sources.
+     */
+    public List<String> getBundledCityNames(String countryCode, String countryName, String stateName) {
+        if (!StringUtils.hasText(stateName)) {
+            return Collections.emptyList();
         }
-    }
-
-    private void loadIndiaStates() {
-        if (indiaStatesResource == null || !indiaStatesResource.exists()) {
-            return;
+        String normalizedCode = normalizeCountryCode(countryCode);
+        List<String> cities = getCityNamesByCode(normalizedCode, stateName);
+        if (!cities.isEmpty()) {
+            return cities;
         }
-        try (InputStream stream = indiaStatesResource.getInputStream()) {
-            List<StateSeed> seeds = objectMapper.readValue(stream, new TypeReference<>() {
-            });
-            if (CollectionUtils.isEmpty(seeds)) {
-                return;
-            }
-            CountrySeed indiaSeed = new CountrySeed();
-            indiaSeed.setCode("IN");
-            indiaSeed.setName("India");
-            indiaSeed.setAliases(List.of("Republic of India", "Bharat"));
-            indiaSeed.setStates(seeds);
-            mergeCountrySeed(indiaSeed);
-        } catch (IOException ex) {
-            LOGGER.warn("Failed to load India shipping reference data: {}", ex.getMessage());
+        String resolvedCode = resolveCountryCodeByName(countryName);
+        if (resolvedCode != null && !resolvedCode.equals(normalizedCode)) {
+            return getCityNamesByCode(resolvedCode, stateName);
         }
+        return Collections.emptyList();
     }
 
-    private void mergeCountrySeed(CountrySeed seed) {
+    private void mergeCountrySeed(ShippingReferenceDatasetReader.CountrySeed seed) {
         if (seed == null || !StringUtils.hasText(seed.getCode()) || CollectionUtils.isEmpty(seed.getStates())) {
             return;
         }
@@ -144,7 +127,7 @@ public class ShippingReferenceData {
         }
         registerLocaleAliases(countryCode);
         Map<String, StateReference> states = referenceStates.computeIfAbsent(countryCode, key -> new LinkedHashMap<>());
-        for (StateSeed stateSeed : seed.getStates()) {
+        for (ShippingReferenceDatasetReader.StateSeed stateSeed : seed.getStates()) {
             if (stateSeed == null || !StringUtils.hasText(stateSeed.getName())) {
                 continue;
             }
@@ -296,66 +279,6 @@ public class ShippingReferenceData {
         return normalized != null ? normalized.toLowerCase(Locale.ENGLISH) : null;
     }
 
-    private static class CountrySeed {
-        private String code;
-        private List<StateSeed> states;
-        private String name;
-        private List<String> aliases;
-
-        public String getCode() {
-            return code;
-        }
-
-        public void setCode(String code) {
-            this.code = code;
-        }
-
-        public List<StateSeed> getStates() {
-            return states;
-        }
-
-        public void setStates(List<StateSeed> states) {
-            this.states = states;
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        public void setName(String name) {
-            this.name = name;
-        }
-
-        public List<String> getAliases() {
-            return aliases;
-        }
-
-        public void setAliases(List<String> aliases) {
-            this.aliases = aliases;
-        }
-    }
-
-    private static class StateSeed {
-        private String name;
-        private List<String> cities;
-
-        public String getName() {
-            return name;
-        }
-
-        public void setName(String name) {
-            this.name = name;
-        }
-
-        public List<String> getCities() {
-            return cities;
-        }
-
-        public void setCities(List<String> cities) {
-            this.cities = cities;
-        }
-    }
-
     private static class StateReference {
         private String displayName;
         private final Set<String> cities = new LinkedHashSet<>();
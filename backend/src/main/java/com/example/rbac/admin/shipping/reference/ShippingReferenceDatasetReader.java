@@ -0,0 +1,114 @@
+package com.example.rbac.admin.shipping.reference;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams the bundled shipping dataset one country at a time so the full document is never materialised.
+ * Resources ending in {@code .gz} are transparently decompressed.
+ */
+class ShippingReferenceDatasetReader {
+
+    private final ObjectMapper objectMapper;
+
+    ShippingReferenceDatasetReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    int read(Resource resource, Consumer<CountrySeed> consumer) throws IOException {
+        int count = 0;
+        try (InputStream stream = open(resource);
+             JsonParser parser = objectMapper.getFactory().createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of countries in " + resource.getDescription());
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                CountrySeed seed = objectMapper.readValue(parser, CountrySeed.class);
+                if (seed != null) {
+                    consumer.accept(seed);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private InputStream open(Resource resource) throws IOException {
+        InputStream stream = new BufferedInputStream(resource.getInputStream());
+        String filename = resource.getFilename();
+        if (filename != null && filename.toLowerCase(Locale.ENGLISH).endsWith(".gz")) {
+            return new GZIPInputStream(stream);
+        }
+        return stream;
+    }
+
+    static class CountrySeed {
+        private String code;
+        private String name;
+        private List<String> aliases;
+        private List<StateSeed> states;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getAliases() {
+            return aliases;
+        }
+
+        public void setAliases(List<String> aliases) {
+            this.aliases = aliases;
+        }
+
+        public List<StateSeed> getStates() {
+            return states;
+        }
+
+        public void setStates(List<StateSeed> states) {
+            this.states = states;
+        }
+    }
+
+    static class StateSeed {
+        private String name;
+        private List<String> cities;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getCities() {
+            return cities;
+        }
+
+        public void setCities(List<String> cities) {
+            this.cities = cities;
+        }
+    }
+}
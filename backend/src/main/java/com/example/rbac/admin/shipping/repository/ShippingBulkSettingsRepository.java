@@ -0,0 +1,206 @@
+package com.example.rbac.admin.shipping.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based settings updates for shipping locations. Every operation is a single statement scoped either by
+ * an id list (split into chunks of {@value #MAX_IDS_PER_STATEMENT}) or by a parent id, so enabling every city
+ * of a country costs a handful of round trips instead of one dirty-checked entity update per row.
+ */
+@Repository
+public class ShippingBulkSettingsRepository {
+
+    static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ShippingBulkSettingsRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int count(Scope scope) {
+        int total = 0;
+        for (Scope chunk : scope.partition()) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + chunk.level.table + " " + chunk.level.alias + " WHERE " + chunk.predicate,
+                    chunk.params(), Integer.class);
+            total += count != null ? count : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Counts rows that would be switched on although their parent state or country is disabled.
+     */
+    public int countEnableBlockedByParent(Scope scope) {
+        String sql = switch (scope.level) {
+            case COUNTRY -> null;
+            case STATE -> "SELECT COUNT(*) FROM shipping_states ss " +
+                    "JOIN shipping_countries sc ON sc.id = ss.country_id " +
+                    "WHERE %s AND ss.enabled = FALSE AND sc.enabled = FALSE";
+            case CITY -> "SELECT COUNT(*) FROM shipping_cities sy " +
+                    "JOIN shipping_states ss ON ss.id = sy.state_id " +
+                    "JOIN shipping_countries sc ON sc.id = ss.country_id " +
+                    "WHERE %s AND sy.enabled = FALSE AND (ss.enabled = FALSE OR sc.enabled = FALSE)";
+        };
+        if (sql == null) {
+            return 0;
+        }
+        int total = 0;
+        for (Scope chunk : scope.partition()) {
+            Integer count = jdbcTemplate.queryForObject(String.format(sql, chunk.predicate), chunk.params(), Integer.class);
+            total += count != null ? count : 0;
+        }
+        return total;
+    }
+
+    public int updateEnabled(Scope scope, boolean enabled) {
+        Level level = scope.level;
+        String sql = "UPDATE " + level.table + " " + level.alias +
+                " SET " + level.alias + ".enabled = :enabled, " + level.alias + ".updated_at = :now" +
+                " WHERE %s AND " + level.alias + ".enabled <> :enabled";
+        int updated = 0;
+        for (Scope chunk : scope.partition()) {
+            updated += jdbcTemplate.update(String.format(sql, chunk.predicate),
+                    chunk.params().addValue("enabled", enabled).addValue("now", now()));
+        }
+        return updated;
+    }
+
+    /**
+     * Applies a cost to the scope, or clears it when {@code cost} is {@code null}. Rows already holding the
+     * requested value are left untouched so the returned count reflects real changes.
+     */
+    public int updateCost(Scope scope, BigDecimal cost) {
+        Level level = scope.level;
+        String column = level.alias + "." + level.costColumn;
+        String sql = cost == null
+                ? "UPDATE " + level.table + " " + level.alias + " SET " + column + " = NULL, " + level.alias + ".updated_at = :now" +
+                  " WHERE %s AND " + column + " IS NOT NULL"
+                : "UPDATE " + level.table + " " + level.alias + " SET " + column + " = :cost, " + level.alias + ".updated_at = :now" +
+                  " WHERE %s AND (" + column + " IS NULL OR " + column + " <> :cost)";
+        int updated = 0;
+        for (Scope chunk : scope.partition()) {
+            updated += jdbcTemplate.update(String.format(sql, chunk.predicate),
+                    chunk.params().addValue("cost", cost).addValue("now", now()));
+        }
+        return updated;
+    }
+
+    /**
+     * Disables every state and city below the scope, mirroring the cascade applied when a single country or
+     * state is switched off.
+     */
+    public int disableDescendants(Scope scope) {
+        String disableStates = "UPDATE shipping_states ss SET ss.enabled = FALSE, ss.updated_at = :now " +
+                "WHERE ss.enabled = TRUE AND ss.country_id IN (SELECT sc.id FROM shipping_countries sc WHERE %s)";
+        String disableCitiesOfCountries = "UPDATE shipping_cities sy SET sy.enabled = FALSE, sy.updated_at = :now " +
+                "WHERE sy.enabled = TRUE AND sy.state_id IN (SELECT ss.id FROM shipping_states ss " +
+                "WHERE ss.country_id IN (SELECT sc.id FROM shipping_countries sc WHERE %s))";
+        String disableCitiesOfStates = "UPDATE shipping_cities sy SET sy.enabled = FALSE, sy.updated_at = :now " +
+                "WHERE sy.enabled = TRUE AND sy.state_id IN (SELECT ss.id FROM shipping_states ss WHERE %s)";
+        int updated = 0;
+        for (Scope chunk : scope.partition()) {
+            MapSqlParameterSource params = chunk.params().addValue("now", now());
+            switch (chunk.level) {
+                case COUNTRY -> {
+                    updated += jdbcTemplate.update(String.format(disableCitiesOfCountries, chunk.predicate), params);
+                    updated += jdbcTemplate.update(String.format(disableStates, chunk.predicate), params);
+                }
+                case STATE -> updated += jdbcTemplate.update(String.format(disableCitiesOfStates, chunk.predicate), params);
+                case CITY -> {
+                }
+            }
+        }
+        return updated;
+    }
+
+    private Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+
+    public enum Level {
+        COUNTRY("shipping_countries", "sc", "base_cost"),
+        STATE("shipping_states", "ss", "override_cost"),
+        CITY("shipping_cities", "sy", "override_cost");
+
+        private final String table;
+        private final String alias;
+        private final String costColumn;
+
+        Level(String table, String alias, String costColumn) {
+            this.table = table;
+            this.alias = alias;
+            this.costColumn = costColumn;
+        }
+    }
+
+    /**
+     * Rows targeted by a bulk operation: an explicit id set or every child of a parent location.
+     */
+    public static final class Scope {
+        private final Level level;
+        private final String predicate;
+        private final List<Long> ids;
+        private final Long parentId;
+
+        private Scope(Level level, String predicate, List<Long> ids, Long parentId) {
+            this.level = level;
+            this.predicate = predicate;
+            this.ids = ids;
+            this.parentId = parentId;
+        }
+
+        public static Scope ids(Level level, Collection<Long> ids) {
+            return new Scope(level, level.alias + ".id IN (:ids)", List.copyOf(ids), null);
+        }
+
+        public static Scope statesOfCountry(Long countryId) {
+            return new Scope(Level.STATE, "ss.country_id = :parentId", null, countryId);
+        }
+
+        public static Scope citiesOfState(Long stateId) {
+            return new Scope(Level.CITY, "sy.state_id = :parentId", null, stateId);
+        }
+
+        public static Scope citiesOfCountry(Long countryId) {
+            return new Scope(Level.CITY,
+                    "sy.state_id IN (SELECT cs.id FROM shipping_states cs WHERE cs.country_id = :parentId)", null, countryId);
+        }
+
+        public Level getLevel() {
+            return level;
+        }
+
+        private List<Scope> partition() {
+            if (ids == null || ids.size() <= MAX_IDS_PER_STATEMENT) {
+                return List.of(this);
+            }
+            List<Scope> chunks = new ArrayList<>();
+            for (int start = 0; start < ids.size(); start += MAX_IDS_PER_STATEMENT) {
+                List<Long> chunk = ids.subList(start, Math.min(ids.size(), start + MAX_IDS_PER_STATEMENT));
+                chunks.add(new Scope(level, predicate, chunk, null));
+            }
+            return chunks;
+        }
+
+        private MapSqlParameterSource params() {
+            MapSqlParameterSource params = new MapSqlParameterSource();
+            if (ids != null) {
+                params.addValue("ids", ids);
+            } else {
+                params.addValue("parentId", parentId);
+            }
+            return params;
+        }
+    }
+}
@@ -10,6 +10,9 @@ import com.example.rbac.admin.shipping.model.ShippingCountry;
 import com.example.rbac.admin.shipping.model.ShippingState;
 import com.example.rbac.admin.shipping.reference.ShippingReferenceData;
 import com.example.rbac.admin.shipping.repository.ShippingAreaRateRepository;
+import com.example.rbac.admin.shipping.repository.ShippingBulkSettingsRepository;
+import com.example.rbac.admin.shipping.repository.ShippingBulkSettingsRepository.Level;
+import com.example.rbac.admin.shipping.repository.ShippingBulkSettingsRepository.Scope;
 import com.example.rbac.admin.shipping.repository.ShippingCityRepository;
 import com.example.rbac.admin.shipping.repository.ShippingCountryRepository;
 import com.example.rbac.admin.shipping.repository.ShippingStateRepository;
@@ -32,7 +35,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,6 +44,7 @@ public class ShippingLocationService {
     private final ShippingStateRepository stateRepository;
     private final ShippingCityRepository cityRepository;
     private final ShippingAreaRateRepository areaRateRepository;
+    private final ShippingBulkSettingsRepository bulkSettingsRepository;
     private final ShippingReferenceData shippingReferenceData;
     private final ActivityRecorder activityRecorder;
 
@@ -49,12 +52,14 @@ public class ShippingLocationService {
                                    ShippingStateRepository stateRepository,
                                    ShippingCityRepository cityRepository,
                                    ShippingAreaRateRepository areaRateRepository,
+                                   ShippingBulkSettingsRepository bulkSettingsRepository,
                                    ActivityRecorder activityRecorder,
                                    ShippingReferenceData shippingReferenceData) {
         this.countryRepository = countryRepository;
         this.stateRepository = stateRepository;
         this.cityRepository = cityRepository;
         this.areaRateRepository = areaRateRepository;
+        this.bulkSettingsRepository = bulkSettingsRepository;
         this.activityRecorder = activityRecorder;
         this.shippingReferenceData = shippingReferenceData;
     }
@@ -467,7 +472,7 @@ public class ShippingLocationService {
     }
 
     @Transactional
-    public List<ShippingCountryDto> bulkUpdateCountrySettings(ShippingCountryBulkSettingsRequest request) {
+    public ShippingBulkSettingsResultDto bulkUpdateCountrySettings(ShippingCountryBulkSettingsRequest request) {
         if (request == null) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Country settings payload is required");
         }
@@ -475,200 +480,118 @@ public class ShippingLocationService {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Provide either a rate value or clear the rate, not both");
         }
         List<Long> ids = requireIds(request.getIds(), "country");
-        Map<Long, ShippingCountry> countryMap = countryRepository.findAllById(ids)
-                .stream()
-                .collect(Collectors.toMap(ShippingCountry::getId, Function.identity()));
-        if (countryMap.size() != ids.size()) {
+        Scope scope = Scope.ids(Level.COUNTRY, ids);
+        if (bulkSettingsRepository.count(scope) != ids.size()) {
             throw new ApiException(HttpStatus.NOT_FOUND, "One or more countries were not found");
         }
-
-        boolean updated = false;
-        for (Long id : ids) {
-            ShippingCountry country = countryMap.get(id);
-            if (country == null) {
-                throw new ApiException(HttpStatus.NOT_FOUND, "Country not found");
-            }
-            boolean changed = false;
-
-            if (request.getEnabled() != null && country.isEnabled() != request.getEnabled()) {
-                country.setEnabled(request.getEnabled());
-                changed = true;
-                if (!request.getEnabled()) {
-                    disableStatesAndCities(country);
-                }
-            }
-
-            if (Boolean.TRUE.equals(request.getClearCost())) {
-                if (country.getBaseCost() != null) {
-                    country.setBaseCost(null);
-                    changed = true;
-                }
-            } else if (request.getCostValue() != null) {
-                BigDecimal sanitized = sanitizeCost(request.getCostValue(), "Country rate");
-                BigDecimal current = normalizeCost(country.getBaseCost());
-                if (!Objects.equals(current, sanitized)) {
-                    country.setBaseCost(sanitized);
-                    changed = true;
-                }
-            }
-
-            if (changed) {
-                updated = true;
-            }
-        }
-
-        List<ShippingCountry> orderedCountries = ids.stream()
-                .map(countryMap::get)
-                .collect(Collectors.toList());
-
-        if (updated) {
-            countryRepository.saveAll(orderedCountries);
-            activityRecorder.record("Shipping", "SHIPPING_COUNTRY_BULK_SETTINGS_UPDATED",
-                    "Updated shipping country settings for " + orderedCountries.size() + " selection(s)", "SUCCESS", null);
-        }
-
-        return orderedCountries.stream()
-                .map(this::toCountryDto)
-                .collect(Collectors.toList());
+        BigDecimal cost = Boolean.TRUE.equals(request.getClearCost()) ? null : sanitizeCost(request.getCostValue(), "Country rate");
+        boolean applyCost = Boolean.TRUE.equals(request.getClearCost()) || cost != null;
+        ShippingBulkSettingsResultDto result = applyBulkSettings(scope, ids.size(), request.getEnabled(), applyCost, cost);
+        recordBulkUpdate(result, "SHIPPING_COUNTRY_BULK_SETTINGS_UPDATED", "country");
+        return result;
     }
 
     @Transactional
-    public List<ShippingStateDto> bulkUpdateStateSettings(ShippingStateBulkSettingsRequest request) {
+    public ShippingBulkSettingsResultDto bulkUpdateStateSettings(ShippingStateBulkSettingsRequest request) {
         if (request == null) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "State settings payload is required");
         }
         if (request.getOverrideCost() != null && Boolean.TRUE.equals(request.getClearOverride())) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Provide either an override value or clear the override, not both");
         }
-        List<Long> ids = requireIds(request.getIds(), "state");
-        Map<Long, ShippingState> stateMap = stateRepository.findByIdIn(ids)
-                .stream()
-                .collect(Collectors.toMap(ShippingState::getId, Function.identity()));
-        if (stateMap.size() != ids.size()) {
-            throw new ApiException(HttpStatus.NOT_FOUND, "One or more states were not found");
-        }
-
-        boolean updated = false;
-        for (Long id : ids) {
-            ShippingState state = stateMap.get(id);
-            if (state == null) {
-                throw new ApiException(HttpStatus.NOT_FOUND, "State not found");
-            }
-            boolean changed = false;
-
-            if (request.getEnabled() != null && state.isEnabled() != request.getEnabled()) {
-                if (request.getEnabled() && (state.getCountry() == null || !state.getCountry().isEnabled())) {
-                    throw new ApiException(HttpStatus.BAD_REQUEST, "Enable the country before activating a state");
-                }
-                state.setEnabled(request.getEnabled());
-                changed = true;
-                if (!request.getEnabled()) {
-                    disableCities(state);
-                }
-            }
-
-            if (Boolean.TRUE.equals(request.getClearOverride())) {
-                if (state.getOverrideCost() != null) {
-                    state.setOverrideCost(null);
-                    changed = true;
-                }
-            } else if (request.getOverrideCost() != null) {
-                BigDecimal sanitized = sanitizeCost(request.getOverrideCost(), "State override rate");
-                BigDecimal current = normalizeCost(state.getOverrideCost());
-                if (!Objects.equals(current, sanitized)) {
-                    state.setOverrideCost(sanitized);
-                    changed = true;
-                }
-            }
-
-            if (changed) {
-                updated = true;
+        Scope scope;
+        int matched;
+        if (request.getCountryId() != null) {
+            rejectIdsWithScope(request.getIds());
+            ShippingCountry country = getCountryOrThrow(request.getCountryId());
+            scope = Scope.statesOfCountry(country.getId());
+            matched = bulkSettingsRepository.count(scope);
+        } else {
+            List<Long> ids = requireIds(request.getIds(), "state");
+            scope = Scope.ids(Level.STATE, ids);
+            matched = bulkSettingsRepository.count(scope);
+            if (matched != ids.size()) {
+                throw new ApiException(HttpStatus.NOT_FOUND, "One or more states were not found");
             }
         }
-
-        List<ShippingState> orderedStates = ids.stream()
-                .map(stateMap::get)
-                .collect(Collectors.toList());
-
-        if (updated) {
-            stateRepository.saveAll(orderedStates);
-            activityRecorder.record("Shipping", "SHIPPING_STATE_BULK_SETTINGS_UPDATED",
-                    "Updated shipping state settings for " + orderedStates.size() + " selection(s)", "SUCCESS", null);
+        if (Boolean.TRUE.equals(request.getEnabled()) && bulkSettingsRepository.countEnableBlockedByParent(scope) > 0) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Enable the country before activating a state");
         }
-
-        return orderedStates.stream()
-                .map(this::toStateDto)
-                .collect(Collectors.toList());
+        BigDecimal cost = Boolean.TRUE.equals(request.getClearOverride()) ? null : sanitizeCost(request.getOverrideCost(), "State override rate");
+        boolean applyCost = Boolean.TRUE.equals(request.getClearOverride()) || cost != null;
+        ShippingBulkSettingsResultDto result = applyBulkSettings(scope, matched, request.getEnabled(), applyCost, cost);
+        recordBulkUpdate(result, "SHIPPING_STATE_BULK_SETTINGS_UPDATED", "state");
+        return result;
     }
 
     @Transactional
-    public List<ShippingCityDto> bulkUpdateCitySettings(ShippingCityBulkSettingsRequest request) {
+    public ShippingBulkSettingsResultDto bulkUpdateCitySettings(ShippingCityBulkSettingsRequest request) {
         if (request == null) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "City settings payload is required");
         }
         if (request.getOverrideCost() != null && Boolean.TRUE.equals(request.getClearOverride())) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Provide either an override value or clear the override, not both");
         }
-        List<Long> ids = requireIds(request.getIds(), "city");
-        Map<Long, ShippingCity> cityMap = cityRepository.findByIdIn(ids)
-                .stream()
-                .collect(Collectors.toMap(ShippingCity::getId, Function.identity()));
-        if (cityMap.size() != ids.size()) {
-            throw new ApiException(HttpStatus.NOT_FOUND, "One or more cities were not found");
-        }
-
-        boolean updated = false;
-        for (Long id : ids) {
-            ShippingCity city = cityMap.get(id);
-            if (city == null) {
-                throw new ApiException(HttpStatus.NOT_FOUND, "City not found");
-            }
-            boolean changed = false;
-
-            if (request.getEnabled() != null && city.isEnabled() != request.getEnabled()) {
-                ShippingState state = city.getState();
-                if (request.getEnabled()) {
-                    if (state == null || !state.isEnabled() || state.getCountry() == null || !state.getCountry().isEnabled()) {
-                        throw new ApiException(HttpStatus.BAD_REQUEST,
-                                "Enable the parent state and country before activating a city");
-                    }
-                }
-                city.setEnabled(request.getEnabled());
-                changed = true;
-            }
-
-            if (Boolean.TRUE.equals(request.getClearOverride())) {
-                if (city.getOverrideCost() != null) {
-                    city.setOverrideCost(null);
-                    changed = true;
-                }
-            } else if (request.getOverrideCost() != null) {
-                BigDecimal sanitized = sanitizeCost(request.getOverrideCost(), "City override rate");
-                BigDecimal current = normalizeCost(city.getOverrideCost());
-                if (!Objects.equals(current, sanitized)) {
-                    city.setOverrideCost(sanitized);
-                    changed = true;
-                }
-            }
-
-            if (changed) {
-                updated = true;
+        Scope scope;
+        int matched;
+        if (request.getStateId() != null) {
+            rejectIdsWithScope(request.getIds());
+            ShippingState state = getStateOrThrow(request.getStateId());
+            scope = Scope.citiesOfState(state.getId());
+            matched = bulkSettingsRepository.count(scope);
+        } else if (request.getCountryId() != null) {
+            rejectIdsWithScope(request.getIds());
+            ShippingCountry country = getCountryOrThrow(request.getCountryId());
+            scope = Scope.citiesOfCountry(country.getId());
+            matched = bulkSettingsRepository.count(scope);
+        } else {
+            List<Long> ids = requireIds(request.getIds(), "city");
+            scope = Scope.ids(Level.CITY, ids);
+            matched = bulkSettingsRepository.count(scope);
+            if (matched != ids.size()) {
+                throw new ApiException(HttpStatus.NOT_FOUND, "One or more cities were not found");
+            }
+        }
+        if (Boolean.TRUE.equals(request.getEnabled()) && bulkSettingsRepository.countEnableBlockedByParent(scope) > 0) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                    "Enable the parent state and country before activating a city");
+        }
+        BigDecimal cost = Boolean.TRUE.equals(request.getClearOverride()) ? null : sanitizeCost(request.getOverrideCost(), "City override rate");
+        boolean applyCost = Boolean.TRUE.equals(request.getClearOverride()) || cost != null;
+        ShippingBulkSettingsResultDto result = applyBulkSettings(scope, matched, request.getEnabled(), applyCost, cost);
+        recordBulkUpdate(result, "SHIPPING_CITY_BULK_SETTINGS_UPDATED", "city");
+        return result;
+    }
+
+    private ShippingBulkSettingsResultDto applyBulkSettings(Scope scope,
+                                                            int matched,
+                                                            Boolean enabled,
+                                                            boolean applyCost,
+                                                            BigDecimal cost) {
+        int enabledChanged = 0;
+        int descendantsDisabled = 0;
+        if (enabled != null) {
+            enabledChanged = bulkSettingsRepository.updateEnabled(scope, enabled);
+            if (!enabled) {
+                descendantsDisabled = bulkSettingsRepository.disableDescendants(scope);
             }
         }
+        int costChanged = applyCost ? bulkSettingsRepository.updateCost(scope, cost) : 0;
+        return new ShippingBulkSettingsResultDto(matched, enabledChanged, costChanged, descendantsDisabled);
+    }
 
-        List<ShippingCity> orderedCities = ids.stream()
-                .map(cityMap::get)
-                .collect(Collectors.toList());
-
-        if (updated) {
-            cityRepository.saveAll(orderedCities);
-            activityRecorder.record("Shipping", "SHIPPING_CITY_BULK_SETTINGS_UPDATED",
-                    "Updated shipping city settings for " + orderedCities.size() + " selection(s)", "SUCCESS", null);
+    private void recordBulkUpdate(ShippingBulkSettingsResultDto result, String activityType, String label) {
+        if (result.getEnabledChanged() == 0 && result.getCostChanged() == 0 && result.getDescendantsDisabled() == 0) {
+            return;
         }
+        activityRecorder.record("Shipping", activityType,
+                "Updated shipping " + label + " settings for " + result.getMatched() + " selection(s)", "SUCCESS", null);
+    }
 
-        return orderedCities.stream()
-                .map(this::toCityDto)
-                .collect(Collectors.toList());
+    private void rejectIdsWithScope(List<Long> ids) {
+        if (ids != null && ids.stream().anyMatch(Objects::nonNull)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Provide either explicit ids or a parent location, not both");
+        }
     }
 
     private void applyCountryRequest(ShippingCountry country, ShippingCountryRequest request) {
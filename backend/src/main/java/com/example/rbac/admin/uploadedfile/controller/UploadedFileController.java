@@ -1,5 +1,7 @@
 package com.example.rbac.admin.uploadedfile.controller;
 
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.uploadedfile.dto.UploadedFileDeleteRequest;
 import com.example.rbac.admin.uploadedfile.dto.UploadedFileDto;
@@ -10,6 +12,10 @@ import com.example.rbac.admin.uploadedfile.dto.UploadedFileUploadResponse;
 import com.example.rbac.admin.uploadedfile.model.UploadedFileModule;
 import com.example.rbac.admin.uploadedfile.service.UploadedFileService;
 import com.example.rbac.admin.uploadedfile.service.UploadedFileStorageService;
+import com.example.rbac.common.media.upload.dto.UploadChunkDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionRequest;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.Valid;
@@ -20,10 +26,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -65,6 +74,24 @@ public class UploadedFileController {
         return uploadedFileService.list(page, size, modules, feature, fileType, uploadedBy, from, to, search);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyAuthority('UPLOADED_FILE_VIEW','UPLOADED_FILE_MANAGE','PRODUCT_VIEW','PRODUCT_CREATE','PRODUCT_UPDATE','BRAND_VIEW','BRAND_CREATE','BRAND_UPDATE','CATEGORY_VIEW','CATEGORY_CREATE','CATEGORY_UPDATE','BADGE_VIEW','BADGE_CREATE','BADGE_UPDATE','BADGE_CATEGORY_VIEW','BADGE_CATEGORY_CREATE','BADGE_CATEGORY_UPDATE','BLOG_POST_VIEW','BLOG_POST_CREATE','BLOG_POST_UPDATE','WEDGE_VIEW','WEDGE_CREATE','WEDGE_UPDATE')")
+    public CursorPageResponse<UploadedFileDto> scroll(@RequestParam(name = "cursor", required = false) String cursor,
+                                                      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                      @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                                      @RequestParam(name = "module", required = false) List<String> modules,
+                                                      @RequestParam(name = "feature", required = false) String feature,
+                                                      @RequestParam(name = "fileType", required = false) String fileType,
+                                                      @RequestParam(name = "uploadedBy", required = false) Long uploadedBy,
+                                                      @RequestParam(name = "from", required = false)
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam(name = "to", required = false)
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @RequestParam(name = "search", required = false) String search) {
+        return uploadedFileService.scroll(CursorPageRequest.of(cursor, size, includeTotal), modules, feature, fileType,
+                uploadedBy, from, to, search);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('UPLOADED_FILE_VIEW','UPLOADED_FILE_MANAGE','PRODUCT_VIEW','PRODUCT_CREATE','PRODUCT_UPDATE','BRAND_VIEW','BRAND_CREATE','BRAND_UPDATE','CATEGORY_VIEW','CATEGORY_CREATE','CATEGORY_UPDATE','BADGE_VIEW','BADGE_CREATE','BADGE_UPDATE','BADGE_CATEGORY_VIEW','BADGE_CATEGORY_CREATE','BADGE_CATEGORY_UPDATE','BLOG_POST_VIEW','BLOG_POST_CREATE','BLOG_POST_UPDATE','WEDGE_VIEW','WEDGE_CREATE','WEDGE_UPDATE')")
     public UploadedFileDto get(@PathVariable("id") Long id) {
@@ -119,6 +146,43 @@ public class UploadedFileController {
                 .collect(Collectors.toList());
     }
 
+    @PostMapping("/uploads")
+    @PreAuthorize("hasAnyAuthority('UPLOADED_FILE_MANAGE','PRODUCT_CREATE','PRODUCT_UPDATE','BRAND_CREATE','BRAND_UPDATE','CATEGORY_CREATE','CATEGORY_UPDATE','BADGE_CREATE','BADGE_UPDATE','BADGE_CATEGORY_CREATE','BADGE_CATEGORY_UPDATE','BLOG_POST_CREATE','BLOG_POST_UPDATE','WEDGE_CREATE','WEDGE_UPDATE')")
+    public UploadSessionDto startUpload(@Valid @RequestBody UploadSessionRequest request,
+                                        @RequestParam(name = "module", required = false) String moduleKey) {
+        UploadedFileModule module = UploadedFileModule.fromValue(moduleKey)
+                .orElse(UploadedFileModule.PRODUCT_MEDIA);
+        return uploadedFileService.startChunkedUpload(request, module);
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasAnyAuthority('UPLOADED_FILE_MANAGE','PRODUCT_CREATE','PRODUCT_UPDATE','BRAND_CREATE','BRAND_UPDATE','CATEGORY_CREATE','CATEGORY_UPDATE','BADGE_CREATE','BADGE_UPDATE','BADGE_CATEGORY_CREATE','BADGE_CATEGORY_UPDATE','BLOG_POST_CREATE','BLOG_POST_UPDATE','WEDGE_CREATE','WEDGE_UPDATE')")
+    public UploadSessionDto getUpload(@PathVariable("uploadId") String uploadId) {
+        return uploadedFileService.getChunkedUpload(uploadId);
+    }
+
+    @PutMapping(value = "/uploads/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('UPLOADED_FILE_MANAGE','PRODUCT_CREATE','PRODUCT_UPDATE','BRAND_CREATE','BRAND_UPDATE','CATEGORY_CREATE','CATEGORY_UPDATE','BADGE_CREATE','BADGE_UPDATE','BADGE_CATEGORY_CREATE','BADGE_CATEGORY_UPDATE','BLOG_POST_CREATE','BLOG_POST_UPDATE','WEDGE_CREATE','WEDGE_UPDATE')")
+    public UploadChunkDto uploadChunk(@PathVariable("uploadId") String uploadId,
+                                      @PathVariable("index") int index,
+                                      @RequestHeader(name = "X-Chunk-SHA256", required = false) String checksum,
+                                      HttpServletRequest request) throws IOException {
+        return uploadedFileService.uploadChunk(uploadId, index, request.getInputStream(), checksum);
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    @PreAuthorize("hasAnyAuthority('UPLOADED_FILE_MANAGE','PRODUCT_CREATE','PRODUCT_UPDATE','BRAND_CREATE','BRAND_UPDATE','CATEGORY_CREATE','CATEGORY_UPDATE','BADGE_CREATE','BADGE_UPDATE','BADGE_CATEGORY_CREATE','BADGE_CATEGORY_UPDATE','BLOG_POST_CREATE','BLOG_POST_UPDATE','WEDGE_CREATE','WEDGE_UPDATE')")
+    public UploadedFileUploadResponse completeUpload(@PathVariable("uploadId") String uploadId) {
+        return uploadedFileService.completeChunkedUpload(uploadId);
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PreAuthorize("hasAnyAuthority('UPLOADED_FILE_MANAGE','PRODUCT_CREATE','PRODUCT_UPDATE','BRAND_CREATE','BRAND_UPDATE','CATEGORY_CREATE','CATEGORY_UPDATE','BADGE_CREATE','BADGE_UPDATE','BADGE_CATEGORY_CREATE','BADGE_CATEGORY_UPDATE','BLOG_POST_CREATE','BLOG_POST_UPDATE','WEDGE_CREATE','WEDGE_UPDATE')")
+    public void abortUpload(@PathVariable("uploadId") String uploadId) {
+        uploadedFileService.abortChunkedUpload(uploadId);
+    }
+
     @GetMapping("/assets/{key:.+}")
     public ResponseEntity<Resource> serve(@PathVariable("key") String key) {
         Resource resource = storageService.loadAsResource(key);
@@ -1,8 +1,19 @@
 package com.example.rbac.admin.uploadedfile.service;
 
+import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.upload.ChunkedUploadService;
+import com.example.rbac.common.media.upload.UploadSession;
+import com.example.rbac.common.media.upload.dto.UploadChunkDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionRequest;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.uploadedfile.dto.UploadedFileDto;
 import com.example.rbac.admin.uploadedfile.dto.UploadedFileModuleDto;
+import com.example.rbac.admin.uploadedfile.dto.UploadedFileUploadResponse;
 import com.example.rbac.admin.uploadedfile.dto.UploadedFileUploaderDto;
 import com.example.rbac.admin.uploadedfile.mapper.UploadedFileMapper;
 import com.example.rbac.admin.uploadedfile.model.UploadedFile;
@@ -16,12 +27,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -41,14 +55,53 @@ public class UploadedFileService {
     private static final String FILE_TYPE_VIDEO = "VIDEO";
     private static final String FILE_TYPE_AUDIO = "AUDIO";
     private static final String FILE_TYPE_DOCUMENT = "DOCUMENT";
+    private static final String UPLOAD_PURPOSE = "UPLOADED_FILE";
 
     private final UploadedFileRepository repository;
     private final UploadedFileStorageService storageService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final KeysetPaginator keysetPaginator;
 
     public UploadedFileService(UploadedFileRepository repository,
-                               UploadedFileStorageService storageService) {
+                               UploadedFileStorageService storageService,
+                               ChunkedUploadService chunkedUploadService,
+                               KeysetPaginator keysetPaginator) {
         this.repository = repository;
         this.storageService = storageService;
+        this.chunkedUploadService = chunkedUploadService;
+        this.keysetPaginator = keysetPaginator;
+    }
+
+    public UploadSessionDto startChunkedUpload(UploadSessionRequest request, UploadedFileModule module) {
+        storageService.validateSize(request.getSizeBytes());
+        UploadSession session = chunkedUploadService.open(request, currentUserId(), UPLOAD_PURPOSE, module.name());
+        return chunkedUploadService.describe(session);
+    }
+
+    public UploadSessionDto getChunkedUpload(String uploadId) {
+        return chunkedUploadService.describe(chunkedUploadService.get(uploadId, currentUserId(), UPLOAD_PURPOSE));
+    }
+
+    public UploadChunkDto uploadChunk(String uploadId, int index, InputStream body, String checksum) {
+        UploadSession session = chunkedUploadService.get(uploadId, currentUserId(), UPLOAD_PURPOSE);
+        return chunkedUploadService.writeChunk(session, index, body, checksum);
+    }
+
+    @Transactional
+    public UploadedFileUploadResponse completeChunkedUpload(String uploadId) {
+        UploadSession session = chunkedUploadService.get(uploadId, currentUserId(), UPLOAD_PURPOSE);
+        ChunkedUploadService.CompletedUpload completed = chunkedUploadService.complete(session);
+        UploadedFileModule module = UploadedFileModule.fromValue(session.context())
+                .orElse(UploadedFileModule.PRODUCT_MEDIA);
+        String key = completed.blob().key();
+        String publicUrl = storageService.publicUrlForKey(key);
+        recordUpload(module, key, publicUrl, session.originalFilename(), session.contentType(), session.sizeBytes());
+        return new UploadedFileUploadResponse(publicUrl, key, session.originalFilename(), session.contentType(),
+                session.sizeBytes());
+    }
+
+    public void abortChunkedUpload(String uploadId) {
+        chunkedUploadService.abort(chunkedUploadService.get(uploadId, currentUserId(), UPLOAD_PURPOSE));
     }
 
     @Transactional
@@ -109,6 +162,28 @@ public class UploadedFileService {
                 result.getSize());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UploadedFileDto> scroll(CursorPageRequest request,
+                                                      List<String> moduleKeys,
+                                                      String feature,
+                                                      String fileType,
+                                                      Long uploadedById,
+                                                      LocalDate from,
+                                                      LocalDate to,
+                                                      String search) {
+        Set<UploadedFileModule> modules = convertModuleKeys(moduleKeys);
+        Instant fromInstant = from != null ? from.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
+        Instant toInstant = to != null ? to.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC).minusMillis(1) : null;
+        Specification<UploadedFile> specification = UploadedFileSpecifications.filter(modules, feature, fileType,
+                uploadedById, fromInstant, toInstant, search);
+        boolean filtered = !modules.isEmpty() || StringUtils.hasText(feature) || StringUtils.hasText(fileType)
+                || uploadedById != null || from != null || to != null || StringUtils.hasText(search);
+        KeysetSort<UploadedFile> sort = KeysetSort.of("uploadedAt", Sort.Direction.DESC, KeysetSort.ValueType.INSTANT,
+                UploadedFile::getUploadedAt, UploadedFile::getId);
+        return keysetPaginator.fetch(repository, specification, sort, request, this::mapWithResolvedPublicUrl,
+                filtered ? () -> repository.count(specification) : keysetPaginator.estimatedRows("uploaded_files"));
+    }
+
     @Transactional(readOnly = true)
     public UploadedFileDto get(Long id) {
         UploadedFile file = repository.findById(id)
@@ -165,6 +240,12 @@ public class UploadedFileService {
         return dto;
     }
 
+    private Long currentUserId() {
+        return resolveCurrentUser()
+                .map(UserInfo::id)
+                .orElseThrow(() -> new ApiException(HttpStatus.UNAUTHORIZED, "Authentication required"));
+    }
+
     private Optional<UserInfo> resolveCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
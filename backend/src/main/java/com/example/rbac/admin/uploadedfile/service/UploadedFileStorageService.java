@@ -1,6 +1,7 @@
 package com.example.rbac.admin.uploadedfile.service;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.MediaBlobStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -10,13 +11,12 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.Locale;
-import java.util.UUID;
 
 @Service
 public class UploadedFileStorageService {
@@ -25,13 +25,16 @@ public class UploadedFileStorageService {
 
     private final Path storageRoot;
     private final String publicBaseUrl;
+    private final MediaBlobStore blobStore;
 
     public UploadedFileStorageService(
             @Value("${app.uploaded-file.storage-path:storage/uploaded-files}") String storagePath,
-            @Value("${app.uploaded-file.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}") String publicBaseUrl
+            @Value("${app.uploaded-file.public-base-url:${APP_PUBLIC_BASE_URL:http://localhost:8080}}") String publicBaseUrl,
+            MediaBlobStore blobStore
     ) {
         this.storageRoot = Paths.get(storagePath).toAbsolutePath().normalize();
         this.publicBaseUrl = normalizeBaseUrl(publicBaseUrl);
+        this.blobStore = blobStore;
         try {
             Files.createDirectories(this.storageRoot);
         } catch (IOException ex) {
@@ -43,22 +46,14 @@ public class UploadedFileStorageService {
         if (file == null || file.isEmpty()) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Select at least one file to upload");
         }
-        if (file.getSize() > MAX_FILE_SIZE_BYTES) {
-            throw new ApiException(HttpStatus.BAD_REQUEST, "File exceeds the 25 MB upload limit");
-        }
+        validateSize(file.getSize());
         String extension = StringUtils.getFilenameExtension(file.getOriginalFilename());
         if (StringUtils.hasText(extension)) {
             extension = extension.toLowerCase(Locale.ROOT);
         }
-        try {
-            Files.createDirectories(storageRoot);
-            String filename = UUID.randomUUID().toString();
-            if (StringUtils.hasText(extension)) {
-                filename = filename + "." + extension;
-            }
-            Path destination = storageRoot.resolve(filename);
-            Files.copy(file.getInputStream(), destination, StandardCopyOption.REPLACE_EXISTING);
-            return new StoredFile(filename,
+        try (InputStream stream = file.getInputStream()) {
+            String key = blobStore.put(stream, extension).key();
+            return new StoredFile(key,
                     file.getOriginalFilename(),
                     file.getContentType(),
                     file.getSize());
@@ -67,10 +62,19 @@ public class UploadedFileStorageService {
         }
     }
 
+    public void validateSize(long sizeBytes) {
+        if (sizeBytes > MAX_FILE_SIZE_BYTES) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "File exceeds the 25 MB upload limit");
+        }
+    }
+
     public Resource loadAsResource(String storageKey) {
         if (!StringUtils.hasText(storageKey)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid storage key");
         }
+        if (MediaBlobStore.isBlobKey(storageKey)) {
+            return blobStore.load(storageKey);
+        }
         Path candidate = storageRoot.resolve(storageKey).normalize();
         if (!candidate.startsWith(storageRoot)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid storage path");
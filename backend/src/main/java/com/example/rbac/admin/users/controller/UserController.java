@@ -1,7 +1,12 @@
 package com.example.rbac.admin.users.controller;
 
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.admin.users.dto.AssignRolesRequest;
+import com.example.rbac.admin.users.dto.BulkAssignmentResponse;
+import com.example.rbac.admin.users.dto.BulkUserPermissionsRequest;
+import com.example.rbac.admin.users.dto.BulkUserRolesRequest;
 import com.example.rbac.admin.users.dto.CreateUserRequest;
 import com.example.rbac.admin.users.dto.UpdateUserRequest;
 import com.example.rbac.admin.users.dto.UpdateUserPermissionsRequest;
@@ -31,6 +36,17 @@ public class UserController {
         return userService.list(search, page, size, sort, direction, audience);
     }
 
+    @GetMapping("/scroll")
+    public CursorPageResponse<UserDto> scroll(@RequestParam(name = "search", required = false) String search,
+                                              @RequestParam(name = "cursor", required = false) String cursor,
+                                              @RequestParam(name = "size", defaultValue = "20") int size,
+                                              @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+                                              @RequestParam(name = "sort", defaultValue = "name") String sort,
+                                              @RequestParam(name = "direction", defaultValue = "asc") String direction,
+                                              @RequestParam(name = "audience", required = false, defaultValue = "all") String audience) {
+        return userService.scroll(search, CursorPageRequest.of(cursor, size, includeTotal), sort, direction, audience);
+    }
+
     @GetMapping("/summary")
     public UserSummaryResponse summary() {
         return userService.summary();
@@ -78,6 +94,16 @@ public class UserController {
         return userService.updateDirectPermissions(id, request);
     }
 
+    @PostMapping("/bulk/roles")
+    public BulkAssignmentResponse bulkUpdateRoles(@Valid @RequestBody BulkUserRolesRequest request) {
+        return userService.bulkUpdateRoles(request);
+    }
+
+    @PostMapping("/bulk/permissions")
+    public BulkAssignmentResponse bulkUpdatePermissions(@Valid @RequestBody BulkUserPermissionsRequest request) {
+        return userService.bulkUpdatePermissions(request);
+    }
+
     @PostMapping("/{id}/verify")
     public UserDto verify(@PathVariable("id") Long id) {
         return userService.verifyUser(id);
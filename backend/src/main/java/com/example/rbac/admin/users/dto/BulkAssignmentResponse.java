@@ -0,0 +1,37 @@
+package com.example.rbac.admin.users.dto;
+
+public class BulkAssignmentResponse {
+    private int targets;
+    private int added;
+    private int removed;
+
+    public BulkAssignmentResponse(int targets, int added, int removed) {
+        this.targets = targets;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public int getTargets() {
+        return targets;
+    }
+
+    public void setTargets(int targets) {
+        this.targets = targets;
+    }
+
+    public int getAdded() {
+        return added;
+    }
+
+    public void setAdded(int added) {
+        this.added = added;
+    }
+
+    public int getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(int removed) {
+        this.removed = removed;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.rbac.admin.users.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class BulkUserPermissionsRequest {
+    @NotEmpty
+    @Size(max = 10000)
+    private Set<Long> userIds;
+
+    private Set<String> grantPermissionKeys = new HashSet<>();
+
+    private Set<String> revokePermissionKeys = new HashSet<>();
+
+    /**
+     * Keys whose grant or revocation is dropped, so the users fall back to what their roles allow.
+     */
+    private Set<String> resetPermissionKeys = new HashSet<>();
+
+    public Set<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(Set<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public Set<String> getGrantPermissionKeys() {
+        return grantPermissionKeys;
+    }
+
+    public void setGrantPermissionKeys(Set<String> grantPermissionKeys) {
+        this.grantPermissionKeys = grantPermissionKeys;
+    }
+
+    public Set<String> getRevokePermissionKeys() {
+        return revokePermissionKeys;
+    }
+
+    public void setRevokePermissionKeys(Set<String> revokePermissionKeys) {
+        this.revokePermissionKeys = revokePermissionKeys;
+    }
+
+    public Set<String> getResetPermissionKeys() {
+        return resetPermissionKeys;
+    }
+
+    public void setResetPermissionKeys(Set<String> resetPermissionKeys) {
+        this.resetPermissionKeys = resetPermissionKeys;
+    }
+}
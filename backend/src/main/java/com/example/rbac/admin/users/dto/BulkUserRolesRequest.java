@@ -0,0 +1,41 @@
+package com.example.rbac.admin.users.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class BulkUserRolesRequest {
+    @NotEmpty
+    @Size(max = 10000)
+    private Set<Long> userIds;
+
+    private Set<Long> assignRoleIds = new HashSet<>();
+
+    private Set<Long> removeRoleIds = new HashSet<>();
+
+    public Set<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(Set<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public Set<Long> getAssignRoleIds() {
+        return assignRoleIds;
+    }
+
+    public void setAssignRoleIds(Set<Long> assignRoleIds) {
+        this.assignRoleIds = assignRoleIds;
+    }
+
+    public Set<Long> getRemoveRoleIds() {
+        return removeRoleIds;
+    }
+
+    public void setRemoveRoleIds(Set<Long> removeRoleIds) {
+        this.removeRoleIds = removeRoleIds;
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.rbac.admin.users.model;
 
-import com.example.rbac.common.auth.token.RefreshToken;
 import com.example.rbac.admin.permissions.model.Permission;
 import com.example.rbac.admin.roles.model.Role;
 import jakarta.persistence.*;
@@ -82,9 +81,6 @@ public class User {
             inverseJoinColumns = @JoinColumn(name = "permission_id"))
     private Set<Permission> revokedPermissions = new HashSet<>();
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<RefreshToken> refreshTokens = new HashSet<>();
-
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<UserVerificationToken> verificationTokens = new HashSet<>();
 
@@ -280,14 +276,6 @@ public class User {
         this.revokedPermissions = revokedPermissions;
     }
 
-    public Set<RefreshToken> getRefreshTokens() {
-        return refreshTokens;
-    }
-
-    public void setRefreshTokens(Set<RefreshToken> refreshTokens) {
-        this.refreshTokens = refreshTokens;
-    }
-
     public Set<UserVerificationToken> getVerificationTokens() {
         return verificationTokens;
     }
@@ -2,6 +2,8 @@ package com.example.rbac.admin.users.model;
 
 import com.example.rbac.common.security.DefaultUserPermissions;
 import com.example.rbac.admin.roles.model.Role;
+import com.example.rbac.common.security.PermissionSet;
+import com.example.rbac.common.security.authorization.AuthorityIndex;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +15,8 @@ import java.util.stream.Collectors;
 public class UserPrincipal implements UserDetails {
 
     private final User user;
+    private volatile ResolvedAuthorities resolvedAuthorities;
+    private volatile EncodedAuthorities encodedAuthorities;
 
     public UserPrincipal(User user) {
         this.user = user;
@@ -24,6 +28,52 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        return resolved().authorities();
+    }
+
+    /**
+     * @return the authority names granted to this user, resolved once
+     */
+    public Set<String> getAuthorityKeys() {
+        return resolved().keys();
+    }
+
+    /**
+     * @param permission an ordinal from {@link com.example.rbac.common.security.PermissionRegistry}
+     */
+    public boolean hasPermission(int permission) {
+        return resolved().permissions().contains(permission);
+    }
+
+    public boolean hasPermission(String key) {
+        return resolved().permissions().contains(key);
+    }
+
+    /**
+     * @return {@link #getAuthorities()} encoded with {@code index}, computed once per index
+     */
+    public long[] authorityBits(AuthorityIndex index) {
+        EncodedAuthorities encoded = encodedAuthorities;
+        if (encoded == null || encoded.index() != index) {
+            encoded = new EncodedAuthorities(index, index.encode(getAuthorities()));
+            encodedAuthorities = encoded;
+        }
+        return encoded.bits();
+    }
+
+    private ResolvedAuthorities resolved() {
+        ResolvedAuthorities resolved = resolvedAuthorities;
+        if (resolved == null) {
+            Set<String> keys = Set.copyOf(resolveAuthorityKeys());
+            resolved = new ResolvedAuthorities(keys,
+                    keys.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toUnmodifiableSet()),
+                    PermissionSet.of(keys));
+            resolvedAuthorities = resolved;
+        }
+        return resolved;
+    }
+
+    private Set<String> resolveAuthorityKeys() {
         Set<String> authorities = user.getRoles().stream()
                 .flatMap(role -> role.getPermissions().stream())
                 .map(permission -> permission.getKey())
@@ -48,9 +98,7 @@ public class UserPrincipal implements UserDetails {
                 .map(key -> "ROLE_" + key.trim().toUpperCase())
                 .forEach(authorities::add);
 
-        return authorities.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toSet());
+        return authorities;
     }
 
     @Override
@@ -91,4 +139,10 @@ public class UserPrincipal implements UserDetails {
         return user.getRoles().stream()
                 .anyMatch(role -> role.getKey() != null && role.getKey().equalsIgnoreCase("CUSTOMER"));
     }
+
+    private record ResolvedAuthorities(Set<String> keys, Set<GrantedAuthority> authorities, PermissionSet permissions) {
+    }
+
+    private record EncodedAuthorities(AuthorityIndex index, long[] bits) {
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.rbac.admin.users.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set-based writes to the access join tables ({@code user_roles}, {@code user_permission_overrides},
+ * {@code user_permission_revocations} and {@code role_permissions}) for bulk assignment. Each call issues one
+ * {@code INSERT ... SELECT} or {@code DELETE} per chunk of owners rather than loading and saving every entity, so
+ * callers must not hold managed copies of the affected users or roles in the same persistence context.
+ */
+@Repository
+public class AccessAssignmentRepository {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    public enum Assignment {
+        USER_ROLES("user_roles", "user_id", "role_id", "users", "roles"),
+        USER_PERMISSION_GRANTS("user_permission_overrides", "user_id", "permission_id", "users", "permissions"),
+        USER_PERMISSION_REVOCATIONS("user_permission_revocations", "user_id", "permission_id", "users", "permissions"),
+        ROLE_PERMISSIONS("role_permissions", "role_id", "permission_id", "roles", "permissions");
+
+        private final String table;
+        private final String ownerColumn;
+        private final String targetColumn;
+        private final String ownerTable;
+        private final String targetTable;
+
+        Assignment(String table, String ownerColumn, String targetColumn, String ownerTable, String targetTable) {
+            this.table = table;
+            this.ownerColumn = ownerColumn;
+            this.targetColumn = targetColumn;
+            this.ownerTable = ownerTable;
+            this.targetTable = targetTable;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccessAssignmentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Links every owner to every target, skipping pairs that already exist.
+     *
+     * @return the number of rows inserted
+     */
+    public int addAll(Assignment assignment, Collection<Long> ownerIds, Collection<Long> targetIds) {
+        if (ownerIds.isEmpty() || targetIds.isEmpty()) {
+            return 0;
+        }
+        int inserted = 0;
+        for (List<Long> chunk : chunks(ownerIds)) {
+            String sql = "INSERT INTO " + assignment.table + " (" + assignment.ownerColumn + ", " + assignment.targetColumn +
+                    ") SELECT o.id, t.id FROM " + assignment.ownerTable + " o JOIN " + assignment.targetTable +
+                    " t ON t.id IN (" + placeholders(targetIds.size()) + ") WHERE o.id IN (" + placeholders(chunk.size()) +
+                    ") AND NOT EXISTS (SELECT 1 FROM " + assignment.table + " existing WHERE existing." +
+                    assignment.ownerColumn + " = o.id AND existing." + assignment.targetColumn + " = t.id)";
+            inserted += jdbcTemplate.update(sql, arguments(targetIds, chunk));
+        }
+        return inserted;
+    }
+
+    /**
+     * @return the number of rows deleted
+     */
+    public int removeAll(Assignment assignment, Collection<Long> ownerIds, Collection<Long> targetIds) {
+        if (ownerIds.isEmpty() || targetIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = 0;
+        for (List<Long> chunk : chunks(ownerIds)) {
+            String sql = "DELETE FROM " + assignment.table + " WHERE " + assignment.ownerColumn + " IN (" +
+                    placeholders(chunk.size()) + ") AND " + assignment.targetColumn + " IN (" +
+                    placeholders(targetIds.size()) + ")";
+            deleted += jdbcTemplate.update(sql, arguments(chunk, targetIds));
+        }
+        return deleted;
+    }
+
+    /**
+     * @return how many of {@code ownerIds} exist as users or roles, depending on the assignment
+     */
+    public long countOwners(Assignment assignment, Collection<Long> ownerIds) {
+        long found = 0;
+        for (List<Long> chunk : chunks(ownerIds)) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + assignment.ownerTable +
+                    " WHERE id IN (" + placeholders(chunk.size()) + ")", Long.class, chunk.toArray());
+            found += count != null ? count : 0;
+        }
+        return found;
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int start = 0; start < all.size(); start += CHUNK_SIZE) {
+            chunks.add(all.subList(start, Math.min(all.size(), start + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static Object[] arguments(Collection<Long> first, Collection<Long> second) {
+        List<Object> arguments = new ArrayList<>(first.size() + second.size());
+        arguments.addAll(first);
+        arguments.addAll(second);
+        return arguments.toArray();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
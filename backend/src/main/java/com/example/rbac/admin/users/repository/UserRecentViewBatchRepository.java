@@ -0,0 +1,59 @@
+package com.example.rbac.admin.users.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes buffered recently-viewed entries to {@code user_recent_views} in JDBC batches. Rows are upserted on the
+ * {@code (user_id, product_id)} key keeping the later {@code viewed_at}, and views of users or products that no longer
+ * exist are skipped rather than failing the batch.
+ */
+@Repository
+public class UserRecentViewBatchRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO user_recent_views (user_id, product_id, viewed_at) " +
+            "SELECT u.id, p.id, ? FROM users u JOIN products p ON p.id = ? WHERE u.id = ? " +
+            "ON DUPLICATE KEY UPDATE viewed_at = GREATEST(viewed_at, VALUES(viewed_at))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserRecentViewBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsertAll(List<ViewWrite> views) {
+        if (views.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, views, views.size(), (statement, view) -> {
+            statement.setTimestamp(1, Timestamp.from(view.viewedAt()));
+            statement.setLong(2, view.productId());
+            statement.setLong(3, view.userId());
+        });
+    }
+
+    /**
+     * Deletes everything but each user's {@code keep} most recent entries.
+     */
+    public void pruneAll(Collection<Long> userIds, int keep) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String sql = "DELETE FROM user_recent_views WHERE user_id = ? AND id NOT IN (SELECT id FROM (" +
+                "SELECT id FROM user_recent_views WHERE user_id = ? ORDER BY viewed_at DESC, id DESC LIMIT " +
+                Math.max(keep, 0) + ") newest)";
+        List<Long> ids = List.copyOf(userIds);
+        jdbcTemplate.batchUpdate(sql, ids, ids.size(), (statement, userId) -> {
+            statement.setLong(1, userId);
+            statement.setLong(2, userId);
+        });
+    }
+
+    public record ViewWrite(long userId, long productId, Instant viewedAt) {
+    }
+}
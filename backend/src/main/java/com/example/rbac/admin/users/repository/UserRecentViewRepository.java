@@ -6,20 +6,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface UserRecentViewRepository extends JpaRepository<UserRecentView, Long> {
 
-    List<UserRecentView> findTop20ByUserIdOrderByViewedAtDesc(Long userId);
-
-    List<UserRecentView> findByUserIdOrderByViewedAtDesc(Long userId);
-
-    Optional<UserRecentView> findByUserIdAndProductId(Long userId, Long productId);
-
-    List<UserRecentView> findByUserIdAndProductIdIn(Long userId, Collection<Long> productIds);
-
     @Query(value = """
             SELECT urv.id          AS id,
                    urv.product_id  AS productId,
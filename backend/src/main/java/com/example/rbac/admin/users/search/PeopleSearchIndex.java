@@ -0,0 +1,171 @@
+package com.example.rbac.admin.users.search;
+
+import com.example.rbac.admin.roles.model.Role;
+import com.example.rbac.admin.users.dto.UserAudience;
+import com.example.rbac.admin.users.model.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Prefix-token index over user email, names and phone numbers, used by the admin user list and the customer and user
+ * pickers instead of {@code %term%} scans joined against roles. Each user's tokens are stored with a precomputed
+ * customer flag in {@code people_search_tokens}, keyed {@code (is_customer, token, user_id)}, so a lookup is one
+ * index range scan on the most selective term token, with the others checked against each candidate's own tokens. Writes happen in the caller's transaction; rows go away with the user through the
+ * foreign key.
+ */
+@Component
+public class PeopleSearchIndex {
+
+    private static final String CUSTOMER_ROLE_KEY = "CUSTOMER";
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final String INSERT_SQL =
+            "INSERT INTO people_search_tokens (is_customer, token, user_id) VALUES (?, ?, ?)";
+    private static final String REBUILD_SQL = "SELECT u.id, u.email, u.full_name, u.first_name, u.last_name, " +
+            "u.phone_number, u.whatsapp_number, EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id " +
+            "WHERE ur.user_id = u.id AND UPPER(r.code) = '" + CUSTOMER_ROLE_KEY + "') AS is_customer " +
+            "FROM users u WHERE u.id > ? ORDER BY u.id LIMIT " + REBUILD_BATCH_SIZE;
+    private static final String REFRESH_FLAGS_SQL = "UPDATE people_search_tokens SET is_customer = CASE WHEN EXISTS (" +
+            "SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id " +
+            "WHERE ur.user_id = people_search_tokens.user_id AND UPPER(r.code) = ?) THEN 1 ELSE 0 END";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PeopleSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces the user's tokens. The user row must already be flushed.
+     */
+    public void index(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        boolean customer = user.getRoles().stream()
+                .map(Role::getKey)
+                .anyMatch(CUSTOMER_ROLE_KEY::equalsIgnoreCase);
+        Set<String> tokens = PeopleSearchTokenizer.indexTokens(user.getEmail(), user.getFullName(),
+                user.getFirstName(), user.getLastName(), user.getPhoneNumber(), user.getWhatsappNumber());
+        replaceTokens(user.getId(), customer, tokens);
+    }
+
+    /**
+     * Recomputes every customer flag from the role assignments, for changes to the customer role itself.
+     */
+    public void refreshCustomerFlags() {
+        jdbcTemplate.update(REFRESH_FLAGS_SQL, CUSTOMER_ROLE_KEY);
+    }
+
+    /**
+     * Recomputes the customer flag of the given users after their roles were changed without going through
+     * {@link #index(User)}.
+     */
+    public void refreshCustomerFlags(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        for (int start = 0; start < ids.size(); start += REBUILD_BATCH_SIZE) {
+            List<Long> chunk = ids.subList(start, Math.min(ids.size(), start + REBUILD_BATCH_SIZE));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(CUSTOMER_ROLE_KEY);
+            args.addAll(chunk);
+            jdbcTemplate.update(REFRESH_FLAGS_SQL + " WHERE user_id IN (" + placeholders(chunk.size()) + ")",
+                    args.toArray());
+        }
+    }
+
+    /**
+     * @return ids of up to {@code limit} users matching every token of {@code term}, lowest id first; empty when the
+     * term has nothing searchable, including terms made only of one-character words
+     */
+    public List<Long> search(String term, UserAudience audience, int limit) {
+        List<String> tokens = PeopleSearchTokenizer.queryTokens(term);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String flags = switch (audience) {
+            case CUSTOMERS -> "1";
+            case STAFF -> "0";
+            case ALL -> "0, 1";
+        };
+        // Driven by a range scan on the longest (most selective) token; every other token is checked per candidate
+        // through that user's handful of rows, so short, common prefixes never get a range scan of their own.
+        StringBuilder sql = new StringBuilder("SELECT DISTINCT t0.user_id FROM people_search_tokens t0 " +
+                "WHERE t0.is_customer IN (").append(flags).append(") AND t0.token LIKE ? ESCAPE '!'");
+        List<Object> args = new ArrayList<>(tokens.size() + 1);
+        args.add(prefixPattern(tokens.get(0)));
+        for (int i = 1; i < tokens.size(); i++) {
+            sql.append(" AND EXISTS (SELECT 1 FROM people_search_tokens t").append(i).append(" WHERE t").append(i)
+                    .append(".user_id = t0.user_id AND t").append(i).append(".is_customer = t0.is_customer AND t")
+                    .append(i).append(".token LIKE ? ESCAPE '!')");
+            args.add(prefixPattern(tokens.get(i)));
+        }
+        sql.append(" ORDER BY t0.user_id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    public boolean isEmpty() {
+        return jdbcTemplate.queryForList("SELECT user_id FROM people_search_tokens LIMIT 1", Long.class).isEmpty();
+    }
+
+    /**
+     * Re-tokenizes every user in id-ordered batches.
+     *
+     * @return the number of users indexed
+     */
+    public long rebuild() {
+        long indexed = 0;
+        long lastId = 0;
+        while (true) {
+            List<IndexRow> batch = jdbcTemplate.query(REBUILD_SQL, (rs, rowNum) -> new IndexRow(rs.getLong("id"),
+                    rs.getBoolean("is_customer"),
+                    PeopleSearchTokenizer.indexTokens(rs.getString("email"), rs.getString("full_name"),
+                            rs.getString("first_name"), rs.getString("last_name"), rs.getString("phone_number"),
+                            rs.getString("whatsapp_number"))), lastId);
+            if (batch.isEmpty()) {
+                return indexed;
+            }
+            List<Long> ids = batch.stream().map(IndexRow::userId).toList();
+            jdbcTemplate.update("DELETE FROM people_search_tokens WHERE user_id IN (" + placeholders(ids.size()) + ")",
+                    ids.toArray());
+            List<Object[]> inserts = new ArrayList<>();
+            for (IndexRow row : batch) {
+                for (String token : row.tokens()) {
+                    inserts.add(new Object[]{row.customer(), token, row.userId()});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            indexed += batch.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private void replaceTokens(Long userId, boolean customer, Set<String> tokens) {
+        jdbcTemplate.update("DELETE FROM people_search_tokens WHERE user_id = ?", userId);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        List<Object[]> inserts = tokens.stream()
+                .map(token -> new Object[]{customer, token, userId})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+    }
+
+    private static String prefixPattern(String token) {
+        return token.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record IndexRow(long userId, boolean customer, Set<String> tokens) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.rbac.admin.users.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the people search index on the first start after it was introduced, or after the table was cleared to force
+ * a rebuild. Later writes keep it current.
+ */
+@Component
+public class PeopleSearchIndexInitializer implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PeopleSearchIndexInitializer.class);
+
+    private final PeopleSearchIndex peopleSearchIndex;
+    private final boolean rebuildWhenEmpty;
+
+    public PeopleSearchIndexInitializer(PeopleSearchIndex peopleSearchIndex,
+                                        @Value("${app.people-search.rebuild-when-empty:true}") boolean rebuildWhenEmpty) {
+        this.peopleSearchIndex = peopleSearchIndex;
+        this.rebuildWhenEmpty = rebuildWhenEmpty;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!rebuildWhenEmpty || !peopleSearchIndex.isEmpty()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long indexed = peopleSearchIndex.rebuild();
+        if (indexed > 0) {
+            LOGGER.info("Indexed {} user(s) for people search in {} ms", indexed, System.currentTimeMillis() - started);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.rbac.admin.users.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits people fields and search terms into the same normalized tokens: lowercase, accents stripped, words split on
+ * anything that is not a letter or digit. A search term matches a user when every term token is a prefix of one of
+ * the user's tokens, which the index answers with {@code token LIKE 'term%'} range scans.
+ */
+final class PeopleSearchTokenizer {
+
+    static final int MAX_TOKEN_LENGTH = 64;
+    static final int MAX_QUERY_TOKENS = 4;
+    /** Shorter prefixes match a large share of the index while narrowing the result very little. */
+    static final int MIN_QUERY_TOKEN_LENGTH = 2;
+
+    private static final int MIN_PHONE_DIGITS = 3;
+    private static final int NATIONAL_NUMBER_DIGITS = 10;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGIT = Pattern.compile("\\D+");
+    private static final Pattern PHONE_TERM = Pattern.compile("[\\d\\s()+.\\-]+");
+
+    private PeopleSearchTokenizer() {
+    }
+
+    static Set<String> indexTokens(String email, String fullName, String firstName, String lastName,
+                                   String... phoneNumbers) {
+        Set<String> tokens = new LinkedHashSet<>();
+        String normalizedEmail = normalize(email);
+        if (!normalizedEmail.isEmpty()) {
+            add(tokens, normalizedEmail);
+            int at = normalizedEmail.indexOf('@');
+            if (at > 0) {
+                add(tokens, normalizedEmail.substring(0, at));
+                add(tokens, normalizedEmail.substring(at + 1));
+            }
+            addWords(tokens, normalizedEmail);
+        }
+        addWords(tokens, normalize(fullName));
+        addWords(tokens, normalize(firstName));
+        addWords(tokens, normalize(lastName));
+        for (String phoneNumber : phoneNumbers) {
+            String digits = phoneNumber != null ? NON_DIGIT.matcher(phoneNumber).replaceAll("") : "";
+            if (digits.length() >= MIN_PHONE_DIGITS) {
+                add(tokens, digits);
+                if (digits.length() > NATIONAL_NUMBER_DIGITS) {
+                    add(tokens, digits.substring(digits.length() - NATIONAL_NUMBER_DIGITS));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the term's tokens of at least {@link #MIN_QUERY_TOKEN_LENGTH} characters, longest (most selective)
+     * first; empty when the term has nothing searchable
+     */
+    static List<String> queryTokens(String term) {
+        if (term == null || term.isBlank()) {
+            return List.of();
+        }
+        String trimmed = term.trim();
+        if (PHONE_TERM.matcher(trimmed).matches()) {
+            String digits = NON_DIGIT.matcher(trimmed).replaceAll("");
+            if (!digits.isEmpty()) {
+                return digits.length() >= MIN_PHONE_DIGITS ? List.of(truncate(digits)) : List.of();
+            }
+        }
+        String normalized = normalize(trimmed);
+        Set<String> tokens = new LinkedHashSet<>();
+        if (normalized.indexOf('@') >= 0 && normalized.indexOf(' ') < 0) {
+            tokens.add(truncate(normalized));
+        } else {
+            Arrays.stream(WORD_SEPARATOR.split(normalized))
+                    .filter(word -> word.length() >= MIN_QUERY_TOKEN_LENGTH)
+                    .map(PeopleSearchTokenizer::truncate)
+                    .forEach(tokens::add);
+        }
+        List<String> ordered = new ArrayList<>(tokens);
+        ordered.sort(Comparator.comparingInt(String::length).reversed());
+        return ordered.size() > MAX_QUERY_TOKENS ? List.copyOf(ordered.subList(0, MAX_QUERY_TOKENS)) : ordered;
+    }
+
+    private static void addWords(Set<String> tokens, String normalized) {
+        for (String word : WORD_SEPARATOR.split(normalized)) {
+            add(tokens, word);
+        }
+    }
+
+    private static void add(Set<String> tokens, String token) {
+        if (token != null && !token.isEmpty()) {
+            tokens.add(truncate(token));
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String token) {
+        return token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token;
+    }
+}
@@ -2,8 +2,9 @@ package com.example.rbac.admin.users.security;
 
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.model.UserPrincipal;
+import com.example.rbac.common.security.PermissionRegistry;
+import com.example.rbac.common.security.Permissions;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
@@ -13,11 +14,11 @@ import java.util.Optional;
 @Component
 public class UserPermissionEvaluator {
 
-    private static final String VIEW_GLOBAL = "USER_VIEW_GLOBAL";
-    private static final String VIEW_SELF = "USER_VIEW";
-    private static final String CREATE = "USER_CREATE";
-    private static final String UPDATE = "USER_UPDATE";
-    private static final String DELETE = "USER_DELETE";
+    private static final int VIEW_GLOBAL = PermissionRegistry.register("USER_VIEW_GLOBAL");
+    private static final int VIEW_SELF = PermissionRegistry.register("USER_VIEW");
+    private static final int CREATE = PermissionRegistry.register("USER_CREATE");
+    private static final int UPDATE = PermissionRegistry.register("USER_UPDATE");
+    private static final int DELETE = PermissionRegistry.register("USER_DELETE");
 
     public boolean canViewUser(Long userId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -72,16 +73,8 @@ public class UserPermissionEvaluator {
         return canViewUser(userId);
     }
 
-    private boolean hasAuthority(Authentication authentication, String authority) {
-        if (authentication == null || authority == null) {
-            return false;
-        }
-        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
-            if (authority.equals(grantedAuthority.getAuthority())) {
-                return true;
-            }
-        }
-        return false;
+    private boolean hasAuthority(Authentication authentication, int permission) {
+        return Permissions.has(authentication, permission);
     }
 
     private Optional<Long> resolveCurrentUserId(Authentication authentication) {
@@ -0,0 +1,123 @@
+package com.example.rbac.admin.users.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One user's most recently viewed product ids, newest first, in fixed-size primitive arrays. Each slot remembers
+ * whether it changed since the last {@link #drainChanges()} so a flush writes only what the user actually viewed.
+ * All methods synchronize on the ring; a ring is only ever contended by one user's concurrent requests and the flusher.
+ */
+final class RecentViewRing {
+
+    private final long[] productIds;
+    private final long[] viewedAtMillis;
+    private final boolean[] changed;
+    private int size;
+
+    RecentViewRing(int capacity) {
+        this.productIds = new long[capacity];
+        this.viewedAtMillis = new long[capacity];
+        this.changed = new boolean[capacity];
+    }
+
+    /**
+     * Moves {@code productId} to the position its view time sorts to, normally the front. Views older than the one
+     * already held for the product, or older than everything in a full ring, are ignored.
+     *
+     * @param markChanged {@code false} when seeding from the database, so the entry is not written back
+     * @return whether the ring now holds an unflushed change for the product
+     */
+    synchronized boolean touch(long productId, Instant viewedAt, boolean markChanged) {
+        long millis = viewedAt.toEpochMilli();
+        int existing = indexOf(productId);
+        if (existing >= 0) {
+            if (millis < viewedAtMillis[existing]) {
+                return false;
+            }
+            boolean wasChanged = changed[existing];
+            removeAt(existing);
+            insert(productId, millis, markChanged || wasChanged);
+            return markChanged || wasChanged;
+        }
+        if (size == productIds.length) {
+            if (millis <= viewedAtMillis[size - 1]) {
+                return false;
+            }
+            size--;
+        }
+        insert(productId, millis, markChanged);
+        return markChanged;
+    }
+
+    synchronized List<Long> productIds() {
+        List<Long> ids = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            ids.add(productIds[index]);
+        }
+        return ids;
+    }
+
+    /**
+     * @return the entries changed since the previous call, after clearing their changed flags
+     */
+    synchronized List<Entry> drainChanges() {
+        List<Entry> entries = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            if (changed[index]) {
+                entries.add(new Entry(productIds[index], Instant.ofEpochMilli(viewedAtMillis[index])));
+                changed[index] = false;
+            }
+        }
+        return entries;
+    }
+
+    synchronized boolean hasChanges() {
+        for (int index = 0; index < size; index++) {
+            if (changed[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(long productId) {
+        for (int index = 0; index < size; index++) {
+            if (productIds[index] == productId) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        int tail = size - index - 1;
+        if (tail > 0) {
+            System.arraycopy(productIds, index + 1, productIds, index, tail);
+            System.arraycopy(viewedAtMillis, index + 1, viewedAtMillis, index, tail);
+            System.arraycopy(changed, index + 1, changed, index, tail);
+        }
+        size--;
+    }
+
+    private void insert(long productId, long millis, boolean isChanged) {
+        int position = 0;
+        while (position < size && viewedAtMillis[position] >= millis) {
+            position++;
+        }
+        int tail = size - position;
+        if (tail > 0) {
+            System.arraycopy(productIds, position, productIds, position + 1, tail);
+            System.arraycopy(viewedAtMillis, position, viewedAtMillis, position + 1, tail);
+            System.arraycopy(changed, position, changed, position + 1, tail);
+        }
+        productIds[position] = productId;
+        viewedAtMillis[position] = millis;
+        changed[position] = isChanged;
+        size++;
+    }
+
+    record Entry(long productId, Instant viewedAt) {
+    }
+}
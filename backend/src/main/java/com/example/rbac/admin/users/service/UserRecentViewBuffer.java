@@ -0,0 +1,169 @@
+package com.example.rbac.admin.users.service;
+
+import com.example.rbac.admin.users.repository.UserRecentViewBatchRepository;
+import com.example.rbac.admin.users.repository.UserRecentViewBatchRepository.ViewWrite;
+import com.example.rbac.admin.users.repository.UserRecentViewRepository;
+import com.example.rbac.admin.users.repository.projection.UserRecentViewSummary;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps each customer's recently viewed products in a bounded in-memory {@link RecentViewRing} so product page views
+ * never write on the request thread. A user's ring is seeded from {@code user_recent_views} on first use; views are
+ * recorded in the ring and written back by {@link #flush()} on a fixed delay, coalesced to one upsert per changed
+ * product and a single prune per user. Rings with nothing left to flush are evicted once more than
+ * {@code app.recent-views.max-users} are held, and are reloaded from the table on the next view.
+ */
+@Component
+public class UserRecentViewBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(UserRecentViewBuffer.class);
+
+    static final int RING_CAPACITY = 20;
+
+    private final UserRecentViewRepository recentViewRepository;
+    private final UserRecentViewBatchRepository batchRepository;
+    private final int maxUsers;
+    private final Map<Long, RecentViewRing> rings = new ConcurrentHashMap<>();
+    private final Map<Long, RecentViewRing> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public UserRecentViewBuffer(UserRecentViewRepository recentViewRepository,
+                                UserRecentViewBatchRepository batchRepository,
+                                @Value("${app.recent-views.max-users:50000}") int maxUsers) {
+        this.recentViewRepository = recentViewRepository;
+        this.batchRepository = batchRepository;
+        this.maxUsers = Math.max(1, maxUsers);
+    }
+
+    public void record(Long userId, Long productId, Instant viewedAt) {
+        if (userId == null || productId == null || viewedAt == null) {
+            return;
+        }
+        RecentViewRing ring = ring(userId);
+        if (ring.touch(productId, viewedAt, true)) {
+            pending.put(userId, ring);
+        }
+    }
+
+    /**
+     * @return the user's recently viewed product ids, newest first, including views not yet flushed
+     */
+    public List<Long> recentProductIds(Long userId) {
+        if (userId == null) {
+            return List.of();
+        }
+        return ring(userId).productIds();
+    }
+
+    @Scheduled(fixedDelayString = "${app.recent-views.flush-interval:PT2S}")
+    public void flush() {
+        if (pending.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<DrainedRing> drained = new ArrayList<>();
+        Iterator<Map.Entry<Long, RecentViewRing>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, RecentViewRing> entry = iterator.next();
+            iterator.remove();
+            List<RecentViewRing.Entry> changes = entry.getValue().drainChanges();
+            if (!changes.isEmpty()) {
+                drained.add(new DrainedRing(entry.getKey(), entry.getValue(), changes));
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        List<ViewWrite> writes = new ArrayList<>();
+        List<Long> userIds = new ArrayList<>(drained.size());
+        for (DrainedRing ring : drained) {
+            userIds.add(ring.userId());
+            for (RecentViewRing.Entry change : ring.changes()) {
+                writes.add(new ViewWrite(ring.userId(), change.productId(), change.viewedAt()));
+            }
+        }
+        try {
+            batchRepository.upsertAll(writes);
+            batchRepository.pruneAll(userIds, RING_CAPACITY);
+        } catch (Exception ex) {
+            log.warn("Failed to flush {} recently viewed product(s); retrying on the next flush", writes.size(), ex);
+            for (DrainedRing ring : drained) {
+                ring.changes().forEach(change -> ring.ring().touch(change.productId(), change.viewedAt(), true));
+                pending.put(ring.userId(), ring.ring());
+            }
+        }
+    }
+
+    private RecentViewRing ring(Long userId) {
+        RecentViewRing ring = rings.get(userId);
+        if (ring != null) {
+            return ring;
+        }
+        RecentViewRing loaded = load(userId);
+        RecentViewRing existing = rings.putIfAbsent(userId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (rings.size() > maxUsers) {
+            evictFlushedRings(userId);
+        }
+        return loaded;
+    }
+
+    private RecentViewRing load(Long userId) {
+        RecentViewRing ring = new RecentViewRing(RING_CAPACITY);
+        List<UserRecentViewSummary> summaries = recentViewRepository.findRecentSummariesByUserId(userId);
+        if (summaries != null) {
+            for (UserRecentViewSummary summary : summaries) {
+                if (summary.getProductId() != null && summary.getViewedAt() != null) {
+                    ring.touch(summary.getProductId(), summary.getViewedAt(), false);
+                }
+            }
+        }
+        return ring;
+    }
+
+    private void evictFlushedRings(Long keepUserId) {
+        int target = maxUsers - Math.max(1, maxUsers / 10);
+        Iterator<Map.Entry<Long, RecentViewRing>> iterator = rings.entrySet().iterator();
+        while (rings.size() > target && iterator.hasNext()) {
+            Map.Entry<Long, RecentViewRing> entry = iterator.next();
+            if (!entry.getKey().equals(keepUserId) && !entry.getValue().hasChanges()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record DrainedRing(Long userId, RecentViewRing ring, List<RecentViewRing.Entry> changes) {
+    }
+}
@@ -9,11 +9,8 @@ import com.example.rbac.admin.products.model.ProductVariant;
 import com.example.rbac.admin.products.repository.ProductRepository;
 import com.example.rbac.admin.users.dto.UserRecentViewDto;
 import com.example.rbac.admin.users.model.User;
-import com.example.rbac.admin.users.model.UserRecentView;
 import com.example.rbac.admin.users.repository.UserRecentViewRepository;
 import com.example.rbac.admin.users.repository.projection.UserRecentViewSummary;
-import jakarta.persistence.EntityNotFoundException;
-import org.hibernate.proxy.HibernateProxy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,7 +21,6 @@ import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -36,58 +32,44 @@ import java.util.stream.Collectors;
 @Service
 public class UserRecentViewService {
 
-    private static final int MAX_RECENTS = 20;
+    private static final int MAX_RECENTS = UserRecentViewBuffer.RING_CAPACITY;
     private static final int RESPONSE_LIMIT = 10;
 
     private final UserRecentViewRepository recentViewRepository;
+    private final UserRecentViewBuffer recentViewBuffer;
     private final ProductRepository productRepository;
 
     public UserRecentViewService(UserRecentViewRepository recentViewRepository,
+                                 UserRecentViewBuffer recentViewBuffer,
                                  ProductRepository productRepository) {
         this.recentViewRepository = recentViewRepository;
+        this.recentViewBuffer = recentViewBuffer;
         this.productRepository = productRepository;
     }
 
-    @Transactional
+    /**
+     * Records the view in the user's in-memory history; it reaches {@code user_recent_views} with the next
+     * {@link UserRecentViewBuffer#flush()}.
+     */
     public void recordView(User user, Product product) {
         if (user == null || user.getId() == null || product == null || product.getId() == null) {
             return;
         }
-        Optional<UserRecentView> existing = recentViewRepository.findByUserIdAndProductId(user.getId(), product.getId());
-        UserRecentView entry = existing.orElseGet(UserRecentView::new);
-        entry.setUser(user);
-        entry.setProduct(product);
-        entry.setViewedAt(Instant.now());
-        recentViewRepository.save(entry);
-        pruneExcessEntries(user.getId());
+        recentViewBuffer.record(user.getId(), product.getId(), Instant.now());
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Product> findRecentProductsForUser(Long userId, Long excludeProductId) {
         if (userId == null) {
             return List.of();
         }
-        List<UserRecentViewSummary> summaries = recentViewRepository.findRecentSummariesByUserId(userId);
-        LinkedHashSet<Long> orderedProductIds = new LinkedHashSet<>();
-        List<Long> staleIds = new ArrayList<>();
-        for (UserRecentViewSummary summary : summaries) {
-            Long productId = summary.getProductId();
-            if (productId == null) {
-                staleIds.add(summary.getId());
-                continue;
-            }
-            if (Objects.equals(productId, excludeProductId)) {
-                continue;
-            }
-            orderedProductIds.add(productId);
-        }
-        if (!staleIds.isEmpty()) {
-            recentViewRepository.deleteAllByIdInBatch(staleIds);
-        }
+        List<Long> orderedProductIds = recentViewBuffer.recentProductIds(userId).stream()
+                .filter(productId -> !Objects.equals(productId, excludeProductId))
+                .collect(Collectors.toList());
         if (orderedProductIds.isEmpty()) {
             return List.of();
         }
-        List<Product> orderedProducts = fetchProductsInOrder(new ArrayList<>(orderedProductIds));
+        List<Product> orderedProducts = fetchProductsInOrder(orderedProductIds);
         if (orderedProducts.size() <= RESPONSE_LIMIT) {
             return orderedProducts;
         }
@@ -115,44 +97,19 @@ public class UserRecentViewService {
         return ordered;
     }
 
-    @Transactional
+    /**
+     * Merges the product ids a shopper viewed before signing in into their history, newest first and just behind
+     * the current view. Ids of products that no longer exist are dropped when the history is flushed.
+     */
     public void synchronizeGuestRecentViews(User user, List<Long> productIds, Long excludeProductId) {
         if (user == null || user.getId() == null) {
             return;
         }
         List<Long> sanitized = sanitizeRecentProductIds(productIds, excludeProductId);
-        if (sanitized.isEmpty()) {
-            return;
-        }
-        List<UserRecentView> existingEntries = recentViewRepository.findByUserIdAndProductIdIn(user.getId(), sanitized);
-        Map<Long, UserRecentView> existingByProductId = new HashMap<>();
-        for (UserRecentView entry : existingEntries) {
-            Long productId = resolveProductId(entry);
-            if (productId != null && !existingByProductId.containsKey(productId)) {
-                existingByProductId.put(productId, entry);
-            }
-        }
-        List<Product> products = productRepository.findByIdIn(sanitized);
-        Map<Long, Product> productsById = products.stream()
-                .filter(Objects::nonNull)
-                .collect(Collectors.toMap(Product::getId, product -> product));
         Instant baseTime = Instant.now();
         for (int index = 0; index < sanitized.size(); index++) {
-            Long productId = sanitized.get(index);
-            Product product = productsById.get(productId);
-            if (product == null) {
-                continue;
-            }
-            UserRecentView entry = existingByProductId.get(productId);
-            if (entry == null) {
-                entry = new UserRecentView();
-            }
-            entry.setUser(user);
-            entry.setProduct(product);
-            entry.setViewedAt(baseTime.minusSeconds(index + 1L));
-            recentViewRepository.save(entry);
+            recentViewBuffer.record(user.getId(), sanitized.get(index), baseTime.minusSeconds(index + 1L));
         }
-        pruneExcessEntries(user.getId());
     }
 
     @Transactional
@@ -227,16 +184,6 @@ public class UserRecentViewService {
         return result;
     }
 
-    private void pruneExcessEntries(Long userId) {
-        List<UserRecentView> entries = recentViewRepository.findByUserIdOrderByViewedAtDesc(userId);
-        if (entries.size() <= MAX_RECENTS) {
-            return;
-        }
-        for (int index = MAX_RECENTS; index < entries.size(); index++) {
-            recentViewRepository.delete(entries.get(index));
-        }
-    }
-
     private List<Long> sanitizeRecentProductIds(Collection<Long> productIds, Long excludeProductId) {
         if (CollectionUtils.isEmpty(productIds)) {
             return List.of();
@@ -251,30 +198,6 @@ public class UserRecentViewService {
                 .collect(Collectors.toList());
     }
 
-    private Long resolveProductId(UserRecentView entry) {
-        if (entry == null) {
-            return null;
-        }
-        Long productId = entry.getProductId();
-        if (productId != null) {
-            return productId;
-        }
-        return resolveProductIdFromProduct(tryGetProduct(entry));
-    }
-
-    private Long resolveProductIdFromProduct(Product productRef) {
-        if (productRef == null) {
-            return null;
-        }
-        if (productRef instanceof HibernateProxy proxy) {
-            Object identifier = proxy.getHibernateLazyInitializer().getIdentifier();
-            if (identifier instanceof Long id) {
-                return id;
-            }
-        }
-        return productRef.getId();
-    }
-
     private List<Product> fetchProductsInOrder(List<Long> productIds) {
         if (CollectionUtils.isEmpty(productIds)) {
             return List.of();
@@ -292,22 +215,6 @@ public class UserRecentViewService {
         return orderedProducts;
     }
 
-    private Product tryGetProduct(UserRecentView entry) {
-        if (entry == null) {
-            return null;
-        }
-        try {
-            return entry.getProduct();
-        } catch (EntityNotFoundException ex) {
-            return null;
-        } catch (RuntimeException ex) {
-            if (!isHibernateRelatedException(ex)) {
-                throw ex;
-            }
-            return null;
-        }
-    }
-
     private static Long normalizeProductId(Long productId) {
         if (productId == null) {
             return null;
@@ -318,18 +225,6 @@ public class UserRecentViewService {
         return Math.abs(productId);
     }
 
-    private boolean isHibernateRelatedException(RuntimeException ex) {
-        Throwable current = ex;
-        while (current != null) {
-            Package exceptionPackage = current.getClass().getPackage();
-            if (exceptionPackage != null && exceptionPackage.getName().startsWith("org.hibernate")) {
-                return true;
-            }
-            current = current.getCause();
-        }
-        return false;
-    }
-
     private String resolveThumbnailUrl(Product product, ProductVariant variant) {
         if (variant != null && variant.getMedia() != null) {
             return variant.getMedia().stream()
@@ -2,13 +2,22 @@ package com.example.rbac.admin.users.service;
 
 import com.example.rbac.admin.activity.service.ActivityRecorder;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
+import com.example.rbac.common.pagination.KeysetPaginator;
+import com.example.rbac.common.pagination.KeysetSort;
 import com.example.rbac.common.pagination.PageResponse;
+import com.example.rbac.common.security.PermissionRegistry;
+import com.example.rbac.common.security.Permissions;
 import com.example.rbac.admin.roles.model.Role;
 import com.example.rbac.admin.roles.repository.RoleRepository;
 import com.example.rbac.admin.permissions.model.Permission;
 import com.example.rbac.admin.permissions.repository.PermissionRepository;
 import com.example.rbac.admin.uploadedfile.repository.UploadedFileRepository;
 import com.example.rbac.admin.users.dto.AssignRolesRequest;
+import com.example.rbac.admin.users.dto.BulkAssignmentResponse;
+import com.example.rbac.admin.users.dto.BulkUserPermissionsRequest;
+import com.example.rbac.admin.users.dto.BulkUserRolesRequest;
 import com.example.rbac.admin.users.dto.CreateUserRequest;
 import com.example.rbac.admin.users.dto.ProfileUpdateRequest;
 import com.example.rbac.admin.users.dto.UpdateUserRequest;
@@ -20,16 +29,20 @@ import com.example.rbac.admin.users.dto.UserSummaryResponse;
 import com.example.rbac.admin.users.mapper.UserMapper;
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.model.UserPrincipal;
+import com.example.rbac.admin.users.repository.AccessAssignmentRepository;
+import com.example.rbac.admin.users.repository.AccessAssignmentRepository.Assignment;
 import com.example.rbac.admin.users.repository.UserRepository;
+import com.example.rbac.admin.users.search.PeopleSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -40,6 +53,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -48,6 +62,7 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private static final String CUSTOMER_ROLE_KEY = "CUSTOMER";
+    private static final int BULK_CONTEXT_ID_LIMIT = 100;
 
     private static final String USER_VIEW_AUTHORITY = "hasAnyAuthority('USER_VIEW','USER_VIEW_GLOBAL')";
     private static final String USER_CREATE_AUTHORITY = "hasAuthority('USER_CREATE')";
@@ -69,6 +84,10 @@ public class UserService {
     private final ActivityRecorder activityRecorder;
     private final UserVerificationService userVerificationService;
     private final UploadedFileRepository uploadedFileRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final PeopleSearchIndex peopleSearchIndex;
+    private final AccessAssignmentRepository accessAssignmentRepository;
+    private final int maxSearchResults;
 
     public UserService(UserRepository userRepository,
                        RoleRepository roleRepository,
@@ -77,7 +96,11 @@ public class UserService {
                        UserMapper userMapper,
                        ActivityRecorder activityRecorder,
                        UserVerificationService userVerificationService,
-                       UploadedFileRepository uploadedFileRepository) {
+                       UploadedFileRepository uploadedFileRepository,
+                       KeysetPaginator keysetPaginator,
+                       PeopleSearchIndex peopleSearchIndex,
+                       AccessAssignmentRepository accessAssignmentRepository,
+                       @Value("${app.people-search.max-results:1000}") int maxSearchResults) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
@@ -86,9 +109,14 @@ public class UserService {
         this.activityRecorder = activityRecorder;
         this.userVerificationService = userVerificationService;
         this.uploadedFileRepository = uploadedFileRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.peopleSearchIndex = peopleSearchIndex;
+        this.accessAssignmentRepository = accessAssignmentRepository;
+        this.maxSearchResults = Math.max(1, maxSearchResults);
     }
 
     @PreAuthorize(USER_VIEW_AUTHORITY)
+    @Transactional(readOnly = true)
     public PageResponse<UserDto> list(String search,
                                       int page,
                                       int size,
@@ -108,39 +136,72 @@ public class UserService {
 
         Pageable pageable = buildPageable(page, size, sort, direction);
         String normalizedSearch = search != null ? search.trim() : null;
-        boolean hasSearch = normalizedSearch != null && !normalizedSearch.isEmpty();
-        Page<User> result = switch (audience) {
-            case CUSTOMERS -> {
-                Page<User> pageResult;
-                if (hasSearch) {
-                    pageResult = userRepository.searchCustomersByRoleKey(CUSTOMER_ROLE_KEY, normalizedSearch, pageable);
-                } else {
-                    pageResult = userRepository.findCustomersByRoleKey(CUSTOMER_ROLE_KEY, pageable);
-                }
-                yield pageResult;
-            }
-            case STAFF -> {
-                Page<User> pageResult;
-                if (hasSearch) {
-                    pageResult = userRepository.searchStaffWithoutRole(CUSTOMER_ROLE_KEY, normalizedSearch, pageable);
-                } else {
-                    pageResult = userRepository.findStaffWithoutRole(CUSTOMER_ROLE_KEY, pageable);
-                }
-                yield pageResult;
-            }
-            case ALL -> {
-                Page<User> pageResult;
-                if (hasSearch) {
-                    pageResult = userRepository.findByEmailContainingIgnoreCaseOrFullNameContainingIgnoreCase(normalizedSearch, normalizedSearch, pageable);
-                } else {
-                    pageResult = userRepository.findAll(pageable);
-                }
-                yield pageResult;
+        if (normalizedSearch != null && !normalizedSearch.isEmpty()) {
+            List<Long> matches = peopleSearchIndex.search(normalizedSearch, audience, maxSearchResults);
+            if (matches.isEmpty()) {
+                return new PageResponse<>(Collections.emptyList(), 0, 0, page, size);
             }
+            return PageResponse.from(userRepository.findAll(UserSpecifications.idIn(matches), pageable)
+                    .map(userMapper::toDto));
+        }
+        Page<User> result = switch (audience) {
+            case CUSTOMERS -> userRepository.findCustomersByRoleKey(CUSTOMER_ROLE_KEY, pageable);
+            case STAFF -> userRepository.findStaffWithoutRole(CUSTOMER_ROLE_KEY, pageable);
+            case ALL -> userRepository.findAll(pageable);
         };
         return PageResponse.from(result.map(userMapper::toDto));
     }
 
+    /**
+     * Keyset-paginated variant of {@link #list}: pages are addressed by cursor instead of number and no total is
+     * counted unless {@code request.includeTotal()} is set.
+     */
+    @PreAuthorize(USER_VIEW_AUTHORITY)
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserDto> scroll(String search,
+                                              CursorPageRequest request,
+                                              String sort,
+                                              String direction,
+                                              String audienceValue) {
+        UserAudience audience = UserAudience.fromValue(audienceValue);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!hasAuthority(authentication, "USER_VIEW_GLOBAL")) {
+            Long currentUserId = resolveCurrentUserId(authentication)
+                    .orElseThrow(() -> new ApiException(HttpStatus.FORBIDDEN, "You are not allowed to view other users"));
+            User user = userRepository.findDetailedById(currentUserId)
+                    .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "User not found"));
+            return new CursorPageResponse<>(Collections.singletonList(userMapper.toDto(user)), request.size(), false,
+                    null, request.includeTotal() ? 1L : null);
+        }
+
+        Specification<User> specification;
+        if (StringUtils.hasText(search)) {
+            // The index already applies the audience through its customer flag.
+            specification = UserSpecifications.idIn(peopleSearchIndex.search(search, audience, maxSearchResults));
+        } else {
+            specification = switch (audience) {
+                case CUSTOMERS -> UserSpecifications.hasRole(CUSTOMER_ROLE_KEY);
+                case STAFF -> UserSpecifications.lacksRole(CUSTOMER_ROLE_KEY);
+                case ALL -> null;
+            };
+        }
+        Specification<User> effective = specification;
+        return keysetPaginator.fetch(userRepository, effective, buildKeysetSort(sort, direction), request,
+                userMapper::toDto,
+                effective != null ? () -> userRepository.count(effective) : keysetPaginator.estimatedRows("users"));
+    }
+
+    private KeysetSort<User> buildKeysetSort(String sort, String direction) {
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String normalizedSort = sort == null ? "name" : sort.toLowerCase();
+        return switch (normalizedSort) {
+            case "email" -> KeysetSort.of("email", sortDirection, KeysetSort.ValueType.STRING, User::getEmail, User::getId);
+            case "status" -> KeysetSort.of("active", sortDirection, KeysetSort.ValueType.BOOLEAN, User::isActive, User::getId);
+            case "createdat" -> KeysetSort.of("createdAt", sortDirection, KeysetSort.ValueType.INSTANT, User::getCreatedAt, User::getId);
+            default -> KeysetSort.of("fullName", sortDirection, KeysetSort.ValueType.STRING, User::getFullName, User::getId);
+        };
+    }
+
     private Pageable buildPageable(int page, int size, String sort, String direction) {
         String normalizedSort = sort == null ? "name" : sort.toLowerCase();
         String property = USER_SORT_MAPPING.getOrDefault(normalizedSort, USER_SORT_MAPPING.get("name"));
@@ -188,6 +249,7 @@ public class UserService {
         user.setEmailVerifiedAt(null);
         user = userRepository.saveAndFlush(user);
         User detailed = userRepository.findDetailedById(user.getId()).orElseThrow();
+        peopleSearchIndex.index(detailed);
         userVerificationService.initiateVerification(detailed);
         UserDto dto = userMapper.toDto(detailed);
         activityRecorder.record("Users", "CREATE", "Created user " + detailed.getEmail(), "SUCCESS", buildUserContext(detailed));
@@ -256,6 +318,7 @@ public class UserService {
             user.setRevokedPermissions(replaceAssignments(user.getRevokedPermissions(), revoked));
         }
         user = userRepository.saveAndFlush(user);
+        peopleSearchIndex.index(user);
         UserDto dto = userMapper.toDto(userRepository.findDetailedById(user.getId()).orElseThrow());
         activityRecorder.record("Users", "UPDATE", "Updated user " + user.getEmail(), "SUCCESS", buildUserContext(user));
         return dto;
@@ -294,6 +357,7 @@ public class UserService {
         }
         user.setRoles(replaceAssignments(user.getRoles(), roles));
         user = userRepository.saveAndFlush(user);
+        peopleSearchIndex.index(user);
         UserDto dto = userMapper.toDto(userRepository.findDetailedById(user.getId()).orElseThrow());
         HashMap<String, Object> context = new HashMap<>(buildUserContext(user));
         context.put("roleIds", request.getRoleIds());
@@ -308,6 +372,7 @@ public class UserService {
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "User not found"));
         user.getRoles().removeIf(role -> role.getId().equals(roleId));
         user = userRepository.saveAndFlush(user);
+        peopleSearchIndex.index(user);
         UserDto dto = userMapper.toDto(userRepository.findDetailedById(user.getId()).orElseThrow());
         HashMap<String, Object> context = new HashMap<>(buildUserContext(user));
         context.put("roleId", roleId);
@@ -354,6 +419,7 @@ public class UserService {
             throw new ApiException(HttpStatus.BAD_REQUEST, "New password is required when updating your password");
         }
         user = userRepository.saveAndFlush(user);
+        peopleSearchIndex.index(user);
         UserDto dto = userMapper.toDto(userRepository.findDetailedById(user.getId()).orElseThrow());
         HashMap<String, Object> context = new HashMap<>(buildUserContext(user));
         context.put("profileUpdated", true);
@@ -380,6 +446,75 @@ public class UserService {
         return dto;
     }
 
+    /**
+     * Adds and removes roles for many users with set-based join-table writes and a single audit entry, instead of one
+     * load-save-reload round trip per user.
+     */
+    @PreAuthorize(USER_UPDATE_AUTHORITY)
+    @Transactional
+    public BulkAssignmentResponse bulkUpdateRoles(BulkUserRolesRequest request) {
+        Set<Long> userIds = requireExistingUsers(request.getUserIds());
+        Set<Long> assignRoleIds = nonNullIds(request.getAssignRoleIds());
+        Set<Long> removeRoleIds = nonNullIds(request.getRemoveRoleIds());
+        if (assignRoleIds.isEmpty() && removeRoleIds.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "No roles to assign or remove");
+        }
+        if (!Collections.disjoint(assignRoleIds, removeRoleIds)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "A role cannot be assigned and removed in the same request");
+        }
+        Set<Long> roleIds = new HashSet<>(assignRoleIds);
+        roleIds.addAll(removeRoleIds);
+        List<Role> roles = roleRepository.findAllById(roleIds);
+        if (roles.size() != roleIds.size()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "One or more roles not found");
+        }
+        int removed = accessAssignmentRepository.removeAll(Assignment.USER_ROLES, userIds, removeRoleIds);
+        int added = accessAssignmentRepository.addAll(Assignment.USER_ROLES, userIds, assignRoleIds);
+        if (roles.stream().anyMatch(role -> CUSTOMER_ROLE_KEY.equalsIgnoreCase(role.getKey()))) {
+            peopleSearchIndex.refreshCustomerFlags(userIds);
+        }
+        HashMap<String, Object> context = buildBulkContext(userIds, added, removed);
+        context.put("assignedRoleIds", assignRoleIds);
+        context.put("removedRoleIds", removeRoleIds);
+        activityRecorder.record("Users", "BULK_ROLES", "Updated roles for " + userIds.size() + " users", "SUCCESS", context);
+        return new BulkAssignmentResponse(userIds.size(), added, removed);
+    }
+
+    /**
+     * Grants, revokes or resets direct permissions for many users. A granted key drops any revocation of it and vice
+     * versa, matching {@link #updateDirectPermissions}.
+     */
+    @PreAuthorize(USER_UPDATE_AUTHORITY)
+    @Transactional
+    public BulkAssignmentResponse bulkUpdatePermissions(BulkUserPermissionsRequest request) {
+        Set<Long> userIds = requireExistingUsers(request.getUserIds());
+        Set<Long> granted = permissionIds(fetchPermissions(request.getGrantPermissionKeys()));
+        Set<Long> revoked = permissionIds(fetchPermissions(request.getRevokePermissionKeys()));
+        Set<Long> reset = permissionIds(fetchPermissions(request.getResetPermissionKeys()));
+        if (granted.isEmpty() && revoked.isEmpty() && reset.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "No permissions to grant, revoke or reset");
+        }
+        if (!Collections.disjoint(granted, revoked) || !Collections.disjoint(granted, reset)
+                || !Collections.disjoint(revoked, reset)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "A permission can only appear in one list per request");
+        }
+        Set<Long> clearGrants = new HashSet<>(revoked);
+        clearGrants.addAll(reset);
+        Set<Long> clearRevocations = new HashSet<>(granted);
+        clearRevocations.addAll(reset);
+        int removed = accessAssignmentRepository.removeAll(Assignment.USER_PERMISSION_GRANTS, userIds, clearGrants)
+                + accessAssignmentRepository.removeAll(Assignment.USER_PERMISSION_REVOCATIONS, userIds, clearRevocations);
+        int added = accessAssignmentRepository.addAll(Assignment.USER_PERMISSION_GRANTS, userIds, granted)
+                + accessAssignmentRepository.addAll(Assignment.USER_PERMISSION_REVOCATIONS, userIds, revoked);
+        HashMap<String, Object> context = buildBulkContext(userIds, added, removed);
+        context.put("grantedPermissions", request.getGrantPermissionKeys());
+        context.put("revokedPermissions", request.getRevokePermissionKeys());
+        context.put("resetPermissions", request.getResetPermissionKeys());
+        activityRecorder.record("Users", "BULK_PERMISSIONS", "Updated direct permissions for " + userIds.size() + " users",
+                "SUCCESS", context);
+        return new BulkAssignmentResponse(userIds.size(), added, removed);
+    }
+
     @PreAuthorize(USER_UPDATE_AUTHORITY)
     @Transactional
     public UserDto verifyUser(Long id) {
@@ -451,6 +586,39 @@ public class UserService {
         return new HashSet<>(permissions);
     }
 
+    private Set<Long> requireExistingUsers(Set<Long> requested) {
+        Set<Long> userIds = nonNullIds(requested);
+        if (userIds.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "No users selected");
+        }
+        if (accessAssignmentRepository.countOwners(Assignment.USER_ROLES, userIds) != userIds.size()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "One or more users not found");
+        }
+        return userIds;
+    }
+
+    private Set<Long> nonNullIds(Set<Long> ids) {
+        if (ids == null) {
+            return new HashSet<>();
+        }
+        return ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private Set<Long> permissionIds(Set<Permission> permissions) {
+        return permissions.stream().map(Permission::getId).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private HashMap<String, Object> buildBulkContext(Set<Long> userIds, int added, int removed) {
+        HashMap<String, Object> context = new HashMap<>();
+        context.put("userCount", userIds.size());
+        context.put("userIds", userIds.size() <= BULK_CONTEXT_ID_LIMIT
+                ? userIds
+                : userIds.stream().sorted().limit(BULK_CONTEXT_ID_LIMIT).toList());
+        context.put("added", added);
+        context.put("removed", removed);
+        return context;
+    }
+
     private void removeOverlap(Set<Permission> direct, Set<Permission> revoked) {
         if (direct.isEmpty() || revoked.isEmpty()) {
             return;
@@ -505,15 +673,7 @@ public class UserService {
     }
 
     private boolean hasAuthority(Authentication authentication, String authority) {
-        if (authentication == null || authority == null) {
-            return false;
-        }
-        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
-            if (authority.equals(grantedAuthority.getAuthority())) {
-                return true;
-            }
-        }
-        return false;
+        return Permissions.has(authentication, PermissionRegistry.ordinal(authority));
     }
 
     private String normalize(String value) {
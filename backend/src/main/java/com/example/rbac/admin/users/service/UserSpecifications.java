@@ -0,0 +1,43 @@
+package com.example.rbac.admin.users.service;
+
+import com.example.rbac.admin.roles.model.Role;
+import com.example.rbac.admin.users.model.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Locale;
+
+final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    static Specification<User> hasRole(String roleKey) {
+        return (root, query, builder) -> builder.exists(roleSubquery(root, query, builder, roleKey));
+    }
+
+    static Specification<User> lacksRole(String roleKey) {
+        return (root, query, builder) -> builder.not(builder.exists(roleSubquery(root, query, builder, roleKey)));
+    }
+
+    static Specification<User> idIn(Collection<Long> ids) {
+        return (root, query, builder) -> ids.isEmpty() ? builder.disjunction() : root.get("id").in(ids);
+    }
+
+    private static Subquery<Long> roleSubquery(Root<User> root,
+                                               CriteriaQuery<?> query,
+                                               CriteriaBuilder builder,
+                                               String roleKey) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<User> correlated = subquery.correlate(root);
+        Join<User, Role> roles = correlated.join("roles");
+        subquery.select(roles.get("id"))
+                .where(builder.equal(builder.upper(roles.get("key")), roleKey.toUpperCase(Locale.ROOT)));
+        return subquery;
+    }
+}
@@ -10,6 +10,7 @@ import com.example.rbac.admin.users.dto.UserDto;
 import com.example.rbac.admin.users.mapper.UserMapper;
 import com.example.rbac.admin.users.model.User;
 import com.example.rbac.admin.users.repository.UserRepository;
+import com.example.rbac.admin.users.search.PeopleSearchIndex;
 import com.example.rbac.admin.users.service.UserVerificationService;
 import com.example.rbac.client.auth.dto.LoginRequest;
 import com.example.rbac.client.auth.dto.RefreshTokenRequest;
@@ -18,16 +19,17 @@ import com.example.rbac.client.auth.dto.SignupResponse;
 import com.example.rbac.client.auth.dto.VerificationRequest;
 import com.example.rbac.client.auth.dto.VerificationResponse;
 import com.example.rbac.common.auth.dto.AuthResponse;
-import com.example.rbac.common.auth.token.RefreshTokenRepository;
+import com.example.rbac.common.auth.token.RefreshTokenService;
 import com.example.rbac.common.auth.service.BaseAuthService;
+import com.example.rbac.common.auth.throttle.LoginThrottle;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.security.PasswordHashingService;
+import com.example.rbac.common.web.UserAgentClassifier;
 import com.example.rbac.common.security.DefaultUserPermissions;
 import com.example.rbac.config.JwtService;
 import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -44,22 +46,26 @@ public class ClientAuthService extends BaseAuthService {
     private final UserVerificationService userVerificationService;
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final PeopleSearchIndex peopleSearchIndex;
 
     public ClientAuthService(UserRepository userRepository,
-                             RefreshTokenRepository refreshTokenRepository,
-                             PasswordEncoder passwordEncoder,
-                             AuthenticationManager authenticationManager,
+                             RefreshTokenService refreshTokenService,
+                             PasswordHashingService passwordHashingService,
+                             LoginThrottle loginThrottle,
                              JwtService jwtService,
                              UserMapper userMapper,
                              SettingsService settingsService,
                              ActivityRecorder activityRecorder,
+                             UserAgentClassifier userAgentClassifier,
                              UserVerificationService userVerificationService,
                              RoleRepository roleRepository,
-                             PermissionRepository permissionRepository) {
-        super(userRepository, refreshTokenRepository, passwordEncoder, authenticationManager, jwtService, userMapper, settingsService, activityRecorder);
+                             PermissionRepository permissionRepository,
+                             PeopleSearchIndex peopleSearchIndex) {
+        super(userRepository, refreshTokenService, passwordHashingService, loginThrottle, jwtService, userMapper, settingsService, activityRecorder, userAgentClassifier);
         this.userVerificationService = userVerificationService;
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
+        this.peopleSearchIndex = peopleSearchIndex;
     }
 
     @PostConstruct
@@ -81,13 +87,14 @@ public class ClientAuthService extends BaseAuthService {
         user.setFirstName(firstName);
         user.setLastName(lastName);
         user.setFullName(buildFullName(firstName, lastName));
-        user.setPasswordHash(getPasswordEncoder().encode(request.getPassword()));
+        user.setPasswordHash(getPasswordHashingService().hash(request.getPassword()));
         user.setEmailVerifiedAt(null);
 
         Role customerRole = ensureCustomerRole();
         user.getRoles().add(customerRole);
         user = getUserRepository().save(user);
         user = getUserRepository().findDetailedById(user.getId()).orElseThrow();
+        peopleSearchIndex.index(user);
         getActivityRecorder().recordForUser(user, "Authentication", "SIGNUP", "User registered", "SUCCESS", buildAuthContext(user));
         userVerificationService.initiateVerification(user);
         return new SignupResponse(true, "User registered successfully. Verification required.", user.getEmail());
@@ -16,6 +16,8 @@ import com.example.rbac.client.cart.model.CartItem;
 import com.example.rbac.client.cart.repository.CartRepository;
 import com.example.rbac.common.exception.ApiException;
 import com.example.rbac.common.pagination.PageResponse;
+import com.example.rbac.common.security.PermissionRegistry;
+import com.example.rbac.common.security.Permissions;
 import com.example.rbac.admin.products.model.DiscountType;
 import com.example.rbac.admin.products.model.Product;
 import com.example.rbac.admin.products.model.ProductVariant;
@@ -31,7 +33,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -505,16 +506,7 @@ public class CartService {
     }
 
     private boolean hasAuthority(String authority) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null) {
-            return false;
-        }
-        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
-            if (authority.equals(grantedAuthority.getAuthority())) {
-                return true;
-            }
-        }
-        return false;
+        return Permissions.current(PermissionRegistry.ordinal(authority));
     }
 
     private void enforceQuantityBounds(Product product, ProductVariant variant, int quantity) {
@@ -17,6 +17,8 @@ import com.example.rbac.client.checkout.dto.OrderTaxLineDto;
 import com.example.rbac.client.checkout.dto.PaymentMethodDto;
 import com.example.rbac.client.checkout.dto.PaymentMethodSettingsRequest;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.security.PermissionRegistry;
+import com.example.rbac.common.security.Permissions;
 import com.example.rbac.admin.finance.taxrate.model.TaxRate;
 import com.example.rbac.admin.finance.taxrate.model.TaxRateType;
 import com.example.rbac.client.shipping.dto.ShippingOptionDto;
@@ -30,7 +32,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -225,15 +226,7 @@ public class CheckoutService {
     }
 
     private boolean hasAuthority(Authentication authentication, String authority) {
-        if (authentication == null || authority == null) {
-            return false;
-        }
-        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
-            if (authority.equals(grantedAuthority.getAuthority())) {
-                return true;
-            }
-        }
-        return false;
+        return Permissions.has(authentication, PermissionRegistry.ordinal(authority));
     }
 
     private boolean hasOrderAccess(Authentication authentication) {
@@ -5,24 +5,20 @@ import com.example.rbac.admin.settings.service.SettingsService;
 import com.example.rbac.admin.users.dto.UserDto;
 import com.example.rbac.admin.users.mapper.UserMapper;
 import com.example.rbac.admin.users.model.User;
-import com.example.rbac.common.auth.token.RefreshToken;
-import com.example.rbac.common.auth.token.RefreshTokenRepository;
+import com.example.rbac.common.auth.token.RefreshTokenRepository.StoredRefreshToken;
+import com.example.rbac.common.auth.token.RefreshTokenService;
 import com.example.rbac.common.auth.dto.AuthResponse;
+import com.example.rbac.common.auth.throttle.LoginThrottle;
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.security.PasswordHashingService;
+import com.example.rbac.common.web.UserAgentClassifier;
 import com.example.rbac.config.JwtService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
-import org.hibernate.exception.ConstraintViolationException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.LockedException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
-
-import java.time.Instant;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -30,33 +26,35 @@ import java.util.Optional;
 public abstract class BaseAuthService {
 
     protected static final String CUSTOMER_ROLE_KEY = "CUSTOMER";
-    private static final int MAX_FAILED_LOGIN_ATTEMPTS = 5;
 
     private final com.example.rbac.admin.users.repository.UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
     private final JwtService jwtService;
     private final UserMapper userMapper;
     private final SettingsService settingsService;
     private final ActivityRecorder activityRecorder;
+    private final UserAgentClassifier userAgentClassifier;
 
     protected BaseAuthService(com.example.rbac.admin.users.repository.UserRepository userRepository,
-                              RefreshTokenRepository refreshTokenRepository,
-                              PasswordEncoder passwordEncoder,
-                              AuthenticationManager authenticationManager,
+                              RefreshTokenService refreshTokenService,
+                              PasswordHashingService passwordHashingService,
+                              LoginThrottle loginThrottle,
                               JwtService jwtService,
                               UserMapper userMapper,
                               SettingsService settingsService,
-                              ActivityRecorder activityRecorder) {
+                              ActivityRecorder activityRecorder,
+                              UserAgentClassifier userAgentClassifier) {
         this.userRepository = userRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordHashingService = passwordHashingService;
+        this.loginThrottle = loginThrottle;
         this.jwtService = jwtService;
         this.userMapper = userMapper;
         this.settingsService = settingsService;
         this.activityRecorder = activityRecorder;
+        this.userAgentClassifier = userAgentClassifier;
     }
 
     protected abstract void enforcePortalAccess(User user);
@@ -67,8 +65,14 @@ public abstract class BaseAuthService {
     }
 
     protected AuthResult loginInternal(String email, String password, boolean requireEmailVerification) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ApiException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
+        String clientAddress = currentClientAddress();
+        loginThrottle.checkClient(clientAddress);
+        Optional<User> found = userRepository.findByEmail(email);
+        if (found.isEmpty()) {
+            loginThrottle.recordClientFailure(clientAddress);
+            throw new ApiException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+        }
+        User user = found.get();
 
         if (!user.isActive()) {
             HashMap<String, Object> context = new HashMap<>(buildAuthContext(user));
@@ -85,34 +89,17 @@ public abstract class BaseAuthService {
             throw new ApiException(HttpStatus.FORBIDDEN, "Your account is locked. Please contact an administrator.");
         }
 
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(email, password));
-            if (!authentication.isAuthenticated()) {
-                throw new ApiException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
-            }
-        } catch (BadCredentialsException ex) {
-            FailedLoginAttempt failure = registerFailedLogin(user);
+        if (!passwordHashingService.verify(password, user.getPasswordHash())) {
+            FailedLoginAttempt failure = registerFailedLogin(user, clientAddress);
             if (failure.locked()) {
                 throw new ApiException(HttpStatus.FORBIDDEN,
-                        "Your account has been locked after too many failed attempts. Please contact an administrator.", ex);
+                        "Your account has been locked after too many failed attempts. Please contact an administrator.");
             }
             String message = buildRemainingAttemptsMessage(failure.attemptsRemaining());
-            throw new ApiException(HttpStatus.UNAUTHORIZED, message, ex);
-        } catch (LockedException ex) {
-            HashMap<String, Object> context = new HashMap<>(buildAuthContext(user));
-            context.put("reason", "LOCKED");
-            context.put("loginAttempts", user != null ? user.getLoginAttempts() : null);
-            activityRecorder.recordForUser(user, "Authentication", "LOGIN_BLOCKED", "Login blocked for locked account", "BLOCKED", context);
-            throw new ApiException(HttpStatus.FORBIDDEN, "Your account is locked. Please contact an administrator.", ex);
-        } catch (DisabledException ex) {
-            HashMap<String, Object> context = new HashMap<>(buildAuthContext(user));
-            context.put("reason", "INACTIVE");
-            activityRecorder.recordForUser(user, "Authentication", "LOGIN_BLOCKED", "Login blocked for inactive account", "BLOCKED", context);
-            throw new ApiException(HttpStatus.FORBIDDEN, "Your account is inactive. Please contact an administrator.", ex);
+            throw new ApiException(HttpStatus.UNAUTHORIZED, message);
         }
 
-        resetLoginState(user);
+        resetLoginState(user, password);
 
         if (requireEmailVerification && user.getEmailVerifiedAt() == null) {
             HashMap<String, Object> context = new HashMap<>(buildAuthContext(user));
@@ -142,28 +129,24 @@ public abstract class BaseAuthService {
 
     @Transactional
     protected AuthResult refreshInternal(String refreshToken) {
-        RefreshToken token = refreshTokenRepository.findByToken(refreshToken)
-                .orElseThrow(() -> new ApiException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
-        if (token.isRevoked() || token.getExpiresAt().isBefore(Instant.now())) {
-            throw new ApiException(HttpStatus.UNAUTHORIZED, "Refresh token expired or revoked");
-        }
-        token.setRevoked(true);
-        refreshTokenRepository.save(token);
-        User user = userRepository.findDetailedById(token.getUser().getId())
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findDetailedById(rotation.userId())
                 .orElseThrow(() -> new ApiException(HttpStatus.UNAUTHORIZED, "User not found"));
         enforcePortalAccess(user);
-        String newRefresh = createRefreshToken(user);
         activityRecorder.recordForUser(user, "Authentication", "TOKEN_REFRESH", "Refreshed access token", "SUCCESS", buildAuthContext(user));
-        return new AuthResult(user, newRefresh);
+        return new AuthResult(user, rotation.refreshToken());
     }
 
     @Transactional
     protected void logoutInternal(String refreshToken) {
-        refreshTokenRepository.findByToken(refreshToken).ifPresent(token -> {
-            token.setRevoked(true);
-            refreshTokenRepository.save(token);
-            activityRecorder.recordForUser(token.getUser(), "Authentication", "LOGOUT", "User logged out", "SUCCESS", buildLogoutContext(token));
-        });
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        refreshTokenService.revoke(refreshToken)
+                .filter(token -> token.revokedAt() == null)
+                .ifPresent(token -> userRepository.findById(token.userId()).ifPresent(user ->
+                        activityRecorder.recordForUser(user, "Authentication", "LOGOUT", "User logged out", "SUCCESS",
+                                buildLogoutContext(token))));
     }
 
     @Transactional
@@ -190,8 +173,8 @@ public abstract class BaseAuthService {
         return userRepository;
     }
 
-    protected PasswordEncoder getPasswordEncoder() {
-        return passwordEncoder;
+    protected PasswordHashingService getPasswordHashingService() {
+        return passwordHashingService;
     }
 
     protected AuthResponse buildAuthResponse(User user, String refreshTokenValue) {
@@ -225,88 +208,74 @@ public abstract class BaseAuthService {
             context.put("email", user.getEmail());
         }
         context.put("active", user.isActive());
+        putClientInfo(context);
         return context;
     }
 
+    /**
+     * The connecting address as the servlet container reports it. Forwarding headers are deliberately not read here,
+     * since a client could rotate them to dodge throttling; behind a proxy set {@code server.forward-headers-strategy}.
+     */
+    private String currentClientAddress() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        return request.getRemoteAddr();
+    }
+
+    private void putClientInfo(Map<String, Object> context) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        UserAgentClassifier.UserAgentInfo client = userAgentClassifier.classify(attributes.getRequest().getHeader("User-Agent"));
+        if (client == null) {
+            return;
+        }
+        if (client.browser() != null) {
+            context.put("browser", client.browser());
+        }
+        if (client.operatingSystem() != null) {
+            context.put("operatingSystem", client.operatingSystem());
+        }
+        context.put("deviceType", client.deviceType());
+    }
+
     protected AuthResult issueTokens(User user) {
         String refreshToken = createRefreshToken(user);
         return new AuthResult(user, refreshToken);
     }
 
     private String createRefreshToken(User user) {
-        DataIntegrityViolationException lastViolation = null;
-        for (int attempt = 0; attempt < 5; attempt++) {
-            String tokenValue = jwtService.generateRefreshToken(user);
-            RefreshToken refreshToken = new RefreshToken();
-            refreshToken.setToken(tokenValue);
-            refreshToken.setUser(user);
-            refreshToken.setExpiresAt(jwtService.calculateRefreshExpiry());
-            try {
-                refreshTokenRepository.saveAndFlush(refreshToken);
-                return tokenValue;
-            } catch (DataIntegrityViolationException ex) {
-                lastViolation = ex;
-                if (!isDuplicateRefreshTokenViolation(ex)) {
-                    throw ex;
-                }
-            }
-        }
-        throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to issue refresh token", lastViolation);
+        return refreshTokenService.issue(user.getId());
     }
 
-    private boolean isDuplicateRefreshTokenViolation(DataIntegrityViolationException ex) {
-        Throwable cause = ex;
-        while (cause != null) {
-            if (cause instanceof ConstraintViolationException violation) {
-                String constraintName = Optional.ofNullable(violation.getConstraintName()).orElse("");
-                if (constraintName.contains("refresh_tokens") && constraintName.contains("token")) {
-                    return true;
-                }
-            }
-            String message = cause.getMessage();
-            if (message != null && message.contains("refresh_tokens") && message.contains("token") && message.contains("Duplicate")) {
-                return true;
-            }
-            cause = cause.getCause();
-        }
-        return false;
-    }
-
-    private FailedLoginAttempt registerFailedLogin(User user) {
+    /**
+     * Counts the failure in {@link LoginThrottle} and touches {@code users} only when the account crosses the lockout
+     * threshold, with a conditional update instead of a row lock.
+     */
+    private FailedLoginAttempt registerFailedLogin(User user, String clientAddress) {
+        int maxAttempts = loginThrottle.getMaxAccountFailures();
         if (user == null) {
-            return new FailedLoginAttempt(false, 0, MAX_FAILED_LOGIN_ATTEMPTS);
+            loginThrottle.recordClientFailure(clientAddress);
+            return new FailedLoginAttempt(false, 0, maxAttempts);
         }
-        User managed = userRepository.findByIdForUpdate(user.getId())
-                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "User not found"));
-        if (managed.getLockedAt() != null) {
-            HashMap<String, Object> context = new HashMap<>(buildAuthContext(managed));
-            context.put("loginAttempts", managed.getLoginAttempts());
+        int attempts = loginThrottle.recordFailure(clientAddress, user.getId(), user.getLoginAttempts());
+        HashMap<String, Object> context = new HashMap<>(buildAuthContext(user));
+        context.put("loginAttempts", attempts);
+        if (attempts >= maxAttempts) {
             context.put("locked", true);
-            activityRecorder.recordForUser(managed, "Authentication", "LOGIN_FAILED", "Attempted sign-in while account is locked", "LOCKED", context);
-            user.setLoginAttempts(managed.getLoginAttempts());
-            user.setLockedAt(managed.getLockedAt());
-            return new FailedLoginAttempt(true, managed.getLoginAttempts(), 0);
-        }
-        int attempts = managed.getLoginAttempts() + 1;
-        managed.setLoginAttempts(attempts);
-        boolean locked = attempts >= MAX_FAILED_LOGIN_ATTEMPTS;
-        if (locked) {
-            managed.setLockedAt(Instant.now());
+            if (loginThrottle.lock(user.getId(), attempts)) {
+                activityRecorder.recordForUser(user, "Authentication", "LOGIN_FAILED", "Account locked after failed sign-in attempt", "LOCKED", context);
+            } else {
+                activityRecorder.recordForUser(user, "Authentication", "LOGIN_FAILED", "Attempted sign-in while account is locked", "LOCKED", context);
+            }
+            return new FailedLoginAttempt(true, attempts, 0);
         }
-        userRepository.saveAndFlush(managed);
-        user.setLoginAttempts(managed.getLoginAttempts());
-        user.setLockedAt(managed.getLockedAt());
-        HashMap<String, Object> context = new HashMap<>(buildAuthContext(managed));
-        context.put("loginAttempts", managed.getLoginAttempts());
-        int attemptsRemaining = Math.max(MAX_FAILED_LOGIN_ATTEMPTS - managed.getLoginAttempts(), 0);
+        int attemptsRemaining = maxAttempts - attempts;
         context.put("attemptsRemaining", attemptsRemaining);
-        if (locked) {
-            context.put("locked", true);
-            activityRecorder.recordForUser(managed, "Authentication", "LOGIN_FAILED", "Account locked after failed sign-in attempt", "LOCKED", context);
-        } else {
-            activityRecorder.recordForUser(managed, "Authentication", "LOGIN_FAILED", "Failed sign-in attempt", "FAILURE", context);
-        }
-        return new FailedLoginAttempt(locked, managed.getLoginAttempts(), attemptsRemaining);
+        activityRecorder.recordForUser(user, "Authentication", "LOGIN_FAILED", "Failed sign-in attempt", "FAILURE", context);
+        return new FailedLoginAttempt(false, attempts, attemptsRemaining);
     }
 
     private String buildRemainingAttemptsMessage(int attemptsRemaining) {
@@ -322,13 +291,28 @@ public abstract class BaseAuthService {
     private record FailedLoginAttempt(boolean locked, int attempts, int attemptsRemaining) {
     }
 
-    private void resetLoginState(User user) {
+    /**
+     * Clears failed-attempt tracking after a successful sign-in and, while the plain password is at hand, rehashes it
+     * when the stored hash predates the configured algorithm or cost. The row is only locked when something changes.
+     */
+    private void resetLoginState(User user, String password) {
         if (user == null) {
             return;
         }
+        loginThrottle.recordSuccess(user.getId());
+        String rehashed = passwordHashingService.needsRehash(user.getPasswordHash())
+                ? passwordHashingService.hash(password)
+                : null;
+        if (rehashed == null && user.getLoginAttempts() == 0 && user.getLockedAt() == null) {
+            return;
+        }
         User managed = userRepository.findByIdForUpdate(user.getId())
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "User not found"));
         boolean changed = false;
+        if (rehashed != null) {
+            managed.setPasswordHash(rehashed);
+            changed = true;
+        }
         if (managed.getLoginAttempts() != 0) {
             managed.setLoginAttempts(0);
             changed = true;
@@ -344,14 +328,10 @@ public abstract class BaseAuthService {
         user.setLockedAt(managed.getLockedAt());
     }
 
-    private Map<String, Object> buildLogoutContext(RefreshToken token) {
+    private Map<String, Object> buildLogoutContext(StoredRefreshToken token) {
         HashMap<String, Object> context = new HashMap<>();
-        if (token.getId() != null) {
-            context.put("refreshTokenId", token.getId());
-        }
-        if (token.getUser() != null && token.getUser().getId() != null) {
-            context.put("userId", token.getUser().getId());
-        }
+        context.put("refreshTokenFamilyId", token.familyId());
+        context.put("userId", token.userId());
         return context;
     }
 
@@ -0,0 +1,50 @@
+package com.example.rbac.common.auth.throttle;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes login lockout state to {@code users} with plain conditional updates, so recording it never needs a
+ * {@code SELECT ... FOR UPDATE} on the account row.
+ */
+@Repository
+public class LoginAttemptRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoginAttemptRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the account unless it is locked already. Runs in its own transaction because the failed sign-in that
+     * triggers it rolls back the caller's.
+     *
+     * @return whether this call locked the account
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean lock(long userId, int attempts, Instant lockedAt) {
+        return jdbcTemplate.update("UPDATE users SET login_attempts = ?, locked_at = ? WHERE id = ? AND locked_at IS NULL",
+                attempts, Timestamp.from(lockedAt), userId) == 1;
+    }
+
+    /**
+     * Records the current failed-attempt count of accounts that are not locked.
+     */
+    public void updateAttempts(Map<Long, Integer> attemptsByUser) {
+        if (attemptsByUser.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(attemptsByUser.size());
+        attemptsByUser.forEach((userId, attempts) -> batch.add(new Object[]{attempts, userId}));
+        jdbcTemplate.batchUpdate("UPDATE users SET login_attempts = ? WHERE id = ? AND locked_at IS NULL", batch);
+    }
+}
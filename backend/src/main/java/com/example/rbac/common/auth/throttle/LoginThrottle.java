@@ -0,0 +1,220 @@
+package com.example.rbac.common.auth.throttle;
+
+import com.example.rbac.common.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts failed sign-ins in memory over sliding windows, per account and per client address, so a burst of wrong
+ * passwords no longer serializes on the {@code users} row. An address that has failed
+ * {@code app.security.login.max-client-failures} times within {@code client-window} is turned away with
+ * {@code 429 Too Many Requests} before its password is hashed. An account is locked, with a single conditional update,
+ * when its failures within {@code account-window} reach {@code max-account-failures}; the running counts are written
+ * back in one batch every {@code flush-interval} so administrators still see them.
+ *
+ * <p>Counts live on the node that saw the attempts, so with several nodes behind a balancer an attacker spreading
+ * attempts gets up to one allowance per node before the shared lock takes effect. At most
+ * {@code max-tracked-keys} addresses and accounts are tracked; beyond that new keys are not counted until idle ones
+ * are evicted.</p>
+ */
+@Component
+public class LoginThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private static final String THROTTLED_MESSAGE =
+            "Too many failed sign-in attempts from your network. Please try again later.";
+
+    private final LoginAttemptRepository loginAttemptRepository;
+    private final int maxAccountFailures;
+    private final long accountWindowNanos;
+    private final int maxClientFailures;
+    private final long clientWindowNanos;
+    private final int maxTrackedKeys;
+    private final LongSupplier clock;
+    private final Map<Long, AccountWindow> accounts = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowCounter> clients = new ConcurrentHashMap<>();
+    private final Counter throttledCounter;
+
+    public LoginThrottle(LoginAttemptRepository loginAttemptRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.security.login.max-account-failures:5}") int maxAccountFailures,
+                         @Value("${app.security.login.account-window:P1D}") Duration accountWindow,
+                         @Value("${app.security.login.max-client-failures:50}") int maxClientFailures,
+                         @Value("${app.security.login.client-window:PT10M}") Duration clientWindow,
+                         @Value("${app.security.login.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this(loginAttemptRepository, meterRegistry, maxAccountFailures, accountWindow, maxClientFailures, clientWindow,
+                maxTrackedKeys, System::nanoTime);
+    }
+
+    LoginThrottle(LoginAttemptRepository loginAttemptRepository,
+                  MeterRegistry meterRegistry,
+                  int maxAccountFailures,
+                  Duration accountWindow,
+                  int maxClientFailures,
+                  Duration clientWindow,
+                  int maxTrackedKeys,
+                  LongSupplier clock) {
+        this.loginAttemptRepository = loginAttemptRepository;
+        this.maxAccountFailures = Math.max(1, maxAccountFailures);
+        this.accountWindowNanos = accountWindow.toNanos();
+        this.maxClientFailures = maxClientFailures;
+        this.clientWindowNanos = clientWindow.toNanos();
+        this.maxTrackedKeys = Math.max(1, maxTrackedKeys);
+        this.clock = clock;
+        this.throttledCounter = Counter.builder("auth.login.throttled")
+                .description("Sign-in attempts rejected because the client address failed too often")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.tracked", this, throttle -> throttle.accounts.size() + throttle.clients.size())
+                .description("Accounts and client addresses with failed sign-ins in memory")
+                .register(meterRegistry);
+    }
+
+    public int getMaxAccountFailures() {
+        return maxAccountFailures;
+    }
+
+    /**
+     * Rejects the attempt outright when {@code clientAddress} is over its failure allowance.
+     */
+    public void checkClient(String clientAddress) {
+        if (clientAddress == null || maxClientFailures <= 0) {
+            return;
+        }
+        SlidingWindowCounter counter = clients.get(clientAddress);
+        if (counter != null && counter.count(clock.getAsLong()) >= maxClientFailures) {
+            throttledCounter.increment();
+            throw new ApiException(HttpStatus.TOO_MANY_REQUESTS, THROTTLED_MESSAGE);
+        }
+    }
+
+    /**
+     * Counts a failure against {@code clientAddress} alone, e.g. for an unknown e-mail address.
+     */
+    public void recordClientFailure(String clientAddress) {
+        if (clientAddress == null || maxClientFailures <= 0) {
+            return;
+        }
+        SlidingWindowCounter counter = clients.get(clientAddress);
+        if (counter == null) {
+            if (clients.size() >= maxTrackedKeys) {
+                return;
+            }
+            counter = clients.computeIfAbsent(clientAddress,
+                    ignored -> new SlidingWindowCounter(clientWindowNanos, clock.getAsLong()));
+        }
+        counter.add(clock.getAsLong(), 1);
+    }
+
+    /**
+     * Counts a wrong password for an unlocked account.
+     *
+     * @param persistedAttempts the account's stored {@code login_attempts}, used to seed a count this node has not seen
+     * @return the account's failures within the window, including this one
+     */
+    public int recordFailure(String clientAddress, long userId, int persistedAttempts) {
+        recordClientFailure(clientAddress);
+        long now = clock.getAsLong();
+        AccountWindow window = accounts.get(userId);
+        if (window == null && accounts.size() >= maxTrackedKeys) {
+            return Math.max(0, persistedAttempts) + 1;
+        }
+        int[] failures = new int[1];
+        // Counting inside compute keeps flush() from evicting the window between lookup and increment. A window
+        // this node locked but whose account is unlocked again was reset by an administrator.
+        accounts.compute(userId, (id, existing) -> {
+            AccountWindow current = existing == null || existing.locked
+                    ? new AccountWindow(new SlidingWindowCounter(accountWindowNanos, now), persistedAttempts, now)
+                    : existing;
+            failures[0] = current.counter.add(now, 1);
+            current.dirty = true;
+            return current;
+        });
+        return failures[0];
+    }
+
+    /**
+     * Persists the lock for an account that reached {@link #getMaxAccountFailures()}.
+     *
+     * @return whether this call locked it, as opposed to a concurrent attempt or another node
+     */
+    public boolean lock(long userId, int attempts) {
+        AccountWindow window = accounts.get(userId);
+        if (window != null) {
+            window.locked = true;
+            window.dirty = false;
+        }
+        return loginAttemptRepository.lock(userId, attempts, Instant.now());
+    }
+
+    public void recordSuccess(long userId) {
+        accounts.remove(userId);
+    }
+
+    /**
+     * Writes pending attempt counts and drops windows that have gone quiet. A window whose failures all slid out of
+     * it writes {@code login_attempts = 0} first, so the stale count does not seed the next failure.
+     */
+    @Scheduled(fixedDelayString = "${app.security.login.flush-interval:PT30S}")
+    public void flush() {
+        long now = clock.getAsLong();
+        Map<Long, Integer> pending = new HashMap<>();
+        for (Long userId : accounts.keySet()) {
+            accounts.computeIfPresent(userId, (id, window) -> {
+                int failures = window.counter.count(now);
+                if (window.dirty) {
+                    window.dirty = false;
+                } else if (window.locked || (failures == 0 && window.persistedAttempts == 0)) {
+                    return null;
+                } else if (failures != 0) {
+                    return window;
+                }
+                window.persistedAttempts = failures;
+                pending.put(id, failures);
+                return window;
+            });
+        }
+        clients.entrySet().removeIf(entry -> entry.getValue().count(now) == 0);
+        try {
+            loginAttemptRepository.updateAttempts(pending);
+        } catch (DataAccessException ex) {
+            log.warn("Unable to persist failed sign-in counts for {} account(s)", pending.size(), ex);
+            pending.keySet().forEach(userId -> accounts.computeIfPresent(userId, (id, window) -> {
+                window.dirty = !window.locked;
+                return window;
+            }));
+        }
+    }
+
+    private static final class AccountWindow {
+
+        private final SlidingWindowCounter counter;
+        private volatile boolean dirty;
+        private volatile boolean locked;
+        /** The value {@code users.login_attempts} was last seen or written with. */
+        private volatile int persistedAttempts;
+
+        private AccountWindow(SlidingWindowCounter counter, int persistedAttempts, long now) {
+            this.counter = counter;
+            if (persistedAttempts > 0) {
+                counter.add(now, persistedAttempts);
+                this.persistedAttempts = persistedAttempts;
+            }
+        }
+    }
+}
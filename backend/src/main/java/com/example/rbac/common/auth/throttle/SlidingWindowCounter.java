@@ -0,0 +1,45 @@
+package com.example.rbac.common.auth.throttle;
+
+/**
+ * Approximate sliding-window event counter: the count for the current fixed window plus the previous window's count
+ * weighted by how much of it still overlaps the sliding window. Two integers per key instead of a timestamp per event.
+ */
+final class SlidingWindowCounter {
+
+    private final long windowNanos;
+    private long bucketStart;
+    private int current;
+    private int previous;
+
+    SlidingWindowCounter(long windowNanos, long now) {
+        this.windowNanos = Math.max(1L, windowNanos);
+        this.bucketStart = now;
+    }
+
+    synchronized int add(long now, int events) {
+        roll(now);
+        current += events;
+        return estimate(now);
+    }
+
+    synchronized int count(long now) {
+        roll(now);
+        return estimate(now);
+    }
+
+    private void roll(long now) {
+        long elapsed = now - bucketStart;
+        if (elapsed < windowNanos) {
+            return;
+        }
+        long windows = elapsed / windowNanos;
+        previous = windows == 1 ? current : 0;
+        current = 0;
+        bucketStart += windows * windowNanos;
+    }
+
+    private int estimate(long now) {
+        double overlap = (double) (windowNanos - (now - bucketStart)) / windowNanos;
+        return current + (int) (previous * overlap);
+    }
+}
@@ -1,15 +1,81 @@
 package com.example.rbac.common.auth.token;
 
-import com.example.rbac.admin.users.model.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+/**
+ * Refresh tokens keyed by the SHA-256 digest of the token value, so a lookup is a primary-key probe on a 32-byte
+ * binary key. Every token belongs to a rotation family started at sign-in; revoking the family row invalidates every
+ * token ever issued from that sign-in at once.
+ */
+@Repository
+public class RefreshTokenRepository {
 
-    void deleteByUser(User user);
+    private static final String FIND_SQL = "SELECT t.family_id, f.user_id, t.expires_at, t.used_at, f.revoked_at " +
+            "FROM refresh_tokens t JOIN refresh_token_families f ON f.id = t.family_id WHERE t.token_hash = ?";
 
-    void deleteByExpiresAtBefore(Instant time);
+    private final JdbcTemplate jdbcTemplate;
+
+    public RefreshTokenRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long createFamily(long userId, Instant createdAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO refresh_token_families (user_id, created_at) VALUES (?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, userId);
+            statement.setTimestamp(2, Timestamp.from(createdAt));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    public void insert(byte[] tokenHash, long familyId, Instant issuedAt, Instant expiresAt) {
+        jdbcTemplate.update("INSERT INTO refresh_tokens (token_hash, family_id, issued_at, expires_at) VALUES (?, ?, ?, ?)",
+                tokenHash, familyId, Timestamp.from(issuedAt), Timestamp.from(expiresAt));
+    }
+
+    public Optional<StoredRefreshToken> findByHash(byte[] tokenHash) {
+        List<StoredRefreshToken> tokens = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new StoredRefreshToken(
+                rs.getLong("family_id"),
+                rs.getLong("user_id"),
+                rs.getTimestamp("expires_at").toInstant(),
+                toInstant(rs.getTimestamp("used_at")),
+                toInstant(rs.getTimestamp("revoked_at"))), tokenHash);
+        return tokens.stream().findFirst();
+    }
+
+    /**
+     * Marks the token as rotated unless another request already did.
+     *
+     * @return whether this call consumed the token
+     */
+    public boolean markUsed(byte[] tokenHash, Instant usedAt) {
+        return jdbcTemplate.update("UPDATE refresh_tokens SET used_at = ? WHERE token_hash = ? AND used_at IS NULL",
+                Timestamp.from(usedAt), tokenHash) == 1;
+    }
+
+    public void revokeFamily(long familyId, Instant revokedAt, String reason) {
+        jdbcTemplate.update("UPDATE refresh_token_families SET revoked_at = ?, revoked_reason = ? " +
+                "WHERE id = ? AND revoked_at IS NULL", Timestamp.from(revokedAt), reason, familyId);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    public record StoredRefreshToken(long familyId, long userId, Instant expiresAt, Instant usedAt, Instant revokedAt) {
+    }
 }
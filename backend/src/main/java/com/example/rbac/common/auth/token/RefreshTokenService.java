@@ -0,0 +1,122 @@
+package com.example.rbac.common.auth.token;
+
+import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.config.JwtProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and rotates opaque refresh tokens. Only the SHA-256 digest of a token is stored, so a leaked table cannot be
+ * replayed, and each refresh consumes the presented token and hands out the next one in the same family.
+ *
+ * <p>Presenting a token that was already rotated means two parties hold it; the whole family is revoked so the stolen
+ * copy and the legitimate session both have to sign in again. A request that races a rotation of the same token by
+ * less than {@code app.jwt.refresh-reuse-grace-seconds} (two tabs refreshing at once) gets its own successor token
+ * instead.</p>
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    static final String REVOKED_LOGOUT = "LOGOUT";
+    static final String REVOKED_REUSE = "REUSE";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtProperties jwtProperties;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtProperties jwtProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtProperties = jwtProperties;
+    }
+
+    /**
+     * Starts a new rotation family for a fresh sign-in.
+     */
+    @Transactional
+    public String issue(Long userId) {
+        Instant now = Instant.now();
+        long familyId = refreshTokenRepository.createFamily(userId, now);
+        return issueInFamily(familyId, now);
+    }
+
+    /**
+     * Consumes {@code presentedToken} and returns its successor. Runs in its own transaction so that a family revoked
+     * for reuse stays revoked even though the caller's request fails.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, noRollbackFor = ApiException.class)
+    public Rotation rotate(String presentedToken) {
+        byte[] hash = hash(presentedToken);
+        RefreshTokenRepository.StoredRefreshToken token = refreshTokenRepository.findByHash(hash)
+                .orElseThrow(() -> new ApiException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+        Instant now = Instant.now();
+        if (token.revokedAt() != null || !token.expiresAt().isAfter(now)) {
+            throw new ApiException(HttpStatus.UNAUTHORIZED, "Refresh token expired or revoked");
+        }
+        if (!refreshTokenRepository.markUsed(hash, now) && !withinReuseGrace(hash, now)) {
+            refreshTokenRepository.revokeFamily(token.familyId(), now, REVOKED_REUSE);
+            log.warn("Refresh token reuse detected for user {}; revoked token family {}", token.userId(), token.familyId());
+            throw new ApiException(HttpStatus.UNAUTHORIZED, "Refresh token expired or revoked");
+        }
+        return new Rotation(token.userId(), token.familyId(), issueInFamily(token.familyId(), now));
+    }
+
+    /**
+     * Revokes the family {@code presentedToken} belongs to, ending that sign-in on every device that shares it.
+     */
+    @Transactional
+    public Optional<RefreshTokenRepository.StoredRefreshToken> revoke(String presentedToken) {
+        Optional<RefreshTokenRepository.StoredRefreshToken> token = refreshTokenRepository.findByHash(hash(presentedToken));
+        token.filter(found -> found.revokedAt() == null)
+                .ifPresent(found -> refreshTokenRepository.revokeFamily(found.familyId(), Instant.now(), REVOKED_LOGOUT));
+        return token;
+    }
+
+    private boolean withinReuseGrace(byte[] hash, Instant now) {
+        Duration grace = Duration.ofSeconds(Math.max(0L, jwtProperties.getRefreshReuseGraceSeconds()));
+        return refreshTokenRepository.findByHash(hash)
+                .map(RefreshTokenRepository.StoredRefreshToken::usedAt)
+                .filter(usedAt -> !usedAt.plus(grace).isBefore(now))
+                .isPresent();
+    }
+
+    private String issueInFamily(long familyId, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String value = ENCODER.encodeToString(bytes);
+        refreshTokenRepository.insert(hash(value), familyId, now,
+                now.plusSeconds(jwtProperties.getRefreshTokenTtlSeconds()));
+        return value;
+    }
+
+    static byte[] hash(String token) {
+        if (token == null || token.isBlank()) {
+            throw new ApiException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record Rotation(long userId, long familyId, String refreshToken) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.rbac.common.concurrent;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small shared pool running the stale-while-revalidate refreshes of {@link SingleFlightLoader}s. Its queue is bounded
+ * and it rejects rather than discards, so a loader that cannot hand a refresh off runs it on the calling thread.
+ */
+@Component
+public class BackgroundRefreshExecutor implements Executor {
+
+    private final ThreadPoolExecutor executor;
+
+    public BackgroundRefreshExecutor(@Value("${app.cache.refresh.threads:2}") int threads,
+                                     @Value("${app.cache.refresh.queue-capacity:256}") int queueCapacity) {
+        int workers = Math.max(1, threads);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
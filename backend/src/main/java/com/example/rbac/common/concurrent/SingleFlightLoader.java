@@ -0,0 +1,237 @@
+package com.example.rbac.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache that coalesces concurrent misses: callers asking for a key that is already being loaded wait on
+ * the one in-flight {@link CompletableFuture} instead of each running the loader, so an expired or invalidated hot key
+ * costs a single trip to the database. A loaded value is fresh for {@code ttl}; for a further
+ * {@code staleWhileRevalidate} it is still returned while one background refresh replaces it.
+ *
+ * <p>Invalidation drops entries outright (nothing stale is served after it), and a load that started before it still
+ * answers its callers but is not stored. {@link #invalidate(Object)} does that by retiring the key's in-flight load,
+ * so loads of other keys are unaffected; {@link #invalidateAll()} bumps a loader-wide generation. Failed loads are not
+ * cached; every caller waiting on
+ * one receives its exception. At most {@code maxEntries} keys are kept; beyond that new values are returned without
+ * being stored until expired ones are purged.</p>
+ */
+public final class SingleFlightLoader<K, V> {
+
+    private final Function<K, V> loader;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+    private final LongSupplier clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+    private final Timer loadTimer;
+
+    public SingleFlightLoader(String name,
+                              Function<K, V> loader,
+                              Duration ttl,
+                              Duration staleWhileRevalidate,
+                              int maxEntries,
+                              Executor refreshExecutor,
+                              MeterRegistry meterRegistry) {
+        this(name, loader, ttl, staleWhileRevalidate, maxEntries, refreshExecutor, meterRegistry, System::nanoTime);
+    }
+
+    SingleFlightLoader(String name,
+                       Function<K, V> loader,
+                       Duration ttl,
+                       Duration staleWhileRevalidate,
+                       int maxEntries,
+                       Executor refreshExecutor,
+                       MeterRegistry meterRegistry,
+                       LongSupplier clock) {
+        this.loader = loader;
+        this.ttlNanos = Math.max(0L, ttl.toNanos());
+        this.staleNanos = staleWhileRevalidate == null ? 0L : Math.max(0L, staleWhileRevalidate.toNanos());
+        this.maxEntries = Math.max(1, maxEntries);
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.hitCounter = requests(meterRegistry, name, "hit");
+        this.staleCounter = requests(meterRegistry, name, "stale");
+        this.missCounter = requests(meterRegistry, name, "miss");
+        this.coalescedCounter = requests(meterRegistry, name, "coalesced");
+        this.loadTimer = Timer.builder("cache.loader.load")
+                .description("Time spent running the loader behind a single-flight cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value for {@code key}, loading it on the calling thread (or waiting for the load already in
+     * flight) when there is none worth serving.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long age = clock.getAsLong() - entry.loadedAt;
+            if (age < ttlNanos) {
+                hitCounter.increment();
+                return entry.value;
+            }
+            if (age < ttlNanos + staleNanos) {
+                staleCounter.increment();
+                refreshInBackground(key);
+                return entry.value;
+            }
+        }
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing);
+        }
+        missCounter.increment();
+        load(key, created);
+        return await(created);
+    }
+
+    public void invalidate(K key) {
+        // Retire the in-flight load before dropping the entry; store() re-checks ownership after its put.
+        inFlight.remove(key);
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        inFlight.clear();
+        entries.clear();
+    }
+
+    /**
+     * Invalidates {@code key} once the surrounding transaction commits, or immediately when there is none.
+     */
+    public void invalidateAfterCommit(K key) {
+        afterCommit(() -> invalidate(key));
+    }
+
+    /**
+     * Invalidates every key once the surrounding transaction commits, or immediately when there is none.
+     */
+    public void invalidateAllAfterCommit() {
+        afterCommit(this::invalidateAll);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void refreshInBackground(K key) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, created) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> load(key, created));
+        } catch (RejectedExecutionException ex) {
+            // Callers may already be waiting on this future, so it still has to complete; refresh here instead.
+            load(key, created);
+        }
+    }
+
+    private void load(K key, CompletableFuture<V> future) {
+        long startedGeneration = generation.get();
+        long started = clock.getAsLong();
+        try {
+            V value = loader.apply(key);
+            long loadedAt = clock.getAsLong();
+            loadTimer.record(loadedAt - started, TimeUnit.NANOSECONDS);
+            store(key, future, new Entry<>(value, loadedAt, startedGeneration));
+            future.complete(value);
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Stores the value unless the key was invalidated since {@code future} started loading it, which shows as the
+     * future no longer being the key's in-flight load, or everything was invalidated.
+     */
+    private void store(K key, CompletableFuture<V> future, Entry<V> entry) {
+        if (!isCurrent(key, future, entry)) {
+            return;
+        }
+        if (!entries.containsKey(key) && entries.size() >= maxEntries) {
+            long now = clock.getAsLong();
+            entries.values().removeIf(existing -> now - existing.loadedAt >= ttlNanos + staleNanos);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, entry);
+        // An invalidation that raced the put must not leave the value behind.
+        if (!isCurrent(key, future, entry)) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private boolean isCurrent(K key, CompletableFuture<V> future, Entry<V> entry) {
+        return inFlight.get(key) == future && entry.generation == generation.get();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Cache load failed", cause);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("cache.loader.requests")
+                .description("Lookups against a single-flight cache by outcome")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry<V>(V value, long loadedAt, long generation) {
+    }
+}
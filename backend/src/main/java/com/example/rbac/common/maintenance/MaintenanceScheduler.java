@@ -0,0 +1,170 @@
+package com.example.rbac.common.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purges rows that nothing reads any more: expired refresh and verification tokens, emptied refresh token families,
+ * old recently-viewed entries and carts nobody has touched in a long time. Each table is emptied with repeated
+ * {@code DELETE ... LIMIT} statements and a pause between chunks, so a large backlog never holds long row locks or
+ * floods replication. Only the node holding the {@code maintenance} row in {@code scheduler_locks} runs a pass, and a
+ * pass stops once {@code app.maintenance.max-run-time} is used up; whatever is left is picked up on the next run.
+ */
+@Component
+public class MaintenanceScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceScheduler.class);
+
+    static final String LOCK_NAME = "maintenance";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLockRepository lockRepository;
+    private final MeterRegistry meterRegistry;
+    private final List<PurgeTask> tasks;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration chunkPause;
+    private final Duration maxRunTime;
+    private final Duration lease;
+    private final String owner;
+    private final Counter skippedRuns;
+
+    public MaintenanceScheduler(JdbcTemplate jdbcTemplate,
+                                SchedulerLockRepository lockRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.maintenance.enabled:true}") boolean enabled,
+                                @Value("${app.maintenance.batch-size:1000}") int batchSize,
+                                @Value("${app.maintenance.chunk-pause:PT0.1S}") Duration chunkPause,
+                                @Value("${app.maintenance.max-run-time:PT10M}") Duration maxRunTime,
+                                @Value("${app.maintenance.refresh-tokens.retention:P1D}") Duration refreshTokenRetention,
+                                @Value("${app.maintenance.verification-tokens.retention:P7D}") Duration verificationTokenRetention,
+                                @Value("${app.maintenance.recent-views.retention:P180D}") Duration recentViewRetention,
+                                @Value("${app.maintenance.carts.empty-retention:P7D}") Duration emptyCartRetention,
+                                @Value("${app.maintenance.carts.abandoned-retention:P180D}") Duration abandonedCartRetention) {
+        this(jdbcTemplate, lockRepository, meterRegistry, enabled, batchSize, chunkPause, maxRunTime, List.of(
+                new PurgeTask("refresh-tokens", "refresh_tokens", "expires_at < ?", refreshTokenRetention),
+                new PurgeTask("refresh-token-families", "refresh_token_families", "created_at < ? AND NOT EXISTS " +
+                        "(SELECT 1 FROM refresh_tokens t WHERE t.family_id = refresh_token_families.id)",
+                        refreshTokenRetention),
+                new PurgeTask("verification-tokens", "user_verification_tokens", "expires_at < ?",
+                        verificationTokenRetention),
+                new PurgeTask("recent-views", "user_recent_views", "viewed_at < ?", recentViewRetention),
+                new PurgeTask("empty-carts", "carts", "updated_at < ? AND NOT EXISTS " +
+                        "(SELECT 1 FROM cart_items ci WHERE ci.cart_id = carts.id)", emptyCartRetention),
+                new PurgeTask("abandoned-carts", "carts", "updated_at < ? AND NOT EXISTS " +
+                        "(SELECT 1 FROM cart_items ci WHERE ci.cart_id = carts.id AND ci.updated_at >= ?)",
+                        abandonedCartRetention)));
+    }
+
+    MaintenanceScheduler(JdbcTemplate jdbcTemplate,
+                         SchedulerLockRepository lockRepository,
+                         MeterRegistry meterRegistry,
+                         boolean enabled,
+                         int batchSize,
+                         Duration chunkPause,
+                         Duration maxRunTime,
+                         List<PurgeTask> tasks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockRepository = lockRepository;
+        this.meterRegistry = meterRegistry;
+        this.tasks = List.copyOf(tasks);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.chunkPause = chunkPause == null || chunkPause.isNegative() ? Duration.ZERO : chunkPause;
+        this.maxRunTime = maxRunTime == null || maxRunTime.isNegative() || maxRunTime.isZero()
+                ? Duration.ofMinutes(10) : maxRunTime;
+        this.lease = this.maxRunTime.plusMinutes(5);
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+        this.skippedRuns = Counter.builder("maintenance.runs.skipped")
+                .description("Maintenance passes skipped because another node held the lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.maintenance.cron:0 40 * * * *}", zone = "UTC")
+    public void runMaintenance() {
+        if (!enabled) {
+            return;
+        }
+        if (!lockRepository.tryAcquire(LOCK_NAME, owner, Instant.now(), lease)) {
+            skippedRuns.increment();
+            log.debug("Skipping maintenance; another node holds the {} lock", LOCK_NAME);
+            return;
+        }
+        try {
+            long deadline = System.nanoTime() + maxRunTime.toNanos();
+            for (PurgeTask task : tasks) {
+                if (!task.enabled()) {
+                    continue;
+                }
+                if (System.nanoTime() >= deadline) {
+                    log.info("Maintenance window used up; {} and later tasks resume on the next run", task.name());
+                    break;
+                }
+                purge(task, Instant.now().minus(task.retention()), deadline);
+            }
+        } finally {
+            lockRepository.release(LOCK_NAME, owner, Instant.now());
+        }
+    }
+
+    long purge(PurgeTask task, Instant cutoff, long deadlineNanos) {
+        String sql = "DELETE FROM " + task.table() + " WHERE " + task.condition() + " LIMIT " + batchSize;
+        Object[] parameters = new Object[task.parameterCount()];
+        Arrays.fill(parameters, Timestamp.from(cutoff));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long purged = 0;
+        try {
+            int removed;
+            do {
+                removed = jdbcTemplate.update(sql, parameters);
+                purged += removed;
+            } while (removed == batchSize && System.nanoTime() < deadlineNanos && pause());
+        } catch (DataAccessException ex) {
+            log.error("Maintenance task {} failed after purging {} row(s)", task.name(), purged, ex);
+        } finally {
+            sample.stop(Timer.builder("maintenance.task.duration")
+                    .description("Time spent purging rows for one maintenance task")
+                    .tag("task", task.name())
+                    .register(meterRegistry));
+            Counter.builder("maintenance.rows.purged")
+                    .description("Rows deleted by scheduled maintenance")
+                    .tag("task", task.name())
+                    .register(meterRegistry)
+                    .increment(purged);
+        }
+        if (purged > 0) {
+            log.info("Maintenance task {} purged {} row(s) older than {}", task.name(), purged, cutoff);
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        if (chunkPause.isZero()) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(chunkPause.toNanos());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
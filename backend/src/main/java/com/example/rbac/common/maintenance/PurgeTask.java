@@ -0,0 +1,23 @@
+package com.example.rbac.common.maintenance;
+
+import java.time.Duration;
+
+/**
+ * One table cleanup run by {@link MaintenanceScheduler}.
+ *
+ * @param name      metric tag and log label
+ * @param table     table rows are deleted from
+ * @param condition {@code WHERE} clause selecting purgeable rows; every {@code ?} is bound to the cutoff
+ * @param retention how long rows are kept past the instant {@code condition} compares against; zero or negative
+ *                  disables the task
+ */
+public record PurgeTask(String name, String table, String condition, Duration retention) {
+
+    public boolean enabled() {
+        return retention != null && !retention.isNegative() && !retention.isZero();
+    }
+
+    int parameterCount() {
+        return (int) condition.chars().filter(ch -> ch == '?').count();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.rbac.common.maintenance;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Lease-based locks kept as rows in {@code scheduler_locks}, so a scheduled job that every node triggers runs on only
+ * one of them. A lock is taken by a conditional {@code UPDATE} that only matches an expired lease; a node that dies
+ * mid-run therefore blocks the job for at most one lease.
+ */
+@Repository
+public class SchedulerLockRepository {
+
+    private static final Timestamp UNLOCKED = Timestamp.from(Instant.EPOCH);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchedulerLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return whether {@code owner} now holds {@code name} until {@code now + lease}
+     */
+    public boolean tryAcquire(String name, String owner, Instant now, Duration lease) {
+        Timestamp nowTimestamp = Timestamp.from(toColumnPrecision(now));
+        // A new row starts out expired, so the claim below takes it whatever rounding the column applies.
+        jdbcTemplate.update("INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE name = name", name, UNLOCKED, nowTimestamp, owner);
+        int updated = jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ?, locked_at = ?, locked_by = ? " +
+                        "WHERE name = ? AND locked_until <= ?",
+                Timestamp.from(toColumnPrecision(now.plus(lease))), nowTimestamp, owner, name, nowTimestamp);
+        return updated == 1;
+    }
+
+    /**
+     * Ends the lease early if {@code owner} still holds it.
+     */
+    public void release(String name, String owner, Instant now) {
+        Timestamp nowTimestamp = Timestamp.from(toColumnPrecision(now));
+        jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ? " +
+                "AND locked_until > ?", nowTimestamp, name, owner, nowTimestamp);
+    }
+
+    /**
+     * {@code DATETIME(6)} keeps microseconds and rounds anything finer, which could push a stored time past the same
+     * instant compared later; truncating first makes both sides agree.
+     */
+    private static Instant toColumnPrecision(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.MICROS);
+    }
+}
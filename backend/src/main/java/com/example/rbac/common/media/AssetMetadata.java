@@ -0,0 +1,9 @@
+package com.example.rbac.common.media;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Immutable response metadata for a stored asset, cached so that serving a file never has to probe it again.
+ */
+public record AssetMetadata(MediaType contentType, long contentLength, long lastModified, String etag) {
+}
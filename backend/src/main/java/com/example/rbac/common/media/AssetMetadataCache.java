@@ -0,0 +1,117 @@
+package com.example.rbac.common.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of {@link AssetMetadata} keyed by absolute path. Entries are revalidated against the file size and
+ * modification time, so the content type lookup and the SHA-256 used for the strong ETag are computed once per
+ * file version rather than on every request. Writers may call {@link #remember} right after an upload so the
+ * first visitor does not pay for hashing either.
+ */
+@Component
+public class AssetMetadataCache {
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final Map<String, AssetMetadata> entries;
+    private final long maxHashedBytes;
+
+    public AssetMetadataCache(@Value("${app.assets.metadata-cache-size:4096}") int maxEntries,
+                              @Value("${app.assets.max-hashed-bytes:67108864}") long maxHashedBytes) {
+        int capacity = Math.max(16, maxEntries);
+        this.maxHashedBytes = maxHashedBytes;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AssetMetadata> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    public AssetMetadata describe(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String cacheKey = path.toString();
+        AssetMetadata cached = entries.get(cacheKey);
+        if (cached != null && cached.contentLength() == size && cached.lastModified() == lastModified) {
+            return cached;
+        }
+        AssetMetadata computed = new AssetMetadata(resolveContentType(path), size, lastModified,
+                computeEtag(path, size, lastModified));
+        entries.put(cacheKey, computed);
+        return computed;
+    }
+
+    /**
+     * Records metadata for a freshly written file, optionally reusing a digest the caller already computed.
+     */
+    public void remember(Path path, String sha256Hex) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            String etag = sha256Hex != null ? quote(sha256Hex) : computeEtag(path, size, lastModified);
+            entries.put(path.toString(), new AssetMetadata(resolveContentType(path), size, lastModified, etag));
+        } catch (IOException ignored) {
+            // metadata will be computed lazily on first request
+        }
+    }
+
+    public void evict(Path path) {
+        entries.remove(path.toString());
+    }
+
+    private MediaType resolveContentType(Path path) {
+        Path filename = path.getFileName();
+        if (filename == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        return MediaTypeFactory.getMediaType(filename.toString()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private String computeEtag(Path path, long size, long lastModified) throws IOException {
+        if (size > maxHashedBytes) {
+            return quote(Long.toHexString(size) + "-" + Long.toHexString(lastModified));
+        }
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return quote(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.rbac.common.media;
+
+import com.example.rbac.common.exception.ApiException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Writes stored files straight to the servlet response with validators, conditional GET and single byte-range
+ * support. Bodies are handed to the container's sendfile support when available, which keeps asset bytes out of the
+ * heap entirely. Otherwise they are copied with {@link FileChannel#transferTo}; since the servlet output stream is not
+ * a file or socket channel, that fallback still moves the bytes through the JDK's transfer buffer.
+ */
+@Component
+public class AssetResponseWriter {
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern IMMUTABLE_KEY = Pattern.compile(
+            "^(?:[0-9a-fA-F]{64}|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(?:\\.[A-Za-z0-9]+)?$");
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final AssetMetadataCache metadataCache;
+    private final String defaultCacheControl;
+
+    public AssetResponseWriter(AssetMetadataCache metadataCache,
+                               @Value("${app.assets.cache-control:public, max-age=300}") String defaultCacheControl) {
+        this.metadataCache = metadataCache;
+        this.defaultCacheControl = defaultCacheControl;
+    }
+
+    public void write(Resource resource,
+                      String key,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (!resource.isFile()) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "Asset not found");
+        }
+        Path path = resource.getFile().toPath();
+        AssetMetadata metadata = metadataCache.describe(path);
+        String cacheControl = isImmutableKey(key) ? IMMUTABLE_CACHE_CONTROL : defaultCacheControl;
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(metadata.etag(), metadata.lastModified())) {
+            return;
+        }
+
+        String filename = StringUtils.hasText(resource.getFilename()) ? resource.getFilename() : key;
+        String encoded = URLEncoder.encode(filename, StandardCharsets.UTF_8).replace("+", "%20");
+        response.setContentType(metadata.contentType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + encoded + "\"");
+
+        long length = metadata.contentLength();
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = resolveRange(request, metadata);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException ex) {
+                start = length; // reported as unsatisfiable below
+            }
+            // HttpRange clamps the end to the file but not the start, so a range past the end must be caught here.
+            if (start >= length || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpStatus.OK.value());
+        }
+
+        long count = Math.max(0, end - start + 1);
+        response.setContentLengthLong(count);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, start + count);
+            return;
+        }
+        transfer(path, start, count, response);
+    }
+
+    static boolean isImmutableKey(String key) {
+        return key != null && IMMUTABLE_KEY.matcher(key).matches();
+    }
+
+    private HttpRange resolveRange(HttpServletRequest request, AssetMetadata metadata) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (!StringUtils.hasText(rangeHeader)) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (StringUtils.hasText(ifRange) && !ifRange.trim().equals(metadata.etag())) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        // Multipart byteranges are rarely used by browsers; fall back to the full body for them.
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private void transfer(Path path, long start, long count, HttpServletResponse response) throws IOException {
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = source.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+        response.flushBuffer();
+    }
+}
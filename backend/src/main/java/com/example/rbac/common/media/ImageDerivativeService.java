@@ -0,0 +1,407 @@
+package com.example.rbac.common.media;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Produces width-bounded variants of raster images for the public asset endpoints. Requested widths are snapped to
+ * the configured steps so the cache holds a handful of files per image, variants are never upscaled, and large
+ * sources are decoded with subsampling so a multi-megabyte upload does not have to be inflated at full resolution.
+ * <p>
+ * Variants live in a disk cache bounded by {@code app.assets.derivatives.max-cache-bytes} with least recently used
+ * eviction. They are generated lazily on first request (concurrent requests for the same variant share one
+ * render) and optionally warmed in the background right after an upload. WebP is produced only for clients that
+ * accept it and only when an ImageIO WebP writer is installed; otherwise the source format is kept.
+ */
+@Component
+public class ImageDerivativeService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private static final Set<String> RASTER_EXTENSIONS = Set.of("png", "jpg", "jpeg", "bmp", "webp");
+    private static final String WEBP = "webp";
+
+    private final Path cacheRoot;
+    private final int[] widths;
+    private final long maxSourcePixels;
+    private final boolean webpSupported;
+    private final DiskIndex index;
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor warmUpExecutor;
+
+    public ImageDerivativeService(@Value("${app.assets.derivatives.cache-path:storage/derivatives}") String cachePath,
+                                  @Value("${app.assets.derivatives.widths:160,480,1080}") int[] widths,
+                                  @Value("${app.assets.derivatives.max-cache-bytes:536870912}") long maxCacheBytes,
+                                  @Value("${app.assets.derivatives.max-source-pixels:50000000}") long maxSourcePixels,
+                                  @Value("${app.assets.derivatives.warm-up-queue-size:64}") int warmUpQueueSize) {
+        this.cacheRoot = Paths.get(cachePath).toAbsolutePath().normalize();
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        this.maxSourcePixels = maxSourcePixels;
+        this.webpSupported = ImageIO.getImageWritersByFormatName(WEBP).hasNext();
+        try {
+            Files.createDirectories(cacheRoot);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to initialize image derivative cache directory", ex);
+        }
+        this.index = new DiskIndex(maxCacheBytes);
+        this.index.load(cacheRoot);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.warmUpExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, warmUpQueueSize)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public static boolean acceptsWebp(String acceptHeader) {
+        return acceptHeader != null && acceptHeader.toLowerCase(Locale.ROOT).contains("image/webp");
+    }
+
+    /**
+     * Returns the variant matching {@code requestedWidth}, or the original resource when no width was requested, the
+     * file is not a resizable raster image or the source is already narrow enough.
+     */
+    public Resource resolve(Resource original, Integer requestedWidth, boolean acceptsWebp) {
+        if (requestedWidth == null || requestedWidth <= 0 || widths.length == 0 || !original.isFile()) {
+            return original;
+        }
+        String sourceExtension = extensionOf(original.getFilename());
+        if (!RASTER_EXTENSIONS.contains(sourceExtension)) {
+            return original;
+        }
+        try {
+            Path source = original.getFile().toPath();
+            Path derivative = derivative(source, sourceExtension, snapWidth(requestedWidth), acceptsWebp && webpSupported);
+            return derivative != null ? new FileSystemResource(derivative) : original;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Serving original image, failed to build variant of {}: {}", original.getFilename(), ex.getMessage());
+            return original;
+        }
+    }
+
+    /**
+     * Queues generation of every configured width for a freshly uploaded image. Requests are dropped when the queue
+     * is full; the variants are then rendered lazily instead.
+     */
+    public void scheduleWarmUp(Resource original) {
+        if (widths.length == 0 || !original.isFile()) {
+            return;
+        }
+        String sourceExtension = extensionOf(original.getFilename());
+        if (!RASTER_EXTENSIONS.contains(sourceExtension)) {
+            return;
+        }
+        warmUpExecutor.execute(() -> {
+            for (int width : widths) {
+                resolve(original, width, false);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        warmUpExecutor.shutdownNow();
+    }
+
+    int snapWidth(int requestedWidth) {
+        for (int width : widths) {
+            if (width >= requestedWidth) {
+                return width;
+            }
+        }
+        return widths[widths.length - 1];
+    }
+
+    private Path derivative(Path source, String sourceExtension, int width, boolean webp) throws IOException {
+        String format = webp ? WEBP : outputFormat(sourceExtension);
+        Path target = cachePath(source, width, format);
+        if (index.touch(target) && Files.isReadable(target)) {
+            return target;
+        }
+        String flightKey = target.toString();
+        CompletableFuture<Path> pending = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(flightKey, pending);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            Path rendered = render(source, target, width, format);
+            pending.complete(rendered);
+            return rendered;
+        } catch (IOException | RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, pending);
+        }
+    }
+
+    private Path render(Path source, Path target, int width, String format) throws IOException {
+        if (Files.isReadable(target)) {
+            index.add(target, Files.size(target));
+            return target;
+        }
+        BufferedImage image = decode(source, width);
+        if (image == null) {
+            return null;
+        }
+        BufferedImage scaled = scale(image, width, !"jpg".equals(format));
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(UUID.randomUUID() + ".part");
+        try {
+            write(scaled, format, temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        for (Path evicted : index.add(target, Files.size(target))) {
+            Files.deleteIfExists(evicted);
+        }
+        return target;
+    }
+
+    /**
+     * Decodes the source, subsampling while it stays at least twice as wide as the target so the final resize still
+     * has enough detail. Returns {@code null} for images that are unreadable, oversized or not wider than the target.
+     */
+    private BufferedImage decode(Path source, int width) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if (sourceWidth <= width || (long) sourceWidth * sourceHeight > maxSourcePixels) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, sourceWidth / (width * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image, int width, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        do {
+            // Halve in steps; a single bilinear pass over a large ratio skips most source pixels and aliases.
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = Math.max(1, (int) Math.round((double) image.getHeight() * nextWidth / image.getWidth()));
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                if (!keepAlpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, nextWidth, nextHeight);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed() && !"png".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0 && param.getCompressionType() == null) {
+                    param.setCompressionType(types[0]);
+                }
+                param.setCompressionQuality(0.82f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path cachePath(Path source, int width, String format) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        String fingerprint = source + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis();
+        String hash = sha256Hex(fingerprint).substring(0, 40);
+        return cacheRoot.resolve(hash.substring(0, 2)).resolve(hash + "-w" + width + "." + format);
+    }
+
+    private String outputFormat(String sourceExtension) {
+        return switch (sourceExtension) {
+            case "jpg", "jpeg" -> "jpg";
+            case WEBP -> webpSupported ? WEBP : "png";
+            default -> "png";
+        };
+    }
+
+    private Path join(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw ex;
+        }
+    }
+
+    private String extensionOf(String filename) {
+        String extension = StringUtils.getFilenameExtension(filename);
+        return extension != null ? extension.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Access-ordered view of the files in the cache directory and their sizes.
+     */
+    private static final class DiskIndex {
+
+        private final long maxBytes;
+        private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+        private long totalBytes;
+
+        private DiskIndex(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private void load(Path root) {
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(Files::isRegularFile)
+                        .filter(path -> !path.getFileName().toString().endsWith(".part"))
+                        .sorted(Comparator.comparingLong(DiskIndex::lastModified))
+                        .forEach(path -> {
+                            try {
+                                add(path, Files.size(path)).forEach(DiskIndex::deleteQuietly);
+                            } catch (IOException ignored) {
+                            }
+                        });
+            } catch (IOException ex) {
+                LOGGER.warn("Failed to index image derivative cache: {}", ex.getMessage());
+            }
+        }
+
+        private synchronized boolean touch(Path path) {
+            return entries.get(path) != null;
+        }
+
+        /**
+         * Records a file and returns the least recently used entries that must be deleted to stay within budget.
+         */
+        private synchronized List<Path> add(Path path, long size) {
+            Long previous = entries.put(path, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            List<Path> evicted = new ArrayList<>();
+            Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<Path, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(path)) {
+                    continue;
+                }
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                iterator.remove();
+            }
+            return evicted;
+        }
+
+        private static long lastModified(Path path) {
+            try {
+                return Files.getLastModifiedTime(path).toMillis();
+            } catch (IOException ex) {
+                return 0L;
+            }
+        }
+
+        private static void deleteQuietly(Path path) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
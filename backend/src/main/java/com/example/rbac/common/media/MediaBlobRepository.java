@@ -0,0 +1,72 @@
+package com.example.rbac.common.media;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reference counts for content-addressed blobs. Counters are only ever changed with single atomic statements so
+ * concurrent uploads and deletes of the same content never lose an increment.
+ */
+@Repository
+public class MediaBlobRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MediaBlobRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void acquire(String blobKey, String sha256, String extension, long sizeBytes) {
+        jdbcTemplate.update("INSERT INTO media_blobs (blob_key, sha256, extension, size_bytes, ref_count) " +
+                        "VALUES (?, ?, ?, ?, 1) ON DUPLICATE KEY UPDATE ref_count = ref_count + 1",
+                blobKey, sha256, extension, sizeBytes);
+    }
+
+    /**
+     * Drops one reference and reports whether none remain. The row is kept at zero so that
+     * {@link #deleteUnreferenced} can decide, under the row lock, whether the file may go.
+     */
+    public boolean release(String blobKey) {
+        if (jdbcTemplate.update("UPDATE media_blobs SET ref_count = ref_count - 1 WHERE blob_key = ? AND ref_count > 0",
+                blobKey) == 0) {
+            return false;
+        }
+        List<Integer> remaining = jdbcTemplate.queryForList("SELECT ref_count FROM media_blobs WHERE blob_key = ?",
+                Integer.class, blobKey);
+        return !remaining.isEmpty() && remaining.get(0) <= 0;
+    }
+
+    /**
+     * Removes the row of a blob that is unreferenced (or has no row at all, e.g. because the upload that created it
+     * rolled back) and runs {@code unlink} before committing. The row, or its gap, stays locked meanwhile, so an upload
+     * of the same content on any node either re-acquires it first (and the file is kept) or waits until the file is
+     * gone and then writes it again.
+     *
+     * @return whether {@code unlink} ran
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean deleteUnreferenced(String blobKey, Runnable unlink) {
+        List<Integer> refCount = jdbcTemplate.queryForList(
+                "SELECT ref_count FROM media_blobs WHERE blob_key = ? FOR UPDATE", Integer.class, blobKey);
+        if (!refCount.isEmpty() && refCount.get(0) > 0) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM media_blobs WHERE blob_key = ?", blobKey);
+        unlink.run();
+        return true;
+    }
+
+    public MediaBlobUsage usage() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) AS blob_count, COALESCE(SUM(size_bytes), 0) AS stored_bytes, " +
+                        "COALESCE(SUM(size_bytes * ref_count), 0) AS logical_bytes FROM media_blobs",
+                (rs, rowNum) -> new MediaBlobUsage(rs.getLong("blob_count"), rs.getLong("stored_bytes"), rs.getLong("logical_bytes")));
+    }
+
+    public record MediaBlobUsage(long blobCount, long storedBytes, long logicalBytes) {
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.rbac.common.media;
+
+import com.example.rbac.common.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed, deduplicating file store shared by every media storage service.
+ * <p>
+ * Uploads are hashed with SHA-256 while they stream to a temporary file and then moved to
+ * {@code <root>/<aa>/<bb>/<sha256>.<ext>}. Identical content is written once; each logical copy holds a reference
+ * in {@code media_blobs} and the file is removed only after the last reference is released, the surrounding
+ * transaction has committed and the row is still unreferenced when it is deleted. Keys look like {@code <sha256>.<ext>} and are never rewritten, which lets the public
+ * asset endpoints cache them as immutable.
+ */
+@Component
+public class MediaBlobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MediaBlobStore.class);
+
+    private static final Pattern BLOB_KEY = Pattern.compile("^([0-9a-f]{64})(?:\\.([a-z0-9]{1,16}))?$");
+    private static final Pattern EXTENSION = Pattern.compile("^[a-z0-9]{1,16}$");
+    private static final int LOCK_STRIPES = 64;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tempDirectory;
+    private final MediaBlobRepository repository;
+    private final AssetMetadataCache metadataCache;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final Map<String, Integer> inFlightKeys = new ConcurrentHashMap<>();
+    private final Counter storedWrites;
+    private final Counter deduplicatedWrites;
+    private final Counter storedBytes;
+    private final Counter deduplicatedBytes;
+    private final Timer putTimer;
+
+    public MediaBlobStore(@Value("${app.media.blob-storage-path:storage/blobs}") String storagePath,
+                          MediaBlobRepository repository,
+                          AssetMetadataCache metadataCache,
+                          MeterRegistry meterRegistry) {
+        this.root = Paths.get(storagePath).toAbsolutePath().normalize();
+        this.tempDirectory = root.resolve(".incoming");
+        this.repository = repository;
+        this.metadataCache = metadataCache;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        try {
+            Files.createDirectories(tempDirectory);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to initialize media blob storage directory", ex);
+        }
+        this.storedWrites = meterRegistry.counter("media.blob.writes", "result", "stored");
+        this.deduplicatedWrites = meterRegistry.counter("media.blob.writes", "result", "deduplicated");
+        this.storedBytes = meterRegistry.counter("media.blob.bytes", "result", "stored");
+        this.deduplicatedBytes = meterRegistry.counter("media.blob.bytes", "result", "deduplicated");
+        this.putTimer = meterRegistry.timer("media.blob.put");
+        Gauge.builder("media.blob.disk.bytes", repository, repo -> repo.usage().storedBytes())
+                .description("Bytes stored on disk after deduplication")
+                .register(meterRegistry);
+        Gauge.builder("media.blob.logical.bytes", repository, repo -> repo.usage().logicalBytes())
+                .description("Bytes that would be stored without deduplication")
+                .register(meterRegistry);
+    }
+
+    public static boolean isBlobKey(String key) {
+        return key != null && BLOB_KEY.matcher(key).matches();
+    }
+
+    public StoredBlob put(InputStream source, String extension) throws IOException {
+        long started = System.nanoTime();
+        Path temp = tempDirectory.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = sha256();
+        long size;
+        try (DigestInputStream in = new DigestInputStream(source, digest);
+             OutputStream out = Files.newOutputStream(temp)) {
+            size = in.transferTo(out);
+        } catch (IOException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        return commit(temp, HexFormat.of().formatHex(digest.digest()), size, extension, started);
+    }
+
+    /**
+     * Adopts a fully written file, such as an assembled chunked upload, by hashing it in place and moving it into
+     * the store. The file is consumed: it is either moved or deleted as a duplicate.
+     */
+    public StoredBlob adopt(Path file, String extension) throws IOException {
+        long started = System.nanoTime();
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+                size += read;
+            }
+        }
+        return commit(file, HexFormat.of().formatHex(digest.digest()), size, extension, started);
+    }
+
+    private StoredBlob commit(Path temp, String sha256, long size, String extension, long started) throws IOException {
+        String normalizedExtension = normalizeExtension(extension);
+        String key = normalizedExtension != null ? sha256 + "." + normalizedExtension : sha256;
+        Path target = pathFor(sha256, key);
+
+        boolean deduplicated;
+        ReentrantLock lock = lockFor(sha256);
+        lock.lock();
+        try {
+            markInFlight(key);
+            // Take the reference before looking at the file: a deletion running anywhere either sees it and keeps
+            // the file, or holds the row until the file is unlinked, in which case it is written again below.
+            repository.acquire(key, sha256, normalizedExtension, size);
+            if (Files.exists(target)) {
+                Files.deleteIfExists(temp);
+                deduplicated = true;
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+                deduplicated = false;
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            clearInFlightAfterCompletion(key);
+            throw ex;
+        } finally {
+            lock.unlock();
+        }
+        clearInFlightAfterCompletion(key);
+        metadataCache.remember(target, sha256);
+
+        (deduplicated ? deduplicatedWrites : storedWrites).increment();
+        (deduplicated ? deduplicatedBytes : storedBytes).increment(size);
+        putTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return new StoredBlob(key, sha256, size, deduplicated);
+    }
+
+    public Path resolve(String key) {
+        Matcher matcher = matchKey(key);
+        return pathFor(matcher.group(1), key);
+    }
+
+    public Resource load(String key) {
+        Path path = resolve(key);
+        if (!Files.isReadable(path)) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "File not found");
+        }
+        return new FileSystemResource(path);
+    }
+
+    /**
+     * Releases one reference. The file is deleted once no references remain, after the current transaction (if
+     * any) commits, and only if no upload of the same content is in flight.
+     */
+    public void release(String key) {
+        if (!isBlobKey(key)) {
+            return;
+        }
+        if (!repository.release(key)) {
+            return;
+        }
+        Runnable deletion = () -> deleteIfUnreferenced(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deletion.run();
+                }
+            });
+        } else {
+            deletion.run();
+        }
+    }
+
+    /**
+     * Removes the file behind a reference that was rolled back together with the transaction that acquired it, unless
+     * the content is referenced elsewhere.
+     */
+    public void discard(String key) {
+        if (isBlobKey(key)) {
+            deleteIfUnreferenced(key);
+        }
+    }
+
+    private void deleteIfUnreferenced(String key) {
+        Matcher matcher = matchKey(key);
+        ReentrantLock lock = lockFor(matcher.group(1));
+        lock.lock();
+        try {
+            // An upload of the same content on this node holds the row until its transaction completes.
+            if (inFlightKeys.containsKey(key)) {
+                return;
+            }
+            Path path = pathFor(matcher.group(1), key);
+            boolean deleted = repository.deleteUnreferenced(key, () -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if (deleted) {
+                metadataCache.evict(path);
+            }
+        } catch (UncheckedIOException | DataAccessException ex) {
+            LOGGER.warn("Failed to delete unreferenced media blob {}: {}", key, ex.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void markInFlight(String key) {
+        inFlightKeys.merge(key, 1, Integer::sum);
+    }
+
+    private void clearInFlightAfterCompletion(String key) {
+        Runnable clear = () -> inFlightKeys.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear.run();
+                }
+            });
+        } else {
+            clear.run();
+        }
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path pathFor(String sha256, String key) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(key);
+    }
+
+    private Matcher matchKey(String key) {
+        Matcher matcher = key != null ? BLOB_KEY.matcher(key) : null;
+        if (matcher == null || !matcher.matches()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid storage key");
+        }
+        return matcher;
+    }
+
+    private ReentrantLock lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+
+    private String normalizeExtension(String extension) {
+        if (!StringUtils.hasText(extension)) {
+            return null;
+        }
+        String normalized = extension.trim().toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(normalized).matches() ? normalized : null;
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record StoredBlob(String key, String sha256, long sizeBytes, boolean deduplicated) {
+    }
+}
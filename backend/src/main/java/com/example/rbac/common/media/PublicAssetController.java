@@ -8,25 +8,26 @@ import com.example.rbac.admin.categories.service.CategoryAssetStorageService;
 import com.example.rbac.admin.categories.service.CategoryAssetStorageService.AssetType;
 import com.example.rbac.admin.products.service.ProductAssetStorageService;
 import com.example.rbac.admin.uploadedfile.service.UploadedFileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Exposes read-only media asset endpoints that are shared between the
  * storefront, client portal, and admin dashboard. These mirror the admin
  * upload controllers but live outside the admin package so they are not
  * subject to the {@code /api/v1/admin} prefix and can be consumed without
- * elevated permissions.
+ * elevated permissions. Responses carry validators and cache headers and
+ * honour conditional and range requests via {@link AssetResponseWriter}.
+ * Brand logos and product images accept {@code ?w=} to receive a resized
+ * variant from {@link ImageDerivativeService}.
  */
 @RestController
 public class PublicAssetController {
@@ -38,6 +39,8 @@ public class PublicAssetController {
     private final ProductAssetStorageService productAssetStorageService;
     private final UploadedFileStorageService uploadedFileStorageService;
     private final BlogMediaStorageService blogMediaStorageService;
+    private final AssetResponseWriter assetResponseWriter;
+    private final ImageDerivativeService imageDerivativeService;
 
     public PublicAssetController(BrandLogoStorageService brandLogoStorageService,
                                  CategoryAssetStorageService categoryAssetStorageService,
@@ -45,7 +48,9 @@ public class PublicAssetController {
                                  BadgeIconStorageService badgeIconStorageService,
                                  ProductAssetStorageService productAssetStorageService,
                                  UploadedFileStorageService uploadedFileStorageService,
-                                 BlogMediaStorageService blogMediaStorageService) {
+                                 BlogMediaStorageService blogMediaStorageService,
+                                 AssetResponseWriter assetResponseWriter,
+                                 ImageDerivativeService imageDerivativeService) {
         this.brandLogoStorageService = brandLogoStorageService;
         this.categoryAssetStorageService = categoryAssetStorageService;
         this.badgeCategoryIconStorageService = badgeCategoryIconStorageService;
@@ -53,96 +58,102 @@ public class PublicAssetController {
         this.productAssetStorageService = productAssetStorageService;
         this.uploadedFileStorageService = uploadedFileStorageService;
         this.blogMediaStorageService = blogMediaStorageService;
+        this.assetResponseWriter = assetResponseWriter;
+        this.imageDerivativeService = imageDerivativeService;
     }
 
     @GetMapping({
             "/api/v1/brands/assets/{key:.+}",
             "/api/v1/client/brands/assets/{key:.+}"
     })
-    public ResponseEntity<Resource> serveBrandLogo(@PathVariable("key") String key) {
-        Resource resource = brandLogoStorageService.load(key);
-        return buildInlineResponse(resource, key);
+    public void serveBrandLogo(@PathVariable("key") String key,
+                               @RequestParam(name = "w", required = false) Integer width,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Resource resource = resizeIfRequested(brandLogoStorageService.load(key), width, request, response);
+        assetResponseWriter.write(resource, key, request, response);
     }
 
     @GetMapping({
             "/api/v1/categories/assets/{type}/{key:.+}",
             "/api/v1/client/categories/assets/{type}/{key:.+}"
     })
-    public ResponseEntity<Resource> serveCategoryAsset(@PathVariable("type") String type,
-                                                       @PathVariable("key") String key) {
+    public void serveCategoryAsset(@PathVariable("type") String type,
+                                   @PathVariable("key") String key,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
         AssetType assetType = AssetType.fromPathSegment(type);
         Resource resource = categoryAssetStorageService.load(assetType, key);
-        return buildInlineResponse(resource, key);
+        assetResponseWriter.write(resource, key, request, response);
     }
 
     @GetMapping({
             "/api/v1/badge-categories/assets/{key:.+}",
             "/api/v1/client/badge-categories/assets/{key:.+}"
     })
-    public ResponseEntity<Resource> serveBadgeCategoryIcon(@PathVariable("key") String key) {
+    public void serveBadgeCategoryIcon(@PathVariable("key") String key,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
         Resource resource = badgeCategoryIconStorageService.load(key);
-        return buildInlineResponse(resource, key);
+        assetResponseWriter.write(resource, key, request, response);
     }
 
     @GetMapping({
             "/api/v1/badges/assets/{key:.+}",
             "/api/v1/client/badges/assets/{key:.+}"
     })
-    public ResponseEntity<Resource> serveBadgeIcon(@PathVariable("key") String key) {
+    public void serveBadgeIcon(@PathVariable("key") String key,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
         Resource resource = badgeIconStorageService.load(key);
-        return buildInlineResponse(resource, key);
+        assetResponseWriter.write(resource, key, request, response);
     }
 
     @GetMapping({
             "/api/v1/products/assets/{type}/{key:.+}",
             "/api/v1/client/products/assets/{type}/{key:.+}"
     })
-    public ResponseEntity<Resource> serveProductAsset(@PathVariable("type") String type,
-                                                      @PathVariable("key") String key) {
+    public void serveProductAsset(@PathVariable("type") String type,
+                                  @PathVariable("key") String key,
+                                  @RequestParam(name = "w", required = false) Integer width,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
         ProductAssetStorageService.AssetType assetType = ProductAssetStorageService.AssetType.fromPathSegment(type);
-        Resource resource = productAssetStorageService.load(assetType, key);
-        return buildInlineResponse(resource, key);
+        Resource resource = resizeIfRequested(productAssetStorageService.load(assetType, key), width, request, response);
+        assetResponseWriter.write(resource, key, request, response);
     }
 
     @GetMapping({
             "/api/v1/uploaded-files/assets/{key:.+}",
             "/api/v1/client/uploaded-files/assets/{key:.+}"
     })
-    public ResponseEntity<Resource> serveUploadedFile(@PathVariable("key") String key) {
+    public void serveUploadedFile(@PathVariable("key") String key,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
         Resource resource = uploadedFileStorageService.loadAsResource(key);
-        return buildInlineResponse(resource, key);
+        assetResponseWriter.write(resource, key, request, response);
     }
 
     @GetMapping({
             "/api/v1/blog/media/{key:.+}",
             "/api/v1/client/blog/media/{key:.+}"
     })
-    public ResponseEntity<Resource> serveBlogMedia(@PathVariable("key") String key) {
+    public void serveBlogMedia(@PathVariable("key") String key,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
         Resource resource = blogMediaStorageService.load(key);
-        return buildInlineResponse(resource, key);
+        assetResponseWriter.write(resource, key, request, response);
     }
 
-    private ResponseEntity<Resource> buildInlineResponse(Resource resource, String fallbackName) {
-        String filename = resource.getFilename();
-        if (!StringUtils.hasText(filename)) {
-            filename = fallbackName;
+    private Resource resizeIfRequested(Resource resource,
+                                       Integer width,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) {
+        if (width == null) {
+            return resource;
         }
-        String encoded = URLEncoder.encode(filename, StandardCharsets.UTF_8)
-                .replace("+", "%20");
-
-        MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM;
-        try {
-            String contentType = resource.getURL().openConnection().getContentType();
-            if (contentType != null) {
-                mediaType = MediaType.parseMediaType(contentType);
-            }
-        } catch (IOException ignored) {
-        }
-
-        return ResponseEntity.ok()
-                .contentType(mediaType)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + encoded + "\"")
-                .body(resource);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        boolean acceptsWebp = ImageDerivativeService.acceptsWebp(request.getHeader(HttpHeaders.ACCEPT));
+        return imageDerivativeService.resolve(resource, width, acceptsWebp);
     }
 }
-
@@ -0,0 +1,314 @@
+package com.example.rbac.common.media.upload;
+
+import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.MediaBlobStore;
+import com.example.rbac.common.media.upload.dto.UploadChunkDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Resumable upload protocol shared by the gallery and uploaded-file modules: open a session, {@code PUT} chunks in
+ * any order (and in parallel), then complete. Each chunk is streamed with a small fixed buffer straight into a
+ * pre-sized staging file at its offset, verified against its length and SHA-256 on the way, and recorded once it
+ * checks out, so a dropped connection only costs the chunk that was in flight. Completion hands the staging file to
+ * {@link MediaBlobStore#adopt} which moves it into place instead of copying it again.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int EXPIRED_SESSIONS_PER_SWEEP = 50;
+    private static final String DATA_FILE = "data.part";
+
+    private final UploadSessionRepository repository;
+    private final MediaBlobStore blobStore;
+    private final Path stagingRoot;
+    private final int chunkSize;
+    private final Duration sessionTtl;
+
+    public ChunkedUploadService(UploadSessionRepository repository,
+                                MediaBlobStore blobStore,
+                                @Value("${app.media.chunked-upload.staging-path:storage/blobs/.sessions}") String stagingPath,
+                                @Value("${app.media.chunked-upload.chunk-size-bytes:8388608}") int chunkSize,
+                                @Value("${app.media.chunked-upload.session-ttl:PT24H}") Duration sessionTtl) {
+        this.repository = repository;
+        this.blobStore = blobStore;
+        this.stagingRoot = Paths.get(stagingPath).toAbsolutePath().normalize();
+        this.chunkSize = Math.max(256 * 1024, chunkSize);
+        this.sessionTtl = sessionTtl;
+        try {
+            Files.createDirectories(stagingRoot);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to initialize upload staging directory", ex);
+        }
+    }
+
+    public UploadSession open(UploadSessionRequest request, Long ownerId, String purpose, String context) {
+        purgeExpired();
+        long chunkCount = (request.getSizeBytes() + chunkSize - 1) / chunkSize;
+        if (chunkCount > Integer.MAX_VALUE) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "File is too large for a chunked upload");
+        }
+        Instant now = Instant.now();
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), ownerId, purpose, context,
+                request.getFilename().trim(), trimToNull(request.getContentType()), request.getSizeBytes(), chunkSize,
+                (int) chunkCount, request.getSha256() != null ? request.getSha256().toLowerCase(Locale.ROOT) : null,
+                UploadSession.Status.OPEN, now, now.plus(sessionTtl));
+        Path directory = sessionDirectory(session.id());
+        try {
+            Files.createDirectories(directory);
+            try (RandomAccessFile file = new RandomAccessFile(directory.resolve(DATA_FILE).toFile(), "rw")) {
+                file.setLength(session.sizeBytes());
+            }
+        } catch (IOException ex) {
+            deleteDirectory(directory);
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to start upload", ex);
+        }
+        repository.insert(session);
+        return session;
+    }
+
+    public UploadSessionDto describe(UploadSession session) {
+        return new UploadSessionDto(session.id(), session.originalFilename(), session.sizeBytes(), session.chunkSize(),
+                session.chunkCount(), repository.findReceivedChunks(session.id()), session.expiresAt());
+    }
+
+    public UploadSession get(String uploadId, Long ownerId, String purpose) {
+        UploadSession session = repository.findById(uploadId)
+                .filter(candidate -> Objects.equals(candidate.ownerId(), ownerId) && candidate.purpose().equals(purpose))
+                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Upload session not found"));
+        if (session.expiresAt().isBefore(Instant.now())) {
+            abort(session);
+            throw new ApiException(HttpStatus.GONE, "Upload session has expired");
+        }
+        return session;
+    }
+
+    /**
+     * Streams one chunk straight into the staging file at its offset, verifying its length and, when supplied, its
+     * checksum on the way. The chunk is claimed before any byte is written and only counts as received once it has been
+     * verified; a failed or bad write leaves it unreceived, so the client simply sends it again.
+     */
+    public UploadChunkDto writeChunk(UploadSession session, int index, InputStream body, String expectedSha256) {
+        if (session.status() != UploadSession.Status.OPEN) {
+            throw new ApiException(HttpStatus.CONFLICT, "Upload is already being completed");
+        }
+        if (index < 0 || index >= session.chunkCount()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Chunk index is out of range");
+        }
+        // Claim first, then check the status: complete() commits COMPLETING before it counts receipts, so it either
+        // sees this claim and reopens the session, or this request sees COMPLETING and never touches the file.
+        repository.beginChunk(session.id(), index);
+        boolean finished = false;
+        try {
+            if (!repository.isOpen(session.id())) {
+                throw new ApiException(HttpStatus.CONFLICT, "Upload is already being completed");
+            }
+            int expectedLength = session.chunkLength(index);
+            long offset = session.chunkOffset(index);
+            MessageDigest digest = sha256();
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int written = 0;
+            try (FileChannel target = FileChannel.open(sessionDirectory(session.id()).resolve(DATA_FILE),
+                    StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    if (written + read > expectedLength) {
+                        throw new ApiException(HttpStatus.BAD_REQUEST, "Chunk " + index + " is larger than " + expectedLength + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                    while (bytes.hasRemaining()) {
+                        target.write(bytes, offset + written + bytes.position());
+                    }
+                    written += read;
+                }
+            }
+            if (written != expectedLength) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Chunk " + index + " must be " + expectedLength + " bytes");
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (StringUtils.hasText(expectedSha256) && !sha256.equalsIgnoreCase(expectedSha256.trim())) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Checksum mismatch for chunk " + index);
+            }
+            repository.finishChunk(session.id(), index, written, sha256);
+            finished = true;
+            return new UploadChunkDto(index, written, sha256);
+        } catch (IOException ex) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store chunk " + index, ex);
+        } finally {
+            if (!finished) {
+                abandonChunk(session.id(), index);
+            }
+        }
+    }
+
+    /**
+     * Verifies that every chunk arrived and moves the assembled file into the blob store. The session is removed on
+     * success; when chunks are missing, or finalizing failed but the staging file is intact, it stays open so the
+     * client can resume. Inside a transaction that later rolls back, the adopted blob is discarded and the session,
+     * whose staging file is gone by then, removed.
+     */
+    public CompletedUpload complete(UploadSession session) {
+        if (!repository.transition(session.id(), UploadSession.Status.OPEN, UploadSession.Status.COMPLETING)) {
+            throw new ApiException(HttpStatus.CONFLICT, "Upload is already being completed");
+        }
+        int received = repository.countReceivedChunks(session.id());
+        if (received != session.chunkCount()) {
+            repository.transition(session.id(), UploadSession.Status.COMPLETING, UploadSession.Status.OPEN);
+            throw new ApiException(HttpStatus.CONFLICT,
+                    "Upload is incomplete: received " + received + " of " + session.chunkCount() + " chunks");
+        }
+        Path dataFile = sessionDirectory(session.id()).resolve(DATA_FILE);
+        MediaBlobStore.StoredBlob blob;
+        try {
+            blob = blobStore.adopt(dataFile, StringUtils.getFilenameExtension(session.originalFilename()));
+        } catch (IOException ex) {
+            if (Files.exists(dataFile)) {
+                repository.transition(session.id(), UploadSession.Status.COMPLETING, UploadSession.Status.OPEN);
+                throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to finalize upload", ex);
+            }
+            discardSession(session);
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to finalize upload; please upload the file again", ex);
+        }
+        discardOnRollback(session, blob);
+        if (session.expectedSha256() != null && !session.expectedSha256().equals(blob.sha256())) {
+            blobStore.release(blob.key());
+            abort(session);
+            throw new ApiException(HttpStatus.UNPROCESSABLE_ENTITY, "Uploaded file does not match the declared checksum");
+        }
+        repository.delete(session.id());
+        deleteDirectory(sessionDirectory(session.id()));
+        return new CompletedUpload(session, blob);
+    }
+
+    public void abort(UploadSession session) {
+        repository.delete(session.id());
+        deleteDirectory(sessionDirectory(session.id()));
+    }
+
+    /**
+     * Removes a session whose staging file was consumed. Inside a transaction this waits until it has completed, since
+     * a rollback would otherwise bring the session back as resumable without anything left to resume.
+     */
+    private void discardSession(UploadSession session) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            abort(session);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                repository.deleteInNewTransaction(session.id());
+                deleteDirectory(sessionDirectory(session.id()));
+            }
+        });
+    }
+
+    private void discardOnRollback(UploadSession session, MediaBlobStore.StoredBlob blob) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                // The blob reference and the session's removal were rolled back with everything else.
+                blobStore.discard(blob.key());
+                repository.deleteInNewTransaction(session.id());
+                deleteDirectory(sessionDirectory(session.id()));
+            }
+        });
+    }
+
+    private void abandonChunk(String uploadId, int index) {
+        try {
+            repository.abandonChunk(uploadId, index);
+        } catch (DataAccessException ex) {
+            // The claim expires on its own; until then the chunk is simply not counted as received.
+            LOGGER.warn("Failed to release claim on chunk {} of upload {}: {}", index, uploadId, ex.getMessage());
+        }
+    }
+
+    private void purgeExpired() {
+        List<String> expired = repository.findExpiredIds(Instant.now(), EXPIRED_SESSIONS_PER_SWEEP);
+        for (String id : expired) {
+            repository.delete(id);
+            deleteDirectory(sessionDirectory(id));
+        }
+    }
+
+    private Path sessionDirectory(String uploadId) {
+        Path directory = stagingRoot.resolve(uploadId).normalize();
+        if (!directory.startsWith(stagingRoot)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid upload id");
+        }
+        return directory;
+    }
+
+    private void deleteDirectory(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted((left, right) -> right.getNameCount() - left.getNameCount())
+                    .forEach(path -> {
+                        try {
+                            Files.deleteIfExists(path);
+                        } catch (IOException ex) {
+                            LOGGER.warn("Failed to remove upload staging path {}: {}", path, ex.getMessage());
+                        }
+                    });
+        } catch (IOException ex) {
+            LOGGER.warn("Failed to remove upload staging directory {}: {}", directory, ex.getMessage());
+        }
+    }
+
+    private String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record CompletedUpload(UploadSession session, MediaBlobStore.StoredBlob blob) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.rbac.common.media.upload;
+
+import java.time.Instant;
+
+public record UploadSession(String id,
+                            Long ownerId,
+                            String purpose,
+                            String context,
+                            String originalFilename,
+                            String contentType,
+                            long sizeBytes,
+                            int chunkSize,
+                            int chunkCount,
+                            String expectedSha256,
+                            Status status,
+                            Instant createdAt,
+                            Instant expiresAt) {
+
+    public enum Status {
+        OPEN,
+        COMPLETING
+    }
+
+    public long chunkOffset(int chunkIndex) {
+        return (long) chunkIndex * chunkSize;
+    }
+
+    public int chunkLength(int chunkIndex) {
+        return (int) Math.min(chunkSize, sizeBytes - chunkOffset(chunkIndex));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.rbac.common.media.upload;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence for resumable upload sessions. Each received chunk is its own row so parallel chunk requests never
+ * contend on a shared manifest, and the state survives restarts for resume-after-disconnect. Chunk bookkeeping uses
+ * single auto-committed statements, so no row lock or connection is held while chunk bytes go to disk.
+ */
+@Repository
+public class UploadSessionRepository {
+
+    private static final RowMapper<UploadSession> SESSION_MAPPER = (rs, rowNum) -> new UploadSession(
+            rs.getString("id"),
+            rs.getObject("owner_id", Long.class),
+            rs.getString("purpose"),
+            rs.getString("context"),
+            rs.getString("original_filename"),
+            rs.getString("content_type"),
+            rs.getLong("size_bytes"),
+            rs.getInt("chunk_size"),
+            rs.getInt("chunk_count"),
+            rs.getString("expected_sha256"),
+            UploadSession.Status.valueOf(rs.getString("status")),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getTimestamp("expires_at").toInstant());
+
+    /** Longer than any single chunk write; a claim older than this belongs to a request that died. */
+    static final Duration CHUNK_WRITE_LEASE = Duration.ofMinutes(15);
+
+    private static final String RECEIVED = "sha256 IS NOT NULL AND writers = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UploadSessionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(UploadSession session) {
+        jdbcTemplate.update("INSERT INTO upload_sessions (id, owner_id, purpose, context, original_filename, content_type, " +
+                        "size_bytes, chunk_size, chunk_count, expected_sha256, status, created_at, expires_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                session.id(), session.ownerId(), session.purpose(), session.context(), session.originalFilename(),
+                session.contentType(), session.sizeBytes(), session.chunkSize(), session.chunkCount(),
+                session.expectedSha256(), session.status().name(), Timestamp.from(session.createdAt()),
+                Timestamp.from(session.expiresAt()));
+    }
+
+    public Optional<UploadSession> findById(String id) {
+        return jdbcTemplate.query("SELECT * FROM upload_sessions WHERE id = ?", SESSION_MAPPER, id).stream().findFirst();
+    }
+
+    public List<Integer> findReceivedChunks(String uploadId) {
+        return jdbcTemplate.queryForList("SELECT chunk_index FROM upload_session_chunks WHERE upload_id = ? AND " +
+                RECEIVED + " ORDER BY chunk_index", Integer.class, uploadId);
+    }
+
+    /**
+     * Counts finished chunks from a fresh read, so a chunk write claimed after the caller's transaction began is seen.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public int countReceivedChunks(String uploadId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM upload_session_chunks WHERE upload_id = ? AND " + RECEIVED, Integer.class, uploadId);
+        return count != null ? count : 0;
+    }
+
+    public boolean isOpen(String uploadId) {
+        return jdbcTemplate.queryForList("SELECT status FROM upload_sessions WHERE id = ?", String.class, uploadId)
+                .stream().anyMatch(UploadSession.Status.OPEN.name()::equals);
+    }
+
+    /**
+     * Claims a chunk before its bytes are written. The chunk stops counting as received until every claim is
+     * finished; claims older than {@link #CHUNK_WRITE_LEASE} belong to requests that died and are dropped.
+     */
+    public void beginChunk(String uploadId, int chunkIndex) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO upload_session_chunks (upload_id, chunk_index, size_bytes, sha256, writers, " +
+                        "writing_since, received_at) VALUES (?, ?, 0, NULL, 1, ?, ?) ON DUPLICATE KEY UPDATE sha256 = NULL, " +
+                        "writers = IF(writing_since IS NULL OR writing_since < ?, 1, writers + 1), writing_since = VALUES(writing_since)",
+                uploadId, chunkIndex, now, now, Timestamp.from(now.toInstant().minus(CHUNK_WRITE_LEASE)));
+    }
+
+    /**
+     * Records the verified bytes of a claimed chunk. A re-sent chunk replaces the earlier receipt, which keeps retries
+     * idempotent.
+     */
+    public void finishChunk(String uploadId, int chunkIndex, int sizeBytes, String sha256) {
+        jdbcTemplate.update("UPDATE upload_session_chunks SET size_bytes = ?, sha256 = ?, received_at = ?, " +
+                        "writers = GREATEST(writers - 1, 0) WHERE upload_id = ? AND chunk_index = ?",
+                sizeBytes, sha256, Timestamp.from(Instant.now()), uploadId, chunkIndex);
+    }
+
+    /**
+     * Releases a claim whose write failed. The chunk's region of the staging file may be partly overwritten, so it
+     * stays unreceived until it is sent again.
+     */
+    public void abandonChunk(String uploadId, int chunkIndex) {
+        jdbcTemplate.update("UPDATE upload_session_chunks SET sha256 = NULL, writers = GREATEST(writers - 1, 0) " +
+                "WHERE upload_id = ? AND chunk_index = ?", uploadId, chunkIndex);
+    }
+
+    /**
+     * Moves a session between states; returns {@code false} when another request already changed it. Commits on its
+     * own so chunk requests see the new state at once rather than when the caller's transaction ends.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean transition(String uploadId, UploadSession.Status from, UploadSession.Status to) {
+        return jdbcTemplate.update("UPDATE upload_sessions SET status = ? WHERE id = ? AND status = ?",
+                to.name(), uploadId, from.name()) > 0;
+    }
+
+    public void delete(String uploadId) {
+        jdbcTemplate.update("DELETE FROM upload_session_chunks WHERE upload_id = ?", uploadId);
+        jdbcTemplate.update("DELETE FROM upload_sessions WHERE id = ?", uploadId);
+    }
+
+    /**
+     * Deletes a session outside the caller's transaction, for cleanup after that transaction has rolled back.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deleteInNewTransaction(String uploadId) {
+        delete(uploadId);
+    }
+
+    public List<String> findExpiredIds(Instant now, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM upload_sessions WHERE expires_at < ? ORDER BY expires_at LIMIT " + Math.max(1, limit),
+                String.class, Timestamp.from(now));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.rbac.common.media.upload.dto;
+
+public class UploadChunkDto {
+
+    private int index;
+    private int sizeBytes;
+    private String sha256;
+
+    public UploadChunkDto() {
+    }
+
+    public UploadChunkDto(int index, int sizeBytes, String sha256) {
+        this.index = index;
+        this.sizeBytes = sizeBytes;
+        this.sha256 = sha256;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public int getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(int sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+}
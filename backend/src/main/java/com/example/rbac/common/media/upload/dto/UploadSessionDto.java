@@ -0,0 +1,90 @@
+package com.example.rbac.common.media.upload.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class UploadSessionDto {
+
+    private String uploadId;
+    private String filename;
+    private long sizeBytes;
+    private int chunkSize;
+    private int chunkCount;
+    private List<Integer> receivedChunks;
+    private Instant expiresAt;
+
+    public UploadSessionDto() {
+    }
+
+    public UploadSessionDto(String uploadId,
+                            String filename,
+                            long sizeBytes,
+                            int chunkSize,
+                            int chunkCount,
+                            List<Integer> receivedChunks,
+                            Instant expiresAt) {
+        this.uploadId = uploadId;
+        this.filename = filename;
+        this.sizeBytes = sizeBytes;
+        this.chunkSize = chunkSize;
+        this.chunkCount = chunkCount;
+        this.receivedChunks = receivedChunks;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public List<Integer> getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public void setReceivedChunks(List<Integer> receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
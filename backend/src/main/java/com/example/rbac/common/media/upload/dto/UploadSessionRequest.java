@@ -0,0 +1,54 @@
+package com.example.rbac.common.media.upload.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class UploadSessionRequest {
+
+    @NotBlank
+    @Size(max = 255)
+    private String filename;
+
+    @Positive
+    private long sizeBytes;
+
+    @Size(max = 150)
+    private String contentType;
+
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "sha256 must be a hex encoded SHA-256 digest")
+    private String sha256;
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+}
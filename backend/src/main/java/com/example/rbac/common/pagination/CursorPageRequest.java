@@ -0,0 +1,24 @@
+package com.example.rbac.common.pagination;
+
+/**
+ * Request for one page of a keyset-paginated list.
+ *
+ * @param cursor       opaque token from a previous {@link CursorPageResponse#nextCursor()}, or {@code null} for the
+ *                     first page
+ * @param size         page size, clamped to {@code 1..MAX_SIZE}
+ * @param includeTotal whether to compute {@link CursorPageResponse#estimatedTotal()}; off by default because it costs
+ *                     an extra query
+ */
+public record CursorPageRequest(String cursor, int size, boolean includeTotal) {
+
+    public static final int MAX_SIZE = 200;
+
+    public CursorPageRequest {
+        size = Math.min(Math.max(size, 1), MAX_SIZE);
+        cursor = cursor != null && !cursor.isBlank() ? cursor.trim() : null;
+    }
+
+    public static CursorPageRequest of(String cursor, int size, boolean includeTotal) {
+        return new CursorPageRequest(cursor, size, includeTotal);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.rbac.common.pagination;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. Unlike {@link PageResponse} it carries no exact total: {@code hasNext} is known
+ * from fetching one extra row, and {@code estimatedTotal} is only present when the caller asked for it.
+ */
+public record CursorPageResponse<T>(List<T> content, int size, boolean hasNext, String nextCursor, Long estimatedTotal) {
+}
@@ -0,0 +1,94 @@
+package com.example.rbac.common.pagination;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Runs keyset-paginated queries over {@link JpaSpecificationExecutor} repositories. Each page is a single
+ * {@code ORDER BY key, id LIMIT size + 1} query starting after the cursor, so the cost of a page does not grow with its
+ * depth and no {@code COUNT(*)} runs unless the caller opts in.
+ */
+@Component
+public class KeysetPaginator {
+
+    private static final Logger log = LoggerFactory.getLogger(KeysetPaginator.class);
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final long ESTIMATE_TTL_MILLIS = 60_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    public KeysetPaginator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param total evaluated only when {@link CursorPageRequest#includeTotal()} is set; use
+     *              {@link #estimatedRows(String)} for unfiltered lists and an exact count for filtered ones
+     */
+    public <E, D> CursorPageResponse<D> fetch(JpaSpecificationExecutor<E> repository,
+                                              Specification<E> specification,
+                                              KeysetSort<E> sort,
+                                              CursorPageRequest request,
+                                              Function<E, D> mapper,
+                                              LongSupplier total) {
+        Specification<E> effective = Specification.where(specification).and(sort.seek(request.cursor()));
+        int size = request.size();
+        List<E> rows = repository.findBy(effective, query -> query.sortBy(sort.toSort()).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? sort.cursorAfter(page.get(page.size() - 1)) : null;
+        Long estimatedTotal = request.includeTotal() && total != null ? total.getAsLong() : null;
+        List<D> content = page.stream().map(mapper).toList();
+        return new CursorPageResponse<>(content, size, hasNext, nextCursor, estimatedTotal);
+    }
+
+    /**
+     * Row count estimate for a whole table from the storage engine statistics. It is cheap but approximate (InnoDB
+     * samples pages), and is cached briefly since many clients ask for it on the first page.
+     */
+    public LongSupplier estimatedRows(String table) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+        return () -> {
+            long now = System.currentTimeMillis();
+            Estimate cached = estimates.get(table);
+            if (cached != null && now - cached.loadedAt() < ESTIMATE_TTL_MILLIS) {
+                return cached.rows();
+            }
+            long rows = loadEstimate(table);
+            estimates.put(table, new Estimate(rows, now));
+            return rows;
+        };
+    }
+
+    private long loadEstimate(String table) {
+        try {
+            Long rows = jdbcTemplate.queryForObject("SELECT TABLE_ROWS FROM INFORMATION_SCHEMA.TABLES " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", Long.class, table);
+            if (rows != null) {
+                return rows;
+            }
+        } catch (DataAccessException ex) {
+            log.debug("Table statistics unavailable for {}: {}", table, ex.getMessage());
+        }
+        Long exact = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return exact != null ? exact : 0L;
+    }
+
+    private record Estimate(long rows, long loadedAt) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.rbac.common.pagination;
+
+import com.example.rbac.common.exception.ApiException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+
+/**
+ * Sort order usable for keyset pagination: a single non-null attribute with the entity id as tie-breaker. The seek
+ * predicate {@code (key, id) > (lastKey, lastId)} (or {@code <} when descending) lets the database start from an index
+ * position instead of skipping {@code OFFSET} rows.
+ */
+public final class KeysetSort<E> {
+
+    public enum ValueType {
+        STRING,
+        INSTANT,
+        LONG,
+        BOOLEAN;
+
+        String format(Object value) {
+            return value != null ? value.toString() : null;
+        }
+
+        Comparable<?> parse(String value) {
+            try {
+                return switch (this) {
+                    case STRING -> value;
+                    case INSTANT -> Instant.parse(value);
+                    case LONG -> Long.valueOf(value);
+                    case BOOLEAN -> Boolean.valueOf(value);
+                };
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid pagination cursor", ex);
+            }
+        }
+    }
+
+    private static final String ID = "id";
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final ValueType type;
+    private final Function<E, ?> valueExtractor;
+    private final Function<E, Long> idExtractor;
+
+    private KeysetSort(String property, Sort.Direction direction, ValueType type,
+                       Function<E, ?> valueExtractor, Function<E, Long> idExtractor) {
+        this.property = property;
+        this.direction = direction;
+        this.type = type;
+        this.valueExtractor = valueExtractor;
+        this.idExtractor = idExtractor;
+    }
+
+    /**
+     * @param property attribute to sort on; must be non-null in every row
+     */
+    public static <E> KeysetSort<E> of(String property, Sort.Direction direction, ValueType type,
+                                       Function<E, ?> valueExtractor, Function<E, Long> idExtractor) {
+        return new KeysetSort<>(property, direction, type, valueExtractor, idExtractor);
+    }
+
+    public static <E> KeysetSort<E> byId(Sort.Direction direction, Function<E, Long> idExtractor) {
+        return new KeysetSort<>(ID, direction, ValueType.LONG, idExtractor, idExtractor);
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public Sort.Direction direction() {
+        return direction;
+    }
+
+    Sort toSort() {
+        Sort sort = Sort.by(direction, property);
+        return ID.equals(property) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    String cursorAfter(E last) {
+        return new KeysetCursor(property, direction, idExtractor.apply(last), type.format(valueExtractor.apply(last)))
+                .encode();
+    }
+
+    /**
+     * @return the predicate selecting rows after {@code token}, or {@code null} for the first page
+     */
+    Specification<E> seek(String token) {
+        if (token == null) {
+            return null;
+        }
+        KeysetCursor cursor = KeysetCursor.decode(token);
+        if (!property.equals(cursor.property()) || direction != cursor.direction()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Pagination cursor does not match the requested sort");
+        }
+        Long lastId = cursor.id();
+        if (ID.equals(property)) {
+            return (root, query, cb) -> after(cb, root.get(ID), lastId);
+        }
+        Comparable<?> lastValue = type.parse(cursor.value());
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> key = path(root, property);
+            return cb.or(
+                    after(cb, key, lastValue),
+                    cb.and(cb.equal(key, lastValue), after(cb, root.get(ID), lastId)));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Path path, Comparable value) {
+        return direction.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    private static <T> Path<T> path(Root<?> root, String property) {
+        Path<?> path = root;
+        for (String segment : property.split("\\.")) {
+            path = path.get(segment);
+        }
+        @SuppressWarnings("unchecked")
+        Path<T> typed = (Path<T>) path;
+        return typed;
+    }
+}
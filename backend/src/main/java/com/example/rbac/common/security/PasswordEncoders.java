@@ -0,0 +1,41 @@
+package com.example.rbac.common.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the application's {@link PasswordEncoder}. New hashes are written as {@code {id}hash} with the configured
+ * algorithm and cost; stored hashes of any supported algorithm still verify, including the unprefixed BCrypt hashes
+ * written before algorithms were configurable. {@link PasswordEncoder#upgradeEncoding(String)} reports hashes made with
+ * another algorithm, without a prefix or with a lower BCrypt cost, so sign-in can rehash them.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final int PBKDF2_SALT_LENGTH = 16;
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder delegating(String algorithm, int bcryptStrength, int pbkdf2Iterations) {
+        String encodingId = algorithm == null ? BCRYPT : algorithm.trim().toLowerCase(Locale.ROOT);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                PBKDF2, new Pbkdf2PasswordEncoder("", PBKDF2_SALT_LENGTH, pbkdf2Iterations,
+                        Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (!encoders.containsKey(encodingId)) {
+            throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.rbac.common.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide mapping from permission key to a small integer ordinal, so a principal's permissions can be held as a
+ * bitset and checked with a single bit test. Keys from the {@code permissions} table are registered at startup in id
+ * order by {@link PermissionRegistryLoader}; any other key (role authorities, permissions created later) gets the next
+ * free ordinal the first time it is seen. Ordinals are never reused or reassigned, so a bitset stays valid for the
+ * life of the process. Keys are case-sensitive, like {@code hasAuthority}.
+ */
+public final class PermissionRegistry {
+
+    private static final Map<String, Integer> ORDINALS = new ConcurrentHashMap<>();
+    private static final List<String> KEYS = new CopyOnWriteArrayList<>();
+
+    private PermissionRegistry() {
+    }
+
+    /**
+     * @return the ordinal of {@code key}, or {@code -1} when it has never been registered
+     */
+    public static int ordinal(String key) {
+        if (key == null) {
+            return -1;
+        }
+        Integer ordinal = ORDINALS.get(key);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * @return the ordinal of {@code key}, assigning the next free one if it is new
+     */
+    public static int register(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Permission key is required");
+        }
+        Integer existing = ORDINALS.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (KEYS) {
+            existing = ORDINALS.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            int ordinal = KEYS.size();
+            KEYS.add(key);
+            ORDINALS.put(key, ordinal);
+            return ordinal;
+        }
+    }
+
+    public static void registerAll(Collection<String> keys) {
+        for (String key : keys) {
+            if (key != null) {
+                register(key);
+            }
+        }
+    }
+
+    public static String key(int ordinal) {
+        return ordinal >= 0 && ordinal < KEYS.size() ? KEYS.get(ordinal) : null;
+    }
+
+    public static int size() {
+        return KEYS.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.rbac.common.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers every key in the {@code permissions} table once the context is up, so the permissions that matter get
+ * dense ordinals in a stable order instead of whatever order principals happen to be resolved in.
+ */
+@Component
+public class PermissionRegistryLoader implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(PermissionRegistryLoader.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PermissionRegistryLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            PermissionRegistry.registerAll(jdbcTemplate.queryForList("SELECT code FROM permissions ORDER BY id",
+                    String.class));
+            log.debug("Permission registry holds {} key(s)", PermissionRegistry.size());
+        } catch (DataAccessException ex) {
+            log.warn("Unable to preload permission keys; they will be registered as they are first used", ex);
+        }
+    }
+}
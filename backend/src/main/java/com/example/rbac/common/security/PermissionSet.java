@@ -0,0 +1,59 @@
+package com.example.rbac.common.security;
+
+import java.util.Collection;
+
+/**
+ * Immutable set of permissions encoded as a bitset over {@link PermissionRegistry} ordinals.
+ */
+public final class PermissionSet {
+
+    public static final PermissionSet EMPTY = new PermissionSet(new long[0]);
+
+    private final long[] bits;
+
+    private PermissionSet(long[] bits) {
+        this.bits = bits;
+    }
+
+    public static PermissionSet of(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return EMPTY;
+        }
+        int[] ordinals = new int[keys.size()];
+        int highest = -1;
+        int count = 0;
+        for (String key : keys) {
+            if (key != null) {
+                int ordinal = PermissionRegistry.register(key);
+                ordinals[count++] = ordinal;
+                highest = Math.max(highest, ordinal);
+            }
+        }
+        if (highest < 0) {
+            return EMPTY;
+        }
+        long[] bits = new long[(highest >>> 6) + 1];
+        for (int index = 0; index < count; index++) {
+            bits[ordinals[index] >>> 6] |= 1L << ordinals[index];
+        }
+        return new PermissionSet(bits);
+    }
+
+    public boolean contains(int ordinal) {
+        int word = ordinal >>> 6;
+        return ordinal >= 0 && word < bits.length && (bits[word] & (1L << ordinal)) != 0;
+    }
+
+    public boolean contains(String key) {
+        return contains(PermissionRegistry.ordinal(key));
+    }
+
+    public boolean containsAny(int... ordinals) {
+        for (int ordinal : ordinals) {
+            if (contains(ordinal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.rbac.common.security;
+
+import com.example.rbac.admin.users.model.UserPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Permission checks shared by services and the permission evaluators used in {@code @PreAuthorize} expressions. For a
+ * {@link UserPrincipal} a check is a bit test on its {@link PermissionSet}; any other authentication falls back to
+ * comparing authority names. Resolve ordinals once, typically into a constant via
+ * {@link PermissionRegistry#register(String)}.
+ */
+public final class Permissions {
+
+    private Permissions() {
+    }
+
+    public static boolean current(int permission) {
+        return has(SecurityContextHolder.getContext().getAuthentication(), permission);
+    }
+
+    public static boolean has(Authentication authentication, int permission) {
+        if (authentication == null || permission < 0) {
+            return false;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.hasPermission(permission);
+        }
+        String key = PermissionRegistry.key(permission);
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (key != null && key.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean hasAny(Authentication authentication, int... permissions) {
+        for (int permission : permissions) {
+            if (has(authentication, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean has(UserPrincipal principal, int permission) {
+        return principal != null && principal.hasPermission(permission);
+    }
+}
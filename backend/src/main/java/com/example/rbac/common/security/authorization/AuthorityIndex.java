@@ -0,0 +1,66 @@
+package com.example.rbac.common.security.authorization;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns every authority named by the route rules a bit position, so a principal's authorities can be reduced to a
+ * {@code long[]} once and each rule check becomes a word-wise AND. Authorities no rule mentions are ignored: they can
+ * never change a route decision.
+ */
+public final class AuthorityIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, Integer> ordinals;
+    private final int words;
+
+    private AuthorityIndex(Map<String, Integer> ordinals) {
+        this.ordinals = Map.copyOf(ordinals);
+        this.words = Math.max(1, (ordinals.size() + 63) >>> 6);
+    }
+
+    static AuthorityIndex of(Collection<String> authorities) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (String authority : authorities) {
+            ordinals.putIfAbsent(authority, ordinals.size());
+        }
+        return new AuthorityIndex(ordinals);
+    }
+
+    public long[] encode(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return EMPTY;
+        }
+        long[] bits = new long[words];
+        for (GrantedAuthority authority : authorities) {
+            Integer ordinal = authority == null ? null : ordinals.get(authority.getAuthority());
+            if (ordinal != null) {
+                bits[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+        return bits;
+    }
+
+    long[] mask(Collection<String> authorities) {
+        long[] bits = new long[words];
+        for (String authority : authorities) {
+            int ordinal = ordinals.get(authority);
+            bits[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return bits;
+    }
+
+    static boolean intersects(long[] granted, long[] required) {
+        int length = Math.min(granted.length, required.length);
+        for (int word = 0; word < length; word++) {
+            if ((granted[word] & required[word]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.rbac.common.security.authorization;
+
+import com.example.rbac.admin.users.model.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.function.Supplier;
+
+/**
+ * Authorizes a request against a compiled {@link RouteAuthorizationTable}. Authorities are encoded once per principal
+ * and cached on {@link UserPrincipal}, so the decision itself is a trie walk and a bitmask test.
+ */
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final long[] NONE = new long[0];
+
+    private final RouteAuthorizationTable table;
+
+    public RouteAuthorizationManager(RouteAuthorizationTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        return new AuthorizationDecision(table.isGranted(request.getMethod(), pathWithinApplication(request),
+                authorityBits(authentication.get())));
+    }
+
+    private long[] authorityBits(Authentication authentication) {
+        if (authentication == null) {
+            return NONE;
+        }
+        AuthorityIndex index = table.authorityIndex();
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.authorityBits(index);
+        }
+        return index.encode(authentication.getAuthorities());
+    }
+
+    /**
+     * Same path {@code AntPathRequestMatcher} matches on: the decoded servlet path plus path info.
+     */
+    private static String pathWithinApplication(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        if (pathInfo == null) {
+            return servletPath;
+        }
+        return servletPath == null || servletPath.isEmpty() ? pathInfo : servletPath + pathInfo;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.rbac.common.security.authorization;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Route rules compiled into a trie keyed by path segment. Each node records, per HTTP method, the earliest declared
+ * rule that ends exactly at that node and the earliest {@code /**} rule rooted there, so deciding a request is a single
+ * walk down its path keeping the lowest rule index seen, followed by one bitmask test. This gives the same
+ * first-match-wins result as evaluating the rules in declaration order.
+ */
+public final class RouteAuthorizationTable {
+
+    private static final List<String> METHODS = List.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS",
+            "TRACE");
+    private static final int OTHER_METHOD = METHODS.size();
+
+    private final Node root = new Node();
+    private final AuthorityIndex authorityIndex;
+    private final CompiledRule[] rules;
+
+    private RouteAuthorizationTable(List<RouteRule> declared) {
+        Set<String> authorities = new LinkedHashSet<>();
+        declared.forEach(rule -> authorities.addAll(rule.authorities()));
+        this.authorityIndex = AuthorityIndex.of(authorities);
+        this.rules = new CompiledRule[declared.size()];
+        for (int index = 0; index < declared.size(); index++) {
+            RouteRule rule = declared.get(index);
+            rules[index] = new CompiledRule(rule, authorityIndex.mask(rule.authorities()));
+            insert(rule, index);
+        }
+    }
+
+    public static RouteAuthorizationTable compile(List<RouteRule> rules) {
+        return new RouteAuthorizationTable(rules);
+    }
+
+    public AuthorityIndex authorityIndex() {
+        return authorityIndex;
+    }
+
+    /**
+     * @return the rule that decides the request, or {@code null} when none matches
+     */
+    public RouteRule match(String method, String path) {
+        int index = matchIndex(methodSlot(method), path);
+        return index < 0 ? null : rules[index].rule();
+    }
+
+    /**
+     * @param granted the caller's authorities encoded with {@link #authorityIndex()}
+     * @return whether access is granted; requests no rule matches are denied
+     */
+    public boolean isGranted(String method, String path, long[] granted) {
+        int index = matchIndex(methodSlot(method), path);
+        if (index < 0) {
+            return false;
+        }
+        CompiledRule rule = rules[index];
+        return switch (rule.rule().access()) {
+            case PERMIT_ALL -> true;
+            case DENY_ALL -> false;
+            case ANY_AUTHORITY -> AuthorityIndex.intersects(granted, rule.mask());
+            case NONE_OF_AUTHORITIES -> !AuthorityIndex.intersects(granted, rule.mask());
+        };
+    }
+
+    private int matchIndex(int methodSlot, String path) {
+        Node node = root;
+        int best = node.prefix[methodSlot];
+        int length = path == null ? 0 : path.length();
+        int start = length > 0 && path.charAt(0) == '/' ? 1 : 0;
+        if (start < length) {
+            while (true) {
+                int end = path.indexOf('/', start);
+                String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+                node = node.children.get(segment);
+                if (node == null) {
+                    return best == Integer.MAX_VALUE ? -1 : best;
+                }
+                best = Math.min(best, node.prefix[methodSlot]);
+                if (end < 0) {
+                    break;
+                }
+                start = end + 1;
+            }
+        }
+        best = Math.min(best, node.exact[methodSlot]);
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    private void insert(RouteRule rule, int index) {
+        String pattern = rule.pattern();
+        boolean prefix = pattern.equals("/**") || pattern.endsWith("/**");
+        String path = prefix ? pattern.substring(0, pattern.length() - 3) : pattern;
+        if (!path.startsWith("/") && !path.isEmpty()) {
+            throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+        }
+        if (path.contains("*") || path.contains("{")) {
+            throw new IllegalArgumentException("Only exact paths and trailing '/**' are supported: " + pattern);
+        }
+        Node node = root;
+        if (path.length() > 1) {
+            for (String segment : path.substring(1).split("/", -1)) {
+                node = node.children.computeIfAbsent(segment, ignored -> new Node());
+            }
+        }
+        int[] slots = prefix ? node.prefix : node.exact;
+        if (rule.method() == null) {
+            for (int slot = 0; slot < slots.length; slot++) {
+                slots[slot] = Math.min(slots[slot], index);
+            }
+        } else {
+            int slot = methodSlot(rule.method().name());
+            slots[slot] = Math.min(slots[slot], index);
+        }
+    }
+
+    private static int methodSlot(String method) {
+        if (method == null) {
+            return OTHER_METHOD;
+        }
+        int slot = METHODS.indexOf(method);
+        return slot < 0 ? OTHER_METHOD : slot;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private final int[] exact = unmatched();
+        private final int[] prefix = unmatched();
+
+        private static int[] unmatched() {
+            int[] slots = new int[OTHER_METHOD + 1];
+            Arrays.fill(slots, Integer.MAX_VALUE);
+            return slots;
+        }
+    }
+
+    private record CompiledRule(RouteRule rule, long[] mask) {
+    }
+}
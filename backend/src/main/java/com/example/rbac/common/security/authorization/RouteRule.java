@@ -0,0 +1,25 @@
+package com.example.rbac.common.security.authorization;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+/**
+ * One URL authorization rule. {@code pattern} is either an exact path or a path ending in {@code /**}, which also
+ * matches the path without the suffix; {@code method} is {@code null} for rules that apply to every method.
+ */
+public record RouteRule(HttpMethod method, String pattern, Access access, List<String> authorities) {
+
+    public enum Access {
+        PERMIT_ALL,
+        DENY_ALL,
+        /** Granted when the caller holds at least one of {@link #authorities()}. */
+        ANY_AUTHORITY,
+        /** Granted unless the caller holds one of {@link #authorities()}, anonymous callers included. */
+        NONE_OF_AUTHORITIES
+    }
+
+    public RouteRule {
+        authorities = authorities == null ? List.of() : List.copyOf(authorities);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.rbac.common.security.authorization;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Declares route rules in the same shape as Spring Security's {@code authorizeHttpRequests} DSL. Rules keep their
+ * declaration order, and as with the DSL the first rule that matches a request decides it.
+ */
+public final class RouteRules {
+
+    private final List<RouteRule> rules = new ArrayList<>();
+
+    public Matcher requestMatchers(String... patterns) {
+        return new Matcher(null, patterns);
+    }
+
+    public Matcher requestMatchers(HttpMethod method, String... patterns) {
+        return new Matcher(method, patterns);
+    }
+
+    public Matcher anyRequest() {
+        return new Matcher(null, new String[]{"/**"});
+    }
+
+    public List<RouteRule> build() {
+        return List.copyOf(rules);
+    }
+
+    public final class Matcher {
+
+        private final HttpMethod method;
+        private final String[] patterns;
+
+        private Matcher(HttpMethod method, String[] patterns) {
+            this.method = method;
+            this.patterns = patterns;
+        }
+
+        public RouteRules permitAll() {
+            return add(RouteRule.Access.PERMIT_ALL, List.of());
+        }
+
+        public RouteRules denyAll() {
+            return add(RouteRule.Access.DENY_ALL, List.of());
+        }
+
+        public RouteRules hasAuthority(String authority) {
+            return add(RouteRule.Access.ANY_AUTHORITY, List.of(authority));
+        }
+
+        public RouteRules hasAnyAuthority(String... authorities) {
+            return add(RouteRule.Access.ANY_AUTHORITY, Arrays.asList(authorities));
+        }
+
+        public RouteRules hasRole(String role) {
+            return add(RouteRule.Access.ANY_AUTHORITY, List.of("ROLE_" + role));
+        }
+
+        public RouteRules lacksAuthority(String authority) {
+            return add(RouteRule.Access.NONE_OF_AUTHORITIES, List.of(authority));
+        }
+
+        private RouteRules add(RouteRule.Access access, List<String> authorities) {
+            for (String pattern : patterns) {
+                rules.add(new RouteRule(method, pattern, access, authorities));
+            }
+            return RouteRules.this;
+        }
+    }
+}
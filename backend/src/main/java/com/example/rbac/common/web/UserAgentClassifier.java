@@ -0,0 +1,170 @@
+package com.example.rbac.common.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Classifies {@code User-Agent} headers into browser, operating system and device type for audit records. The rules
+ * are a fixed, ordered table of lowercase tokens evaluated against a single lowercased copy of the header, and
+ * results are kept in a bounded LRU keyed by the raw header: real traffic repeats a few hundred distinct agents, so
+ * almost every lookup is a cache hit. The cache is split into independently locked segments to keep request threads
+ * from contending on one monitor.
+ */
+@Component
+public class UserAgentClassifier {
+
+    static final int MAX_CACHED_LENGTH = 512;
+    private static final int MAX_DESCRIPTION_LENGTH = 150;
+    private static final int SEGMENTS = 16;
+
+    private static final List<Rule> BROWSER_RULES = List.of(
+            new Rule("Microsoft Edge", tokens("edg/"), tokens()),
+            new Rule("Google Chrome", tokens("chrome/"), tokens("chromium", "edg/", "opr/")),
+            new Rule("Safari", tokens("safari/", "version/"), tokens("chrome/")),
+            new Rule("Mozilla Firefox", tokens("firefox/"), tokens()),
+            new Rule("Opera", tokens("opr/"), tokens()),
+            new Rule("Opera", tokens("opera"), tokens()),
+            new Rule("Internet Explorer", tokens("msie"), tokens()),
+            new Rule("Internet Explorer", tokens("trident/"), tokens()));
+
+    private static final List<Rule> OPERATING_SYSTEM_RULES = List.of(
+            new Rule("iOS", tokens("iphone"), tokens()),
+            new Rule("iOS", tokens("ipad"), tokens()),
+            new Rule("Windows", tokens("windows nt 10"), tokens()),
+            new Rule("Windows", tokens("windows nt 11"), tokens()),
+            new Rule("macOS", tokens("mac os x"), tokens()),
+            new Rule("macOS", tokens("macintosh"), tokens()),
+            new Rule("ChromeOS", tokens("cros"), tokens()),
+            new Rule("Android", tokens("android"), tokens()),
+            new Rule("Linux", tokens("linux"), tokens()));
+
+    private static final List<Rule> DEVICE_TYPE_RULES = List.of(
+            new Rule("Bot", tokens("bot"), tokens()),
+            new Rule("Bot", tokens("crawler"), tokens()),
+            new Rule("Bot", tokens("spider"), tokens()),
+            new Rule("Tablet", tokens("ipad"), tokens()),
+            new Rule("Tablet", tokens("tablet"), tokens()),
+            new Rule("Tablet", tokens("android"), tokens("mobile")),
+            new Rule("Mobile", tokens("mobi"), tokens()),
+            new Rule("Mobile", tokens("iphone"), tokens()));
+
+    private final Segment[] segments;
+
+    public UserAgentClassifier(@Value("${app.user-agent.cache-size:1024}") int cacheSize) {
+        int perSegment = Math.max(4, cacheSize / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @return the classification, or {@code null} for a missing or blank header
+     */
+    public UserAgentInfo classify(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return null;
+        }
+        if (userAgent.length() > MAX_CACHED_LENGTH) {
+            return parse(userAgent);
+        }
+        Segment segment = segments[(userAgent.hashCode() & 0x7fffffff) % SEGMENTS];
+        UserAgentInfo cached = segment.get(userAgent);
+        if (cached != null) {
+            return cached;
+        }
+        UserAgentInfo parsed = parse(userAgent);
+        segment.put(userAgent, parsed);
+        return parsed;
+    }
+
+    /**
+     * Short "Browser on OS" label stored in the activity log's {@code device} column.
+     */
+    public String describe(String userAgent) {
+        UserAgentInfo info = classify(userAgent);
+        return info != null ? info.description() : null;
+    }
+
+    static UserAgentInfo parse(String userAgent) {
+        String normalized = userAgent.toLowerCase(Locale.ROOT);
+        String browser = firstMatch(BROWSER_RULES, normalized);
+        String operatingSystem = firstMatch(OPERATING_SYSTEM_RULES, normalized);
+        String deviceType = firstMatch(DEVICE_TYPE_RULES, normalized);
+        if (deviceType == null) {
+            deviceType = "Desktop";
+        }
+        String description;
+        if (browser != null && operatingSystem != null) {
+            description = browser + " on " + operatingSystem;
+        } else if (browser != null || operatingSystem != null) {
+            description = browser != null ? browser : operatingSystem;
+        } else {
+            description = userAgent.trim();
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            description = description.substring(0, MAX_DESCRIPTION_LENGTH);
+        }
+        return new UserAgentInfo(browser, operatingSystem, deviceType, description);
+    }
+
+    private static String firstMatch(List<Rule> rules, String normalized) {
+        for (Rule rule : rules) {
+            if (rule.matches(normalized)) {
+                return rule.label();
+            }
+        }
+        return null;
+    }
+
+    private static String[] tokens(String... tokens) {
+        return tokens;
+    }
+
+    public record UserAgentInfo(String browser, String operatingSystem, String deviceType, String description) {
+    }
+
+    private record Rule(String label, String[] required, String[] excluded) {
+
+        boolean matches(String normalized) {
+            for (String token : required) {
+                if (!normalized.contains(token)) {
+                    return false;
+                }
+            }
+            for (String token : excluded) {
+                if (normalized.contains(token)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Segment {
+
+        private final Map<String, UserAgentInfo> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, UserAgentInfo> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized UserAgentInfo get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(String key, UserAgentInfo value) {
+            entries.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.rbac.common.web.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the serialized JSON of an anonymous {@code GET} handler whose response is the same for every visitor. Entries
+ * are keyed by path and the handler's declared {@code @RequestParam}s, live for {@link #ttlSeconds()} and are dropped
+ * early when the owning admin service calls {@link PublicResponseCache#invalidateAfterCommit(String)} for the
+ * {@link #region()}. Query parameters the handler does not declare never create entries of their own.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PublicCacheable {
+
+    String region();
+
+    long ttlSeconds() default 300;
+
+    /**
+     * Parameters whose values are too varied to be worth caching, such as free-text search; a request carrying any of
+     * them runs the handler uncached.
+     */
+    String[] skipWhenPresent() default {};
+
+    /**
+     * Largest {@code size} parameter that is cached; larger pages run the handler uncached.
+     */
+    int maxPageSize() default 50;
+}
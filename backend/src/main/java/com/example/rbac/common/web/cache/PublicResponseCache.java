@@ -0,0 +1,183 @@
+package com.example.rbac.common.web.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized responses of {@link PublicCacheable} handlers, with their ETag and, for bodies worth compressing, a
+ * gzip copy made once at store time. Each region carries a generation; invalidating a region bumps it, which retires
+ * every entry of that region at once and stops a response computed before the change from being stored after it.
+ */
+@Component
+public class PublicResponseCache {
+
+    public static final String CATEGORIES = "categories";
+    public static final String BRANDS = "brands";
+    public static final String BLOG_CATEGORIES = "blog-categories";
+    public static final String COUPONS = "coupons";
+
+    static final String REGION_TAG = "region";
+
+    private final boolean enabled;
+    private final int gzipMinBytes;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, RegionMeters> meters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public PublicResponseCache(MeterRegistry meterRegistry,
+                               @Value("${app.public-cache.enabled:true}") boolean enabled,
+                               @Value("${app.public-cache.max-entries:2000}") int maxEntries,
+                               @Value("${app.public-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this(meterRegistry, enabled, maxEntries, gzipMinBytes, System::nanoTime);
+    }
+
+    PublicResponseCache(MeterRegistry meterRegistry, boolean enabled, int maxEntries, int gzipMinBytes,
+                        LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.gzipMinBytes = Math.max(0, gzipMinBytes);
+        this.clock = clock;
+        int capacity = Math.max(16, maxEntries);
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        });
+        Gauge.builder("public.response.cache.size", entries, Map::size)
+                .description("Public responses currently held in memory")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the live entry for {@code key}, counting a hit or a miss for {@code region}
+     */
+    Entry lookup(String region, String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && (entry.generation() != generation(region).get() || clock.getAsLong() - entry.expiresAt() >= 0)) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        RegionMeters regionMeters = meters(region);
+        if (entry == null) {
+            regionMeters.misses().increment();
+        } else {
+            regionMeters.hits().increment();
+        }
+        return entry;
+    }
+
+    long currentGeneration(String region) {
+        return generation(region).get();
+    }
+
+    /**
+     * Stores {@code body} unless {@code region} was invalidated since {@code generation} was read.
+     */
+    Entry store(String region, String key, long generation, byte[] body, long ttlSeconds) {
+        Entry entry = new Entry(body, body.length >= gzipMinBytes ? gzip(body) : null, etag(body), generation,
+                clock.getAsLong() + ttlSeconds * 1_000_000_000L);
+        if (generation(region).get() == generation) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Drops every cached response of {@code region} once the surrounding transaction commits, or immediately when
+     * there is none.
+     */
+    public void invalidateAfterCommit(String region) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(region);
+                }
+            });
+            return;
+        }
+        invalidate(region);
+    }
+
+    public void invalidate(String region) {
+        generation(region).incrementAndGet();
+    }
+
+    private AtomicLong generation(String region) {
+        return generations.computeIfAbsent(region, ignored -> new AtomicLong());
+    }
+
+    private RegionMeters meters(String region) {
+        return meters.computeIfAbsent(region, name -> {
+            Counter hits = Counter.builder("public.response.cache.requests")
+                    .description("Public API requests served through the response cache")
+                    .tag(REGION_TAG, name)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            Counter misses = Counter.builder("public.response.cache.requests")
+                    .description("Public API requests served through the response cache")
+                    .tag(REGION_TAG, name)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("public.response.cache.hit.ratio", () -> {
+                        double total = hits.count() + misses.count();
+                        return total == 0 ? 0 : hits.count() / total;
+                    })
+                    .description("Share of public API requests answered from the response cache")
+                    .tag(REGION_TAG, name)
+                    .register(meterRegistry);
+            return new RegionMeters(hits, misses);
+        });
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream output = new GZIPOutputStream(buffer)) {
+            output.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    record Entry(byte[] body, byte[] gzipBody, String etag, long generation, long expiresAt) {
+    }
+
+    private record RegionMeters(Counter hits, Counter misses) {
+    }
+}
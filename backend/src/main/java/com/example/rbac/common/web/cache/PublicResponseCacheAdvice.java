@@ -0,0 +1,65 @@
+package com.example.rbac.common.web.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stores the body of a {@link PublicCacheable} handler after a cache miss. The body is serialized with the
+ * application's {@link ObjectMapper}, so the cached bytes match what the JSON converter writes for this response.
+ */
+@ControllerAdvice
+public class PublicResponseCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicResponseCacheAdvice.class);
+
+    private final PublicResponseCache cache;
+    private final ObjectMapper objectMapper;
+
+    public PublicResponseCacheAdvice(PublicResponseCache cache, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(PublicCacheable.class)
+                && MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        if (body == null
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || servletResponse.getServletResponse().getStatus() != 200
+                || !(servletRequest.getServletRequest().getAttribute(PublicResponseCacheInterceptor.PENDING_ATTRIBUTE)
+                instanceof PublicResponseCacheInterceptor.Pending pending)) {
+            return body;
+        }
+        try {
+            PublicResponseCache.Entry entry = cache.store(pending.cacheable().region(), pending.key(),
+                    pending.generation(), objectMapper.writeValueAsBytes(body), pending.cacheable().ttlSeconds());
+            PublicResponseCacheInterceptor.writeHeaders(servletResponse.getServletResponse(), entry.etag());
+        } catch (JsonProcessingException ex) {
+            log.warn("Unable to cache public response for {}", pending.key(), ex);
+        }
+        return body;
+    }
+}
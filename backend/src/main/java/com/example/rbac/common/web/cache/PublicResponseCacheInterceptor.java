@@ -0,0 +1,182 @@
+package com.example.rbac.common.web.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers {@link PublicCacheable} requests from {@link PublicResponseCache} before the handler runs: an empty 304 when
+ * {@code If-None-Match} carries the current ETag, otherwise the stored bytes, gzipped when the client accepts it. On a
+ * miss the handler runs as usual and {@link PublicResponseCacheAdvice} stores what it returns. Requests carrying one of
+ * {@link PublicCacheable#skipWhenPresent()} or a {@code size} above {@link PublicCacheable#maxPageSize()} bypass the
+ * cache altogether, so arbitrary query strings cannot fill it.
+ */
+@Component
+public class PublicResponseCacheInterceptor implements HandlerInterceptor {
+
+    static final String PENDING_ATTRIBUTE = PublicResponseCacheInterceptor.class.getName() + ".PENDING";
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().getHeaderValue();
+    private static final String PAGE_SIZE_PARAMETER = "size";
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final PublicResponseCache cache;
+    private final Map<Method, Optional<List<String>>> declaredParameters = new ConcurrentHashMap<>();
+
+    public PublicResponseCacheInterceptor(PublicResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!cache.isEnabled() || !"GET".equals(request.getMethod()) || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        PublicCacheable cacheable = method.getMethodAnnotation(PublicCacheable.class);
+        if (cacheable == null) {
+            return true;
+        }
+        Optional<List<String>> parameters = declaredParameters.computeIfAbsent(method.getMethod(),
+                ignored -> requestParameterNames(method));
+        if (parameters.isEmpty() || !isCacheable(request, cacheable)) {
+            return true;
+        }
+        String key = cacheKey(request, parameters.get());
+        long generation = cache.currentGeneration(cacheable.region());
+        PublicResponseCache.Entry entry = cache.lookup(cacheable.region(), key);
+        if (entry == null) {
+            request.setAttribute(PENDING_ATTRIBUTE, new Pending(cacheable, key, generation));
+            return true;
+        }
+        writeHeaders(response, entry.etag());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entry.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        byte[] body = entry.body();
+        if (entry.gzipBody() != null && acceptsGzip(request)) {
+            body = entry.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    static void writeHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * Request path plus the handler's declared parameters in a fixed order, so {@code ?size=12&page=0} and
+     * {@code ?page=0&size=12} share an entry and parameters the handler ignores do not split it.
+     *
+     * @param parameters the handler's {@code @RequestParam} names, sorted
+     */
+    static String cacheKey(HttpServletRequest request, List<String> parameters) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (String parameter : parameters) {
+            String[] values = request.getParameterValues(parameter);
+            if (values == null) {
+                continue;
+            }
+            for (String value : values) {
+                key.append(separator)
+                        .append(URLEncoder.encode(parameter, StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(value == null ? "" : value.trim(), StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    static boolean isCacheable(HttpServletRequest request, PublicCacheable cacheable) {
+        for (String parameter : cacheable.skipWhenPresent()) {
+            if (StringUtils.hasText(request.getParameter(parameter))) {
+                return false;
+            }
+        }
+        String size = request.getParameter(PAGE_SIZE_PARAMETER);
+        if (!StringUtils.hasText(size)) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(size.trim()) <= cacheable.maxPageSize();
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the sorted {@code @RequestParam} names of the handler, or empty when it binds a parameter map and so
+     * depends on query parameters that cannot be listed up front
+     */
+    private static Optional<List<String>> requestParameterNames(HandlerMethod method) {
+        List<String> names = new ArrayList<>();
+        for (MethodParameter parameter : method.getMethodParameters()) {
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            if (requestParam == null) {
+                continue;
+            }
+            if (Map.class.isAssignableFrom(parameter.getParameterType())) {
+                return Optional.empty();
+            }
+            String name = StringUtils.hasText(requestParam.name()) ? requestParam.name() : requestParam.value();
+            if (!StringUtils.hasText(name)) {
+                parameter.initParameterNameDiscovery(PARAMETER_NAMES);
+                name = parameter.getParameterName();
+            }
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        names.sort(null);
+        return Optional.of(List.copyOf(names));
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+    }
+
+    record Pending(PublicCacheable cacheable, String key, long generation) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.rbac.common.web.cache;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class PublicResponseCacheWebConfig implements WebMvcConfigurer {
+
+    private final PublicResponseCacheInterceptor publicResponseCacheInterceptor;
+
+    public PublicResponseCacheWebConfig(PublicResponseCacheInterceptor publicResponseCacheInterceptor) {
+        this.publicResponseCacheInterceptor = publicResponseCacheInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(publicResponseCacheInterceptor);
+    }
+}
@@ -9,6 +9,7 @@ public class JwtProperties {
     private String secret;
     private long accessTokenTtlSeconds;
     private long refreshTokenTtlSeconds;
+    private long refreshReuseGraceSeconds = 10;
 
     public String getSecret() {
         return secret;
@@ -33,4 +34,12 @@ public class JwtProperties {
     public void setRefreshTokenTtlSeconds(long refreshTokenTtlSeconds) {
         this.refreshTokenTtlSeconds = refreshTokenTtlSeconds;
     }
+
+    public long getRefreshReuseGraceSeconds() {
+        return refreshReuseGraceSeconds;
+    }
+
+    public void setRefreshReuseGraceSeconds(long refreshReuseGraceSeconds) {
+        this.refreshReuseGraceSeconds = refreshReuseGraceSeconds;
+    }
 }
@@ -13,7 +13,6 @@ import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -43,22 +42,6 @@ public class JwtService {
                 .compact();
     }
 
-    public String generateRefreshToken(User user) {
-        Instant now = Instant.now();
-        Instant expiry = now.plusSeconds(properties.getRefreshTokenTtlSeconds());
-        return Jwts.builder()
-                .setId(UUID.randomUUID().toString())
-                .setSubject(user.getId().toString())
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(expiry))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
-    }
-
-    public Instant calculateRefreshExpiry() {
-        return Instant.now().plusSeconds(properties.getRefreshTokenTtlSeconds());
-    }
-
     public Claims parseToken(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(key)
@@ -1,17 +1,21 @@
 package com.example.rbac.config;
 
 import com.example.rbac.common.security.DynamicPublicEndpointMatcher;
+import com.example.rbac.common.security.PasswordEncoders;
+import com.example.rbac.common.security.authorization.RouteAuthorizationManager;
+import com.example.rbac.common.security.authorization.RouteAuthorizationTable;
+import com.example.rbac.common.security.authorization.RouteRule;
+import com.example.rbac.common.security.authorization.RouteRules;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -84,6 +88,9 @@ public class SecurityConfig {
             "ORDER_EDIT"
     };
 
+    // Declared after the authority arrays: static initializers run in source order and routeRules() reads them.
+    private static final RouteAuthorizationTable ROUTE_AUTHORIZATION = RouteAuthorizationTable.compile(routeRules());
+
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
@@ -93,56 +100,63 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
                 .cors(Customizer.withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(auth -> {
-                    auth.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
-                    auth.requestMatchers(new DynamicPublicEndpointMatcher()).permitAll();
-
-                    auth.requestMatchers("/api/v1/public/**", "/api/v1/client/public/**", "/api/public/endpoints").permitAll()
-                            .requestMatchers("/api/v1/client/auth/signup", "/api/v1/client/auth/login").permitAll()
-                            .requestMatchers("/api/v1/admin/auth/**").permitAll()
-                            .requestMatchers(HttpMethod.GET, "/api/v1/admin/uploaded-files/**").hasAnyAuthority(
-                                    "UPLOADED_FILE_VIEW",
-                                    "UPLOADED_FILE_MANAGE",
-                                    "COUPON_VIEW_GLOBAL",
-                                    "COUPON_CREATE",
-                                    "COUPON_UPDATE")
-                            .requestMatchers(HttpMethod.GET, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_VIEW")
-                            .requestMatchers(HttpMethod.GET, "/api/v1/admin/shipping/countries/**",
-                                    "/api/v1/admin/shipping/states/**",
-                                    "/api/v1/admin/shipping/cities/**").hasAnyAuthority(SHIPPING_LOCATION_READ_AUTHORITIES)
-                            .requestMatchers(HttpMethod.POST, "/api/v1/admin/shipping/countries/**",
-                                    "/api/v1/admin/shipping/states/**",
-                                    "/api/v1/admin/shipping/cities/**").hasAuthority("SHIPPING_MANAGE")
-                            .requestMatchers(HttpMethod.PUT, "/api/v1/admin/shipping/countries/**",
-                                    "/api/v1/admin/shipping/states/**",
-                                    "/api/v1/admin/shipping/cities/**").hasAuthority("SHIPPING_MANAGE")
-                            .requestMatchers(HttpMethod.DELETE, "/api/v1/admin/shipping/countries/**",
-                                    "/api/v1/admin/shipping/states/**",
-                                    "/api/v1/admin/shipping/cities/**").hasAuthority("SHIPPING_MANAGE")
-                            .requestMatchers(HttpMethod.GET, "/api/v1/admin/shipping/area-rates/**").hasAnyAuthority("SHIPPING_VIEW", "SHIPPING_MANAGE")
-                            .requestMatchers(HttpMethod.POST, "/api/v1/admin/shipping/area-rates/**").hasAuthority("SHIPPING_MANAGE")
-                            .requestMatchers(HttpMethod.PUT, "/api/v1/admin/shipping/area-rates/**").hasAuthority("SHIPPING_MANAGE")
-                            .requestMatchers(HttpMethod.PATCH, "/api/v1/admin/shipping/area-rates/**").hasAuthority("SHIPPING_MANAGE")
-                            .requestMatchers(HttpMethod.DELETE, "/api/v1/admin/shipping/area-rates/**").hasAuthority("SHIPPING_MANAGE")
-                            .requestMatchers(HttpMethod.POST, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_CREATE")
-                            .requestMatchers(HttpMethod.PUT, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_UPDATE")
-                            .requestMatchers(HttpMethod.PATCH, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_UPDATE")
-                            .requestMatchers(HttpMethod.DELETE, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_DELETE")
-                            .requestMatchers("/api/v1/client/**").hasRole("CUSTOMER")
-                            .requestMatchers("/api/v1/admin/**").access((authentication, context) -> {
-                                boolean isCustomer = authentication.get().getAuthorities().stream()
-                                        .anyMatch(authority -> authority.getAuthority().equals("ROLE_CUSTOMER"));
-                                return new AuthorizationDecision(!isCustomer);
-                            })
-                            .anyRequest().denyAll();
-                })
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(new DynamicPublicEndpointMatcher()).permitAll()
+                        .anyRequest().access(new RouteAuthorizationManager(ROUTE_AUTHORIZATION)))
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
+    /**
+     * URL-level rules in evaluation order; the first matching rule decides. They are compiled once into
+     * {@link #ROUTE_AUTHORIZATION}, and only exact paths and trailing {@code /**} patterns are supported. Anything more
+     * specific belongs in {@code @PreAuthorize} on the controller.
+     */
+    static List<RouteRule> routeRules() {
+        return new RouteRules()
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers("/api/v1/public/**", "/api/v1/client/public/**", "/api/public/endpoints").permitAll()
+                .requestMatchers("/api/v1/client/auth/signup", "/api/v1/client/auth/login").permitAll()
+                .requestMatchers("/api/v1/admin/auth/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/admin/uploaded-files/**").hasAnyAuthority(
+                        "UPLOADED_FILE_VIEW",
+                        "UPLOADED_FILE_MANAGE",
+                        "COUPON_VIEW_GLOBAL",
+                        "COUPON_CREATE",
+                        "COUPON_UPDATE")
+                .requestMatchers(HttpMethod.GET, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_VIEW")
+                .requestMatchers(HttpMethod.GET, "/api/v1/admin/shipping/countries/**",
+                        "/api/v1/admin/shipping/states/**",
+                        "/api/v1/admin/shipping/cities/**").hasAnyAuthority(SHIPPING_LOCATION_READ_AUTHORITIES)
+                .requestMatchers(HttpMethod.POST, "/api/v1/admin/shipping/countries/**",
+                        "/api/v1/admin/shipping/states/**",
+                        "/api/v1/admin/shipping/cities/**").hasAuthority("SHIPPING_MANAGE")
+                .requestMatchers(HttpMethod.PUT, "/api/v1/admin/shipping/countries/**",
+                        "/api/v1/admin/shipping/states/**",
+                        "/api/v1/admin/shipping/cities/**").hasAuthority("SHIPPING_MANAGE")
+                .requestMatchers(HttpMethod.DELETE, "/api/v1/admin/shipping/countries/**",
+                        "/api/v1/admin/shipping/states/**",
+                        "/api/v1/admin/shipping/cities/**").hasAuthority("SHIPPING_MANAGE")
+                .requestMatchers(HttpMethod.GET, "/api/v1/admin/shipping/area-rates/**").hasAnyAuthority("SHIPPING_VIEW", "SHIPPING_MANAGE")
+                .requestMatchers(HttpMethod.POST, "/api/v1/admin/shipping/area-rates/**").hasAuthority("SHIPPING_MANAGE")
+                .requestMatchers(HttpMethod.PUT, "/api/v1/admin/shipping/area-rates/**").hasAuthority("SHIPPING_MANAGE")
+                .requestMatchers(HttpMethod.PATCH, "/api/v1/admin/shipping/area-rates/**").hasAuthority("SHIPPING_MANAGE")
+                .requestMatchers(HttpMethod.DELETE, "/api/v1/admin/shipping/area-rates/**").hasAuthority("SHIPPING_MANAGE")
+                .requestMatchers(HttpMethod.POST, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_CREATE")
+                .requestMatchers(HttpMethod.PUT, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_UPDATE")
+                .requestMatchers(HttpMethod.PATCH, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_UPDATE")
+                .requestMatchers(HttpMethod.DELETE, "/api/v1/admin/tax-rates/**").hasAuthority("TAX_RATE_DELETE")
+                .requestMatchers("/api/v1/client/**").hasRole("CUSTOMER")
+                .requestMatchers("/api/v1/admin/**").lacksAuthority("ROLE_CUSTOMER")
+                .anyRequest().denyAll()
+                .build();
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+                                           @Value("${app.security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations) {
+        return PasswordEncoders.delegating(algorithm, bcryptStrength, pbkdf2Iterations);
     }
 
     @Bean
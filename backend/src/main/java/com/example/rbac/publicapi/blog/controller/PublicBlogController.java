@@ -7,6 +7,8 @@ import com.example.rbac.publicapi.blog.service.PublicBlogPostService;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.common.security.PublicEndpoint;
 import com.example.rbac.common.web.PublicApiPaths;
+import com.example.rbac.common.web.cache.PublicCacheable;
+import com.example.rbac.common.web.cache.PublicResponseCache;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -38,6 +40,7 @@ public class PublicBlogController {
     }
 
     @GetMapping("/categories")
+    @PublicCacheable(region = PublicResponseCache.BLOG_CATEGORIES)
     public List<BlogCategoryDto> categories() {
         return blogCategoryService.findAll();
     }
@@ -6,6 +6,8 @@ import com.example.rbac.admin.categories.dto.PublicCategoryDto;
 import com.example.rbac.admin.categories.service.CategoryService;
 import com.example.rbac.common.security.PublicEndpoint;
 import com.example.rbac.common.web.PublicApiPaths;
+import com.example.rbac.common.web.cache.PublicCacheable;
+import com.example.rbac.common.web.cache.PublicResponseCache;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,11 +29,13 @@ public class PublicCatalogController {
     }
 
     @GetMapping("/categories")
+    @PublicCacheable(region = PublicResponseCache.CATEGORIES)
     public List<PublicCategoryDto> listCategories() {
         return categoryService.listPublicCategories();
     }
 
     @GetMapping("/brands")
+    @PublicCacheable(region = PublicResponseCache.BRANDS)
     public List<PublicBrandDto> listBrands() {
         return brandService.listPublicBrands();
     }
@@ -3,6 +3,8 @@ package com.example.rbac.publicapi.coupons.controller;
 import com.example.rbac.common.pagination.PageResponse;
 import com.example.rbac.common.security.PublicEndpoint;
 import com.example.rbac.common.web.PublicApiPaths;
+import com.example.rbac.common.web.cache.PublicCacheable;
+import com.example.rbac.common.web.cache.PublicResponseCache;
 import com.example.rbac.admin.coupons.dto.PublicCouponDto;
 import com.example.rbac.admin.coupons.model.CouponType;
 import com.example.rbac.admin.coupons.service.CouponService;
@@ -22,7 +24,11 @@ public class PublicCouponController {
         this.couponService = couponService;
     }
 
+    /**
+     * Cached briefly because coupons enter and leave this list as their start and end dates pass, not only when edited.
+     */
     @GetMapping
+    @PublicCacheable(region = PublicResponseCache.COUPONS, ttlSeconds = 60, skipWhenPresent = "search")
     public PageResponse<PublicCouponDto> list(@RequestParam(name = "page", defaultValue = "0") int page,
                                               @RequestParam(name = "size", defaultValue = "12") int size,
                                               @RequestParam(name = "type", required = false) CouponType type,
@@ -1,10 +1,13 @@
 package com.example.rbac.publicapi.products.controller;
 
 import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.pagination.CursorPageRequest;
+import com.example.rbac.common.pagination.CursorPageResponse;
 import com.example.rbac.common.security.PublicEndpoint;
 import com.example.rbac.common.web.PublicApiPaths;
 import com.example.rbac.admin.products.dto.storefront.PublicProductAvailability;
 import com.example.rbac.admin.products.dto.storefront.PublicProductDetailDto;
+import com.example.rbac.admin.products.dto.storefront.PublicProductReviewDto;
 import com.example.rbac.admin.products.dto.storefront.PublicProductSearchCriteria;
 import com.example.rbac.admin.products.dto.storefront.PublicProductSearchResponse;
 import com.example.rbac.admin.products.dto.storefront.PublicProductSort;
@@ -76,6 +79,13 @@ public class PublicProductController {
         return publicProductService.getBySlug(slug, principal, guestRecentIds);
     }
 
+    @GetMapping("/{slug}/reviews")
+    public CursorPageResponse<PublicProductReviewDto> reviews(@PathVariable String slug,
+                                                              @RequestParam(name = "cursor", required = false) String cursor,
+                                                              @RequestParam(name = "size", defaultValue = "10") int size) {
+        return publicProductService.scrollReviews(slug, CursorPageRequest.of(cursor, Math.min(size, 50), false));
+    }
+
     private List<String> parseStringList(String value) {
         if (value == null || value.isBlank()) {
             return List.of();
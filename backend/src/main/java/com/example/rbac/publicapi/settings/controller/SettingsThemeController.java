@@ -1,14 +1,21 @@
 package com.example.rbac.publicapi.settings.controller;
 
-import com.example.rbac.admin.settings.dto.SettingsThemeDto;
 import com.example.rbac.admin.settings.service.SettingsService;
 import com.example.rbac.common.security.PublicEndpoint;
-import com.example.rbac.common.web.PublicApiPaths;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Arrays;
+
 @RestController
 @PublicEndpoint("Storefront theme settings")
 @RequestMapping({"/api/v1/settings", "/api/v1/client/settings"})
@@ -20,9 +27,34 @@ public class SettingsThemeController {
         this.settingsService = settingsService;
     }
 
-    @GetMapping("/theme")
+    /**
+     * Serves the theme bytes precomputed for the current settings snapshot. Clients revalidate on every load and get
+     * an empty 304 until an administrator changes the theme.
+     */
+    @GetMapping(value = "/theme", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("permitAll()")
-    public SettingsThemeDto getTheme() {
-        return settingsService.getTheme();
+    public ResponseEntity<byte[]> getTheme(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SettingsService.ThemePayload theme = settingsService.getThemePayload();
+        if (matches(ifNoneMatch, theme.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(theme.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(theme.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(theme.body());
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
     }
 }
@@ -0,0 +1,31 @@
+CREATE TABLE media_blobs (
+    blob_key VARCHAR(80) NOT NULL PRIMARY KEY,
+    sha256 CHAR(64) NOT NULL,
+    extension VARCHAR(16) NULL,
+    size_bytes BIGINT NOT NULL,
+    ref_count INT NOT NULL DEFAULT 0,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_media_blobs_sha256 ON media_blobs (sha256);
+
+-- Gallery uploads are content addressed, so identical files legitimately share a storage key.
+SET @has_storage_key_index := (
+    SELECT COUNT(*)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'gallery_files'
+      AND INDEX_NAME = 'storage_key'
+);
+
+SET @drop_storage_key_index_sql := IF(
+    @has_storage_key_index > 0,
+    'ALTER TABLE gallery_files DROP INDEX storage_key',
+    'SELECT 1'
+);
+PREPARE drop_storage_key_index_stmt FROM @drop_storage_key_index_sql;
+EXECUTE drop_storage_key_index_stmt;
+DEALLOCATE PREPARE drop_storage_key_index_stmt;
+
+CREATE INDEX idx_gallery_files_storage_key ON gallery_files(storage_key);
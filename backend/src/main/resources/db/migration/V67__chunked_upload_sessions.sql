@@ -0,0 +1,31 @@
+CREATE TABLE upload_sessions (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    owner_id BIGINT NULL,
+    purpose VARCHAR(40) NOT NULL,
+    context VARCHAR(255) NULL,
+    original_filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(150) NULL,
+    size_bytes BIGINT NOT NULL,
+    chunk_size INT NOT NULL,
+    chunk_count INT NOT NULL,
+    expected_sha256 CHAR(64) NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    expires_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_upload_sessions_expires_at ON upload_sessions (expires_at);
+
+-- A chunk counts as received once sha256 is set and no request is writing its bytes (writers = 0). Writers claim the
+-- row before touching the staging file, so completion can tell a chunk that is still being written from one that is done.
+CREATE TABLE upload_session_chunks (
+    upload_id VARCHAR(36) NOT NULL,
+    chunk_index INT NOT NULL,
+    size_bytes INT NOT NULL,
+    sha256 CHAR(64) NULL,
+    writers INT NOT NULL DEFAULT 0,
+    writing_since DATETIME(6) NULL,
+    received_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (upload_id, chunk_index),
+    CONSTRAINT fk_upload_session_chunks_session FOREIGN KEY (upload_id) REFERENCES upload_sessions (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
@@ -0,0 +1,38 @@
+-- Distinct filter values for the activity log, maintained by the writer so the filter panel no longer scans the log.
+CREATE TABLE activity_log_dimensions (
+    dimension VARCHAR(32) NOT NULL,
+    dimension_value VARCHAR(1000) NOT NULL,
+    value_hash CHAR(64) NOT NULL,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (dimension, value_hash)
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO activity_log_dimensions (dimension, dimension_value, value_hash)
+SELECT DISTINCT 'ACTIVITY_TYPE', activity_type, SHA2(activity_type, 256) FROM activity_logs WHERE activity_type IS NOT NULL;
+INSERT IGNORE INTO activity_log_dimensions (dimension, dimension_value, value_hash)
+SELECT DISTINCT 'MODULE', module_name, SHA2(module_name, 256) FROM activity_logs WHERE module_name IS NOT NULL;
+INSERT IGNORE INTO activity_log_dimensions (dimension, dimension_value, value_hash)
+SELECT DISTINCT 'STATUS', status, SHA2(status, 256) FROM activity_logs WHERE status IS NOT NULL;
+INSERT IGNORE INTO activity_log_dimensions (dimension, dimension_value, value_hash)
+SELECT DISTINCT 'ROLE', user_role, SHA2(user_role, 256) FROM activity_logs WHERE user_role IS NOT NULL;
+INSERT IGNORE INTO activity_log_dimensions (dimension, dimension_value, value_hash)
+SELECT DISTINCT 'DEPARTMENT', department, SHA2(department, 256) FROM activity_logs WHERE department IS NOT NULL;
+INSERT IGNORE INTO activity_log_dimensions (dimension, dimension_value, value_hash)
+SELECT DISTINCT 'IP_ADDRESS', ip_address, SHA2(ip_address, 256) FROM activity_logs WHERE ip_address IS NOT NULL;
+INSERT IGNORE INTO activity_log_dimensions (dimension, dimension_value, value_hash)
+SELECT DISTINCT 'DEVICE', device, SHA2(device, 256) FROM activity_logs WHERE device IS NOT NULL;
+
+-- Monthly range partitions need the partitioning column in every unique key.
+ALTER TABLE activity_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, occurred_at);
+
+-- Everything up to the end of the current month lands in p_history; ActivityLogPartitionManager splits monthly
+-- partitions off p_future ahead of time and archives and drops partitions that fall out of retention.
+SET @next_month := DATE_FORMAT(DATE_ADD(CURRENT_DATE, INTERVAL 1 MONTH), '%Y-%m-01');
+SET @partition_sql := CONCAT(
+    'ALTER TABLE activity_logs PARTITION BY RANGE (TO_DAYS(occurred_at)) (',
+    'PARTITION p_history VALUES LESS THAN (TO_DAYS(''', @next_month, ''')), ',
+    'PARTITION p_future VALUES LESS THAN MAXVALUE)'
+);
+PREPARE partition_stmt FROM @partition_sql;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
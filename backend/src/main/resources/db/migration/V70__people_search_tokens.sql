@@ -0,0 +1,10 @@
+-- Prefix-searchable tokens for user email, names and phone numbers, maintained by PeopleSearchIndex on user writes.
+-- The customer flag leads the key so customer and staff lookups are a single range scan without a role join.
+CREATE TABLE people_search_tokens (
+    is_customer TINYINT(1) NOT NULL,
+    token VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (is_customer, token, user_id),
+    KEY idx_people_search_tokens_user (user_id),
+    CONSTRAINT fk_people_search_tokens_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
@@ -0,0 +1,33 @@
+-- Per-product review aggregates maintained by ProductReviewService on every review write, so product pages and the
+-- storefront search read a count, rating total and 1-5 star histogram instead of scanning product_reviews.
+-- Published and hidden reviews are kept in separate rows; the storefront reads only is_published = 1.
+CREATE TABLE product_review_stats (
+    product_id BIGINT NOT NULL,
+    is_published TINYINT(1) NOT NULL,
+    review_count INT NOT NULL DEFAULT 0,
+    rating_total BIGINT NOT NULL DEFAULT 0,
+    rating_1_count INT NOT NULL DEFAULT 0,
+    rating_2_count INT NOT NULL DEFAULT 0,
+    rating_3_count INT NOT NULL DEFAULT 0,
+    rating_4_count INT NOT NULL DEFAULT 0,
+    rating_5_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, is_published),
+    CONSTRAINT fk_product_review_stats_product FOREIGN KEY (product_id) REFERENCES products (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+INSERT INTO product_review_stats (product_id, is_published, review_count, rating_total,
+                                  rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count)
+SELECT product_id,
+       is_published,
+       COUNT(*),
+       SUM(rating),
+       SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END)
+FROM product_reviews
+GROUP BY product_id, is_published;
+
+CREATE INDEX idx_product_reviews_product_published_reviewed
+    ON product_reviews (product_id, is_published, reviewed_at, id);
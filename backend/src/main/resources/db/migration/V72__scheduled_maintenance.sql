@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    name VARCHAR(100) NOT NULL PRIMARY KEY,
+    locked_until DATETIME(6) NOT NULL,
+    locked_at DATETIME(6) NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX idx_user_verification_tokens_expires_at ON user_verification_tokens (expires_at);
+CREATE INDEX idx_user_recent_views_viewed_at ON user_recent_views (viewed_at);
+CREATE INDEX idx_carts_updated_at ON carts (updated_at);
@@ -0,0 +1,39 @@
+-- Refresh tokens are now stored as SHA-256 digests grouped into rotation families. Live tokens are carried over by
+-- digest, each into a family of its own, so outstanding sessions keep working across the upgrade.
+ALTER TABLE refresh_tokens RENAME TO legacy_refresh_tokens;
+
+CREATE TABLE refresh_token_families (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NULL,
+    revoked_reason VARCHAR(40) NULL,
+    CONSTRAINT fk_refresh_token_families_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE refresh_tokens (
+    token_hash BINARY(32) NOT NULL PRIMARY KEY,
+    family_id BIGINT NOT NULL,
+    issued_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    used_at DATETIME(6) NULL,
+    CONSTRAINT fk_refresh_tokens_family FOREIGN KEY (family_id) REFERENCES refresh_token_families (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- The legacy id doubles as the family id, which ties each token to its family without a mapping table.
+INSERT INTO refresh_token_families (id, user_id, created_at)
+SELECT id, user_id, CURRENT_TIMESTAMP(6)
+FROM legacy_refresh_tokens
+WHERE revoked = FALSE AND expires_at > CURRENT_TIMESTAMP(6);
+
+INSERT INTO refresh_tokens (token_hash, family_id, issued_at, expires_at)
+SELECT UNHEX(SHA2(token, 256)), id, CURRENT_TIMESTAMP(6), expires_at
+FROM legacy_refresh_tokens
+WHERE revoked = FALSE AND expires_at > CURRENT_TIMESTAMP(6);
+
+DROP TABLE legacy_refresh_tokens;
+
+CREATE INDEX idx_refresh_token_families_user ON refresh_token_families (user_id);
+CREATE INDEX idx_refresh_token_families_created_at ON refresh_token_families (created_at);
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,99 @@
+package com.example.rbac.admin.activity.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActivityLogPartitionManagerTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:activity-retention;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE activity_logs (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "occurred_at TIMESTAMP(6) NOT NULL, user_id BIGINT NULL, user_name VARCHAR(150) NOT NULL, " +
+                "user_role VARCHAR(150), department VARCHAR(150), module_name VARCHAR(150), " +
+                "activity_type VARCHAR(100) NOT NULL, description VARCHAR(1000), status VARCHAR(50), " +
+                "ip_address VARCHAR(45), device VARCHAR(150), context TEXT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE activity_logs");
+    }
+
+    @Test
+    void archivesAndDeletesRowsOutsideRetentionWhenTableIsNotPartitioned() throws Exception {
+        Instant old = Instant.now().minus(800, ChronoUnit.DAYS);
+        insert(old, "LOGIN", 7L);
+        insert(old.plusSeconds(60), "LOGOUT", null);
+        insert(old.plusSeconds(120), "LOGIN", 9L);
+        insert(Instant.now(), "LOGIN", 7L);
+        ActivityLogPartitionManager manager = new ActivityLogPartitionManager(jdbcTemplate,
+                new ActivityLogArchiver(jdbcTemplate, objectMapper, archiveDir.toString()), 12, 3, 2);
+
+        manager.maintain();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM activity_logs", Integer.class));
+        List<Path> archives;
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            archives = files.toList();
+        }
+        assertEquals(1, archives.size());
+        assertTrue(archives.get(0).getFileName().toString().endsWith(".ndjson.gz"));
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archives.get(0))), StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+        assertEquals(3, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("LOGIN", first.get("activityType").asText());
+        assertEquals(7L, first.get("userId").asLong());
+        assertTrue(objectMapper.readTree(lines.get(1)).get("userId").isNull());
+    }
+
+    @Test
+    void boundsSearchesToRetentionWindow() {
+        ActivityLogPartitionManager manager = new ActivityLogPartitionManager(jdbcTemplate,
+                new ActivityLogArchiver(jdbcTemplate, objectMapper, archiveDir.toString()), 12, 3, 100);
+
+        Instant cutoff = manager.retentionCutoff();
+
+        assertNotNull(cutoff);
+        assertTrue(cutoff.isBefore(Instant.now().minus(330, ChronoUnit.DAYS)));
+        assertTrue(cutoff.isAfter(Instant.now().minus(400, ChronoUnit.DAYS)));
+    }
+
+    private void insert(Instant occurredAt, String type, Long userId) {
+        jdbcTemplate.update("INSERT INTO activity_logs (occurred_at, user_id, user_name, activity_type) VALUES (?, ?, ?, ?)",
+                Timestamp.from(occurredAt), userId, "user", type);
+    }
+}
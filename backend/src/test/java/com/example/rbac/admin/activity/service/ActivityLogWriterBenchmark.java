@@ -0,0 +1,96 @@
+package com.example.rbac.admin.activity.service;
+
+import com.example.rbac.admin.activity.model.ActivityLog;
+import com.example.rbac.admin.activity.repository.ActivityLogBatchRepository;
+import com.example.rbac.common.web.UserAgentClassifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures how fast request threads can hand activity events to {@link ActivityLogWriter} during a login storm, with
+ * a repository that takes a fixed time per batch standing in for the database. Sample mode reports the enqueue
+ * latency percentiles alongside throughput. Not part of the test run; start it with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.example.rbac.admin.activity.service.ActivityLogWriterBenchmark} or
+ * from the IDE.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class ActivityLogWriterBenchmark {
+
+    @Param({"BLOCK", "DROP"})
+    public ActivityLogWriter.OverflowPolicy overflowPolicy;
+
+    private ActivityLogWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = new ActivityLogWriter(new SlowBatchRepository(5), mock(ActivityLogDimensions.class),
+                new UserAgentClassifier(64), new ObjectMapper(), new SimpleMeterRegistry(), true, 65_536, 500,
+                Duration.ofMillis(20), overflowPolicy, Duration.ofMillis(100), Duration.ofSeconds(30));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writer.shutdown();
+    }
+
+    @Benchmark
+    public void submitLogin() {
+        writer.submit(new ActivityEvent(Instant.now(), 1L, "user", null, "Auth", "LOGIN", "Signed in", "SUCCESS",
+                "127.0.0.1", null, null));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ActivityLogWriterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static final class SlowBatchRepository extends ActivityLogBatchRepository {
+
+        private final long batchDelayMillis;
+
+        private SlowBatchRepository(long batchDelayMillis) {
+            super(null);
+            this.batchDelayMillis = batchDelayMillis;
+        }
+
+        @Override
+        public void insertAll(List<ActivityLog> batch) {
+            try {
+                Thread.sleep(batchDelayMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.rbac.admin.activity.service;
+
+import com.example.rbac.admin.activity.model.ActivityLog;
+import com.example.rbac.admin.activity.repository.ActivityLogBatchRepository;
+import com.example.rbac.common.web.UserAgentClassifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ActivityLogWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ActivityLogWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void coalescesALoginStormIntoFewBatches() throws Exception {
+        RecordingRepository repository = new RecordingRepository(5);
+        writer = newWriter(repository, 65_536, ActivityLogWriter.OverflowPolicy.BLOCK);
+        int threads = 16;
+        int eventsPerThread = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int offset = t * eventsPerThread;
+            executor.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < eventsPerThread; i++) {
+                    writer.submit(loginEvent(offset + i));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        writer.shutdown();
+
+        int events = threads * eventsPerThread;
+        assertEquals(events, repository.rows.get());
+        assertTrue(repository.batches.get() < events / 10,
+                "expected events to be coalesced, got " + repository.batches.get() + " batches");
+    }
+
+    @Test
+    void dropsEventsWhenBufferIsFullUnderDropPolicy() {
+        RecordingRepository repository = new RecordingRepository(0);
+        CountDownLatch release = new CountDownLatch(1);
+        repository.gate = release;
+        writer = newWriter(repository, 4, ActivityLogWriter.OverflowPolicy.DROP);
+
+        for (int i = 0; i < 50; i++) {
+            writer.submit(loginEvent(i));
+        }
+        release.countDown();
+        writer.shutdown();
+
+        double dropped = meterRegistry.get("activity.log.events").tag("result", "dropped").counter().count();
+        assertTrue(dropped > 0);
+        assertEquals(50, (int) dropped + repository.rows.get());
+    }
+
+    @Test
+    void serializesContextAndDescribesDeviceOnWriterThread() {
+        RecordingRepository repository = new RecordingRepository(0);
+        writer = newWriter(repository, 16, ActivityLogWriter.OverflowPolicy.DROP);
+
+        writer.submit(new ActivityEvent(Instant.now(), 1L, "Ada", "Admin", "Auth", "LOGIN", "Signed in", "SUCCESS",
+                "10.0.0.1", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) Chrome/124.0 Safari/537.36",
+                Map.of("method", "password")));
+        writer.shutdown();
+
+        ActivityLog entry = repository.entries.get(0);
+        assertEquals("Google Chrome on Windows", entry.getDevice());
+        assertEquals("{\"method\":\"password\"}", entry.getContext());
+    }
+
+    private ActivityLogWriter newWriter(ActivityLogBatchRepository repository, int capacity,
+                                        ActivityLogWriter.OverflowPolicy policy) {
+        return new ActivityLogWriter(repository, mock(ActivityLogDimensions.class), new UserAgentClassifier(64),
+                new ObjectMapper(), meterRegistry, true, capacity, 500, Duration.ofMillis(20), policy,
+                Duration.ofSeconds(1), Duration.ofSeconds(10));
+    }
+
+    private static ActivityEvent loginEvent(int sequence) {
+        return new ActivityEvent(Instant.now(), (long) sequence, "user" + sequence, null, "Auth", "LOGIN",
+                "Signed in", "SUCCESS", "127.0.0.1", null, null);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RecordingRepository extends ActivityLogBatchRepository {
+
+        private final long batchDelayMillis;
+        private final AtomicInteger rows = new AtomicInteger();
+        private final AtomicInteger batches = new AtomicInteger();
+        private final List<ActivityLog> entries = Collections.synchronizedList(new ArrayList<>());
+        private volatile CountDownLatch gate;
+
+        private RecordingRepository(long batchDelayMillis) {
+            super(null);
+            this.batchDelayMillis = batchDelayMillis;
+        }
+
+        @Override
+        public void insertAll(List<ActivityLog> batch) {
+            if (gate != null) {
+                awaitQuietly(gate);
+            }
+            if (batchDelayMillis > 0) {
+                try {
+                    Thread.sleep(batchDelayMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            entries.addAll(batch);
+            rows.addAndGet(batch.size());
+            batches.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.rbac.admin.gallery.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures files stored per second by {@link GalleryUploadPipeline} for 1, 10 and 200-file batches, with a task that
+ * blocks for a fixed time per file standing in for streaming it into storage. A parallelism of 1 is the one-file-at-a-
+ * time baseline. The {@code files} counter is the figure to read; the primary score counts batches. Not part of the
+ * test run; start it with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.rbac.admin.gallery.service.GalleryUploadPipelineBenchmark} or from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GalleryUploadPipelineBenchmark {
+
+    private static final long STORE_MILLIS = 2;
+
+    @Param({"1", "10", "200"})
+    public int fileCount;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private GalleryUploadPipeline pipeline;
+    private List<Integer> files;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pipeline = new GalleryUploadPipeline(parallelism, 64, new SimpleMeterRegistry());
+        files = IntStream.range(0, fileCount).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Benchmark
+    public List<GalleryUploadPipeline.Outcome<Integer, Integer>> storeBatch(FileCounter counter) {
+        List<GalleryUploadPipeline.Outcome<Integer, Integer>> outcomes = pipeline.process(files, file -> {
+            try {
+                Thread.sleep(STORE_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return file;
+        });
+        counter.files += outcomes.size();
+        return outcomes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GalleryUploadPipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class FileCounter {
+
+        public long files;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            files = 0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.rbac.admin.gallery.service;
+
+import com.example.rbac.common.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GalleryUploadPipelineTest {
+
+    private static final int PARALLELISM = 4;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GalleryUploadPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new GalleryUploadPipeline(PARALLELISM, 16, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 200})
+    void returnsOutcomesInInputOrder(int fileCount) {
+        List<Integer> files = IntStream.range(0, fileCount).boxed().toList();
+
+        List<GalleryUploadPipeline.Outcome<Integer, String>> outcomes = pipeline.process(files, file -> "key-" + file);
+
+        assertEquals(fileCount, outcomes.size());
+        for (int i = 0; i < fileCount; i++) {
+            assertTrue(outcomes.get(i).succeeded());
+            assertEquals("key-" + i, outcomes.get(i).result());
+        }
+        assertEquals(1, meterRegistry.get("gallery.upload.batch").timer().count());
+    }
+
+    @Test
+    void storesUpToParallelismFilesAtTheSameTime() {
+        CountDownLatch allStoring = new CountDownLatch(PARALLELISM);
+
+        // Each file only finishes once every other one has started, which cannot happen one file at a time.
+        List<GalleryUploadPipeline.Outcome<Integer, Boolean>> outcomes = pipeline.process(
+                IntStream.range(0, PARALLELISM).boxed().toList(), file -> {
+                    allStoring.countDown();
+                    try {
+                        return allStoring.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                });
+
+        outcomes.forEach(outcome -> assertEquals(Boolean.TRUE, outcome.result()));
+    }
+
+    @Test
+    void reportsFailuresPerFileWithoutAbortingTheBatch() {
+        List<GalleryUploadPipeline.Outcome<String, String>> outcomes = pipeline.process(List.of("a.png", "b.exe", "c.png"), file -> {
+            if (file.endsWith(".exe")) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "File type not allowed: exe");
+            }
+            if (file.startsWith("c")) {
+                throw new IllegalStateException("disk full");
+            }
+            return file;
+        });
+
+        assertTrue(outcomes.get(0).succeeded());
+        assertNull(outcomes.get(0).error());
+        assertFalse(outcomes.get(1).succeeded());
+        assertEquals("File type not allowed: exe", outcomes.get(1).error());
+        assertEquals("Failed to store uploaded file", outcomes.get(2).error());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.rbac.admin.products.repository;
+
+import com.example.rbac.admin.products.model.ProductReviewStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductReviewStatsRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ProductReviewStatsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:product-review-stats;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE product_review_stats (product_id BIGINT NOT NULL, " +
+                "is_published TINYINT(1) NOT NULL, review_count INT NOT NULL DEFAULT 0, " +
+                "rating_total BIGINT NOT NULL DEFAULT 0, rating_1_count INT NOT NULL DEFAULT 0, " +
+                "rating_2_count INT NOT NULL DEFAULT 0, rating_3_count INT NOT NULL DEFAULT 0, " +
+                "rating_4_count INT NOT NULL DEFAULT 0, rating_5_count INT NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY (product_id, is_published))");
+        repository = new ProductReviewStatsRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void accumulatesCountsAndHistogram() {
+        repository.adjust(1L, true, 5, 1);
+        repository.adjust(1L, true, 5, 1);
+        repository.adjust(1L, true, 4, 1);
+        repository.adjust(1L, true, 1, 1);
+        repository.adjust(2L, true, 3, 1);
+
+        ProductReviewStats stats = repository.find(1L, true);
+
+        assertEquals(4, stats.reviewCount());
+        assertEquals(15, stats.ratingTotal());
+        assertEquals(3.8, stats.averageRating());
+        assertEquals(List.of(1L, 0L, 0L, 1L, 2L), stats.ratingCounts());
+        assertEquals(Map.of(5, 2L, 4, 1L, 3, 0L, 2, 0L, 1, 1L), stats.histogram());
+    }
+
+    @Test
+    void separatesHiddenReviewsFromStorefrontTotals() {
+        repository.adjust(1L, true, 4, 1);
+        repository.adjust(1L, false, 2, 1);
+
+        assertEquals(1, repository.find(1L, true).reviewCount());
+        assertEquals(4.0, repository.find(1L, true).averageRating());
+        assertEquals(2, repository.find(1L, false).reviewCount());
+        assertEquals(3.0, repository.find(1L, false).averageRating());
+    }
+
+    @Test
+    void movesReviewBetweenRatings() {
+        repository.adjust(1L, true, 2, 1);
+        repository.adjust(1L, true, 2, -1);
+        repository.adjust(1L, true, 5, 1);
+
+        ProductReviewStats stats = repository.find(1L, true);
+
+        assertEquals(1, stats.reviewCount());
+        assertEquals(5, stats.ratingTotal());
+        assertEquals(List.of(0L, 0L, 0L, 0L, 1L), stats.ratingCounts());
+    }
+
+    @Test
+    void neverDropsBelowZero() {
+        repository.adjust(1L, true, 3, -1);
+
+        assertEquals(ProductReviewStats.EMPTY, repository.find(1L, true));
+    }
+
+    @Test
+    void returnsEmptyStatsForProductWithoutReviews() {
+        assertEquals(ProductReviewStats.EMPTY, repository.find(42L, true));
+        assertEquals(0, repository.find(42L, true).averageRating());
+    }
+
+    @Test
+    void rejectsRatingsOutsideTheHistogram() {
+        assertThrows(IllegalArgumentException.class, () -> repository.adjust(1L, true, 6, 1));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.rbac.admin.settings.service;
+
+import com.example.rbac.admin.activity.service.ActivityRecorder;
+import com.example.rbac.admin.settings.model.Setting;
+import com.example.rbac.admin.settings.repository.SettingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettingsCacheTest {
+
+    @Mock
+    private SettingRepository settingRepository;
+
+    @Mock
+    private ObjectProvider<SettingsChangeListener> listenerProvider;
+
+    private final List<Set<String>> notifications = new ArrayList<>();
+    private final AtomicLong clock = new AtomicLong();
+    private SettingsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SettingsCache(settingRepository, listenerProvider, Duration.ofSeconds(5), clock::get);
+    }
+
+    @Test
+    void loadsSettingsOnceForRepeatedReads() {
+        when(settingRepository.findAll()).thenReturn(List.of(setting("general.site_name", "Shop")));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Shop", cache.snapshot().value("general.site_name"));
+        }
+
+        verify(settingRepository, times(1)).findAll();
+    }
+
+    @Test
+    void notifiesListenersWithChangedCodesOnRefresh() {
+        when(listenerProvider.orderedStream()).thenAnswer(invocation ->
+                Stream.<SettingsChangeListener>of((snapshot, changed) -> notifications.add(changed)));
+        when(settingRepository.findAll())
+                .thenReturn(List.of(setting("general.site_name", "Shop"), setting("gallery.max_file_size_mb", "50")))
+                .thenReturn(List.of(setting("general.site_name", "Shop"), setting("gallery.max_file_size_mb", "75")));
+        SettingsSnapshot initial = cache.snapshot();
+
+        SettingsSnapshot refreshed = cache.refresh();
+
+        assertNotEquals(initial.getVersion(), refreshed.getVersion());
+        assertSame(refreshed, cache.snapshot());
+        assertEquals(List.of(Set.of("gallery.max_file_size_mb")), notifications);
+    }
+
+    @Test
+    void reloadsWhenAnotherInstanceChangedTheTable() {
+        when(listenerProvider.orderedStream()).thenAnswer(invocation ->
+                Stream.<SettingsChangeListener>of((snapshot, changed) -> notifications.add(changed)));
+        when(settingRepository.findVersion())
+                .thenReturn(version(2, "2024-01-01T00:00:00Z"))
+                .thenReturn(version(2, "2024-01-01T00:00:00Z"))
+                .thenReturn(version(2, "2024-01-01T00:05:00Z"));
+        when(settingRepository.findAll())
+                .thenReturn(List.of(setting("general.site_name", "Shop"), setting("gallery.max_file_size_mb", "50")))
+                .thenReturn(List.of(setting("general.site_name", "Shop"), setting("gallery.max_file_size_mb", "75")));
+        SettingsSnapshot initial = cache.snapshot();
+
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertSame(initial, cache.snapshot());
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertSame(initial, cache.snapshot());
+        verify(settingRepository, times(1)).findAll();
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        SettingsSnapshot refreshed = cache.snapshot();
+
+        assertEquals("75", refreshed.value("gallery.max_file_size_mb"));
+        assertSame(refreshed, cache.snapshot());
+        assertEquals(List.of(Set.of("gallery.max_file_size_mb")), notifications);
+        verify(settingRepository, times(2)).findAll();
+    }
+
+    @Test
+    void reusesThemeBytesUntilSnapshotChanges() {
+        when(settingRepository.findAll())
+                .thenReturn(List.of(setting("appearance.primary_color", "#112233")))
+                .thenReturn(List.of(setting("appearance.primary_color", "#445566")));
+        when(listenerProvider.orderedStream()).thenAnswer(invocation -> Stream.empty());
+        SettingsService service = new SettingsService(settingRepository, cache, new ObjectMapper(),
+                mock(ActivityRecorder.class));
+
+        SettingsService.ThemePayload first = service.getThemePayload();
+        assertSame(first, service.getThemePayload());
+        assertEquals("#112233", first.theme().getPrimaryColor());
+
+        cache.refresh();
+        SettingsService.ThemePayload second = service.getThemePayload();
+
+        assertEquals("#445566", second.theme().getPrimaryColor());
+        assertNotEquals(first.etag(), second.etag());
+    }
+
+    private static SettingRepository.Version version(long rowCount, String lastUpdated) {
+        return new SettingRepository.Version() {
+            @Override
+            public Long getRowCount() {
+                return rowCount;
+            }
+
+            @Override
+            public Instant getLastUpdated() {
+                return Instant.parse(lastUpdated);
+            }
+        };
+    }
+
+    private static Setting setting(String code, String value) {
+        Setting setting = new Setting();
+        setting.setCode(code);
+        setting.setValue(value);
+        return setting;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.rbac.admin.setup.service;
+
+import com.example.rbac.admin.setup.dto.MenuNodeDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class NavigationMenuCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicReference<NavigationMenuCache.LayoutVersion> version =
+            new AtomicReference<>(new NavigationMenuCache.LayoutVersion(1L, Instant.parse("2024-01-01T00:00:00Z")));
+    private final NavigationMenuCache cache =
+            new NavigationMenuCache(64, Duration.ofSeconds(5), version::get, clock::get);
+
+    @Test
+    void filtersItemsAndDropsEmptyGroups() {
+        List<MenuNodeDto> menu = List.of(
+                item("dashboard"),
+                group("access", item("roles", "ROLE_VIEW"), item("permissions", "PERMISSION_VIEW")),
+                group("catalog", item("brands", "BRAND_VIEW")));
+
+        List<MenuNodeDto> filtered = NavigationMenuCache.filter(menu, Set.of("ROLE_VIEW"));
+
+        assertEquals(List.of("dashboard", "access"), filtered.stream().map(MenuNodeDto::getKey).toList());
+        assertEquals(List.of("roles"), filtered.get(1).getChildren().stream().map(MenuNodeDto::getKey).toList());
+    }
+
+    @Test
+    void sharesFilteredMenusAcrossUsersWithTheSameAuthorities() {
+        AtomicInteger loads = new AtomicInteger();
+        NavigationMenuCache.ResolvedLayout first = cache.layout(1L, () -> load(loads));
+        NavigationMenuCache.ResolvedLayout second = cache.layout(2L, () -> load(loads));
+        cache.layout(1L, () -> load(loads));
+
+        List<MenuNodeDto> menuForFirst = cache.filteredMenu(first, Set.of("ROLE_VIEW", "BRAND_VIEW"));
+        List<MenuNodeDto> menuForSecond = cache.filteredMenu(second, Set.of("BRAND_VIEW", "ROLE_VIEW"));
+
+        assertEquals(2, loads.get());
+        assertSame(menuForFirst, menuForSecond);
+    }
+
+    @Test
+    void reloadsLayoutsAfterInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+        NavigationMenuCache.ResolvedLayout before = cache.layout(1L, () -> load(loads));
+        List<MenuNodeDto> menuBefore = cache.filteredMenu(before, Set.of());
+
+        cache.invalidate();
+        NavigationMenuCache.ResolvedLayout after = cache.layout(1L, () -> load(loads));
+
+        assertEquals(2, loads.get());
+        assertNotSame(menuBefore, cache.filteredMenu(after, Set.of()));
+    }
+
+    @Test
+    void reloadsLayoutsSavedOnAnotherInstanceOnceTheIntervalPasses() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.layout(1L, () -> load(loads));
+        version.set(new NavigationMenuCache.LayoutVersion(1L, Instant.parse("2024-01-01T00:05:00Z")));
+
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        cache.layout(1L, () -> load(loads));
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        cache.layout(1L, () -> load(loads));
+        cache.layout(1L, () -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    private static NavigationMenuCache.ResolvedLayout load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new NavigationMenuCache.ResolvedLayout("global", 0,
+                List.of(item("dashboard"), group("access", item("roles", "ROLE_VIEW"))));
+    }
+
+    private static MenuNodeDto item(String key, String... permissions) {
+        MenuNodeDto node = new MenuNodeDto();
+        node.setKey(key);
+        node.setPermissions(List.of(permissions));
+        node.setChildren(List.of());
+        return node;
+    }
+
+    private static MenuNodeDto group(String key, MenuNodeDto... children) {
+        MenuNodeDto node = new MenuNodeDto();
+        node.setKey(key);
+        node.setGroup(true);
+        node.setPermissions(List.of());
+        node.setChildren(List.of(children));
+        return node;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.rbac.admin.shipping.reference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShippingReferenceDataTest {
+
+    private static final ClassPathResource DATASET = new ClassPathResource("data/shipping/shipping_reference.json.gz");
+
+    @Test
+    void loadsBundledDatasetWithoutEnrichmentSources() {
+        ShippingReferenceData referenceData = new ShippingReferenceData(new ObjectMapper(), DATASET, List.of());
+        referenceData.loadReferenceData();
+
+        assertTrue(referenceData.getStateNames("IN", "India").contains("Andhra Pradesh"));
+        assertTrue(referenceData.getStateNames(null, "Bharat").contains("Assam"));
+        assertTrue(referenceData.getCityNames("AF", "Afghanistan", "Balkh").contains("Mazar-i-Sharif"));
+        assertTrue(referenceData.getCityNames("AF", "Afghanistan", "Unknown Province").isEmpty());
+    }
+
+    @Test
+    void consultsEnrichmentSourceOnlyForStatesMissingFromDataset() {
+        StubCityDirectorySource stub = new StubCityDirectorySource()
+                .with("Japan", "Hokkaido", List.of("Sapporo", "Hakodate"));
+        ShippingReferenceData referenceData = new ShippingReferenceData(new ObjectMapper(), DATASET, List.of(stub));
+        referenceData.loadReferenceData();
+
+        assertTrue(referenceData.getCityNames("IN", "India", "Assam").contains("Guwahati"));
+        assertEquals(0, stub.invocations());
+
+        assertEquals(List.of("Sapporo", "Hakodate"), referenceData.getCityNames("JP", "Japan", "Hokkaido"));
+        assertEquals(List.of("Hakodate", "Sapporo"), referenceData.getCityNames("JP", "Japan", "Hokkaido"));
+        assertEquals(1, stub.invocations());
+        assertTrue(referenceData.getBundledCityNames("JP", "Japan", "Hokkaido").contains("Sapporo"));
+    }
+}
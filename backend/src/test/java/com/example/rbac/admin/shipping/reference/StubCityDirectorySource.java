@@ -0,0 +1,35 @@
+package com.example.rbac.admin.shipping.reference;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for {@link CityDirectoryClient} so reference-data tests never touch the network.
+ */
+class StubCityDirectorySource implements CityDirectorySource {
+
+    private final Map<String, List<String>> cities = new HashMap<>();
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    StubCityDirectorySource with(String countryName, String stateName, List<String> stateCities) {
+        cities.put(key(countryName, stateName), stateCities);
+        return this;
+    }
+
+    @Override
+    public List<String> fetchCities(String countryName, String stateName) {
+        invocations.incrementAndGet();
+        return cities.getOrDefault(key(countryName, stateName), List.of());
+    }
+
+    int invocations() {
+        return invocations.get();
+    }
+
+    private String key(String countryName, String stateName) {
+        return countryName.trim().toLowerCase(Locale.ENGLISH) + "::" + stateName.trim().toLowerCase(Locale.ENGLISH);
+    }
+}
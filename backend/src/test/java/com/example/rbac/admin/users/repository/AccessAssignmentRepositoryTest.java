@@ -0,0 +1,76 @@
+package com.example.rbac.admin.users.repository;
+
+import com.example.rbac.admin.users.repository.AccessAssignmentRepository.Assignment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccessAssignmentRepositoryTest {
+
+    private static final int USERS = 2_500;
+
+    private JdbcTemplate jdbcTemplate;
+    private AccessAssignmentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:access-assignments;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE roles (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE user_roles (user_id BIGINT NOT NULL, role_id BIGINT NOT NULL, " +
+                "PRIMARY KEY (user_id, role_id))");
+        List<Object[]> users = new ArrayList<>();
+        LongStream.rangeClosed(1, USERS).forEach(id -> users.add(new Object[]{id}));
+        jdbcTemplate.batchUpdate("INSERT INTO users (id) VALUES (?)", users);
+        jdbcTemplate.update("INSERT INTO roles (id) VALUES (10), (11), (12)");
+        repository = new AccessAssignmentRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void assignsAcrossChunksAndSkipsExistingPairs() {
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) VALUES (1, 10), (2000, 11)");
+        List<Long> userIds = LongStream.rangeClosed(1, USERS).boxed().toList();
+
+        int added = repository.addAll(Assignment.USER_ROLES, userIds, Set.of(10L, 11L));
+
+        assertEquals(USERS * 2 - 2, added);
+        assertEquals(USERS * 2, count("SELECT COUNT(*) FROM user_roles"));
+        assertEquals(0, repository.addAll(Assignment.USER_ROLES, userIds, Set.of(10L, 11L)));
+    }
+
+    @Test
+    void removesOnlySelectedPairs() {
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) VALUES (1, 10), (1, 12), (2, 10), (3, 10)");
+
+        int removed = repository.removeAll(Assignment.USER_ROLES, List.of(1L, 2L), Set.of(10L));
+
+        assertEquals(2, removed);
+        assertEquals(2, count("SELECT COUNT(*) FROM user_roles"));
+    }
+
+    @Test
+    void countsExistingOwners() {
+        assertEquals(2, repository.countOwners(Assignment.USER_ROLES, List.of(1L, 2L, 999_999L)));
+        assertEquals(1, repository.countOwners(Assignment.ROLE_PERMISSIONS, List.of(10L, 99L)));
+    }
+
+    private int count(String sql) {
+        Integer value = jdbcTemplate.queryForObject(sql, Integer.class);
+        return value != null ? value : 0;
+    }
+}
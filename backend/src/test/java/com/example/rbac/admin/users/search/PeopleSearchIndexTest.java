@@ -0,0 +1,151 @@
+package com.example.rbac.admin.users.search;
+
+import com.example.rbac.admin.roles.model.Role;
+import com.example.rbac.admin.users.dto.UserAudience;
+import com.example.rbac.admin.users.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeopleSearchIndexTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PeopleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:people-search;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(150), full_name VARCHAR(150), " +
+                "first_name VARCHAR(100), last_name VARCHAR(100), phone_number VARCHAR(50), whatsapp_number VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE roles (id BIGINT PRIMARY KEY, code VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE user_roles (user_id BIGINT, role_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE people_search_tokens (is_customer TINYINT(1) NOT NULL, " +
+                "token VARCHAR(64) NOT NULL, user_id BIGINT NOT NULL, PRIMARY KEY (is_customer, token, user_id))");
+        jdbcTemplate.update("INSERT INTO roles (id, code) VALUES (1, 'CUSTOMER'), (2, 'ADMIN')");
+        index = new PeopleSearchIndex(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void matchesEveryTermTokenAsPrefix() {
+        index.index(user(1L, "ada.lovelace@example.com", "Ada", "Lovelace", "+44 20 7946 0018", "CUSTOMER"));
+        index.index(user(2L, "alan.turing@example.com", "Alan", "Turing", null, "ADMIN"));
+
+        assertEquals(List.of(1L), index.search("Ada Love", UserAudience.ALL, 10));
+        assertEquals(List.of(1L), index.search("ada.lovelace@ex", UserAudience.ALL, 10));
+        assertEquals(List.of(1L), index.search("20 7946", UserAudience.ALL, 10));
+        assertEquals(List.of(1L), index.search("442079", UserAudience.ALL, 10));
+        assertEquals(Set.of(1L, 2L), Set.copyOf(index.search("example", UserAudience.ALL, 10)));
+        assertTrue(index.search("velace", UserAudience.ALL, 10).isEmpty());
+    }
+
+    @Test
+    void filtersByCustomerFlagWithoutRoles() {
+        index.index(user(1L, "ada@example.com", "Ada", "Lovelace", null, "CUSTOMER"));
+        index.index(user(2L, "adam@example.com", "Adam", "Smith", null, "ADMIN"));
+
+        assertEquals(List.of(1L), index.search("ada", UserAudience.CUSTOMERS, 10));
+        assertEquals(List.of(2L), index.search("ada", UserAudience.STAFF, 10));
+        assertEquals(2, index.search("ada", UserAudience.ALL, 10).size());
+    }
+
+    @Test
+    void findsMatchesBeyondTheFirstTokensLeadingRows() {
+        for (long id = 1; id <= 500; id++) {
+            index.index(user(id, "bob" + id + "@example.com", "Bob", "Lovelace", null));
+        }
+        index.index(user(501L, "countess@example.com", "Ada", "Lovelace", null));
+
+        assertEquals(List.of(501L), index.search("Ada Lovelace", UserAudience.ALL, 10));
+    }
+
+    @Test
+    void countsUsersNotTokenRowsTowardsTheLimit() {
+        for (long id = 1; id <= 20; id++) {
+            index.index(user(id, "ada" + id + "@example.com", "Ada", "Adams", null));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), index.search("ada", UserAudience.ALL, 5));
+    }
+
+    @Test
+    void reindexingReplacesPreviousTokens() {
+        User user = user(1L, "grace@example.com", "Grace", "Hopper", null);
+        index.index(user);
+        user.setEmail("admiral@example.com");
+        user.setFirstName("Amazing");
+        user.setLastName("Murray");
+        user.setFullName("Amazing Grace Murray");
+
+        index.index(user);
+
+        assertTrue(index.search("hopper", UserAudience.ALL, 10).isEmpty());
+        assertTrue(index.search("grace@", UserAudience.ALL, 10).isEmpty());
+        assertEquals(List.of(1L), index.search("grace murray", UserAudience.ALL, 10));
+        assertEquals(List.of(1L), index.search("admiral", UserAudience.STAFF, 10));
+    }
+
+    @Test
+    void rebuildsFromUsersAndRoles() {
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 'ada@example.com', 'Ada Lovelace', 'Ada', 'Lovelace', NULL, NULL)");
+        jdbcTemplate.update("INSERT INTO users VALUES (2, 'alan@example.com', 'Alan Turing', 'Alan', 'Turing', NULL, NULL)");
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) VALUES (1, 1), (2, 2)");
+        assertTrue(index.isEmpty());
+
+        assertEquals(2, index.rebuild());
+
+        assertFalse(index.isEmpty());
+        assertEquals(List.of(1L), index.search("lovelace", UserAudience.CUSTOMERS, 10));
+        assertEquals(List.of(2L), index.search("turing", UserAudience.STAFF, 10));
+    }
+
+    @Test
+    void ignoresTokensBelowTheMinimumLength() {
+        index.index(user(1L, "ada@example.com", "Ada", "Lovelace", "+44 20 7946 0018"));
+        index.index(user(2L, "alan@example.com", "Alan", "Turing", null));
+
+        assertTrue(index.search("a", UserAudience.ALL, 10).isEmpty());
+        assertTrue(index.search("44", UserAudience.ALL, 10).isEmpty());
+        assertEquals(List.of(1L), index.search("Ada L", UserAudience.ALL, 10));
+        assertEquals(List.of(2L), index.search("al", UserAudience.ALL, 10));
+    }
+
+    @Test
+    void treatsLikeWildcardsLiterally() {
+        index.index(user(1L, "a_b@example.com", "Ab", "Cd", null));
+        index.index(user(2L, "axb@example.com", "Ax", "Bd", null));
+
+        assertEquals(List.of(1L), index.search("a_b@", UserAudience.ALL, 10));
+    }
+
+    private static User user(Long id, String email, String firstName, String lastName, String phone,
+                             String... roleKeys) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setFullName(firstName + " " + lastName);
+        user.setPhoneNumber(phone);
+        for (String roleKey : roleKeys) {
+            Role role = new Role();
+            role.setKey(roleKey);
+            user.getRoles().add(role);
+        }
+        return user;
+    }
+}
@@ -5,7 +5,8 @@ import com.example.rbac.admin.products.model.Product;
 import com.example.rbac.admin.products.repository.ProductRepository;
 import com.example.rbac.admin.users.dto.UserRecentViewDto;
 import com.example.rbac.admin.users.model.User;
-import com.example.rbac.admin.users.model.UserRecentView;
+import com.example.rbac.admin.users.repository.UserRecentViewBatchRepository;
+import com.example.rbac.admin.users.repository.UserRecentViewBatchRepository.ViewWrite;
 import com.example.rbac.admin.users.repository.projection.UserRecentViewSummary;
 import com.example.rbac.admin.users.repository.UserRecentViewRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,19 +18,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.anyCollection;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,14 +34,19 @@ class UserRecentViewServiceTest {
     @Mock
     private UserRecentViewRepository recentViewRepository;
 
+    @Mock
+    private UserRecentViewBatchRepository batchRepository;
+
     @Mock
     private ProductRepository productRepository;
 
+    private UserRecentViewBuffer buffer;
     private UserRecentViewService service;
 
     @BeforeEach
     void setUp() {
-        service = new UserRecentViewService(recentViewRepository, productRepository);
+        buffer = new UserRecentViewBuffer(recentViewRepository, batchRepository, 100);
+        service = new UserRecentViewService(recentViewRepository, buffer, productRepository);
     }
 
     @Test
@@ -156,19 +157,33 @@ class UserRecentViewServiceTest {
         firstProduct.setId(55L);
         firstProduct.setName("Gravity Mug");
 
-        Product excludedProduct = new Product();
-        excludedProduct.setId(88L);
-        excludedProduct.setName("Zero-G Plate");
-
-        when(productRepository.findByIdIn(List.of(55L, 88L)))
-                .thenReturn(List.of(excludedProduct, firstProduct));
+        when(productRepository.findByIdIn(List.of(55L)))
+                .thenReturn(List.of(firstProduct));
 
         List<Product> products = service.findRecentProductsForUser(7L, 88L);
 
         assertEquals(1, products.size());
         assertEquals(55L, products.get(0).getId());
         assertEquals("Gravity Mug", products.get(0).getName());
-        verify(recentViewRepository).deleteAllByIdInBatch(List.of(402L));
+        verifyNoInteractions(batchRepository);
+    }
+
+    @Test
+    void recordViewIsServedBeforeItIsFlushed() {
+        User user = new User();
+        user.setId(8L);
+        Product viewed = new Product();
+        viewed.setId(77L);
+        when(recentViewRepository.findRecentSummariesByUserId(8L))
+                .thenReturn(List.of(summary(501L, 66L, Instant.parse("2024-05-01T10:00:00Z"))));
+        when(productRepository.findByIdIn(List.of(77L, 66L))).thenReturn(List.of(viewed));
+
+        service.recordView(user, viewed);
+        List<Product> products = service.findRecentProductsForUser(8L, null);
+
+        assertEquals(List.of(77L), products.stream().map(Product::getId).collect(Collectors.toList()));
+        verifyNoInteractions(batchRepository);
+        verify(recentViewRepository, times(1)).findRecentSummariesByUserId(8L);
     }
 
     @Test
@@ -176,45 +191,21 @@ class UserRecentViewServiceTest {
         User user = new User();
         user.setId(1L);
 
-        Product productFive = new Product();
-        productFive.setId(5L);
-        Product productFifteen = new Product();
-        productFifteen.setId(15L);
-        Product productTwenty = new Product();
-        productTwenty.setId(20L);
-
-        UserRecentView existingForFifteen = new UserRecentView();
-        existingForFifteen.setProduct(productFifteen);
+        service.synchronizeGuestRecentViews(user, List.of(5L, 10L, 5L, -15L, 20L), 10L);
 
-        when(recentViewRepository.findByUserIdAndProductIdIn(eq(1L), anyCollection()))
-                .thenReturn(List.of(existingForFifteen));
-        when(productRepository.findByIdIn(anyList()))
-                .thenReturn(List.of(productFive, productFifteen, productTwenty));
-        when(recentViewRepository.findByUserIdOrderByViewedAtDesc(1L))
-                .thenReturn(List.of());
+        assertEquals(List.of(5L, 15L, 20L), buffer.recentProductIds(1L));
+        verifyNoInteractions(batchRepository);
 
-        service.synchronizeGuestRecentViews(user, List.of(5L, 10L, 5L, null, -15L, 20L), 10L);
+        buffer.flush();
 
         @SuppressWarnings("unchecked")
-        ArgumentCaptor<Collection<Long>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
-        verify(recentViewRepository).findByUserIdAndProductIdIn(eq(1L), idsCaptor.capture());
-        assertEquals(List.of(5L, 15L, 20L), new ArrayList<>(idsCaptor.getValue()));
-
-        ArgumentCaptor<UserRecentView> viewCaptor = ArgumentCaptor.forClass(UserRecentView.class);
-        verify(recentViewRepository, times(3)).save(viewCaptor.capture());
-        List<UserRecentView> savedViews = viewCaptor.getAllValues();
-        assertEquals(List.of(5L, 15L, 20L), savedViews.stream()
-                .map(view -> view.getProduct().getId())
-                .collect(Collectors.toList()));
-
-        Instant firstTimestamp = savedViews.get(0).getViewedAt();
-        Instant secondTimestamp = savedViews.get(1).getViewedAt();
-        Instant thirdTimestamp = savedViews.get(2).getViewedAt();
-        assertNotNull(firstTimestamp);
-        assertNotNull(secondTimestamp);
-        assertNotNull(thirdTimestamp);
-        assertTrue(firstTimestamp.isAfter(secondTimestamp));
-        assertTrue(secondTimestamp.isAfter(thirdTimestamp));
+        ArgumentCaptor<List<ViewWrite>> writesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).upsertAll(writesCaptor.capture());
+        List<ViewWrite> writes = writesCaptor.getValue();
+        assertEquals(List.of(5L, 15L, 20L), writes.stream().map(ViewWrite::productId).collect(Collectors.toList()));
+        assertTrue(writes.get(0).viewedAt().isAfter(writes.get(1).viewedAt()));
+        assertTrue(writes.get(1).viewedAt().isAfter(writes.get(2).viewedAt()));
+        verify(batchRepository).pruneAll(List.of(1L), UserRecentViewBuffer.RING_CAPACITY);
     }
 
     private static UserRecentViewSummary summary(Long id, Long productId, Instant viewedAt) {
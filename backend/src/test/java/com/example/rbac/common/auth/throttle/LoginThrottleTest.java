@@ -0,0 +1,127 @@
+package com.example.rbac.common.auth.throttle;
+
+import com.example.rbac.common.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private LoginAttemptRepository repository;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LoginAttemptRepository.class);
+        throttle = new LoginThrottle(repository, new SimpleMeterRegistry(), 5, Duration.ofMinutes(15), 3,
+                Duration.ofMinutes(10), 1000, clock::get);
+    }
+
+    @Test
+    void rejectsClientOnceItExhaustsItsAllowanceUntilTheWindowSlidesPast() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            throttle.recordClientFailure("203.0.113.7");
+        }
+
+        ApiException ex = assertThrows(ApiException.class, () -> throttle.checkClient("203.0.113.7"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+        assertDoesNotThrow(() -> throttle.checkClient("198.51.100.1"));
+
+        clock.addAndGet(Duration.ofMinutes(20).toNanos());
+        assertDoesNotThrow(() -> throttle.checkClient("203.0.113.7"));
+    }
+
+    @Test
+    void countsAccountFailuresFromThePersistedValueWithoutTouchingTheDatabase() {
+        assertEquals(3, throttle.recordFailure(null, 42L, 2));
+        assertEquals(4, throttle.recordFailure(null, 42L, 2));
+
+        verify(repository, never()).lock(eq(42L), anyInt(), any());
+    }
+
+    @Test
+    void successClearsTheAccountWindow() {
+        throttle.recordFailure(null, 42L, 0);
+        throttle.recordFailure(null, 42L, 0);
+
+        throttle.recordSuccess(42L);
+
+        assertEquals(1, throttle.recordFailure(null, 42L, 0));
+    }
+
+    @Test
+    void startsOverWhenAnAccountThisNodeLockedWasUnlocked() {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            throttle.recordFailure(null, 42L, 0);
+        }
+        when(repository.lock(eq(42L), eq(5), any())).thenReturn(true);
+        assertTrue(throttle.lock(42L, 5));
+
+        assertEquals(1, throttle.recordFailure(null, 42L, 0));
+    }
+
+    @Test
+    void flushWritesPendingCountsOnceAndEvictsIdleWindows() {
+        AtomicInteger persisted = new AtomicInteger();
+        doAnswer(invocation -> {
+            Map<Long, Integer> attempts = invocation.getArgument(0);
+            if (attempts.containsKey(42L)) {
+                persisted.set(attempts.get(42L));
+            }
+            return null;
+        }).when(repository).updateAttempts(any());
+        throttle.recordFailure("203.0.113.7", 42L, persisted.get());
+        throttle.recordFailure("203.0.113.7", 42L, persisted.get());
+
+        throttle.flush();
+        verify(repository).updateAttempts(Map.of(42L, 2));
+        assertEquals(2, persisted.get());
+
+        throttle.flush();
+        clock.addAndGet(Duration.ofHours(1).toNanos());
+        throttle.flush();
+        verify(repository).updateAttempts(Map.of(42L, 0));
+        throttle.flush();
+
+        verify(repository, times(2)).updateAttempts(Map.of());
+        assertEquals(1, throttle.recordFailure(null, 42L, persisted.get()));
+    }
+
+    @Test
+    void retriesTheDecayedCountWhenTheWriteFails() {
+        throttle.recordFailure(null, 42L, 4);
+        throttle.flush();
+        clock.addAndGet(Duration.ofHours(1).toNanos());
+        doThrow(new QueryTimeoutException("timeout")).when(repository).updateAttempts(Map.of(42L, 0));
+
+        throttle.flush();
+        doNothing().when(repository).updateAttempts(Map.of(42L, 0));
+        throttle.flush();
+
+        verify(repository, times(2)).updateAttempts(Map.of(42L, 0));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.rbac.common.auth.token;
+
+import com.example.rbac.config.JwtProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh throughput against in-memory H2: each thread keeps rotating its own session, which is a digest lookup, a
+ * conditional update and one insert per call. Not part of the test run; start it with {@code mvn test-compile
+ * exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.rbac.common.auth.token.RefreshTokenRotationBenchmark}
+ * or from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RefreshTokenRotationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Store {
+
+        private JdbcTemplate jdbcTemplate;
+        private RefreshTokenService service;
+
+        @Setup
+        public void setUp() {
+            jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                    "jdbc:h2:mem:refresh-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+            RefreshTokenServiceTest.createSchema(jdbcTemplate);
+            jdbcTemplate.update("INSERT INTO users (id) VALUES (1)");
+            JwtProperties properties = new JwtProperties();
+            properties.setRefreshTokenTtlSeconds(604800);
+            service = new RefreshTokenService(new RefreshTokenRepository(jdbcTemplate), properties);
+        }
+
+        @TearDown
+        public void tearDown() {
+            jdbcTemplate.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private String token;
+
+        @Setup
+        public void setUp(Store store) {
+            token = store.service.issue(1L);
+        }
+    }
+
+    @Benchmark
+    public String rotate(Store store, Session session) {
+        session.token = store.service.rotate(session.token).refreshToken();
+        return session.token;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RefreshTokenRotationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.rbac.common.auth.token;
+
+import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.config.JwtProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RefreshTokenServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:refresh-tokens;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        createSchema(jdbcTemplate);
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (7)");
+        JwtProperties properties = new JwtProperties();
+        properties.setRefreshTokenTtlSeconds(3600);
+        properties.setRefreshReuseGraceSeconds(10);
+        service = new RefreshTokenService(new RefreshTokenRepository(jdbcTemplate), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    static void createSchema(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE refresh_token_families (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, created_at DATETIME(6) NOT NULL, revoked_at DATETIME(6) NULL, " +
+                "revoked_reason VARCHAR(40) NULL, FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE)");
+        jdbcTemplate.execute("CREATE TABLE refresh_tokens (token_hash BINARY(32) NOT NULL PRIMARY KEY, " +
+                "family_id BIGINT NOT NULL, issued_at DATETIME(6) NOT NULL, expires_at DATETIME(6) NOT NULL, " +
+                "used_at DATETIME(6) NULL, FOREIGN KEY (family_id) REFERENCES refresh_token_families (id) ON DELETE CASCADE)");
+    }
+
+    @Test
+    void storesOnlyTheDigest() {
+        String token = service.issue(7L);
+
+        List<byte[]> stored = jdbcTemplate.queryForList("SELECT token_hash FROM refresh_tokens", byte[].class);
+        assertEquals(1, stored.size());
+        assertEquals(32, stored.get(0).length);
+        assertFalse(Arrays.equals(token.getBytes(StandardCharsets.UTF_8), stored.get(0)));
+    }
+
+    @Test
+    void rotationIssuesSuccessorInSameFamily() {
+        String first = service.issue(7L);
+
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+
+        assertEquals(7L, rotation.userId());
+        assertNotEquals(first, rotation.refreshToken());
+        assertEquals(rotation.familyId(), service.rotate(rotation.refreshToken()).familyId());
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesWholeFamily() {
+        String first = service.issue(7L);
+        String second = service.rotate(first).refreshToken();
+        jdbcTemplate.update("UPDATE refresh_tokens SET used_at = ? WHERE used_at IS NOT NULL",
+                Timestamp.from(Instant.now().minusSeconds(60)));
+
+        ApiException reuse = assertThrows(ApiException.class, () -> service.rotate(first));
+        assertEquals(HttpStatus.UNAUTHORIZED, reuse.getStatus());
+        assertThrows(ApiException.class, () -> service.rotate(second));
+        assertEquals(RefreshTokenService.REVOKED_REUSE,
+                jdbcTemplate.queryForObject("SELECT revoked_reason FROM refresh_token_families", String.class));
+    }
+
+    @Test
+    void concurrentRefreshWithinGraceGetsItsOwnSuccessor() {
+        String first = service.issue(7L);
+        String winner = service.rotate(first).refreshToken();
+
+        String racer = service.rotate(first).refreshToken();
+
+        assertNotEquals(winner, racer);
+        service.rotate(winner);
+        service.rotate(racer);
+    }
+
+    @Test
+    void revokedAndExpiredTokensAreRejected() {
+        String loggedOut = service.issue(7L);
+        service.revoke(loggedOut);
+        assertThrows(ApiException.class, () -> service.rotate(loggedOut));
+
+        String expired = service.issue(7L);
+        jdbcTemplate.update("UPDATE refresh_tokens SET expires_at = ? WHERE token_hash = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), RefreshTokenService.hash(expired));
+        assertThrows(ApiException.class, () -> service.rotate(expired));
+
+        assertThrows(ApiException.class, () -> service.rotate("not-a-token"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.rbac.common.concurrent;
+
+import com.example.rbac.common.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightLoaderTest {
+
+    private static final int CALLERS = 1000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    @Test
+    void concurrentMissesOnOneKeyRunTheLoaderOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        SingleFlightLoader<String, List<String>> loader = loader(key -> {
+            loads.incrementAndGet();
+            // Hold the load open until every other caller has joined it.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (coalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return List.of("shoes", "bags");
+        }, Duration.ofMinutes(1), Duration.ZERO);
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return loader.get("categories");
+                }));
+            }
+            start.countDown();
+            List<String> first = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<List<String>> result : results) {
+                assertSame(first, result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, coalesced());
+        assertEquals(1.0, meterRegistry.get("cache.loader.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void servesTheStaleValueWhileOneBackgroundRefreshReplacesIt() {
+        AtomicInteger version = new AtomicInteger();
+        SingleFlightLoader<String, Integer> loader = loader(key -> version.incrementAndGet(),
+                Duration.ofSeconds(5), Duration.ofSeconds(30));
+        assertEquals(1, loader.get("product"));
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals(1, loader.get("product"));
+        assertEquals(1, loader.get("product"));
+        assertEquals(1, refreshes.size());
+
+        refreshes.remove(0).run();
+        assertEquals(2, loader.get("product"));
+        assertTrue(refreshes.isEmpty());
+
+        clock.addAndGet(Duration.ofSeconds(40).toNanos());
+        assertEquals(3, loader.get("product"));
+    }
+
+    @Test
+    void failedLoadsReachTheCallerAndAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        SingleFlightLoader<String, String> loader = loader(key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new ApiException(HttpStatus.NOT_FOUND, "Product not found");
+            }
+            return "found";
+        }, Duration.ofMinutes(1), Duration.ZERO);
+
+        ApiException ex = assertThrows(ApiException.class, () -> loader.get("missing"));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+        assertEquals("found", loader.get("missing"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void aLoadOverlappingAnInvalidationIsReturnedButNotStored() {
+        AtomicReference<SingleFlightLoader<String, Integer>> self = new AtomicReference<>();
+        AtomicInteger loads = new AtomicInteger();
+        self.set(loader(key -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                self.get().invalidate(key);
+            }
+            return load;
+        }, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+        SingleFlightLoader<String, Integer> loader = self.get();
+
+        assertEquals(1, loader.get("categories"));
+        assertEquals(2, loader.get("categories"));
+        assertEquals(2, loader.get("categories"));
+        assertEquals(0, refreshes.size());
+    }
+
+    @Test
+    void invalidatingOneKeyLeavesLoadsOfOtherKeysCacheable() {
+        AtomicReference<SingleFlightLoader<String, Integer>> self = new AtomicReference<>();
+        AtomicInteger loads = new AtomicInteger();
+        self.set(loader(key -> {
+            self.get().invalidate("product:" + key);
+            return loads.incrementAndGet();
+        }, Duration.ofMinutes(1), Duration.ZERO));
+        SingleFlightLoader<String, Integer> loader = self.get();
+
+        assertEquals(1, loader.get("categories"));
+        assertEquals(1, loader.get("categories"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidateAllDropsEveryLoadInFlight() {
+        AtomicReference<SingleFlightLoader<String, Integer>> self = new AtomicReference<>();
+        AtomicInteger loads = new AtomicInteger();
+        self.set(loader(key -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                self.get().invalidateAll();
+            }
+            return load;
+        }, Duration.ofMinutes(1), Duration.ZERO));
+        SingleFlightLoader<String, Integer> loader = self.get();
+
+        assertEquals(1, loader.get("categories"));
+        assertEquals(2, loader.get("categories"));
+        assertEquals(2, loader.get("categories"));
+    }
+
+    private <V> SingleFlightLoader<String, V> loader(Function<String, V> load, Duration ttl, Duration stale) {
+        return new SingleFlightLoader<>("test", load, ttl, stale, 100, refreshes::add, meterRegistry, clock::get);
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("cache.loader.requests").tag("result", "coalesced").counter().count();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.rbac.common.maintenance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MaintenanceSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+    private SchedulerLockRepository lockRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:maintenance;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE scheduler_locks (name VARCHAR(100) NOT NULL PRIMARY KEY, " +
+                "locked_until DATETIME(6) NOT NULL, locked_at DATETIME(6) NOT NULL, locked_by VARCHAR(255) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE refresh_tokens (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "expires_at DATETIME(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE carts (id BIGINT AUTO_INCREMENT PRIMARY KEY, updated_at DATETIME(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE cart_items (id BIGINT AUTO_INCREMENT PRIMARY KEY, cart_id BIGINT NOT NULL, " +
+                "updated_at DATETIME(6) NOT NULL)");
+        lockRepository = new SchedulerLockRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void purgesExpiredRowsInChunksAndRecordsMetrics() {
+        Instant expired = Instant.now().minus(3, ChronoUnit.DAYS);
+        for (int index = 0; index < 7; index++) {
+            jdbcTemplate.update("INSERT INTO refresh_tokens (expires_at) VALUES (?)", Timestamp.from(expired));
+        }
+        jdbcTemplate.update("INSERT INTO refresh_tokens (expires_at) VALUES (?)",
+                Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS)));
+        MaintenanceScheduler scheduler = scheduler(3, List.of(
+                new PurgeTask("refresh-tokens", "refresh_tokens", "expires_at < ?", Duration.ofDays(1))));
+
+        scheduler.runMaintenance();
+
+        assertEquals(1, count("refresh_tokens"));
+        assertEquals(7.0, meterRegistry.counter("maintenance.rows.purged", "task", "refresh-tokens").count());
+        assertEquals(1, meterRegistry.timer("maintenance.task.duration", "task", "refresh-tokens").count());
+    }
+
+    @Test
+    void keepsCartsWithRecentItemActivity() {
+        Instant old = Instant.now().minus(200, ChronoUnit.DAYS);
+        long abandoned = insertCart(old);
+        jdbcTemplate.update("INSERT INTO cart_items (cart_id, updated_at) VALUES (?, ?)", abandoned, Timestamp.from(old));
+        long stillInUse = insertCart(old);
+        jdbcTemplate.update("INSERT INTO cart_items (cart_id, updated_at) VALUES (?, ?)", stillInUse,
+                Timestamp.from(Instant.now()));
+        MaintenanceScheduler scheduler = scheduler(10, List.of(new PurgeTask("abandoned-carts", "carts",
+                "updated_at < ? AND NOT EXISTS (SELECT 1 FROM cart_items ci WHERE ci.cart_id = carts.id " +
+                        "AND ci.updated_at >= ?)", Duration.ofDays(180))));
+
+        scheduler.runMaintenance();
+
+        assertEquals(List.of(stillInUse), jdbcTemplate.queryForList("SELECT id FROM carts", Long.class));
+    }
+
+    @Test
+    void skipsRunWhileAnotherNodeHoldsTheLock() {
+        jdbcTemplate.update("INSERT INTO refresh_tokens (expires_at) VALUES (?)",
+                Timestamp.from(Instant.now().minus(3, ChronoUnit.DAYS)));
+        lockRepository.tryAcquire(MaintenanceScheduler.LOCK_NAME, "other-node", Instant.now(), Duration.ofMinutes(30));
+        MaintenanceScheduler scheduler = scheduler(10, List.of(
+                new PurgeTask("refresh-tokens", "refresh_tokens", "expires_at < ?", Duration.ofDays(1))));
+
+        scheduler.runMaintenance();
+
+        assertEquals(1, count("refresh_tokens"));
+        assertEquals(1.0, meterRegistry.counter("maintenance.runs.skipped").count());
+    }
+
+    @Test
+    void disabledTasksAreNotRun() {
+        jdbcTemplate.update("INSERT INTO refresh_tokens (expires_at) VALUES (?)",
+                Timestamp.from(Instant.now().minus(3, ChronoUnit.DAYS)));
+        MaintenanceScheduler scheduler = scheduler(10, List.of(
+                new PurgeTask("refresh-tokens", "refresh_tokens", "expires_at < ?", Duration.ZERO)));
+
+        scheduler.runMaintenance();
+
+        assertEquals(1, count("refresh_tokens"));
+    }
+
+    private MaintenanceScheduler scheduler(int batchSize, List<PurgeTask> tasks) {
+        return new MaintenanceScheduler(jdbcTemplate, lockRepository, meterRegistry, true, batchSize, Duration.ZERO,
+                Duration.ofMinutes(1), tasks);
+    }
+
+    private long insertCart(Instant updatedAt) {
+        jdbcTemplate.update("INSERT INTO carts (updated_at) VALUES (?)", Timestamp.from(updatedAt));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM carts", Long.class);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
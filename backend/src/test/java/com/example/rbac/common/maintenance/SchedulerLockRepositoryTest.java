@@ -0,0 +1,65 @@
+package com.example.rbac.common.maintenance;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerLockRepositoryTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(15);
+
+    private JdbcTemplate jdbcTemplate;
+    private SchedulerLockRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:scheduler-locks;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE scheduler_locks (name VARCHAR(100) NOT NULL PRIMARY KEY, " +
+                "locked_until DATETIME(6) NOT NULL, locked_at DATETIME(6) NOT NULL, locked_by VARCHAR(255) NOT NULL)");
+        repository = new SchedulerLockRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void onlyOneNodeHoldsTheLease() {
+        Instant now = Instant.parse("2024-06-01T03:40:00Z");
+
+        assertTrue(repository.tryAcquire("maintenance", "node-a", now, LEASE));
+        assertFalse(repository.tryAcquire("maintenance", "node-b", now.plusSeconds(1), LEASE));
+        assertTrue(repository.tryAcquire("other-job", "node-b", now.plusSeconds(1), LEASE));
+    }
+
+    @Test
+    void expiredLeaseCanBeTakenOver() {
+        Instant now = Instant.parse("2024-06-01T03:40:00Z");
+        repository.tryAcquire("maintenance", "node-a", now, LEASE);
+
+        assertTrue(repository.tryAcquire("maintenance", "node-b", now.plus(LEASE), LEASE));
+        assertFalse(repository.tryAcquire("maintenance", "node-a", now.plus(LEASE).plusSeconds(1), LEASE));
+    }
+
+    @Test
+    void releaseOnlyEndsTheOwnersLease() {
+        Instant now = Instant.parse("2024-06-01T03:40:00Z");
+        repository.tryAcquire("maintenance", "node-a", now, LEASE);
+
+        repository.release("maintenance", "node-b", now.plusSeconds(5));
+        assertFalse(repository.tryAcquire("maintenance", "node-b", now.plusSeconds(6), LEASE));
+
+        repository.release("maintenance", "node-a", now.plusSeconds(7));
+        assertTrue(repository.tryAcquire("maintenance", "node-b", now.plusSeconds(8), LEASE));
+    }
+}
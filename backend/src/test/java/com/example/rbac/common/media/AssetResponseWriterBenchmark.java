@@ -0,0 +1,144 @@
+package com.example.rbac.common.media;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves one stored file through {@link AssetResponseWriter} (full body, a 64 KiB range and a conditional GET
+ * answered with 304) next to a plain stream copy, which is how the controller answered before. The response body goes
+ * to a discarding stream so the numbers reflect the writer rather than the sink. Not part of the test run; start it
+ * with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.rbac.common.media.AssetResponseWriterBenchmark} or from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AssetResponseWriterBenchmark {
+
+    private static final String KEY = "3f1c9e2a-7b4d-4c1e-9a2f-5d6e7f8a9b0c.jpg";
+
+    @Param({"65536", "4194304"})
+    public int fileBytes;
+
+    private Path directory;
+    private FileSystemResource resource;
+    private AssetResponseWriter writer;
+    private String etag;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("asset-benchmark");
+        Path file = directory.resolve(KEY);
+        byte[] content = new byte[fileBytes];
+        ThreadLocalRandom.current().nextBytes(content);
+        Files.write(file, content);
+        resource = new FileSystemResource(file);
+        AssetMetadataCache metadataCache = new AssetMetadataCache(1024, 64L * 1024 * 1024);
+        writer = new AssetResponseWriter(metadataCache, "public, max-age=300");
+        etag = metadataCache.describe(file).etag();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve(KEY));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int fullBody() throws IOException {
+        DiscardingResponse response = new DiscardingResponse();
+        writer.write(resource, KEY, new MockHttpServletRequest("GET", "/assets/" + KEY), response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int range() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/assets/" + KEY);
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-65535");
+        DiscardingResponse response = new DiscardingResponse();
+        writer.write(resource, KEY, request, response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int notModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/assets/" + KEY);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        DiscardingResponse response = new DiscardingResponse();
+        writer.write(resource, KEY, request, response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public long streamCopy() throws IOException {
+        DiscardingResponse response = new DiscardingResponse();
+        try (InputStream input = resource.getInputStream()) {
+            return input.transferTo(response.getOutputStream());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AssetResponseWriterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+
+        private final ServletOutputStream sink = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return sink;
+        }
+    }
+}
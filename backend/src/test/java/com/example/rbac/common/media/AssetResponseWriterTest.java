@@ -0,0 +1,95 @@
+package com.example.rbac.common.media;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssetResponseWriterTest {
+
+    private static final String KEY = "3f2504e0-4f89-11d3-9a0c-0305e82c3301.png";
+
+    @TempDir
+    Path tempDir;
+
+    private AssetResponseWriter writer;
+    private FileSystemResource resource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = tempDir.resolve(KEY);
+        Files.writeString(file, "0123456789", StandardCharsets.US_ASCII);
+        resource = new FileSystemResource(file);
+        writer = new AssetResponseWriter(new AssetMetadataCache(64, 1024), "public, max-age=300");
+    }
+
+    @Test
+    void servesFullBodyWithValidatorsAndImmutableCaching() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/asset"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("image/png", response.getContentType());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void answersNotModifiedWhenEtagMatches() throws Exception {
+        String etag = serve(new MockHttpServletRequest("GET", "/asset")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/asset");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void servesSingleByteRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/asset");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/asset");
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void usesShortLivedCachingForMutableKeys() {
+        assertTrue(AssetResponseWriter.isImmutableKey(KEY));
+        assertFalse(AssetResponseWriter.isImmutableKey("logo.png"));
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(resource, KEY, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.rbac.common.media;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ImageDerivativeServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageDerivativeService service;
+    private Resource original;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path source = tempDir.resolve("source.png");
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", source.toFile());
+        original = new FileSystemResource(source);
+        service = new ImageDerivativeService(tempDir.resolve("cache").toString(), new int[]{160, 480, 1080},
+                10L * 1024 * 1024, 50_000_000L, 4);
+    }
+
+    @Test
+    void snapsRequestedWidthToConfiguredSteps() {
+        assertEquals(160, service.snapWidth(10));
+        assertEquals(480, service.snapWidth(400));
+        assertEquals(1080, service.snapWidth(5000));
+    }
+
+    @Test
+    void rendersAndReusesBoundedVariant() throws Exception {
+        Resource variant = service.resolve(original, 400, false);
+
+        assertNotEquals(original.getFile().toPath(), variant.getFile().toPath());
+        BufferedImage image = ImageIO.read(variant.getFile());
+        assertEquals(480, image.getWidth());
+        assertEquals(240, image.getHeight());
+        assertEquals(variant.getFile().toPath(), service.resolve(original, 480, false).getFile().toPath());
+    }
+
+    @Test
+    void servesOriginalWhenNoResizeApplies() throws Exception {
+        Path vector = tempDir.resolve("logo.svg");
+        Files.writeString(vector, "<svg xmlns=\"http://www.w3.org/2000/svg\"/>");
+        Resource svg = new FileSystemResource(vector);
+
+        assertSame(original, service.resolve(original, null, false));
+        assertSame(svg, service.resolve(svg, 160, false));
+
+        Path small = tempDir.resolve("small.png");
+        ImageIO.write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), "png", small.toFile());
+        Resource smallResource = new FileSystemResource(small);
+        assertSame(smallResource, service.resolve(smallResource, 160, false));
+    }
+}
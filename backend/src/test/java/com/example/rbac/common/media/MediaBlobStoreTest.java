@@ -0,0 +1,99 @@
+package com.example.rbac.common.media;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MediaBlobStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MediaBlobRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private MediaBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MediaBlobRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new MediaBlobStore(tempDir.toString(), repository, new AssetMetadataCache(64, 1024), meterRegistry);
+    }
+
+    @Test
+    void storesIdenticalContentOnce() throws Exception {
+        MediaBlobStore.StoredBlob first = put("same bytes", "PNG");
+        MediaBlobStore.StoredBlob second = put("same bytes", "png");
+
+        assertEquals(first.key(), second.key());
+        assertTrue(first.key().endsWith(".png"));
+        assertTrue(MediaBlobStore.isBlobKey(first.key()));
+        assertFalse(first.deduplicated());
+        assertTrue(second.deduplicated());
+
+        Path stored = store.resolve(first.key());
+        assertEquals(tempDir.resolve(first.sha256().substring(0, 2)).resolve(first.sha256().substring(2, 4)), stored.getParent());
+        assertEquals("same bytes", Files.readString(stored));
+        verify(repository, times(2)).acquire(first.key(), first.sha256(), "png", 10L);
+        assertEquals(1.0, meterRegistry.counter("media.blob.writes", "result", "deduplicated").count());
+        try (var incoming = Files.list(tempDir.resolve(".incoming"))) {
+            assertEquals(0, incoming.count());
+        }
+    }
+
+    @Test
+    void keepsFileWhileReferencesRemain() throws Exception {
+        MediaBlobStore.StoredBlob blob = put("shared", "jpg");
+        when(repository.release(anyString())).thenReturn(false);
+
+        store.release(blob.key());
+
+        assertTrue(Files.exists(store.resolve(blob.key())));
+    }
+
+    @Test
+    void deletesFileWhenLastReferenceIsReleased() throws Exception {
+        MediaBlobStore.StoredBlob blob = put("unique", "jpg");
+        when(repository.release(blob.key())).thenReturn(true);
+        when(repository.deleteUnreferenced(eq(blob.key()), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+
+        store.release(blob.key());
+
+        assertFalse(Files.exists(store.resolve(blob.key())));
+    }
+
+    @Test
+    void keepsFileWhenTheBlobWasReacquiredBeforeTheDeletion() throws Exception {
+        MediaBlobStore.StoredBlob blob = put("reacquired", "jpg");
+        when(repository.release(blob.key())).thenReturn(true);
+        when(repository.deleteUnreferenced(eq(blob.key()), any())).thenReturn(false);
+
+        store.release(blob.key());
+
+        assertTrue(Files.exists(store.resolve(blob.key())));
+    }
+
+    private MediaBlobStore.StoredBlob put(String content, String extension) throws Exception {
+        return store.put(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), extension);
+    }
+}
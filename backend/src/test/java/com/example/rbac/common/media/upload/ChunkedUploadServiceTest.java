@@ -0,0 +1,167 @@
+package com.example.rbac.common.media.upload;
+
+import com.example.rbac.common.exception.ApiException;
+import com.example.rbac.common.media.MediaBlobStore;
+import com.example.rbac.common.media.upload.dto.UploadChunkDto;
+import com.example.rbac.common.media.upload.dto.UploadSessionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private UploadSessionRepository repository;
+    private MediaBlobStore blobStore;
+    private ChunkedUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UploadSessionRepository.class);
+        blobStore = mock(MediaBlobStore.class);
+        when(repository.findExpiredIds(any(), anyInt())).thenReturn(List.of());
+        when(repository.isOpen(anyString())).thenReturn(true);
+        service = new ChunkedUploadService(repository, blobStore, tempDir.toString(), CHUNK_SIZE, Duration.ofHours(1));
+    }
+
+    @Test
+    void writesChunksOutOfOrderAtTheirOffsets() throws Exception {
+        byte[] content = new byte[CHUNK_SIZE * 2 + 100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        UploadSession session = service.open(request(content.length), 7L, "TEST", null);
+        assertEquals(3, session.chunkCount());
+
+        for (int index : new int[]{2, 0, 1}) {
+            byte[] chunk = Arrays.copyOfRange(content, (int) session.chunkOffset(index),
+                    (int) session.chunkOffset(index) + session.chunkLength(index));
+            UploadChunkDto result = service.writeChunk(session, index, new ByteArrayInputStream(chunk), sha256(chunk));
+            assertEquals(chunk.length, result.getSizeBytes());
+        }
+
+        assertArrayEquals(content, Files.readAllBytes(tempDir.resolve(session.id()).resolve("data.part")));
+        verify(repository).finishChunk(eq(session.id()), eq(2), eq(100), anyString());
+        verify(repository, never()).abandonChunk(anyString(), anyInt());
+        try (var files = Files.list(tempDir.resolve(session.id()))) {
+            assertEquals(List.of("data.part"), files.map(path -> path.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void rejectsChunkWithMismatchedChecksum() {
+        UploadSession session = service.open(request(CHUNK_SIZE), 7L, "TEST", null);
+        byte[] chunk = new byte[CHUNK_SIZE];
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> service.writeChunk(session, 0, new ByteArrayInputStream(chunk), "00".repeat(32)));
+
+        assertEquals(400, ex.getStatus().value());
+        verify(repository).beginChunk(session.id(), 0);
+        verify(repository, never()).finishChunk(anyString(), anyInt(), anyInt(), anyString());
+        verify(repository).abandonChunk(session.id(), 0);
+    }
+
+    @Test
+    void badResendOfARecordedChunkDropsItsReceipt() throws Exception {
+        UploadSession session = service.open(request(CHUNK_SIZE), 7L, "TEST", null);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        Arrays.fill(chunk, (byte) 7);
+        service.writeChunk(session, 0, new ByteArrayInputStream(chunk), sha256(chunk));
+
+        byte[] corrupt = new byte[CHUNK_SIZE];
+        assertThrows(ApiException.class,
+                () -> service.writeChunk(session, 0, new ByteArrayInputStream(corrupt), sha256(chunk)));
+        assertThrows(ApiException.class,
+                () -> service.writeChunk(session, 0, new ByteArrayInputStream(new byte[100]), null));
+
+        verify(repository).finishChunk(eq(session.id()), eq(0), eq(CHUNK_SIZE), anyString());
+        verify(repository, times(2)).abandonChunk(session.id(), 0);
+    }
+
+    @Test
+    void rejectsChunkOnceCompletionHasStarted() throws Exception {
+        UploadSession session = service.open(request(CHUNK_SIZE), 7L, "TEST", null);
+        doReturn(false).when(repository).isOpen(session.id());
+        byte[] chunk = new byte[CHUNK_SIZE];
+        Arrays.fill(chunk, (byte) 7);
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> service.writeChunk(session, 0, new ByteArrayInputStream(chunk), null));
+
+        assertEquals(409, ex.getStatus().value());
+        assertArrayEquals(new byte[CHUNK_SIZE], Files.readAllBytes(tempDir.resolve(session.id()).resolve("data.part")));
+        verify(repository).abandonChunk(session.id(), 0);
+    }
+
+    @Test
+    void abortsInsteadOfReopeningWhenFinalizingConsumedTheStagingFile() throws Exception {
+        UploadSession session = service.open(request(CHUNK_SIZE), 7L, "TEST", null);
+        when(repository.transition(session.id(), UploadSession.Status.OPEN, UploadSession.Status.COMPLETING))
+                .thenReturn(true);
+        when(repository.countReceivedChunks(session.id())).thenReturn(1);
+        when(blobStore.adopt(any(), any())).thenAnswer(invocation -> {
+            Files.delete(invocation.<Path>getArgument(0));
+            throw new IOException("disk full");
+        });
+
+        ApiException ex = assertThrows(ApiException.class, () -> service.complete(session));
+
+        assertEquals(500, ex.getStatus().value());
+        verify(repository, never()).transition(session.id(), UploadSession.Status.COMPLETING, UploadSession.Status.OPEN);
+        verify(repository).delete(session.id());
+    }
+
+    @Test
+    void keepsSessionOpenWhenChunksAreMissing() throws Exception {
+        UploadSession session = service.open(request(CHUNK_SIZE * 2), 7L, "TEST", null);
+        when(repository.transition(session.id(), UploadSession.Status.OPEN, UploadSession.Status.COMPLETING))
+                .thenReturn(true);
+        when(repository.countReceivedChunks(session.id())).thenReturn(1);
+
+        ApiException ex = assertThrows(ApiException.class, () -> service.complete(session));
+
+        assertEquals(409, ex.getStatus().value());
+        verify(repository).transition(session.id(), UploadSession.Status.COMPLETING, UploadSession.Status.OPEN);
+        verify(blobStore, never()).adopt(any(), any());
+    }
+
+    private UploadSessionRequest request(long sizeBytes) {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setFilename("video.mp4");
+        request.setSizeBytes(sizeBytes);
+        return request;
+    }
+
+    private String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
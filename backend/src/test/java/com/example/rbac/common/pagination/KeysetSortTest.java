@@ -0,0 +1,73 @@
+package com.example.rbac.common.pagination;
+
+import com.example.rbac.common.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetSortTest {
+
+    private record Row(Long id, String name, Instant createdAt) {
+    }
+
+    private final KeysetSort<Row> byName = KeysetSort.of("name", Sort.Direction.ASC, KeysetSort.ValueType.STRING,
+            Row::name, Row::id);
+
+    @Test
+    void cursorCarriesLastKeyAndId() {
+        String token = byName.cursorAfter(new Row(42L, "Zoë é", Instant.EPOCH));
+
+        KeysetCursor cursor = KeysetCursor.decode(token);
+
+        assertEquals("name", cursor.property());
+        assertEquals(Sort.Direction.ASC, cursor.direction());
+        assertEquals(42L, cursor.id());
+        assertEquals("Zoë é", cursor.value());
+        assertNotNull(byName.seek(token));
+    }
+
+    @Test
+    void sortsByIdAsTieBreaker() {
+        Sort sort = byName.toSort();
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "name").and(Sort.by(Sort.Direction.ASC, "id")), sort);
+        assertEquals(Sort.by(Sort.Direction.DESC, "id"), KeysetSort.<Row>byId(Sort.Direction.DESC, Row::id).toSort());
+    }
+
+    @Test
+    void firstPageHasNoSeekPredicate() {
+        assertNull(byName.seek(null));
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        KeysetSort<Row> byCreatedAt = KeysetSort.of("createdAt", Sort.Direction.DESC, KeysetSort.ValueType.INSTANT,
+                Row::createdAt, Row::id);
+        String token = byCreatedAt.cursorAfter(new Row(1L, "a", Instant.parse("2024-01-01T00:00:00Z")));
+
+        ApiException ex = assertThrows(ApiException.class, () -> byName.seek(token));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        ApiException ex = assertThrows(ApiException.class, () -> byName.seek("not-a-cursor!"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+    }
+
+    @Test
+    void clampsPageSize() {
+        assertEquals(1, CursorPageRequest.of(null, 0, false).size());
+        assertEquals(CursorPageRequest.MAX_SIZE, CursorPageRequest.of(null, 10_000, false).size());
+        assertNull(CursorPageRequest.of("  ", 20, false).cursor());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.rbac.common.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncodersTest {
+
+    @Test
+    void legacyUnprefixedBcryptHashesStillVerifyAndAreUpgraded() {
+        String legacy = new BCryptPasswordEncoder(4).encode("s3cret");
+        PasswordEncoder encoder = PasswordEncoders.delegating("bcrypt", 4, 1000);
+
+        assertTrue(encoder.matches("s3cret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void raisingBcryptCostFlagsOlderHashes() {
+        String cheap = PasswordEncoders.delegating("bcrypt", 4, 1000).encode("s3cret");
+        PasswordEncoder stronger = PasswordEncoders.delegating("bcrypt", 5, 1000);
+
+        assertTrue(stronger.matches("s3cret", cheap));
+        assertTrue(stronger.upgradeEncoding(cheap));
+        assertFalse(stronger.upgradeEncoding(stronger.encode("s3cret")));
+    }
+
+    @Test
+    void switchingAlgorithmKeepsOldHashesVerifiable() {
+        String bcrypt = PasswordEncoders.delegating("bcrypt", 4, 1000).encode("s3cret");
+        PasswordEncoder pbkdf2 = PasswordEncoders.delegating("PBKDF2", 4, 1000);
+
+        String rehashed = pbkdf2.encode("s3cret");
+
+        assertTrue(rehashed.startsWith("{pbkdf2}"));
+        assertTrue(pbkdf2.matches("s3cret", bcrypt));
+        assertTrue(pbkdf2.upgradeEncoding(bcrypt));
+        assertFalse(pbkdf2.upgradeEncoding(rehashed));
+    }
+
+    @Test
+    void rejectsUnknownAlgorithms() {
+        assertThrows(IllegalArgumentException.class, () -> PasswordEncoders.delegating("md5", 4, 1000));
+    }
+}
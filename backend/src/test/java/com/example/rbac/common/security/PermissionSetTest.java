@@ -0,0 +1,56 @@
+package com.example.rbac.common.security;
+
+import com.example.rbac.admin.users.model.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionSetTest {
+
+    @Test
+    void registryAssignsStableOrdinals() {
+        int ordinal = PermissionRegistry.register("PERMISSION_SET_TEST_STABLE");
+
+        assertEquals(ordinal, PermissionRegistry.register("PERMISSION_SET_TEST_STABLE"));
+        assertEquals(ordinal, PermissionRegistry.ordinal("PERMISSION_SET_TEST_STABLE"));
+        assertEquals("PERMISSION_SET_TEST_STABLE", PermissionRegistry.key(ordinal));
+        assertEquals(-1, PermissionRegistry.ordinal("PERMISSION_SET_TEST_NEVER_REGISTERED"));
+    }
+
+    @Test
+    void containsOnlyTheKeysItWasBuiltFrom() {
+        List<String> keys = IntStream.range(0, 130).mapToObj(index -> "PERMISSION_SET_TEST_" + index).toList();
+        PermissionSet permissions = PermissionSet.of(keys.subList(0, 100));
+        int later = PermissionRegistry.register("PERMISSION_SET_TEST_LATER");
+
+        assertTrue(permissions.contains("PERMISSION_SET_TEST_0"));
+        assertTrue(permissions.contains(PermissionRegistry.ordinal("PERMISSION_SET_TEST_99")));
+        assertFalse(permissions.contains("PERMISSION_SET_TEST_100"));
+        assertFalse(permissions.contains("permission_set_test_0"));
+        assertFalse(permissions.contains(later));
+        assertFalse(permissions.contains(-1));
+        assertFalse(PermissionSet.EMPTY.contains(0));
+    }
+
+    @Test
+    void authenticationsWithoutUserPrincipalFallBackToAuthorityNames() {
+        int view = PermissionRegistry.register("PERMISSION_SET_TEST_VIEW");
+        int edit = PermissionRegistry.register("PERMISSION_SET_TEST_EDIT");
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user", null,
+                AuthorityUtils.createAuthorityList("PERMISSION_SET_TEST_VIEW"));
+
+        assertTrue(Permissions.has(authentication, view));
+        assertFalse(Permissions.has(authentication, edit));
+        assertTrue(Permissions.hasAny(authentication, edit, view));
+        assertFalse(Permissions.has((Authentication) null, view));
+        assertFalse(Permissions.has((UserPrincipal) null, view));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.rbac.common.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares cached classification against parsing every header over {@link UserAgentCorpus#traffic}. Not part of the
+ * test run; start it with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.rbac.common.web.UserAgentClassifierBenchmark} or from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class UserAgentClassifierBenchmark {
+
+    private List<String> traffic;
+    private UserAgentClassifier classifier;
+
+    @Setup
+    public void setUp() {
+        traffic = UserAgentCorpus.traffic(10_000);
+        classifier = new UserAgentClassifier(1024);
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        for (String userAgent : traffic) {
+            blackhole.consume(classifier.classify(userAgent));
+        }
+    }
+
+    @Benchmark
+    public void uncached(Blackhole blackhole) {
+        for (String userAgent : traffic) {
+            blackhole.consume(UserAgentClassifier.parse(userAgent));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserAgentClassifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.rbac.common.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserAgentClassifierTest {
+
+    private final UserAgentClassifier classifier = new UserAgentClassifier(64);
+
+    @Test
+    void classifiesCommonAgents() {
+        assertEquals("Google Chrome on Windows", classifier.describe(UserAgentCorpus.AGENTS.get(0)));
+        assertEquals("Safari on macOS", classifier.describe(UserAgentCorpus.AGENTS.get(3)));
+        assertEquals("Microsoft Edge on Windows", classifier.describe(UserAgentCorpus.AGENTS.get(9)));
+        assertEquals("Mozilla Firefox on Linux", classifier.describe(UserAgentCorpus.AGENTS.get(11)));
+        assertEquals("Opera on Windows", classifier.describe(UserAgentCorpus.AGENTS.get(14)));
+        assertEquals("Internet Explorer", classifier.describe(UserAgentCorpus.AGENTS.get(15)));
+        assertEquals("curl/8.6.0", classifier.describe("  curl/8.6.0 "));
+    }
+
+    @Test
+    void detectsDeviceType() {
+        assertEquals("Mobile", classifier.classify(UserAgentCorpus.AGENTS.get(4)).deviceType());
+        assertEquals("Tablet", classifier.classify(UserAgentCorpus.AGENTS.get(5)).deviceType());
+        assertEquals("Mobile", classifier.classify(UserAgentCorpus.AGENTS.get(6)).deviceType());
+        assertEquals("Tablet", classifier.classify(UserAgentCorpus.AGENTS.get(8)).deviceType());
+        assertEquals("Bot", classifier.classify(UserAgentCorpus.AGENTS.get(16)).deviceType());
+        assertEquals("Desktop", classifier.classify(UserAgentCorpus.AGENTS.get(1)).deviceType());
+    }
+
+    @Test
+    void cachesByRawHeaderAndSkipsBlankOrOversizedHeaders() {
+        String agent = UserAgentCorpus.AGENTS.get(2);
+        assertSame(classifier.classify(agent), classifier.classify(agent));
+
+        assertNull(classifier.classify(null));
+        assertNull(classifier.classify("   "));
+
+        String oversized = "Mozilla/5.0 (Windows NT 10.0) Firefox/125.0 " + "x".repeat(UserAgentClassifier.MAX_CACHED_LENGTH);
+        assertEquals("Mozilla Firefox on Windows", classifier.describe(oversized));
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.rbac.common.web.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicResponseCacheTest {
+
+    private static final byte[] BODY = "[{\"id\":1,\"name\":\"Shoes\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PublicResponseCache cache;
+    private PublicResponseCacheInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        cache = new PublicResponseCache(meterRegistry, true, 100, 16, clock::get);
+        interceptor = new PublicResponseCacheInterceptor(cache);
+        handler = new HandlerMethod(new CatalogHandler(), CatalogHandler.class.getMethod("categories"));
+    }
+
+    @Test
+    void missRunsTheHandlerAndTheStoredBodyServesTheNextRequest() throws Exception {
+        MockHttpServletRequest first = request();
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), handler));
+        PublicResponseCacheInterceptor.Pending pending = assertInstanceOf(PublicResponseCacheInterceptor.Pending.class,
+                first.getAttribute(PublicResponseCacheInterceptor.PENDING_ATTRIBUTE));
+        PublicResponseCache.Entry stored = cache.store("categories", pending.key(), pending.generation(), BODY, 300);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request(), response, handler));
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+        assertEquals(stored.etag(), response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1.0, meterRegistry.get("public.response.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(0.5, meterRegistry.get("public.response.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void answersMatchingIfNoneMatchWithAnEmptyNotModified() throws Exception {
+        PublicResponseCache.Entry stored = cache.store("categories", "/api/v1/public/catalog/categories", 0, BODY, 300);
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/" + stored.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, handler));
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void servesThePrecompressedBodyToClientsAcceptingGzip() throws Exception {
+        cache.store("categories", "/api/v1/public/catalog/categories", 0, BODY, 300);
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void invalidationAndExpiryRetireEntriesAndStaleStoresAreDropped() {
+        String key = "/api/v1/public/catalog/categories";
+        long generation = cache.currentGeneration("categories");
+        cache.store("categories", key, generation, BODY, 300);
+
+        cache.invalidate("categories");
+        assertNull(cache.lookup("categories", key));
+        cache.store("categories", key, generation, BODY, 300);
+        assertNull(cache.lookup("categories", key));
+
+        cache.store("categories", key, cache.currentGeneration("categories"), BODY, 300);
+        clock.addAndGet(301_000_000_000L);
+        assertNull(cache.lookup("categories", key));
+    }
+
+    @Test
+    void queryParametersAreOrderIndependentAndUndeclaredOnesAreIgnored() {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/v1/public/coupons");
+        first.addParameter("size", "12");
+        first.addParameter("page", "0");
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/v1/public/coupons");
+        second.addParameter("page", "0");
+        second.addParameter("size", "12");
+        second.addParameter("utm_source", "newsletter");
+
+        List<String> declared = List.of("page", "search", "size", "type");
+        assertEquals("/api/v1/public/coupons?page=0&size=12", PublicResponseCacheInterceptor.cacheKey(first, declared));
+        assertEquals(PublicResponseCacheInterceptor.cacheKey(first, declared),
+                PublicResponseCacheInterceptor.cacheKey(second, declared));
+    }
+
+    @Test
+    void keysOnTheHandlersDeclaredRequestParams() throws Exception {
+        HandlerMethod coupons = couponsHandler();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/public/coupons");
+        request.addParameter("page", "1");
+        request.addParameter("cb", "1700000000");
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), coupons));
+
+        PublicResponseCacheInterceptor.Pending pending = assertInstanceOf(PublicResponseCacheInterceptor.Pending.class,
+                request.getAttribute(PublicResponseCacheInterceptor.PENDING_ATTRIBUTE));
+        assertEquals("/api/v1/public/coupons?page=1", pending.key());
+    }
+
+    @Test
+    void bypassesTheCacheForSearchesAndOversizedPages() throws Exception {
+        HandlerMethod coupons = couponsHandler();
+        MockHttpServletRequest search = new MockHttpServletRequest("GET", "/api/v1/public/coupons");
+        search.addParameter("search", "summer");
+        MockHttpServletRequest largePage = new MockHttpServletRequest("GET", "/api/v1/public/coupons");
+        largePage.addParameter("size", "5000");
+
+        assertTrue(interceptor.preHandle(search, new MockHttpServletResponse(), coupons));
+        assertTrue(interceptor.preHandle(largePage, new MockHttpServletResponse(), coupons));
+
+        assertNull(search.getAttribute(PublicResponseCacheInterceptor.PENDING_ATTRIBUTE));
+        assertNull(largePage.getAttribute(PublicResponseCacheInterceptor.PENDING_ATTRIBUTE));
+    }
+
+    private static HandlerMethod couponsHandler() throws NoSuchMethodException {
+        return new HandlerMethod(new CouponHandler(),
+                CouponHandler.class.getMethod("coupons", int.class, int.class, String.class));
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/public/catalog/categories");
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return input.readAllBytes();
+        }
+    }
+
+    static class CatalogHandler {
+
+        @PublicCacheable(region = "categories")
+        public String categories() {
+            return "";
+        }
+    }
+
+    static class CouponHandler {
+
+        @PublicCacheable(region = "coupons", skipWhenPresent = "search", maxPageSize = 48)
+        public String coupons(@RequestParam(name = "page", defaultValue = "0") int page,
+                              @RequestParam(name = "size", defaultValue = "12") int size,
+                              @RequestParam(name = "search", required = false) String search) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.rbac.config;
+
+import com.example.rbac.common.security.authorization.RouteAuthorizationManager;
+import com.example.rbac.common.security.authorization.RouteAuthorizationTable;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL authorization decisions per second for the compiled route table against the ordered matcher chain it replaced,
+ * for a request decided by an early rule, one deep in the shipping rules and one that falls through to the admin
+ * catch-all. Not part of the test run; start it with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.rbac.config.RouteAuthorizationBenchmark} or from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteAuthorizationBenchmark {
+
+    @Param({"GET /api/v1/public/products", "PATCH /api/v1/admin/shipping/area-rates/9", "GET /api/v1/admin/users/42"})
+    public String route;
+
+    private final RouteAuthorizationManager routeManager =
+            new RouteAuthorizationManager(RouteAuthorizationTable.compile(SecurityConfig.routeRules()));
+    private final AuthorizationManager<HttpServletRequest> legacyManager = RouteRulesParityTest.legacyManager();
+    private final Authentication admin = new UsernamePasswordAuthenticationToken("admin", null,
+            AuthorityUtils.createAuthorityList("ROLE_ADMIN", "USER_VIEW", "SHIPPING_VIEW", "TAX_RATE_VIEW"));
+
+    private MockHttpServletRequest request;
+    private RequestAuthorizationContext context;
+
+    @Setup
+    public void setUp() {
+        String[] parts = route.split(" ");
+        request = RouteRulesParityTest.request(parts[0], parts[1]);
+        context = new RequestAuthorizationContext(request);
+    }
+
+    @Benchmark
+    public boolean routeTable() {
+        return routeManager.check(() -> admin, context).isGranted();
+    }
+
+    @Benchmark
+    public boolean matcherChain() {
+        return legacyManager.check(() -> admin, request).isGranted();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteAuthorizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
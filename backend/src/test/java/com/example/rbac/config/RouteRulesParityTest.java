@@ -0,0 +1,189 @@
+package com.example.rbac.config;
+
+import com.example.rbac.common.security.authorization.RouteAuthorizationManager;
+import com.example.rbac.common.security.authorization.RouteAuthorizationTable;
+import com.example.rbac.common.security.authorization.RouteRules;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the compiled route table against the {@code authorizeHttpRequests} chain it replaced, request by request.
+ */
+class RouteRulesParityTest {
+
+    private static final List<String> METHODS = List.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+
+    private static final List<String> PATHS = List.of(
+            "/",
+            "/api",
+            "/api/v1/public/products",
+            "/api/v1/public",
+            "/api/v1/publicity",
+            "/api/v1/client/public/settings",
+            "/api/public/endpoints",
+            "/api/public/endpoints/",
+            "/api/public/endpoints/extra",
+            "/api/v1/client/auth/signup",
+            "/api/v1/client/auth/login",
+            "/api/v1/client/auth/logout",
+            "/api/v1/client/cart",
+            "/api/v1/client",
+            "/api/v1/client/",
+            "/api/v1/admin/auth/login",
+            "/api/v1/admin/auth",
+            "/api/v1/admin/uploaded-files",
+            "/api/v1/admin/uploaded-files/42",
+            "/api/v1/admin/tax-rates",
+            "/api/v1/admin/tax-rates/7",
+            "/api/v1/admin/shipping/countries",
+            "/api/v1/admin/shipping/states/3/cities",
+            "/api/v1/admin/shipping/cities/",
+            "/api/v1/admin/shipping/area-rates/9",
+            "/api/v1/admin/shipping/zones",
+            "/api/v1/admin/users",
+            "/api/v1/admin",
+            "/api/v1/administrator",
+            "/actuator/health");
+
+    private static final List<Authentication> CALLERS = List.of(
+            new AnonymousAuthenticationToken("key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")),
+            caller("ROLE_CUSTOMER"),
+            caller("ROLE_CUSTOMER", "TAX_RATE_VIEW", "SHIPPING_MANAGE"),
+            caller("ROLE_ADMIN"),
+            caller("ROLE_ADMIN", "UPLOADED_FILE_VIEW", "TAX_RATE_VIEW"),
+            caller("COUPON_UPDATE", "SHIPPING_VIEW"),
+            caller("SHIPPING_MANAGE", "TAX_RATE_CREATE", "TAX_RATE_UPDATE", "TAX_RATE_DELETE"),
+            caller("USER_VIEW", "ORDER_EDIT"));
+
+    private final RouteAuthorizationManager routeManager =
+            new RouteAuthorizationManager(RouteAuthorizationTable.compile(SecurityConfig.routeRules()));
+    private final AuthorizationManager<HttpServletRequest> legacyManager = legacyManager();
+
+    @Test
+    void compiledTableDecidesEveryRequestLikeTheLegacyChain() {
+        for (String method : METHODS) {
+            for (String path : PATHS) {
+                MockHttpServletRequest request = request(method, path);
+                for (Authentication caller : CALLERS) {
+                    boolean expected = legacyManager.check(() -> caller, request).isGranted();
+                    boolean actual = routeManager.check(() -> caller, new RequestAuthorizationContext(request))
+                            .isGranted();
+                    assertEquals(expected, actual, () -> method + " " + path + " as " + caller.getAuthorities());
+                }
+            }
+        }
+    }
+
+    @Test
+    void firstMatchingRuleWinsOverLaterBroaderRules() {
+        RouteAuthorizationTable table = RouteAuthorizationTable.compile(SecurityConfig.routeRules());
+        long[] customer = table.authorityIndex().encode(AuthorityUtils.createAuthorityList("ROLE_CUSTOMER"));
+
+        assertTrue(table.isGranted("GET", "/api/v1/client/public/banners", new long[0]));
+        assertTrue(table.isGranted("POST", "/api/v1/client/auth/login", new long[0]));
+        assertTrue(table.isGranted("GET", "/api/v1/client/orders", customer));
+        assertFalse(table.isGranted("GET", "/api/v1/admin/users", customer));
+        assertFalse(table.isGranted("GET", "/unknown", customer));
+    }
+
+    @Test
+    void rejectsPatternsTheTrieCannotRepresent() {
+        assertThrows(IllegalArgumentException.class, () -> RouteAuthorizationTable.compile(
+                new RouteRules()
+                        .requestMatchers("/api/*/orders").permitAll()
+                        .build()));
+    }
+
+    static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private static Authentication caller(String... authorities) {
+        return new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList(authorities));
+    }
+
+    /**
+     * The rule chain exactly as {@code SecurityConfig} declared it before the route table, minus the dynamic public
+     * endpoint matcher which still runs in front of both.
+     */
+    static AuthorizationManager<HttpServletRequest> legacyManager() {
+        AuthorizationManager<RequestAuthorizationContext> permitAll = (authentication, context) ->
+                new AuthorizationDecision(true);
+        AuthorizationManager<RequestAuthorizationContext> denyAll = (authentication, context) ->
+                new AuthorizationDecision(false);
+        AuthorizationManager<RequestAuthorizationContext> shippingManage =
+                AuthorityAuthorizationManager.hasAuthority("SHIPPING_MANAGE");
+        String[] locations = {"/api/v1/admin/shipping/countries/**", "/api/v1/admin/shipping/states/**",
+                "/api/v1/admin/shipping/cities/**"};
+
+        RequestMatcherDelegatingAuthorizationManager.Builder builder = RequestMatcherDelegatingAuthorizationManager.builder()
+                .add(ant(HttpMethod.OPTIONS, "/**"), permitAll)
+                .add(ant(null, "/api/v1/public/**"), permitAll)
+                .add(ant(null, "/api/v1/client/public/**"), permitAll)
+                .add(ant(null, "/api/public/endpoints"), permitAll)
+                .add(ant(null, "/api/v1/client/auth/signup"), permitAll)
+                .add(ant(null, "/api/v1/client/auth/login"), permitAll)
+                .add(ant(null, "/api/v1/admin/auth/**"), permitAll)
+                .add(ant(HttpMethod.GET, "/api/v1/admin/uploaded-files/**"), AuthorityAuthorizationManager.hasAnyAuthority(
+                        "UPLOADED_FILE_VIEW", "UPLOADED_FILE_MANAGE", "COUPON_VIEW_GLOBAL", "COUPON_CREATE",
+                        "COUPON_UPDATE"))
+                .add(ant(HttpMethod.GET, "/api/v1/admin/tax-rates/**"),
+                        AuthorityAuthorizationManager.hasAuthority("TAX_RATE_VIEW"));
+        for (String location : locations) {
+            builder.add(ant(HttpMethod.GET, location), AuthorityAuthorizationManager.hasAnyAuthority(
+                    "SHIPPING_VIEW", "SHIPPING_MANAGE", "USER_VIEW", "USER_VIEW_GLOBAL", "USER_CREATE", "USER_UPDATE",
+                    "USER_DELETE", "ORDER_VIEW_GLOBAL", "ORDER_CREATE", "ORDER_EDIT"));
+        }
+        for (HttpMethod method : List.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE)) {
+            for (String location : locations) {
+                builder.add(ant(method, location), shippingManage);
+            }
+        }
+        return builder
+                .add(ant(HttpMethod.GET, "/api/v1/admin/shipping/area-rates/**"),
+                        AuthorityAuthorizationManager.hasAnyAuthority("SHIPPING_VIEW", "SHIPPING_MANAGE"))
+                .add(ant(HttpMethod.POST, "/api/v1/admin/shipping/area-rates/**"), shippingManage)
+                .add(ant(HttpMethod.PUT, "/api/v1/admin/shipping/area-rates/**"), shippingManage)
+                .add(ant(HttpMethod.PATCH, "/api/v1/admin/shipping/area-rates/**"), shippingManage)
+                .add(ant(HttpMethod.DELETE, "/api/v1/admin/shipping/area-rates/**"), shippingManage)
+                .add(ant(HttpMethod.POST, "/api/v1/admin/tax-rates/**"),
+                        AuthorityAuthorizationManager.hasAuthority("TAX_RATE_CREATE"))
+                .add(ant(HttpMethod.PUT, "/api/v1/admin/tax-rates/**"),
+                        AuthorityAuthorizationManager.hasAuthority("TAX_RATE_UPDATE"))
+                .add(ant(HttpMethod.PATCH, "/api/v1/admin/tax-rates/**"),
+                        AuthorityAuthorizationManager.hasAuthority("TAX_RATE_UPDATE"))
+                .add(ant(HttpMethod.DELETE, "/api/v1/admin/tax-rates/**"),
+                        AuthorityAuthorizationManager.hasAuthority("TAX_RATE_DELETE"))
+                .add(ant(null, "/api/v1/client/**"), AuthorityAuthorizationManager.hasRole("CUSTOMER"))
+                .add(ant(null, "/api/v1/admin/**"), (authentication, context) -> new AuthorizationDecision(
+                        authentication.get().getAuthorities().stream()
+                                .noneMatch(authority -> authority.getAuthority().equals("ROLE_CUSTOMER"))))
+                .add(ant(null, "/**"), denyAll)
+                .build();
+    }
+
+    private static AntPathRequestMatcher ant(HttpMethod method, String pattern) {
+        return new AntPathRequestMatcher(pattern, method == null ? null : method.name());
+    }
+}
@@ -20,6 +20,7 @@ import type {
   PublicProductVariantAttribute,
   PublicProductVariantAttributeValue
 } from '../types/public-product';
+import type { CursorPage } from '../types/models';
 
 const formatDate = (value: string) => {
   const parsed = new Date(value);
@@ -78,6 +79,12 @@ const PublicProductPage = () => {
   const [quantity, setQuantity] = useState(1);
   const [activeImageIndex, setActiveImageIndex] = useState(0);
   const [reviewLimit, setReviewLimit] = useState(3);
+  const [moreReviews, setMoreReviews] = useState<{
+    productId: number;
+    reviews: PublicProductReview[];
+    cursor: string | null;
+  } | null>(null);
+  const [loadingMoreReviews, setLoadingMoreReviews] = useState(false);
   const dispatch = useAppDispatch();
   const { notify } = useToast();
   const authUser = useAppSelector((state) => state.auth.user);
@@ -282,8 +289,37 @@ const PublicProductPage = () => {
 
   const loadError = productQuery.isError ? (productQuery.error as AxiosError | undefined) : undefined;
 
-  const visibleReviews = product ? product.reviews.slice(0, reviewLimit) : [];
-  const canLoadMoreReviews = Boolean(product && reviewLimit < product.reviews.length);
+  const extraReviews = product && moreReviews?.productId === product.id ? moreReviews : null;
+  const loadedReviews = product ? [...product.reviews, ...(extraReviews?.reviews ?? [])] : [];
+  const reviewsCursor = extraReviews ? extraReviews.cursor : product?.reviewsNextCursor ?? null;
+  const visibleReviews = loadedReviews.slice(0, reviewLimit);
+  const canLoadMoreReviews = reviewLimit < loadedReviews.length || Boolean(reviewsCursor);
+
+  const handleLoadMoreReviews = async () => {
+    if (!product || loadingMoreReviews) {
+      return;
+    }
+    const nextLimit = reviewLimit + 3;
+    if (nextLimit > loadedReviews.length && reviewsCursor) {
+      setLoadingMoreReviews(true);
+      try {
+        const { data } = await api.get<CursorPage<PublicProductReview>>(`/public/products/${slug}/reviews`, {
+          params: { cursor: reviewsCursor }
+        });
+        setMoreReviews({
+          productId: product.id,
+          reviews: [...(extraReviews?.reviews ?? []), ...data.content],
+          cursor: data.nextCursor
+        });
+      } catch (_error) {
+        notify({ type: 'error', title: 'Reviews unavailable', message: 'Unable to load more reviews right now.' });
+        return;
+      } finally {
+        setLoadingMoreReviews(false);
+      }
+    }
+    setReviewLimit(nextLimit);
+  };
 
   return (
     <div className="min-h-screen bg-[#EEF2F7] pb-20 pt-12 text-slate-900">
@@ -518,9 +554,9 @@ const PublicProductPage = () => {
               ref={reviewsRef}
               reviews={visibleReviews}
               summary={product.reviewSummary}
-              totalReviews={product.reviews.length}
-              canLoadMore={canLoadMoreReviews}
-              onLoadMore={() => setReviewLimit((limit) => Math.min(limit + 3, product.reviews.length))}
+              totalReviews={product.reviewSummary.totalReviews}
+              canLoadMore={canLoadMoreReviews && !loadingMoreReviews}
+              onLoadMore={handleLoadMoreReviews}
             />
 
             {product.recentlyViewed.length > 0 && (
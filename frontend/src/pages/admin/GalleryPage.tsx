@@ -5,7 +5,13 @@ import { useToast } from '../../components/ToastProvider';
 import { useAppSelector } from '../../app/hooks';
 import { hasAnyPermission } from '../../utils/permissions';
 import { formatFileSize } from '../../utils/files';
-import type { GalleryFile, GalleryFilePage, GalleryFolder, GallerySettings } from '../../types/gallery';
+import type {
+  GalleryFile,
+  GalleryFilePage,
+  GalleryFolder,
+  GallerySettings,
+  GalleryUploadResponse
+} from '../../types/gallery';
 import type { PermissionKey } from '../../types/auth';
 import { extractErrorMessage } from '../../utils/errors';
 
@@ -239,7 +245,7 @@ const GalleryPage = () => {
       if (folderFilter !== null) {
         formData.append('folderId', folderFilter.toString());
       }
-      const { data } = await adminApi.post<GalleryFile[]>('/gallery/files', formData, {
+      const { data } = await adminApi.post<GalleryUploadResponse>('/gallery/files', formData, {
         headers: { 'Content-Type': 'multipart/form-data' },
         onUploadProgress: (event) => {
           if (!event.total) {
@@ -252,8 +258,21 @@ const GalleryPage = () => {
       });
       return data;
     },
-    onSuccess: (uploaded) => {
-      notify({ type: 'success', message: uploaded.length === 1 ? 'File uploaded successfully.' : 'Files uploaded successfully.' });
+    onSuccess: (response) => {
+      if (response.failedCount > 0) {
+        const failed = response.results.filter((result) => !result.success);
+        notify({
+          type: 'error',
+          message: `${response.uploadedCount} uploaded, ${response.failedCount} failed: ${failed
+            .map((result) => `${result.filename} (${result.error ?? 'upload failed'})`)
+            .join(', ')}`
+        });
+      } else {
+        notify({
+          type: 'success',
+          message: response.uploadedCount === 1 ? 'File uploaded successfully.' : 'Files uploaded successfully.'
+        });
+      }
       invalidateGallery();
       setSelectedIds([]);
       setUploadProgress(null);
@@ -19,6 +19,7 @@ import type { Category, CategoryPage } from '../../types/category';
 import type { TaxRatePage } from '../../types/tax-rate';
 import type { Attribute, AttributePage, AttributeValue } from '../../types/attribute';
 import type { MediaSelection } from '../../types/uploaded-file';
+import type { CursorPage } from '../../types/models';
 import type {
   CreateProductPayload,
   CreateProductReviewPayload,
@@ -1428,25 +1429,47 @@ const ProductsPage = () => {
     [showValidation, validation]
   );
 
-  const productReviews = productDetailQuery.data?.reviews ?? [];
+  const [moreReviews, setMoreReviews] = useState<{ productId: number; reviews: ProductReview[]; cursor: string | null } | null>(
+    null
+  );
+  const [loadingMoreReviews, setLoadingMoreReviews] = useState(false);
+  const productDetail = productDetailQuery.data;
+  useEffect(() => {
+    setMoreReviews(null);
+  }, [productDetail]);
+  const extraReviews = moreReviews && moreReviews.productId === productDetail?.id ? moreReviews : null;
+  const productReviews = useMemo(
+    () => [...(productDetail?.reviews ?? []), ...(extraReviews?.reviews ?? [])],
+    [productDetail?.reviews, extraReviews?.reviews]
+  );
+  const nextReviewsCursor = extraReviews ? extraReviews.cursor : productDetail?.reviewsNextCursor ?? null;
   const reviewSummary = useMemo(() => {
-    if (!productReviews.length) {
-      return {
-        total: 0,
-        average: 0,
-        breakdown: [5, 4, 3, 2, 1].map((score) => ({ score, count: 0 }))
-      } as const;
+    const summary = productDetail?.reviewSummary;
+    const total = summary?.totalReviews ?? 0;
+    const breakdown = [5, 4, 3, 2, 1].map((score) => ({ score, count: summary?.ratingCounts?.[score] ?? 0 }));
+    return { total, average: total ? summary?.averageRating ?? 0 : 0, breakdown };
+  }, [productDetail?.reviewSummary]);
+
+  const loadMoreReviews = async () => {
+    if (!productDetail || !nextReviewsCursor || loadingMoreReviews) {
+      return;
     }
-    const counts = [0, 0, 0, 0, 0];
-    productReviews.forEach((review) => {
-      const rating = Math.min(Math.max(Math.round(review.rating ?? 0), 1), 5);
-      counts[rating - 1] += 1;
-    });
-    const breakdown = [5, 4, 3, 2, 1].map((score) => ({ score, count: counts[score - 1] }));
-    const average =
-      productReviews.reduce((sum, review) => sum + (review.rating ?? 0), 0) / productReviews.length;
-    return { total: productReviews.length, average, breakdown };
-  }, [productReviews]);
+    setLoadingMoreReviews(true);
+    try {
+      const { data } = await adminApi.get<CursorPage<ProductReview>>('/product-reviews/scroll', {
+        params: { productId: productDetail.id, cursor: nextReviewsCursor, size: 20 }
+      });
+      setMoreReviews({
+        productId: productDetail.id,
+        reviews: [...(extraReviews?.reviews ?? []), ...data.content],
+        cursor: data.nextCursor
+      });
+    } catch (error) {
+      notify({ type: 'error', message: extractErrorMessage(error, 'Unable to load more reviews.') });
+    } finally {
+      setLoadingMoreReviews(false);
+    }
+  };
 
   const isVideoAsset = (asset: { url: string; mimeType?: string | null }) => {
     if (asset.mimeType && asset.mimeType.toLowerCase().startsWith('video/')) {
@@ -4146,6 +4169,18 @@ const ProductsPage = () => {
                           </article>
                         );
                       })}
+                      {nextReviewsCursor && (
+                        <div className="flex justify-center pt-2">
+                          <button
+                            type="button"
+                            onClick={loadMoreReviews}
+                            disabled={loadingMoreReviews}
+                            className="rounded-full border border-slate-300 px-5 py-2 text-sm font-semibold text-slate-600 transition hover:bg-slate-50 disabled:cursor-not-allowed disabled:opacity-60"
+                          >
+                            {loadingMoreReviews ? 'Loading…' : 'Load more reviews'}
+                          </button>
+                        </div>
+                      )}
                     </div>
                   ) : (
                     <div className="rounded-2xl border border-dashed border-slate-300 px-6 py-10 text-center text-sm text-slate-500">
@@ -5,7 +5,7 @@ import PageSection from '../../components/PageSection';
 import PaginationControls from '../../components/PaginationControls';
 import { useToast } from '../../components/ToastProvider';
 import { adminApi } from '../../services/http';
-import type { ShippingCity, ShippingCountry, ShippingState } from '../../types/shipping';
+import type { ShippingBulkSettingsResult, ShippingCity, ShippingCountry, ShippingState } from '../../types/shipping';
 import { useAppSelector } from '../../app/hooks';
 import { hasAnyPermission } from '../../utils/permissions';
 import type { PermissionKey } from '../../types/auth';
@@ -471,7 +471,7 @@ const AreaShippingManager = () => {
 
   const bulkCountrySettingsMutation = useMutation({
     mutationFn: async (payload: CountryBulkSettingsPayload) => {
-      const { data } = await adminApi.put<ShippingCountry[]>('/shipping/countries/bulk-settings', payload);
+      const { data } = await adminApi.put<ShippingBulkSettingsResult>('/shipping/countries/bulk-settings', payload);
       return data;
     },
     onSuccess: (_, variables) => {
@@ -490,7 +490,7 @@ const AreaShippingManager = () => {
 
   const bulkStateSettingsMutation = useMutation({
     mutationFn: async (payload: StateBulkSettingsPayload) => {
-      const { data } = await adminApi.put<ShippingState[]>('/shipping/states/bulk-settings', payload);
+      const { data } = await adminApi.put<ShippingBulkSettingsResult>('/shipping/states/bulk-settings', payload);
       return data;
     },
     onSuccess: (_, variables) => {
@@ -509,7 +509,7 @@ const AreaShippingManager = () => {
 
   const bulkCitySettingsMutation = useMutation({
     mutationFn: async (payload: CityBulkSettingsPayload) => {
-      const { data } = await adminApi.put<ShippingCity[]>('/shipping/cities/bulk-settings', payload);
+      const { data } = await adminApi.put<ShippingBulkSettingsResult>('/shipping/cities/bulk-settings', payload);
       return data;
     },
     onSuccess: (_, variables) => {
@@ -15,6 +15,19 @@ export interface GalleryFile {
   folderPath: string;
 }
 
+export interface GalleryUploadResult {
+  filename: string;
+  success: boolean;
+  file?: GalleryFile | null;
+  error?: string | null;
+}
+
+export interface GalleryUploadResponse {
+  results: GalleryUploadResult[];
+  uploadedCount: number;
+  failedCount: number;
+}
+
 export interface GalleryFolder {
   id: number | null;
   name: string;
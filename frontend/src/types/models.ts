@@ -8,6 +8,14 @@ export interface Pagination<T> {
   size: number;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  hasNext: boolean;
+  nextCursor: string | null;
+  estimatedTotal: number | null;
+}
+
 export interface User extends Record<string, unknown> {
   id: number;
   email: string;
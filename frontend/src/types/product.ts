@@ -152,6 +152,12 @@ export interface ProductReview {
 
 export type ProductReviewPage = Pagination<ProductReview>;
 
+export interface ProductReviewSummary {
+  averageRating: number;
+  totalReviews: number;
+  ratingCounts: Record<string, number>;
+}
+
 export interface CreateProductReviewPayload {
   productId: number;
   customerId?: number | null;
@@ -228,6 +234,8 @@ export interface ProductDetail {
   infoSections: ProductDetailInfoSection[];
   expandableSections?: ProductDetailExpandableSection[];
   reviews?: ProductReview[];
+  reviewSummary?: ProductReviewSummary;
+  reviewsNextCursor?: string | null;
   frequentlyBoughtProducts?: ProductSummary[];
   frequentlyBoughtCategoryIds?: number[];
   createdAt: string;
@@ -22,6 +22,7 @@ export interface PublicProductDetail {
   infoSections: PublicProductSection[];
   reviewSummary: PublicProductReviewSummary;
   reviews: PublicProductReview[];
+  reviewsNextCursor?: string | null;
   frequentlyBought: PublicProductRecommendation[];
   recentlyViewed: PublicProductRecommendation[];
 }
@@ -95,6 +96,7 @@ export interface PublicProductSection {
 export interface PublicProductReviewSummary {
   averageRating: number;
   totalReviews: number;
+  ratingCounts?: Record<string, number>;
 }
 
 export interface PublicProductReview {
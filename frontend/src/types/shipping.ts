@@ -41,6 +41,13 @@ export interface ShippingCity {
   updatedAt: string;
 }
 
+export interface ShippingBulkSettingsResult {
+  matched: number;
+  enabledChanged: number;
+  costChanged: number;
+  descendantsDisabled: number;
+}
+
 export interface ShippingAreaRate {
   id: number;
   countryId: number;